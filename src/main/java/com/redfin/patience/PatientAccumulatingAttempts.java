@@ -0,0 +1,158 @@
+/*
+ * Copyright: (c) 2016 Redfin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.redfin.patience;
+
+import com.redfin.patience.exceptions.PatientException;
+import com.redfin.validity.ValidityUtils;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * A static, non-instantiable, class for the attempts of the {@code fromAccumulating} futures.
+ * Each attempt executes the executable once and folds its value into the accumulator of the
+ * wait, and the filter of the future tests the accumulator rather than the value. Only the
+ * accumulator is kept between attempts, so a value is folded in once and never re-scanned.
+ * An attempt whose execution fails, e.g. with a throwable ignored by the execution handler,
+ * leaves the accumulator unchanged.
+ */
+final class PatientAccumulatingAttempts {
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Instance Methods
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /*
+     * Make sure that the static class cannot be instantiated
+     */
+
+    private PatientAccumulatingAttempts() {
+        throw new AssertionError("Cannot instantiate PatientAccumulatingAttempts.");
+    }
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Static Methods and Fields
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    private static final int DESCRIBED_LENGTH = 100;
+
+    /**
+     * @param accumulated the accumulator to describe.
+     *
+     * @return a description of the accumulator that doesn't grow with it: the size of a collection
+     * or map, otherwise its description cut off after the first few characters.
+     */
+    static String describe(Object accumulated) {
+        if (accumulated instanceof Collection) {
+            return "accumulated " + ((Collection<?>) accumulated).size() + " items";
+        }
+        if (accumulated instanceof Map) {
+            return "accumulated " + ((Map<?, ?>) accumulated).size() + " entries";
+        }
+        String description = ValidityUtils.describe(accumulated);
+        if (description.length() <= DESCRIBED_LENGTH) {
+            return description;
+        }
+        return description.substring(0, DESCRIBED_LENGTH) + "...";
+    }
+
+    /**
+     * @return a factory for the attempt function of a single wait, which keeps the accumulator
+     * of that wait starting from a new initial accumulator.
+     */
+    static <T, A> PatientFilteredAttempts<A> forAccumulating(PatientExecutable<T> executable,
+                                                             Supplier<A> initial,
+                                                             BiFunction<A, ? super T, A> accumulator,
+                                                             Predicate<A> filter,
+                                                             PatientExecutionHandler executionHandler) {
+        return new PatientFilteredAttempts<A>() {
+            @Override
+            public Function<PatientAttemptContext, PatientExecutionResult<A>> get() {
+                A accumulated = initial.get();
+                if (null == accumulated) {
+                    throw new PatientException("Received a null initial accumulator from the supplier.");
+                }
+                return new Accumulation<>(executable, accumulated, accumulator, filter, executionHandler);
+            }
+
+            @Override
+            public PatientFilteredAttempts<A> withFilter(Predicate<A> newFilter) {
+                return forAccumulating(executable, initial, accumulator, newFilter, executionHandler);
+            }
+        };
+    }
+
+    /**
+     * @return an executable that folds a single value into a new initial accumulator. The future
+     * never executes it, since the factory is kept when it is given a new filter, but it is the
+     * executable of the future.
+     */
+    static <T, A> PatientExecutable<A> singleValue(PatientExecutable<T> executable,
+                                                   Supplier<A> initial,
+                                                   BiFunction<A, ? super T, A> accumulator) {
+        return () -> accumulator.apply(initial.get(), executable.execute());
+    }
+
+    private static final class Accumulation<T, A>
+                    implements Function<PatientAttemptContext, PatientExecutionResult<A>> {
+
+        private final PatientExecutable<T> executable;
+        private final BiFunction<A, ? super T, A> accumulator;
+        private final Predicate<A> filter;
+        private final PatientExecutionHandler executionHandler;
+        private A accumulated;
+
+        private Accumulation(PatientExecutable<T> executable,
+                             A accumulated,
+                             BiFunction<A, ? super T, A> accumulator,
+                             Predicate<A> filter,
+                             PatientExecutionHandler executionHandler) {
+            this.executable = executable;
+            this.accumulated = accumulated;
+            this.accumulator = accumulator;
+            this.filter = filter;
+            this.executionHandler = executionHandler;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public PatientExecutionResult<A> apply(PatientAttemptContext context) {
+            // Every value is folded in, the filter only applies to the accumulator
+            PatientExecutionResult<T> result = executionHandler.execute(executable, value -> true);
+            if (null == result) {
+                throw new PatientException("Received a null PatientExecutionResult from the execution handler.");
+            }
+            if (!result.isSuccess()) {
+                // An unsuccessful result has no value, so it is the same for any type
+                return (PatientExecutionResult<A>) (PatientExecutionResult<?>) result;
+            }
+            A next = accumulator.apply(accumulated, result.getResult());
+            if (null == next) {
+                throw new PatientException("Received a null accumulator from the accumulator function.");
+            }
+            accumulated = next;
+            if (filter.test(accumulated)) {
+                return PatientExecutionResult.pass(accumulated);
+            }
+            return PatientExecutionResult.fail(describe(accumulated));
+        }
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright: (c) 2016 Redfin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.redfin.patience;
+
+import com.redfin.patience.exceptions.PatientException;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * A static, non-instantiable, class for the attempts of the {@code fromAll} futures.
+ * Each attempt executes only the executables that haven't produced a valid result yet,
+ * so an item is never executed again once it has passed. An attempt succeeds, with
+ * the results in the order of the executables, once every item has passed. Otherwise
+ * the failed attempt description has the number of pending items and the description
+ * of the first few of them, so the failed attempt descriptions of a timeout are the
+ * failure history of those items without growing with the number of items. An item that
+ * is aborted aborts the attempt, with the index of the item in the description.
+ * <br>
+ * The list of results is tested with the filter of the future once every item has passed.
+ * If it doesn't pass then the attempt fails and every item is executed again by the next
+ * attempt, since only new results can change the list.
+ */
+final class PatientAllAttempts {
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Instance Methods
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /*
+     * Make sure that the static class cannot be instantiated
+     */
+
+    private PatientAllAttempts() {
+        throw new AssertionError("Cannot instantiate PatientAllAttempts.");
+    }
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Static Methods and Fields
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    private static final int DESCRIBED_ITEMS = 10;
+
+    /**
+     * @param results the results of the items, with null for the items that haven't passed.
+     *
+     * @return true if every item has passed.
+     */
+    static boolean allPassed(List<?> results) {
+        return null != results && !results.contains(null);
+    }
+
+    /**
+     * @return a factory for the attempt function of a single wait, which keeps track of
+     * the items that are still pending. Each item is tested with the given item filter
+     * and the list of results with the given results filter, which is the filter of the
+     * future, so a new filter of the future replaces the results filter.
+     */
+    static <T> PatientFilteredAttempts<List<T>> forAll(List<PatientExecutable<T>> executables,
+                                                       Predicate<T> itemFilter,
+                                                       Predicate<List<T>> resultsFilter,
+                                                       PatientExecutionHandler executionHandler) {
+        return new PatientFilteredAttempts<List<T>>() {
+            @Override
+            public Function<PatientAttemptContext, PatientExecutionResult<List<T>>> get() {
+                return new PendingItems<>(executables, itemFilter, resultsFilter, executionHandler);
+            }
+
+            @Override
+            public PatientFilteredAttempts<List<T>> withFilter(Predicate<List<T>> newFilter) {
+                return forAll(executables, itemFilter, newFilter, executionHandler);
+            }
+        };
+    }
+
+    /**
+     * @return an executable that returns the results of a single attempt, or null if not
+     * every item passed. The future never executes it, since the factory is kept when it
+     * is given a new filter, but it is the executable of the future.
+     */
+    static <T> PatientContextualExecutable<List<T>> allValid(Supplier<Function<PatientAttemptContext, PatientExecutionResult<List<T>>>> factory) {
+        return context -> {
+            PatientExecutionResult<List<T>> result = factory.get().apply(context);
+            return result.isSuccess() ? result.getResult() : null;
+        };
+    }
+
+    private static final class PendingItems<T>
+                    implements Function<PatientAttemptContext, PatientExecutionResult<List<T>>> {
+
+        private final List<PatientExecutable<T>> executables;
+        private final Predicate<T> itemFilter;
+        private final Predicate<List<T>> resultsFilter;
+        private final PatientExecutionHandler executionHandler;
+        private final Object[] results;
+        private final int[] pending;
+        private int pendingCount;
+
+        private PendingItems(List<PatientExecutable<T>> executables,
+                             Predicate<T> itemFilter,
+                             Predicate<List<T>> resultsFilter,
+                             PatientExecutionHandler executionHandler) {
+            this.executables = executables;
+            this.itemFilter = itemFilter;
+            this.resultsFilter = resultsFilter;
+            this.executionHandler = executionHandler;
+            this.results = new Object[executables.size()];
+            this.pending = new int[executables.size()];
+            resetPending();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public PatientExecutionResult<List<T>> apply(PatientAttemptContext context) {
+            StringBuilder description = null;
+            int stillPending = 0;
+            for (int i = 0; i < pendingCount; i++) {
+                int index = pending[i];
+                PatientExecutionResult<T> result = executionHandler.execute(executables.get(index), itemFilter);
+                if (null == result) {
+                    throw new PatientException("Received a null PatientExecutionResult from the execution handler.");
+                }
+                if (result.isSuccess()) {
+                    results[index] = result.getResult();
+                } else if (result.isAborted()) {
+                    return PatientExecutionResult.abort("[" + index + "] " + result.getFailedAttemptDescription(),
+                                                        result.getCause().orElse(null));
+                } else {
+                    // Pending items are kept in order at the front of the array
+                    pending[stillPending++] = index;
+                    if (stillPending > DESCRIBED_ITEMS) {
+                        continue;
+                    }
+                    if (null == description) {
+                        description = new StringBuilder();
+                    } else {
+                        description.append(", ");
+                    }
+                    description.append('[')
+                               .append(index)
+                               .append("] ")
+                               .append(result.getFailedAttemptDescription());
+                }
+            }
+            pendingCount = stillPending;
+            if (0 == stillPending) {
+                List<T> values = Collections.unmodifiableList(Arrays.asList(((T[]) results).clone()));
+                if (resultsFilter.test(values)) {
+                    return PatientExecutionResult.pass(values);
+                }
+                // Only new results can change the list, so start over with every item
+                resetPending();
+                return PatientExecutionResult.fail("all " + results.length + " items passed but the results didn't match the filter");
+            }
+            if (stillPending > DESCRIBED_ITEMS) {
+                description.append(", ...");
+            }
+            return PatientExecutionResult.fail(stillPending + " of " + results.length + " items pending: " + description);
+        }
+
+        private void resetPending() {
+            for (int i = 0; i < pending.length; i++) {
+                pending[i] = i;
+            }
+            pendingCount = pending.length;
+        }
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright: (c) 2016 Redfin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.redfin.patience;
+
+import com.redfin.patience.exceptions.PatientException;
+import com.redfin.patience.exceptions.PatientInterruptedException;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * A static, non-instantiable, class for the attempts of the {@code fromAny} futures.
+ * An attempt succeeds with the first valid result from any of the executables.
+ * Sequential attempts execute the items one at a time, starting each attempt with
+ * the item after the one that started the previous attempt so that a lagging item
+ * doesn't always go first. Concurrent attempts execute every item at once on an
+ * {@link Executor} and cancel the outstanding ones as soon as one of them passes.
+ * If no item passes then the failed attempt description has the description of each item.
+ */
+final class PatientAnyAttempts {
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Instance Methods
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /*
+     * Make sure that the static class cannot be instantiated
+     */
+
+    private PatientAnyAttempts() {
+        throw new AssertionError("Cannot instantiate PatientAnyAttempts.");
+    }
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Static Methods
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /**
+     * @return a factory for the attempt function of a single wait that executes the items
+     * one at a time, or on the given executor if it isn't null. Each item is tested with the
+     * filter of the future, so a new filter is passed down to the items.
+     */
+    static <T> PatientFilteredAttempts<T> forAny(List<PatientExecutable<T>> executables,
+                                                 Predicate<T> filter,
+                                                 PatientExecutionHandler executionHandler,
+                                                 Executor executor) {
+        return new PatientFilteredAttempts<T>() {
+            @Override
+            public Function<PatientAttemptContext, PatientExecutionResult<T>> get() {
+                if (null == executor) {
+                    return new RoundRobin<>(executables, filter, executionHandler);
+                }
+                return context -> concurrently(executables, filter, executionHandler, executor);
+            }
+
+            @Override
+            public PatientFilteredAttempts<T> withFilter(Predicate<T> newFilter) {
+                return forAny(executables, newFilter, executionHandler, executor);
+            }
+        };
+    }
+
+    /**
+     * @return an executable that returns the first valid result from an attempt, or null
+     * if no item passed. The future never executes it, since the factory is kept when it
+     * is given a new filter, but it is the executable of the future.
+     */
+    static <T> PatientContextualExecutable<T> firstValid(Supplier<Function<PatientAttemptContext, PatientExecutionResult<T>>> factory) {
+        return context -> {
+            PatientExecutionResult<T> result = factory.get().apply(context);
+            return result.isSuccess() ? result.getResult() : null;
+        };
+    }
+
+    private static <T> PatientExecutionResult<T> concurrently(List<PatientExecutable<T>> executables,
+                                                              Predicate<T> filter,
+                                                              PatientExecutionHandler executionHandler,
+                                                              Executor executor) {
+        CompletionService<PatientExecutionResult<T>> completionService = new ExecutorCompletionService<>(executor);
+        List<Future<PatientExecutionResult<T>>> futures = new ArrayList<>(executables.size());
+        // The index of each item by its future, so that a completed one is found without a scan
+        Map<Future<PatientExecutionResult<T>>, Integer> indexes = new IdentityHashMap<>(executables.size());
+        try {
+            for (PatientExecutable<T> executable : executables) {
+                // The items run with the deadline of the waiting thread
+                Supplier<PatientExecutionResult<T>> task = PatientDeadline.propagate(() -> executionHandler.execute(executable, filter));
+                Future<PatientExecutionResult<T>> future = completionService.submit(task::get);
+                indexes.put(future, futures.size());
+                futures.add(future);
+            }
+            String[] descriptions = new String[futures.size()];
+            for (int i = 0; i < futures.size(); i++) {
+                Future<PatientExecutionResult<T>> future = completionService.take();
+                PatientExecutionResult<T> result = getResult(future);
+                if (result.isSuccess() || result.isAborted()) {
+                    return result;
+                }
+                descriptions[indexes.get(future)] = result.getFailedAttemptDescription();
+            }
+            return PatientExecutionResult.fail(describe(descriptions, 0));
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            throw new PatientInterruptedException("Thread waiting for any of the executables was interrupted.", interrupted);
+        } finally {
+            // Cancel whatever is still outstanding, this is a no-op for the completed ones
+            for (Future<PatientExecutionResult<T>> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    private static <T> PatientExecutionResult<T> getResult(Future<PatientExecutionResult<T>> future) throws InterruptedException {
+        PatientExecutionResult<T> result;
+        try {
+            result = future.get();
+        } catch (ExecutionException e) {
+            // Propagate what the execution handler threw as if it was executed on this thread
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new PatientException("Unexpected throwable caught while getting execution result", cause);
+        }
+        if (null == result) {
+            throw new PatientException("Received a null PatientExecutionResult from the execution handler.");
+        }
+        return result;
+    }
+
+    private static String describe(String[] descriptions,
+                                   int first) {
+        StringBuilder builder = new StringBuilder("no items passed: ");
+        for (int i = 0; i < descriptions.length; i++) {
+            int index = (first + i) % descriptions.length;
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append('[')
+                   .append(index)
+                   .append("] ")
+                   .append(descriptions[index]);
+        }
+        return builder.toString();
+    }
+
+    private static final class RoundRobin<T>
+                    implements Function<PatientAttemptContext, PatientExecutionResult<T>> {
+
+        private final List<PatientExecutable<T>> executables;
+        private final Predicate<T> filter;
+        private final PatientExecutionHandler executionHandler;
+        private String[] descriptions;
+        private int first;
+
+        private RoundRobin(List<PatientExecutable<T>> executables,
+                           Predicate<T> filter,
+                           PatientExecutionHandler executionHandler) {
+            this.executables = executables;
+            this.filter = filter;
+            this.executionHandler = executionHandler;
+        }
+
+        @Override
+        public PatientExecutionResult<T> apply(PatientAttemptContext context) {
+            int size = executables.size();
+            int start = first;
+            first = (first + 1) % size;
+            for (int i = 0; i < size; i++) {
+                int index = (start + i) % size;
+                PatientExecutionResult<T> result = executionHandler.execute(executables.get(index), filter);
+                if (null == result) {
+                    throw new PatientException("Received a null PatientExecutionResult from the execution handler.");
+                }
+                if (result.isSuccess() || result.isAborted()) {
+                    return result;
+                }
+                if (null == descriptions) {
+                    descriptions = new String[size];
+                }
+                descriptions[index] = result.getFailedAttemptDescription();
+            }
+            return PatientExecutionResult.fail(describe(descriptions, start));
+        }
+    }
+}
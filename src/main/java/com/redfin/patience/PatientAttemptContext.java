@@ -0,0 +1,120 @@
+/*
+ * Copyright: (c) 2016 Redfin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.redfin.patience;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static com.redfin.validity.Validity.validate;
+
+/**
+ * A PatientAttemptContext is an immutable object that describes a single execution
+ * attempt while patiently waiting. It is given to a {@link PatientContextualExecutable}
+ * for each attempt.
+ */
+public final class PatientAttemptContext {
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Constants
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /**
+     * The value of {@link #getRemainingNanos()} when the attempts are not limited by a deadline.
+     */
+    public static final long UNBOUNDED = Long.MAX_VALUE;
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Instance Fields & Methods
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    private final int attemptIndex;
+    private final long elapsedNanos;
+    private final long remainingNanos;
+    private final String previousFailure;
+
+    /**
+     * Create a new {@link PatientAttemptContext} with the given values.
+     *
+     * @param attemptIndex    the zero-based index of the attempt.
+     *                        May not be negative.
+     * @param elapsedNanos    the nanoseconds elapsed since the wait started.
+     *                        May not be negative.
+     * @param remainingNanos  the nanoseconds remaining before the deadline of the wait, or
+     *                        {@link #UNBOUNDED} if there is no deadline. A negative value is
+     *                        treated as zero.
+     * @param previousFailure the String description of the previous failed attempt.
+     *                        May be null if this is the first attempt.
+     *
+     * @throws IllegalArgumentException if attemptIndex or elapsedNanos is negative.
+     */
+    public PatientAttemptContext(int attemptIndex,
+                                 long elapsedNanos,
+                                 long remainingNanos,
+                                 String previousFailure) {
+        this.attemptIndex = validate().that(attemptIndex).isAtLeast(0);
+        this.elapsedNanos = validate().that(elapsedNanos).isAtLeast(0L);
+        this.remainingNanos = Math.max(0, remainingNanos);
+        this.previousFailure = previousFailure;
+    }
+
+    /**
+     * @return the zero-based index of this attempt. The first attempt has an index of zero.
+     */
+    public int getAttemptIndex() {
+        return attemptIndex;
+    }
+
+    /**
+     * @return the nanoseconds that had elapsed since the wait started when this attempt began.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * @return the nanoseconds remaining before the deadline of the wait when this attempt
+     * began, or {@link #UNBOUNDED} if the attempts are not limited by a deadline.
+     * It is never negative.
+     */
+    public long getRemainingNanos() {
+        return remainingNanos;
+    }
+
+    /**
+     * @return an {@link Optional} containing the {@link Duration} remaining before the deadline
+     * of the wait when this attempt began, or an empty Optional if there is no deadline.
+     */
+    public Optional<Duration> getRemaining() {
+        return UNBOUNDED == remainingNanos ? Optional.empty() : Optional.of(Duration.ofNanos(remainingNanos));
+    }
+
+    /**
+     * @return an {@link Optional} containing the String description of the previous failed
+     * attempt, or an empty Optional if this is the first attempt.
+     */
+    public Optional<String> getPreviousFailure() {
+        return Optional.ofNullable(previousFailure);
+    }
+
+    @Override
+    public String toString() {
+        return "PatientAttemptContext(attemptIndex=" + attemptIndex
+               + ", elapsedNanos=" + elapsedNanos
+               + ", remainingNanos=" + (UNBOUNDED == remainingNanos ? "unbounded" : String.valueOf(remainingNanos))
+               + ", previousFailure=" + previousFailure + ")";
+    }
+}
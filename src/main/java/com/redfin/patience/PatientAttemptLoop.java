@@ -0,0 +1,541 @@
+/*
+ * Copyright: (c) 2016 Redfin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.redfin.patience;
+
+import com.redfin.patience.exceptions.PatientAbortException;
+import com.redfin.patience.exceptions.PatientException;
+import com.redfin.patience.exceptions.PatientInterruptedException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static com.redfin.validity.Validity.validate;
+
+/**
+ * The attempt loop shared by {@link PatientWaitFuture} and {@link PatientRetryFuture}.
+ * It repeatedly gets execution results, sleeping between unsuccessful attempts, until
+ * a successful result is found, the number of retries is used up, or the next delay
+ * would take it past the deadline. The deadline is the given timeout clamped to the
+ * ambient {@link PatientDeadline} of the current thread, and it is installed as the
+ * ambient deadline while the loop is running. Each attempt is given a
+ * {@link PatientAttemptContext} describing it. A failed attempt that suggests its
+ * own next delay has that suggestion used, clamped to the suggested delay bounds,
+ * instead of the delay from the {@link PatientDelaySupplierFactory}. A delay supplier that is
+ * a {@link PatientCauseAwareDelaySupplier} is given the cause of each failed attempt. An attempt
+ * function that is a {@link DelayLimit} can shorten each delay. An aborted attempt
+ * ends the loop immediately with a {@link PatientAbortException}. The {@link PatientListener}
+ * is told about every attempt, sleep, and how the loop ended. The execution time of each failed
+ * attempt, and the time slept before it, are given to the exception that ends the loop, or
+ * to the {@link PatientOutcome} when the caller asked for an outcome instead of an exception.
+ * The attempts can also be iterated over lazily, one result at a time.
+ */
+final class PatientAttemptLoop {
+
+    /**
+     * Used as the number of retries when only the timeout should limit the attempts.
+     */
+    static final long UNLIMITED_RETRIES = Long.MAX_VALUE;
+
+    /**
+     * Used as the timeout when only the number of retries should limit the attempts.
+     */
+    static final long NO_TIMEOUT = Long.MAX_VALUE;
+
+    /**
+     * The default minimum for a suggested next delay.
+     */
+    static final Duration DEFAULT_MINIMUM_SUGGESTED_DELAY = Duration.ZERO;
+
+    /**
+     * The default maximum for a suggested next delay, effectively no maximum.
+     */
+    static final Duration DEFAULT_MAXIMUM_SUGGESTED_DELAY = Duration.ofNanos(Long.MAX_VALUE);
+
+    private static final int INITIAL_TIMINGS_CAPACITY = 8;
+
+    /**
+     * Creates the exception thrown when the loop runs out of retries or time.
+     */
+    @FunctionalInterface
+    interface FailureFunction {
+
+        /**
+         * @param failedAttemptsDescriptions the descriptions of the failed attempts.
+         * @param attemptDurationsNanos      the execution time of each failed attempt.
+         * @param sleepDurationsNanos        the time slept before each failed attempt.
+         *
+         * @return the exception to throw.
+         */
+        RuntimeException apply(List<String> failedAttemptsDescriptions,
+                               long[] attemptDurationsNanos,
+                               long[] sleepDurationsNanos);
+    }
+
+    /**
+     * Creates the value returned when an attempt is successful.
+     */
+    @FunctionalInterface
+    interface SuccessFunction<T, R> {
+
+        /**
+         * @param result   the successful result.
+         * @param attempts the number of attempts made, including the successful one.
+         *
+         * @return the value to return.
+         */
+        R apply(T result,
+                int attempts);
+    }
+
+    /**
+     * Creates the value returned when the loop runs out of retries or time.
+     */
+    @FunctionalInterface
+    interface ExhaustedFunction<R> {
+
+        /**
+         * @param failedAttemptsDescriptions the descriptions of the failed attempts.
+         * @param attemptDurationsNanos      the execution time of each failed attempt.
+         * @param sleepDurationsNanos        the time slept before each failed attempt.
+         *
+         * @return the value to return.
+         */
+        R apply(List<String> failedAttemptsDescriptions,
+                long[] attemptDurationsNanos,
+                long[] sleepDurationsNanos);
+    }
+
+    /**
+     * An attempt function that limits the delay before the next attempt, e.g. so that the next
+     * attempt isn't later than a deadline of its own. The limit is applied last, after the delay
+     * supplier and any suggested delay.
+     */
+    @FunctionalInterface
+    interface DelayLimit {
+
+        /**
+         * @param nextDelay the delay before the next attempt.
+         *
+         * @return the delay to use instead, which is at most the given delay.
+         */
+        Duration limit(Duration nextDelay);
+    }
+
+    private final PatientSleep sleep;
+    private final PatientDelaySupplierFactory delaySupplierFactory;
+    private final Duration minimumSuggestedDelay;
+    private final Duration maximumSuggestedDelay;
+    private final String name;
+    private final PatientListener listener;
+    private final boolean writableStackTraces;
+
+    PatientAttemptLoop(PatientSleep sleep,
+                       PatientDelaySupplierFactory delaySupplierFactory,
+                       String name) {
+        this(sleep,
+             delaySupplierFactory,
+             DEFAULT_MINIMUM_SUGGESTED_DELAY,
+             DEFAULT_MAXIMUM_SUGGESTED_DELAY,
+             name,
+             PatientListeners.none(),
+             true);
+    }
+
+    PatientAttemptLoop(PatientSleep sleep,
+                       PatientDelaySupplierFactory delaySupplierFactory,
+                       Duration minimumSuggestedDelay,
+                       Duration maximumSuggestedDelay,
+                       String name,
+                       PatientListener listener,
+                       boolean writableStackTraces) {
+        this.sleep = validate().that(sleep).isNotNull();
+        this.delaySupplierFactory = validate().that(delaySupplierFactory).isNotNull();
+        this.minimumSuggestedDelay = validate().that(minimumSuggestedDelay).isAtLeast(Duration.ZERO);
+        this.maximumSuggestedDelay = validate().that(maximumSuggestedDelay).isAtLeast(minimumSuggestedDelay);
+        this.name = validate().that(name).isNotEmpty();
+        this.listener = validate().that(listener).isNotNull();
+        this.writableStackTraces = writableStackTraces;
+    }
+
+    PatientSleep getSleep() {
+        return sleep;
+    }
+
+    PatientDelaySupplierFactory getDelaySupplierFactory() {
+        return delaySupplierFactory;
+    }
+
+    Duration getMinimumSuggestedDelay() {
+        return minimumSuggestedDelay;
+    }
+
+    Duration getMaximumSuggestedDelay() {
+        return maximumSuggestedDelay;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    PatientListener getListener() {
+        return listener;
+    }
+
+    boolean hasWritableStackTraces() {
+        return writableStackTraces;
+    }
+
+    <T> T execute(Function<PatientAttemptContext, PatientExecutionResult<T>> patientExecutionResultFunction,
+                  Duration initialDelay,
+                  long maxRetries,
+                  long timeoutNanos,
+                  FailureFunction failureFunction) {
+        validate().that(failureFunction).isNotNull();
+        return run(patientExecutionResultFunction,
+                   initialDelay,
+                   maxRetries,
+                   timeoutNanos,
+                   (result, attempts) -> result,
+                   (descriptions, attemptNanos, sleepNanos) -> {
+                       throw failureFunction.apply(descriptions, attemptNanos, sleepNanos);
+                   });
+    }
+
+    <T> PatientOutcome<T> attempt(Function<PatientAttemptContext, PatientExecutionResult<T>> patientExecutionResultFunction,
+                                  Duration initialDelay,
+                                  long maxRetries,
+                                  long timeoutNanos) {
+        return run(patientExecutionResultFunction,
+                   initialDelay,
+                   maxRetries,
+                   timeoutNanos,
+                   PatientOutcome::success,
+                   PatientOutcome::failure);
+    }
+
+    /**
+     * Create a lazy view of the attempts. Each call to hasNext makes the next attempt, sleeping for
+     * the delay before it, with the same schedule and deadline as the loop. The iterator ends after
+     * a successful or aborted result, or when the loop would have run out of retries or time. The
+     * listener isn't told about the attempts since the caller may stop iterating at any point.
+     */
+    <T> Iterator<PatientExecutionResult<T>> iterate(Function<PatientAttemptContext, PatientExecutionResult<T>> patientExecutionResultFunction,
+                                                    Duration initialDelay,
+                                                    long maxRetries,
+                                                    long timeoutNanos) {
+        validate().that(patientExecutionResultFunction).isNotNull();
+        validate().that(initialDelay).isAtLeast(Duration.ZERO);
+        validate().that(maxRetries).isAtLeast(0L);
+        validate().that(timeoutNanos).isAtLeast(0L);
+        return new AttemptIterator<>(patientExecutionResultFunction, initialDelay, maxRetries, timeoutNanos);
+    }
+
+    private <T, R> R run(Function<PatientAttemptContext, PatientExecutionResult<T>> patientExecutionResultFunction,
+                         Duration initialDelay,
+                         long maxRetries,
+                         long timeoutNanos,
+                         SuccessFunction<T, R> successFunction,
+                         ExhaustedFunction<R> exhaustedFunction) {
+        // Validate the arguments
+        validate().that(patientExecutionResultFunction).isNotNull();
+        validate().that(initialDelay).isAtLeast(Duration.ZERO);
+        validate().that(maxRetries).isAtLeast(0L);
+        validate().that(timeoutNanos).isAtLeast(0L);
+        long startNanos = System.nanoTime();
+        PatientListener executionListener = listener.onWaitStarted(name);
+        if (null == executionListener) {
+            throw new PatientException("Received a null PatientListener from the listener when starting.");
+        }
+        int attempts = 0;
+        // Exactly one terminal callback is made, even if a callback or anything after it throws
+        boolean terminated = false;
+        try {
+            // Sleep for the initial delay (if any), but never past an outer deadline
+            long remainingNanos = PatientDeadline.remainingNanos();
+            long sleptNanos = sleepFor(clamp(initialDelay, remainingNanos), executionListener);
+            // Clamp the timeout to whatever is left of an outer deadline
+            long budgetNanos = Math.max(0, Math.min(timeoutNanos, PatientDeadline.remainingNanos()));
+            boolean bounded = budgetNanos != NO_TIMEOUT;
+            long deadlineNanos = PatientDeadline.deadlineAfter(budgetNanos);
+            Long previousDeadline = bounded ? PatientDeadline.enter(deadlineNanos) : null;
+            try {
+                // Start trying to get a successful result, use a do-while since a timeout of ZERO should attempt once
+                List<String> failedAttemptDescriptions = new ArrayList<>();
+                // Only allocated once an attempt fails so that a first time success doesn't pay for them
+                long[] attemptDurationsNanos = null;
+                long[] sleepDurationsNanos = null;
+                Supplier<Duration> delayDurationSupplier = createDelaySupplier();
+                // Make the first next delay zero so that we don't sleep during the first loop
+                Duration nextDelay = Duration.ZERO;
+                String previousFailure = null;
+                long retries = 0;
+                do {
+                    // Sleep for the next duration delay
+                    sleptNanos += sleepFor(nextDelay, executionListener);
+                    // Get an execution attempt result and check it's status
+                    long attemptStartNanos = System.nanoTime();
+                    PatientAttemptContext context = new PatientAttemptContext(attempts,
+                                                                              attemptStartNanos - startNanos,
+                                                                              bounded ? deadlineNanos - attemptStartNanos : PatientAttemptContext.UNBOUNDED,
+                                                                              previousFailure);
+                    executionListener.onAttemptStarted(attempts);
+                    PatientExecutionResult<T> result = apply(patientExecutionResultFunction, context);
+                    long attemptEndNanos = System.nanoTime();
+                    executionListener.onAttemptEnded(attempts, result, attemptEndNanos - attemptStartNanos);
+                    attempts++;
+                    if (result.isSuccess()) {
+                        terminated = true;
+                        executionListener.onSuccess(attempts, attemptEndNanos - startNanos);
+                        return successFunction.apply(result.getResult(), attempts);
+                    }
+                    previousFailure = result.getFailedAttemptDescription();
+                    failedAttemptDescriptions.add(previousFailure);
+                    if (null == attemptDurationsNanos) {
+                        attemptDurationsNanos = new long[INITIAL_TIMINGS_CAPACITY];
+                        sleepDurationsNanos = new long[INITIAL_TIMINGS_CAPACITY];
+                    }
+                    attemptDurationsNanos = set(attemptDurationsNanos, attempts - 1, attemptEndNanos - attemptStartNanos);
+                    sleepDurationsNanos = set(sleepDurationsNanos, attempts - 1, sleptNanos);
+                    sleptNanos = 0;
+                    if (result.isAborted()) {
+                        // Unrecoverable, don't bother with any more attempts
+                        terminated = true;
+                        executionListener.onAbort(attempts, attemptEndNanos - startNanos);
+                        throw new PatientAbortException("Aborted after an unrecoverable attempt: " + previousFailure,
+                                                        failedAttemptDescriptions,
+                                                        Arrays.copyOf(attemptDurationsNanos, attempts),
+                                                        Arrays.copyOf(sleepDurationsNanos, attempts),
+                                                        result.getCause().orElse(null),
+                                                        writableStackTraces);
+                    }
+                    // Failure, get the next delay duration
+                    nextDelay = nextDelay(delayDurationSupplier, result, patientExecutionResultFunction);
+                    // Don't retry if they are used up or if the next delay would put the wake time after the deadline
+                } while (retries++ < maxRetries
+                         && (!bounded || deadlineNanos - System.nanoTime() > PatientDeadline.toNanos(nextDelay)));
+                // No valid result found within the retries or the deadline
+                terminated = true;
+                executionListener.onTimeout(attempts, System.nanoTime() - startNanos);
+                return exhaustedFunction.apply(failedAttemptDescriptions,
+                                               Arrays.copyOf(attemptDurationsNanos, attempts),
+                                               Arrays.copyOf(sleepDurationsNanos, attempts));
+            } finally {
+                if (bounded) {
+                    PatientDeadline.exit(previousDeadline);
+                }
+            }
+        } catch (RuntimeException | Error thrown) {
+            // E.g. from the delay supplier, the sleep, or a listener, not just the patient exceptions
+            if (!terminated) {
+                RuntimeException error = thrown instanceof RuntimeException
+                                         ? (RuntimeException) thrown
+                                         : new PatientException("Unexpected error caught while waiting", thrown);
+                executionListener.onError(error, attempts, System.nanoTime() - startNanos);
+            }
+            throw thrown;
+        }
+    }
+
+    private Supplier<Duration> createDelaySupplier() {
+        Supplier<Duration> delayDurationSupplier = delaySupplierFactory.create();
+        if (null == delayDurationSupplier) {
+            throw new PatientException("Received a null duration supplier from the retry handler");
+        }
+        return delayDurationSupplier;
+    }
+
+    private static <T> PatientExecutionResult<T> apply(Function<PatientAttemptContext, PatientExecutionResult<T>> patientExecutionResultFunction,
+                                                       PatientAttemptContext context) {
+        PatientExecutionResult<T> result;
+        try {
+            result = patientExecutionResultFunction.apply(context);
+        } catch (PatientException | PatientInterruptedException e) {
+            // simply propagate these
+            throw e;
+        } catch (Throwable throwable) {
+            throw new PatientException("Unexpected throwable caught while getting execution result", throwable);
+        }
+        if (null == result) {
+            throw new PatientException("Received a null PatientExecutionResult from the execution handler.");
+        }
+        return result;
+    }
+
+    private Duration nextDelay(Supplier<Duration> delayDurationSupplier,
+                               PatientExecutionResult<?> failedResult,
+                               Function<?, ?> attemptFunction) {
+        Duration nextDelay;
+        if (delayDurationSupplier instanceof PatientCauseAwareDelaySupplier) {
+            nextDelay = ((PatientCauseAwareDelaySupplier) delayDurationSupplier).get(failedResult.getCause().orElse(null));
+        } else {
+            nextDelay = delayDurationSupplier.get();
+        }
+        if (null == nextDelay || nextDelay.isNegative()) {
+            throw new PatientException("Received a null or negative Duration from the delay duration supplier.");
+        }
+        // The supplier is always advanced, but a suggestion from the failed attempt takes precedence
+        Duration suggestedDelay = failedResult.getSuggestedNextDelay().orElse(null);
+        if (null != suggestedDelay) {
+            nextDelay = clampSuggestedDelay(suggestedDelay);
+        }
+        if (attemptFunction instanceof DelayLimit) {
+            Duration limited = ((DelayLimit) attemptFunction).limit(nextDelay);
+            if (limited.compareTo(nextDelay) < 0) {
+                nextDelay = limited;
+            }
+        }
+        return nextDelay;
+    }
+
+    private long sleepFor(Duration duration,
+                          PatientListener executionListener) {
+        if (duration.isZero()) {
+            return 0;
+        }
+        executionListener.onSleep(PatientDeadline.toNanos(duration));
+        long start = System.nanoTime();
+        sleep.sleepFor(duration);
+        return System.nanoTime() - start;
+    }
+
+    private static long[] set(long[] array,
+                              int index,
+                              long value) {
+        long[] result = index < array.length ? array : Arrays.copyOf(array, array.length * 2);
+        result[index] = value;
+        return result;
+    }
+
+    private Duration clampSuggestedDelay(Duration suggestedDelay) {
+        if (suggestedDelay.compareTo(minimumSuggestedDelay) < 0) {
+            return minimumSuggestedDelay;
+        }
+        if (suggestedDelay.compareTo(maximumSuggestedDelay) > 0) {
+            return maximumSuggestedDelay;
+        }
+        return suggestedDelay;
+    }
+
+    private static Duration clamp(Duration duration,
+                                  long maxNanos) {
+        if (maxNanos <= 0) {
+            return Duration.ZERO;
+        }
+        return PatientDeadline.toNanos(duration) > maxNanos ? Duration.ofNanos(maxNanos) : duration;
+    }
+
+    private final class AttemptIterator<T>
+             implements Iterator<PatientExecutionResult<T>> {
+
+        private final Function<PatientAttemptContext, PatientExecutionResult<T>> patientExecutionResultFunction;
+        private final Duration initialDelay;
+        private final long maxRetries;
+        private final long timeoutNanos;
+        private boolean started = false;
+        private boolean done = false;
+        private PatientExecutionResult<T> next = null;
+        private long startNanos;
+        private boolean bounded;
+        private long deadlineNanos;
+        private Supplier<Duration> delayDurationSupplier;
+        private Duration nextDelay = Duration.ZERO;
+        private String previousFailure = null;
+        private long retries = 0;
+        private int attempts = 0;
+
+        private AttemptIterator(Function<PatientAttemptContext, PatientExecutionResult<T>> patientExecutionResultFunction,
+                                Duration initialDelay,
+                                long maxRetries,
+                                long timeoutNanos) {
+            this.patientExecutionResultFunction = patientExecutionResultFunction;
+            this.initialDelay = initialDelay;
+            this.maxRetries = maxRetries;
+            this.timeoutNanos = timeoutNanos;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (null == next && !done) {
+                next = attempt();
+            }
+            return null != next;
+        }
+
+        @Override
+        public PatientExecutionResult<T> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("There are no more attempts.");
+            }
+            PatientExecutionResult<T> result = next;
+            next = null;
+            return result;
+        }
+
+        private PatientExecutionResult<T> attempt() {
+            if (!started) {
+                // The same start as the loop, the deadline is that of the thread that starts iterating
+                started = true;
+                startNanos = System.nanoTime();
+                pause(clamp(initialDelay, PatientDeadline.remainingNanos()));
+                long budgetNanos = Math.max(0, Math.min(timeoutNanos, PatientDeadline.remainingNanos()));
+                bounded = budgetNanos != NO_TIMEOUT;
+                deadlineNanos = PatientDeadline.deadlineAfter(budgetNanos);
+                delayDurationSupplier = createDelaySupplier();
+            } else if (retries++ >= maxRetries
+                       || (bounded && deadlineNanos - System.nanoTime() <= PatientDeadline.toNanos(nextDelay))) {
+                done = true;
+                return null;
+            }
+            pause(nextDelay);
+            long attemptStartNanos = System.nanoTime();
+            PatientAttemptContext context = new PatientAttemptContext(attempts,
+                                                                      attemptStartNanos - startNanos,
+                                                                      bounded ? deadlineNanos - attemptStartNanos : PatientAttemptContext.UNBOUNDED,
+                                                                      previousFailure);
+            // The deadline is only installed during the attempt since the caller's code runs between them
+            Long previousDeadline = bounded ? PatientDeadline.enter(deadlineNanos) : null;
+            PatientExecutionResult<T> result;
+            try {
+                result = apply(patientExecutionResultFunction, context);
+            } finally {
+                if (bounded) {
+                    PatientDeadline.exit(previousDeadline);
+                }
+            }
+            attempts++;
+            if (result.isSuccess() || result.isAborted()) {
+                done = true;
+            } else {
+                previousFailure = result.getFailedAttemptDescription();
+                nextDelay = nextDelay(delayDurationSupplier, result, patientExecutionResultFunction);
+            }
+            return result;
+        }
+
+        private void pause(Duration duration) {
+            if (!duration.isZero()) {
+                sleep.sleepFor(duration);
+            }
+        }
+    }
+}
@@ -0,0 +1,309 @@
+/*
+ * Copyright: (c) 2016 Redfin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.redfin.patience;
+
+import com.redfin.patience.exceptions.PatientException;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * A static, non-instantiable, class for the attempts of the {@code fromBatch} futures.
+ * Each attempt makes a single call to the {@link PatientBatchExecutable} with the keys
+ * that are still pending, so the keys that are done are never checked again. An attempt
+ * succeeds, with the values in the order of the keys, once every key is done.
+ * <br>
+ * For a wait a key is done once it has a valid value, and the failed attempt description
+ * has the number of pending keys and the first few of them, so that it stays short while
+ * waiting on a large number of keys. For a retry the batch executable has an outcome for
+ * each key, and the failed attempt description has the number of keys that failed and the
+ * descriptions of the first few of them, so that a batch that fails wholesale doesn't
+ * build a huge description for every attempt.
+ */
+final class PatientBatchAttempts {
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Instance Methods
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /*
+     * Make sure that the static class cannot be instantiated
+     */
+
+    private PatientBatchAttempts() {
+        throw new AssertionError("Cannot instantiate PatientBatchAttempts.");
+    }
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Static Methods and Fields
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    private static final int DESCRIBED_KEYS = 10;
+
+    /**
+     * @return a factory for the attempt function of a single wait, which keeps track of
+     * the keys that are still pending.
+     */
+    static <K, V> Supplier<Function<PatientAttemptContext, PatientExecutionResult<Map<K, V>>>> forBatch(List<K> keys,
+                                                                                                         PatientBatchExecutable<K, V> batchExecutable,
+                                                                                                         Predicate<V> filter,
+                                                                                                         PatientExecutionHandler executionHandler) {
+        return () -> new PendingKeys<>(keys, batchExecutable, filter, executionHandler);
+    }
+
+    /**
+     * @return an executable that checks every key for each attempt, for when the future
+     * is given a filter of its own. It returns the keys that have a valid value. Keys that
+     * are missing from the values aren't given to the filter, and without any keys the
+     * batch executable is never called.
+     */
+    static <K, V> PatientContextualExecutable<Map<K, V>> everyKey(List<K> keys,
+                                                                 PatientBatchExecutable<K, V> batchExecutable,
+                                                                 Predicate<V> filter) {
+        if (keys.isEmpty()) {
+            return context -> Collections.emptyMap();
+        }
+        Set<K> allKeys = Collections.unmodifiableSet(new LinkedHashSet<>(keys));
+        return context -> {
+            Map<K, V> values = batchExecutable.execute(allKeys);
+            Map<K, V> results = new LinkedHashMap<>();
+            if (null != values) {
+                for (K key : allKeys) {
+                    V value = values.get(key);
+                    if ((null != value || values.containsKey(key)) && filter.test(value)) {
+                        results.put(key, value);
+                    }
+                }
+            }
+            return Collections.unmodifiableMap(results);
+        };
+    }
+
+    /**
+     * @return a factory for the attempt function of a single retry, which keeps track of
+     * the keys that have failed.
+     */
+    static <K, V> Supplier<Function<PatientAttemptContext, PatientExecutionResult<Map<K, V>>>> forOutcomes(List<K> keys,
+                                                                                                            PatientBatchExecutable<K, PatientExecutionResult<V>> batchExecutable,
+                                                                                                            PatientExecutionHandler executionHandler) {
+        return () -> new FailedKeys<>(keys, batchExecutable, executionHandler);
+    }
+
+    /**
+     * @return an executable that executes every key for each attempt, for when the future
+     * is given a filter of its own. It returns the keys that have a successful outcome, and
+     * without any keys the batch executable is never called.
+     */
+    static <K, V> PatientContextualExecutable<Map<K, V>> everyOutcome(List<K> keys,
+                                                                     PatientBatchExecutable<K, PatientExecutionResult<V>> batchExecutable) {
+        if (keys.isEmpty()) {
+            return context -> Collections.emptyMap();
+        }
+        Set<K> allKeys = Collections.unmodifiableSet(new LinkedHashSet<>(keys));
+        return context -> {
+            Map<K, PatientExecutionResult<V>> outcomes = batchExecutable.execute(allKeys);
+            Map<K, V> results = new LinkedHashMap<>();
+            if (null != outcomes) {
+                for (K key : allKeys) {
+                    PatientExecutionResult<V> outcome = outcomes.get(key);
+                    if (null != outcome && outcome.isSuccess()) {
+                        results.put(key, outcome.getResult());
+                    }
+                }
+            }
+            return Collections.unmodifiableMap(results);
+        };
+    }
+
+    private static <K, V> Map<K, V> inKeyOrder(List<K> keys,
+                                               Map<K, V> results) {
+        Map<K, V> ordered = new LinkedHashMap<>();
+        for (K key : keys) {
+            ordered.put(key, results.get(key));
+        }
+        return Collections.unmodifiableMap(ordered);
+    }
+
+    private static final class PendingKeys<K, V>
+                    implements Function<PatientAttemptContext, PatientExecutionResult<Map<K, V>>> {
+
+        private final PatientBatchExecutable<K, V> batchExecutable;
+        private final Predicate<V> filter;
+        private final PatientExecutionHandler executionHandler;
+        private final List<K> keys;
+        private final Set<K> pending;
+        private final Set<K> pendingView;
+        private final Map<K, V> results;
+
+        private PendingKeys(List<K> keys,
+                            PatientBatchExecutable<K, V> batchExecutable,
+                            Predicate<V> filter,
+                            PatientExecutionHandler executionHandler) {
+            this.keys = keys;
+            this.batchExecutable = batchExecutable;
+            this.filter = filter;
+            this.executionHandler = executionHandler;
+            this.pending = new LinkedHashSet<>(keys);
+            this.pendingView = Collections.unmodifiableSet(pending);
+            this.results = new LinkedHashMap<>();
+        }
+
+        @Override
+        public PatientExecutionResult<Map<K, V>> apply(PatientAttemptContext context) {
+            if (!pending.isEmpty()) {
+                // A single call for all of the pending keys, the execution handler decides what is ignored
+                PatientExecutionResult<Map<K, V>> result = executionHandler.execute(() -> batchExecutable.execute(pendingView),
+                                                                                    values -> null != values);
+                if (null == result) {
+                    throw new PatientException("Received a null PatientExecutionResult from the execution handler.");
+                }
+                if (!result.isSuccess()) {
+                    return result;
+                }
+                Map<K, V> values = result.getResult();
+                for (Iterator<K> iterator = pending.iterator(); iterator.hasNext(); ) {
+                    K key = iterator.next();
+                    V value = values.get(key);
+                    if (filter.test(value)) {
+                        results.put(key, value);
+                        iterator.remove();
+                    }
+                }
+            }
+            if (pending.isEmpty()) {
+                return PatientExecutionResult.pass(inKeyOrder(keys, results));
+            }
+            return PatientExecutionResult.fail(describePending());
+        }
+
+        private String describePending() {
+            StringBuilder builder = new StringBuilder().append(pending.size())
+                                                       .append(" of ")
+                                                       .append(results.size() + pending.size())
+                                                       .append(" keys pending: [");
+            int described = 0;
+            for (K key : pending) {
+                if (described == DESCRIBED_KEYS) {
+                    builder.append(", ...");
+                    break;
+                }
+                if (described++ > 0) {
+                    builder.append(", ");
+                }
+                builder.append(key);
+            }
+            return builder.append(']').toString();
+        }
+    }
+
+    private static final class FailedKeys<K, V>
+                    implements Function<PatientAttemptContext, PatientExecutionResult<Map<K, V>>> {
+
+        private final PatientBatchExecutable<K, PatientExecutionResult<V>> batchExecutable;
+        private final PatientExecutionHandler executionHandler;
+        private final List<K> keys;
+        private final Set<K> failed;
+        private final Set<K> failedView;
+        private final Map<K, V> results;
+
+        private FailedKeys(List<K> keys,
+                           PatientBatchExecutable<K, PatientExecutionResult<V>> batchExecutable,
+                           PatientExecutionHandler executionHandler) {
+            this.keys = keys;
+            this.batchExecutable = batchExecutable;
+            this.executionHandler = executionHandler;
+            this.failed = new LinkedHashSet<>(keys);
+            this.failedView = Collections.unmodifiableSet(failed);
+            this.results = new LinkedHashMap<>();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public PatientExecutionResult<Map<K, V>> apply(PatientAttemptContext context) {
+            if (failed.isEmpty()) {
+                return PatientExecutionResult.pass(inKeyOrder(keys, results));
+            }
+            // A single call for all of the failed keys, the execution handler decides what is ignored
+            PatientExecutionResult<Map<K, PatientExecutionResult<V>>> result = executionHandler.execute(() -> batchExecutable.execute(failedView),
+                                                                                                        outcomes -> null != outcomes);
+            if (null == result) {
+                throw new PatientException("Received a null PatientExecutionResult from the execution handler.");
+            }
+            if (!result.isSuccess()) {
+                // An unsuccessful result has no value, so it is the same for any type
+                return (PatientExecutionResult<Map<K, V>>) (PatientExecutionResult<?>) result;
+            }
+            Map<K, PatientExecutionResult<V>> outcomes = result.getResult();
+            StringBuilder description = null;
+            int described = 0;
+            Duration suggestedNextDelay = null;
+            Throwable cause = null;
+            int total = results.size() + failed.size();
+            for (Iterator<K> iterator = failed.iterator(); iterator.hasNext(); ) {
+                K key = iterator.next();
+                PatientExecutionResult<V> outcome = outcomes.get(key);
+                if (null != outcome && outcome.isSuccess()) {
+                    results.put(key, outcome.getResult());
+                    iterator.remove();
+                    continue;
+                }
+                if (null != outcome && outcome.isAborted()) {
+                    // Unrecoverable for this key, so the whole batch can't succeed
+                    return PatientExecutionResult.abort(describe(key, outcome), outcome.getCause().orElse(null));
+                }
+                // Only the first few keys are described so that a wholesale failure stays short
+                if (described < DESCRIBED_KEYS) {
+                    description = null == description ? new StringBuilder() : description.append(", ");
+                    description.append(describe(key, outcome));
+                } else if (described == DESCRIBED_KEYS) {
+                    description.append(", ...");
+                }
+                described++;
+                if (null != outcome) {
+                    // Honor the longest suggestion, e.g. the longest throttling delay of any key
+                    Duration suggestion = outcome.getSuggestedNextDelay().orElse(null);
+                    if (null != suggestion && (null == suggestedNextDelay || suggestion.compareTo(suggestedNextDelay) > 0)) {
+                        suggestedNextDelay = suggestion;
+                    }
+                    if (null == cause) {
+                        cause = outcome.getCause().orElse(null);
+                    }
+                }
+            }
+            if (failed.isEmpty()) {
+                return PatientExecutionResult.pass(inKeyOrder(keys, results));
+            }
+            return PatientExecutionResult.fail(failed.size() + " of " + total + " keys failed: " + description,
+                                               suggestedNextDelay,
+                                               cause);
+        }
+
+        private static String describe(Object key,
+                                       PatientExecutionResult<?> outcome) {
+            return "[" + key + "] " + (null == outcome ? "no outcome" : outcome.getFailedAttemptDescription());
+        }
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright: (c) 2016 Redfin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.redfin.patience;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A PatientBatchExecutable checks many keys with a single call, e.g. one query for the
+ * status of every job that is still pending. It is given the keys that haven't produced a
+ * valid result yet and returns the values for the keys it has, so a wait over thousands of
+ * keys makes one round trip per attempt rather than one for each key.
+ * It can throw any type of Throwable without handling it, even checked exceptions.
+ *
+ * @param <K> the type of the keys.
+ * @param <V> the type of the values for the keys.
+ */
+@FunctionalInterface
+public interface PatientBatchExecutable<K, V> {
+
+    /**
+     * Actually execute some code for the given keys. The code should either return
+     * the values for the keys or throw some sort of Throwable instance.
+     *
+     * @param pendingKeys the unmodifiable {@link Set} of keys that are still pending.
+     *                    It is only valid for the duration of the call.
+     *                    Will never be null or empty.
+     *
+     * @return a map of the keys to their values. For a wait, keys that are missing or that
+     * have a value that isn't valid stay pending. For a retry of a batch operation the values
+     * are the outcomes of the keys, and keys that are missing or have an unsuccessful outcome
+     * are retried.
+     *
+     * @throws Throwable possibly.
+     */
+    Map<K, V> execute(Set<K> pendingKeys) throws Throwable;
+}
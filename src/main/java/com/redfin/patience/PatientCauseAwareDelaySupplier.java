@@ -0,0 +1,50 @@
+/*
+ * Copyright: (c) 2016 Redfin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.redfin.patience;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * A PatientCauseAwareDelaySupplier is a {@link Supplier} of {@link Duration}s, as returned by
+ * a {@link PatientDelaySupplierFactory}, that wants to know why the previous attempt failed before
+ * it picks the delay until the next attempt. When a delay supplier implements this interface the
+ * patient futures call {@link #get(Throwable)} with the cause of the failed attempt (as given by
+ * {@link PatientExecutionResult#getCause()}) instead of {@link #get()}.
+ */
+@FunctionalInterface
+public interface PatientCauseAwareDelaySupplier
+         extends Supplier<Duration> {
+
+    /**
+     * @param cause the Throwable that caused the previous attempt to fail.
+     *              May be null if the attempt failed without a cause, e.g. the
+     *              filter rejected the value.
+     *
+     * @return the {@link Duration} to wait before the next attempt.
+     */
+    Duration get(Throwable cause);
+
+    /**
+     * @return the {@link Duration} to wait before the next attempt after
+     * an attempt that failed without a cause.
+     */
+    @Override
+    default Duration get() {
+        return get(null);
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright: (c) 2016 Redfin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.redfin.patience;
+
+import com.redfin.patience.exceptions.PatientException;
+import com.redfin.validity.ValidityUtils;
+
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A static, non-instantiable, class for the attempts of the {@code fromChange} and
+ * {@code fromStable} futures. Each attempt executes the executable once and compares its
+ * value using the equivalence of the future, with the baseline of the wait for a change or
+ * with the value of the previous attempt for stability. Only that one value is kept between
+ * attempts. The filter of the future is tested as well, so a value must both pass the filter
+ * and have changed, or have been stable for long enough, for the attempt to succeed.
+ */
+final class PatientChangeAttempts {
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Instance Methods
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /*
+     * Make sure that the static class cannot be instantiated
+     */
+
+    private PatientChangeAttempts() {
+        throw new AssertionError("Cannot instantiate PatientChangeAttempts.");
+    }
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Static Methods
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /**
+     * @return a factory for the attempt function of a single wait, which succeeds once a value
+     * isn't equivalent to the baseline. The value of the first attempt is the baseline, so it
+     * never succeeds. The baseline never changes afterwards.
+     */
+    static <T> PatientFilteredAttempts<T> forChange(PatientExecutable<T> executable,
+                                                    BiPredicate<? super T, ? super T> equivalence,
+                                                    Predicate<T> filter,
+                                                    PatientExecutionHandler executionHandler) {
+        return new PatientFilteredAttempts<T>() {
+            @Override
+            public Function<PatientAttemptContext, PatientExecutionResult<T>> get() {
+                return new Change<>(executable, equivalence, false, null, filter, executionHandler);
+            }
+
+            @Override
+            public PatientFilteredAttempts<T> withFilter(Predicate<T> newFilter) {
+                return forChange(executable, equivalence, newFilter, executionHandler);
+            }
+        };
+    }
+
+    /**
+     * @return a factory for the attempt function of a single wait, which succeeds once a value
+     * isn't equivalent to the given baseline, so even the first attempt can succeed.
+     */
+    static <T> PatientFilteredAttempts<T> forChange(PatientExecutable<T> executable,
+                                                    T baseline,
+                                                    BiPredicate<? super T, ? super T> equivalence,
+                                                    Predicate<T> filter,
+                                                    PatientExecutionHandler executionHandler) {
+        return new PatientFilteredAttempts<T>() {
+            @Override
+            public Function<PatientAttemptContext, PatientExecutionResult<T>> get() {
+                return new Change<>(executable, equivalence, true, baseline, filter, executionHandler);
+            }
+
+            @Override
+            public PatientFilteredAttempts<T> withFilter(Predicate<T> newFilter) {
+                return forChange(executable, baseline, equivalence, newFilter, executionHandler);
+            }
+        };
+    }
+
+    /**
+     * @return a factory for the attempt function of a single wait, which succeeds once the
+     * given number of consecutive attempts had equivalent values. A failed execution starts
+     * the count again since the value at that time isn't known.
+     */
+    static <T> PatientFilteredAttempts<T> forStable(PatientExecutable<T> executable,
+                                                    int polls,
+                                                    BiPredicate<? super T, ? super T> equivalence,
+                                                    Predicate<T> filter,
+                                                    PatientExecutionHandler executionHandler) {
+        return new PatientFilteredAttempts<T>() {
+            @Override
+            public Function<PatientAttemptContext, PatientExecutionResult<T>> get() {
+                return new Stable<>(executable, equivalence, polls, filter, executionHandler);
+            }
+
+            @Override
+            public PatientFilteredAttempts<T> withFilter(Predicate<T> newFilter) {
+                return forStable(executable, polls, equivalence, newFilter, executionHandler);
+            }
+        };
+    }
+
+    /*
+     * Compares the value of each attempt with the baseline. A changed value that fails the
+     * filter doesn't become the baseline, so a value that changes back and forth is still
+     * compared with where it started.
+     */
+
+    private static final class Change<T>
+                    implements Function<PatientAttemptContext, PatientExecutionResult<T>> {
+
+        private final PatientExecutable<T> executable;
+        private final BiPredicate<? super T, ? super T> equivalence;
+        private final Predicate<T> filter;
+        private final PatientExecutionHandler executionHandler;
+        private boolean hasBaseline;
+        private T baseline;
+
+        private Change(PatientExecutable<T> executable,
+                       BiPredicate<? super T, ? super T> equivalence,
+                       boolean hasBaseline,
+                       T baseline,
+                       Predicate<T> filter,
+                       PatientExecutionHandler executionHandler) {
+            this.executable = executable;
+            this.equivalence = equivalence;
+            this.hasBaseline = hasBaseline;
+            this.baseline = baseline;
+            this.filter = filter;
+            this.executionHandler = executionHandler;
+        }
+
+        @Override
+        public PatientExecutionResult<T> apply(PatientAttemptContext context) {
+            PatientExecutionResult<T> result = execute(executable, executionHandler);
+            if (!result.isSuccess()) {
+                return result;
+            }
+            T value = result.getResult();
+            if (!hasBaseline) {
+                baseline = value;
+                hasBaseline = true;
+                return PatientExecutionResult.fail("baseline: " + ValidityUtils.describe(value));
+            }
+            if (equivalence.test(baseline, value)) {
+                return PatientExecutionResult.fail("unchanged: " + ValidityUtils.describe(value));
+            }
+            if (filter.test(value)) {
+                return PatientExecutionResult.pass(value);
+            }
+            return PatientExecutionResult.fail(ValidityUtils.describe(value));
+        }
+    }
+
+    /*
+     * Compares the value of each attempt with the previous one and counts the equivalent polls.
+     */
+
+    private static final class Stable<T>
+                    implements Function<PatientAttemptContext, PatientExecutionResult<T>> {
+
+        private final PatientExecutable<T> executable;
+        private final BiPredicate<? super T, ? super T> equivalence;
+        private final int requiredPolls;
+        private final Predicate<T> filter;
+        private final PatientExecutionHandler executionHandler;
+        private T previous = null;
+        private boolean hasPrevious = false;
+        private int stablePolls = 0;
+
+        private Stable(PatientExecutable<T> executable,
+                       BiPredicate<? super T, ? super T> equivalence,
+                       int requiredPolls,
+                       Predicate<T> filter,
+                       PatientExecutionHandler executionHandler) {
+            this.executable = executable;
+            this.equivalence = equivalence;
+            this.requiredPolls = requiredPolls;
+            this.filter = filter;
+            this.executionHandler = executionHandler;
+        }
+
+        @Override
+        public PatientExecutionResult<T> apply(PatientAttemptContext context) {
+            PatientExecutionResult<T> result = execute(executable, executionHandler);
+            if (!result.isSuccess()) {
+                // The value at the time of the failure isn't known, so stability starts again
+                hasPrevious = false;
+                return result;
+            }
+            T value = result.getResult();
+            boolean equivalent = hasPrevious && equivalence.test(previous, value);
+            stablePolls = equivalent ? stablePolls + 1 : 1;
+            previous = value;
+            hasPrevious = true;
+            if (stablePolls < requiredPolls) {
+                return PatientExecutionResult.fail("stable for " + stablePolls + " of " + requiredPolls + " polls: " + ValidityUtils.describe(value));
+            }
+            if (filter.test(value)) {
+                return PatientExecutionResult.pass(value);
+            }
+            return PatientExecutionResult.fail(ValidityUtils.describe(value));
+        }
+    }
+
+    private static <T> PatientExecutionResult<T> execute(PatientExecutable<T> executable,
+                                                         PatientExecutionHandler executionHandler) {
+        // Every value is compared, the filter is tested separately
+        PatientExecutionResult<T> result = executionHandler.execute(executable, value -> true);
+        if (null == result) {
+            throw new PatientException("Received a null PatientExecutionResult from the execution handler.");
+        }
+        return result;
+    }
+}
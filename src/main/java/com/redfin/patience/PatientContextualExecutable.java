@@ -0,0 +1,43 @@
+/*
+ * Copyright: (c) 2016 Redfin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.redfin.patience;
+
+/**
+ * A PatientContextualExecutable is like a {@link PatientExecutable} except that it is
+ * given a {@link PatientAttemptContext} describing the current attempt. This allows
+ * the executable to, for example, size its own I/O timeouts so that they never exceed
+ * the time remaining for the wait, or to degrade its work on later attempts.
+ * It can throw any type of Throwable without handling it, even checked exceptions.
+ *
+ * @param <T> the type to be returned from the execute method.
+ */
+@FunctionalInterface
+public interface PatientContextualExecutable<T> {
+
+    /**
+     * Actually execute some code. The code should either return a value
+     * or throw some sort of Throwable instance.
+     *
+     * @param context the {@link PatientAttemptContext} for the current attempt.
+     *                Will never be null.
+     *
+     * @return a value.
+     *
+     * @throws Throwable possibly.
+     */
+    T execute(PatientAttemptContext context) throws Throwable;
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright: (c) 2016 Redfin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.redfin.patience;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static com.redfin.validity.Validity.validate;
+
+/**
+ * A static, non-instantiable, class for the ambient deadline of the current thread.
+ * <br>
+ * While a {@link PatientWaitFuture} is waiting, the time at which its timeout expires
+ * is installed as the deadline for the waiting thread. Any {@link PatientWaitFuture} or
+ * {@link PatientRetryFuture} used from within the executable (e.g. a nested wait) will
+ * clamp its own timeout so that it never outlives the outer deadline. Deadlines only ever
+ * shrink when nested: an inner wait with a shorter timeout installs its own earlier deadline,
+ * but an inner wait can never extend the deadline of an outer one.
+ * <br>
+ * Work handed off to other threads doesn't see the deadline of the submitting thread
+ * unless it is wrapped with one of the {@code propagate} methods.
+ */
+public final class PatientDeadline {
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Instance Methods
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /*
+     * Make sure that the static class cannot be instantiated
+     */
+
+    private PatientDeadline() {
+        throw new AssertionError("Cannot instantiate PatientDeadline.");
+    }
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Static Methods and Fields
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /*
+     * The deadline is stored as a System.nanoTime() value, null means there isn't one.
+     */
+
+    private static final ThreadLocal<Long> DEADLINE_NANOS = new ThreadLocal<>();
+
+    /**
+     * @return an {@link Optional} containing the time remaining before the deadline of the
+     * current thread expires, or an empty Optional if there is no deadline. The remaining
+     * {@link Duration} is never negative; an expired deadline returns {@link Duration#ZERO}.
+     */
+    public static Optional<Duration> remaining() {
+        Long deadline = DEADLINE_NANOS.get();
+        if (null == deadline) {
+            return Optional.empty();
+        }
+        return Optional.of(Duration.ofNanos(Math.max(0, deadline - System.nanoTime())));
+    }
+
+    /**
+     * Run the given supplier with a deadline of the given budget from now installed on the current
+     * thread. If the current thread already has an earlier deadline then that one is kept.
+     * The previous deadline (if any) is restored when the supplier returns or throws.
+     *
+     * @param budget   the {@link Duration} from now until the deadline expires.
+     *                 May not be null or negative.
+     * @param supplier the {@link Supplier} to run with the deadline.
+     *                 May not be null.
+     * @param <T>      the type returned by the supplier.
+     *
+     * @return the value returned by the supplier.
+     *
+     * @throws IllegalArgumentException if budget is null or negative or if supplier is null.
+     */
+    public static <T> T within(Duration budget,
+                               Supplier<T> supplier) {
+        validate().that(budget).isAtLeast(Duration.ZERO);
+        validate().that(supplier).isNotNull();
+        Long previous = enter(deadlineAfter(toNanos(budget)));
+        try {
+            return supplier.get();
+        } finally {
+            exit(previous);
+        }
+    }
+
+    /**
+     * Wrap the given runnable so that, wherever it is run, it runs with the deadline that the
+     * current thread has at the time of this call. This is intended for continuations handed off
+     * to an executor from within a patient wait. If the current thread has no deadline then the
+     * runnable is returned as is.
+     *
+     * @param runnable the {@link Runnable} to wrap.
+     *                 May not be null.
+     *
+     * @return a {@link Runnable} that runs with the current deadline.
+     *
+     * @throws IllegalArgumentException if runnable is null.
+     */
+    public static Runnable propagate(Runnable runnable) {
+        validate().that(runnable).isNotNull();
+        Long deadline = DEADLINE_NANOS.get();
+        if (null == deadline) {
+            return runnable;
+        }
+        return () -> {
+            Long previous = enter(deadline);
+            try {
+                runnable.run();
+            } finally {
+                exit(previous);
+            }
+        };
+    }
+
+    /**
+     * Wrap the given supplier so that, wherever it is run, it runs with the deadline that the
+     * current thread has at the time of this call. This is intended for continuations handed off
+     * to an executor from within a patient wait, e.g. via
+     * {@link java.util.concurrent.CompletableFuture#supplyAsync(Supplier)}. If the current thread
+     * has no deadline then the supplier is returned as is.
+     *
+     * @param supplier the {@link Supplier} to wrap.
+     *                 May not be null.
+     * @param <T>      the type returned by the supplier.
+     *
+     * @return a {@link Supplier} that runs with the current deadline.
+     *
+     * @throws IllegalArgumentException if supplier is null.
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> supplier) {
+        validate().that(supplier).isNotNull();
+        Long deadline = DEADLINE_NANOS.get();
+        if (null == deadline) {
+            return supplier;
+        }
+        return () -> {
+            Long previous = enter(deadline);
+            try {
+                return supplier.get();
+            } finally {
+                exit(previous);
+            }
+        };
+    }
+
+    // ----------------------------------------------------
+    // Package-private helpers for the patient futures
+    // ----------------------------------------------------
+
+    /**
+     * @return the nanoseconds remaining until the deadline of the current thread, which
+     * may be negative if it has expired, or {@link Long#MAX_VALUE} if there is no deadline.
+     */
+    static long remainingNanos() {
+        Long deadline = DEADLINE_NANOS.get();
+        return null == deadline ? Long.MAX_VALUE : deadline - System.nanoTime();
+    }
+
+    /**
+     * Install the given deadline for the current thread unless it already has an earlier one.
+     *
+     * @param deadlineNanos the System.nanoTime() based deadline.
+     *
+     * @return the previous deadline to be given to {@link #exit(Long)}, may be null.
+     */
+    static Long enter(long deadlineNanos) {
+        Long previous = DEADLINE_NANOS.get();
+        if (null == previous || deadlineNanos - previous < 0) {
+            DEADLINE_NANOS.set(deadlineNanos);
+        }
+        return previous;
+    }
+
+    /**
+     * Restore the deadline that was in place before the matching call to {@link #enter(long)}.
+     *
+     * @param previous the value returned by enter.
+     */
+    static void exit(Long previous) {
+        if (null == previous) {
+            DEADLINE_NANOS.remove();
+        } else {
+            DEADLINE_NANOS.set(previous);
+        }
+    }
+
+    /**
+     * @param budgetNanos the nanoseconds from now, may not be negative.
+     *
+     * @return the System.nanoTime() based deadline, saturated rather than overflowing
+     * for very large budgets.
+     */
+    static long deadlineAfter(long budgetNanos) {
+        long now = System.nanoTime();
+        long deadline = now + budgetNanos;
+        // Saturate on overflow so that huge budgets behave like "no deadline" would
+        return deadline - now < 0 ? now + Long.MAX_VALUE : deadline;
+    }
+
+    /**
+     * @param duration the {@link Duration} to convert, may not be null or negative.
+     *
+     * @return the duration in nanoseconds or {@link Long#MAX_VALUE} if it is too large to represent.
+     */
+    static long toNanos(Duration duration) {
+        try {
+            return duration.toNanos();
+        } catch (ArithmeticException overflow) {
+            return Long.MAX_VALUE;
+        }
+    }
+}
@@ -18,8 +18,10 @@ package com.redfin.patience;
 
 import com.redfin.patience.delays.ExponentialPatientDelaySupplierFactory;
 import com.redfin.patience.delays.FixedPatientDelaySupplierFactory;
+import com.redfin.patience.delays.ThrowableTypePatientDelaySupplierFactory;
 
 import java.time.Duration;
+import java.util.Map;
 
 /**
  * A static, non-instantiable, class for obtaining instances of different
@@ -80,4 +82,25 @@ public final class PatientDelaySuppliers {
                                                           Duration initialDelay) {
         return new ExponentialPatientDelaySupplierFactory(base, initialDelay);
     }
+
+    /**
+     * The failed attempts must carry their cause for the schedule to be selected by it, which
+     * the execution handlers from {@link PatientExecutionHandlers#ignoring} do.
+     *
+     * @param factoriesByThrowableType the Map of Throwable classes to the {@link PatientDelaySupplierFactory}
+     *                                 schedule to use after a failed attempt caused by that type (or a subclass of it).
+     *                                 May not be null or contain null keys or values.
+     * @param defaultFactory           the {@link PatientDelaySupplierFactory} schedule to use after a failed
+     *                                 attempt without a cause or whose cause doesn't match any of the types.
+     *                                 May not be null.
+     *
+     * @return a new {@link ThrowableTypePatientDelaySupplierFactory} with the given schedules.
+     *
+     * @throws IllegalArgumentException if factoriesByThrowableType is null or contains null keys or values or
+     *                                  if defaultFactory is null.
+     */
+    public static PatientDelaySupplierFactory byThrowableType(Map<Class<? extends Throwable>, PatientDelaySupplierFactory> factoriesByThrowableType,
+                                                              PatientDelaySupplierFactory defaultFactory) {
+        return new ThrowableTypePatientDelaySupplierFactory(factoriesByThrowableType, defaultFactory);
+    }
 }
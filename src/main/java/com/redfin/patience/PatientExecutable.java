@@ -19,12 +19,14 @@ package com.redfin.patience;
 /**
  * An {@link PatientExecutable} represents a block of code that can be executed and which
  * will return a value. It can throw any type of Throwable without handling it, even
- * checked exceptions.
+ * checked exceptions. It is a {@link PatientContextualExecutable} that ignores the
+ * context of the attempt.
  *
  * @param <T> the type to be returned from the execute method.
  */
 @FunctionalInterface
-public interface PatientExecutable<T> {
+public interface PatientExecutable<T>
+         extends PatientContextualExecutable<T> {
 
     /**
      * Actually execute some code. The code should either return a value
@@ -35,4 +37,18 @@ public interface PatientExecutable<T> {
      * @throws Throwable possibly.
      */
     T execute() throws Throwable;
+
+    /**
+     * Ignores the given context and calls {@link #execute()}.
+     *
+     * @param context the {@link PatientAttemptContext} for the current attempt.
+     *
+     * @return a value.
+     *
+     * @throws Throwable possibly.
+     */
+    @Override
+    default T execute(PatientAttemptContext context) throws Throwable {
+        return execute();
+    }
 }
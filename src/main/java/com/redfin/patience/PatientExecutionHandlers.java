@@ -16,6 +16,7 @@
 
 package com.redfin.patience;
 
+import com.redfin.patience.executions.AbortingPatientExecutionHandler;
 import com.redfin.patience.executions.IgnoringPatientExecutionHandler;
 import com.redfin.patience.executions.SimplePatientExecutionHandler;
 
@@ -92,4 +93,12 @@ public final class PatientExecutionHandlers {
     public static PatientExecutionHandler ignoringAll() {
         return ignoring(Exception.class);
     }
+
+    /**
+     * @return a new {@link AbortingPatientExecutionHandler.Builder} instance for building an execution
+     * handler that aborts the patient wait or retry on unrecoverable attempts.
+     */
+    public static AbortingPatientExecutionHandler.Builder aborting() {
+        return AbortingPatientExecutionHandler.builder();
+    }
 }
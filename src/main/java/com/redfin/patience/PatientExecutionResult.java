@@ -16,12 +16,20 @@
 
 package com.redfin.patience;
 
+import java.time.Duration;
+import java.util.Optional;
+
 import static com.redfin.validity.Validity.*;
 
 /**
  * A PatientExecutionResult is an immutable object that signifies the outcome of a single
  * execution attempt while patiently waiting and is returned by a {@link PatientExecutionHandler}.
  * It will contain either a result or a String description of the failed attempt.
+ * A failed attempt may also carry a suggested delay before the next attempt, e.g.
+ * from a Retry-After header sent by an overloaded service. A failed attempt may instead
+ * be aborted, meaning that it is unrecoverable (e.g. a not found or validation error),
+ * and the patient wait or retry stops immediately with a
+ * {@link com.redfin.patience.exceptions.PatientAbortException}.
  *
  * @param <T> the type of the result.
  */
@@ -33,14 +41,23 @@ public final class PatientExecutionResult<T> {
 
     private final T result;
     private final String failedAttemptDescription;
+    private final Duration suggestedNextDelay;
+    private final Throwable cause;
+    private final boolean aborted;
 
     private PatientExecutionResult(T result,
-                                   String failedAttemptDescription) {
+                                   String failedAttemptDescription,
+                                   Duration suggestedNextDelay,
+                                   Throwable cause,
+                                   boolean aborted) {
         validate().withMessage("Cannot have a PatientResult with a non-null result and a non-null failed attempt description")
                   .that(null != result && null != failedAttemptDescription)
                   .isFalse();
         this.result = result;
         this.failedAttemptDescription = failedAttemptDescription;
+        this.suggestedNextDelay = suggestedNextDelay;
+        this.cause = cause;
+        this.aborted = aborted;
     }
 
     /**
@@ -50,6 +67,14 @@ public final class PatientExecutionResult<T> {
         return null == failedAttemptDescription;
     }
 
+    /**
+     * @return true if this is an unsuccessful result that should end the patient wait
+     * or retry immediately or false if it is not.
+     */
+    public boolean isAborted() {
+        return aborted;
+    }
+
     /**
      * @return the result value if {@link #isSuccess()} returns true. This may
      * be null.
@@ -77,6 +102,34 @@ public final class PatientExecutionResult<T> {
         }
     }
 
+    /**
+     * @return an {@link Optional} containing the suggested {@link Duration} to wait before the next
+     * attempt if {@link #isSuccess()} returns false, or an empty Optional if there is no suggestion.
+     *
+     * @throws UnsupportedOperationException if {@link #isSuccess()} returns true.
+     */
+    public Optional<Duration> getSuggestedNextDelay() {
+        if (isSuccess()) {
+            throw new UnsupportedOperationException("Cannot get the suggested next delay from a successful PatientExecutionResult.");
+        } else {
+            return Optional.ofNullable(suggestedNextDelay);
+        }
+    }
+
+    /**
+     * @return an {@link Optional} containing the Throwable that caused the unsuccessful attempt
+     * if {@link #isSuccess()} returns false, or an empty Optional if there is no cause.
+     *
+     * @throws UnsupportedOperationException if {@link #isSuccess()} returns true.
+     */
+    public Optional<Throwable> getCause() {
+        if (isSuccess()) {
+            throw new UnsupportedOperationException("Cannot get the cause from a successful PatientExecutionResult.");
+        } else {
+            return Optional.ofNullable(cause);
+        }
+    }
+
     // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
     // Static Methods
     // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
@@ -89,7 +142,7 @@ public final class PatientExecutionResult<T> {
      * has the given result.
      */
     public static <T> PatientExecutionResult<T> pass(T result) {
-        return new PatientExecutionResult<>(result, null);
+        return new PatientExecutionResult<>(result, null, null, null, false);
     }
 
     /**
@@ -100,9 +153,85 @@ public final class PatientExecutionResult<T> {
      * has the given failure description.
      */
     public static <T> PatientExecutionResult<T> fail(String failedAttemptDescription) {
+        return fail(failedAttemptDescription, null);
+    }
+
+    /**
+     * The suggested delay replaces the next delay from the {@link PatientDelaySupplierFactory}, after
+     * being clamped to the suggested delay bounds of the patient wait or retry.
+     *
+     * @param failedAttemptDescription the String description of the failed attempt.
+     * @param suggestedNextDelay       the {@link Duration} suggested to wait before the next attempt.
+     *                                 May be null if there is no suggestion, but may not be negative.
+     * @param <T>                      the type of the result.
+     *
+     * @return a new {@link PatientExecutionResult} instance that is not successful and
+     * has the given failure description and suggested next delay.
+     *
+     * @throws IllegalArgumentException if suggestedNextDelay is negative.
+     */
+    public static <T> PatientExecutionResult<T> fail(String failedAttemptDescription,
+                                                     Duration suggestedNextDelay) {
+        return fail(failedAttemptDescription, suggestedNextDelay, null);
+    }
+
+    /**
+     * The cause is available to the {@link PatientCauseAwareDelaySupplier}, if any, that picks
+     * the delay before the next attempt, e.g. to back off harder for throttling errors than
+     * for refused connections.
+     *
+     * @param failedAttemptDescription the String description of the failed attempt.
+     * @param suggestedNextDelay       the {@link Duration} suggested to wait before the next attempt.
+     *                                 May be null if there is no suggestion, but may not be negative.
+     * @param cause                    the Throwable that caused the failed attempt.
+     *                                 May be null.
+     * @param <T>                      the type of the result.
+     *
+     * @return a new {@link PatientExecutionResult} instance that is not successful and
+     * has the given failure description, suggested next delay, and cause.
+     *
+     * @throws IllegalArgumentException if suggestedNextDelay is negative.
+     */
+    public static <T> PatientExecutionResult<T> fail(String failedAttemptDescription,
+                                                     Duration suggestedNextDelay,
+                                                     Throwable cause) {
         if (null == failedAttemptDescription || failedAttemptDescription.isEmpty()) {
             failedAttemptDescription = "Failed execution attempt";
         }
-        return new PatientExecutionResult<>(null, failedAttemptDescription);
+        if (null != suggestedNextDelay) {
+            validate().withMessage("Cannot use a negative suggested next delay.")
+                      .that(suggestedNextDelay)
+                      .isGreaterThanOrEqualToZero();
+        }
+        return new PatientExecutionResult<>(null, failedAttemptDescription, suggestedNextDelay, cause, false);
+    }
+
+    /**
+     * @param failedAttemptDescription the String description of the unrecoverable attempt.
+     * @param <T>                      the type of the result.
+     *
+     * @return a new {@link PatientExecutionResult} instance that is not successful,
+     * is aborted, and has the given failure description.
+     */
+    public static <T> PatientExecutionResult<T> abort(String failedAttemptDescription) {
+        return abort(failedAttemptDescription, null);
+    }
+
+    /**
+     * @param failedAttemptDescription the String description of the unrecoverable attempt.
+     * @param cause                    the Throwable that made the attempt unrecoverable.
+     *                                 May be null. It is used as the cause of the thrown
+     *                                 {@link com.redfin.patience.exceptions.PatientAbortException}.
+     * @param <T>                      the type of the result.
+     *
+     * @return a new {@link PatientExecutionResult} instance that is not successful,
+     * is aborted, and has the given failure description and cause.
+     */
+    public static <T> PatientExecutionResult<T> abort(String failedAttemptDescription,
+                                                      Throwable cause) {
+        if (null == failedAttemptDescription || failedAttemptDescription.isEmpty()) {
+            failedAttemptDescription = "Aborted execution attempt";
+        }
+        return new PatientExecutionResult<>(null, failedAttemptDescription, null, cause, true);
     }
 }
@@ -0,0 +1,39 @@
+/*
+ * Copyright: (c) 2016 Redfin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.redfin.patience;
+
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * A factory for the attempt function of a specialized future whose attempts are tested
+ * with the filter of the future itself, so unlike the other factories it is kept when
+ * the future is given a new filter instead of falling back to the generic executable.
+ *
+ * @param <T> the type of the results of the attempts.
+ */
+interface PatientFilteredAttempts<T>
+        extends Supplier<Function<PatientAttemptContext, PatientExecutionResult<T>>> {
+
+    /**
+     * @param filter the {@link Predicate} to test the results of the attempts with.
+     *
+     * @return a new factory with the given filter.
+     */
+    PatientFilteredAttempts<T> withFilter(Predicate<T> filter);
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright: (c) 2016 Redfin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.redfin.patience;
+
+/**
+ * A PatientListener is notified of what happens while a {@link PatientWaitFuture} or
+ * {@link PatientRetryFuture} is trying to get a valid result, e.g. to record how many attempts
+ * each wait takes and where the time goes. Listeners are set via
+ * {@link PatientWait.Builder#withListener(PatientListener)} or
+ * {@link PatientRetry.Builder#withListener(PatientListener)}.
+ * <br>
+ * Every method has an empty default implementation so an implementation only needs to override
+ * the callbacks it is interested in. When no listener is set the patient futures use
+ * {@link PatientListeners#none()}, whose empty callbacks are inlined away by the JIT.
+ * <br>
+ * The callbacks are made synchronously on the thread that is waiting, so they should be quick
+ * and must not throw. Durations are given in nanoseconds as measured by {@link System#nanoTime()}.
+ */
+public interface PatientListener {
+
+    /**
+     * Called once at the start of each execution of a patient future, before the initial delay.
+     * The returned listener receives the rest of the callbacks for that execution, which allows
+     * an implementation to keep state per execution. The default returns this listener.
+     *
+     * @param policyName the String name of the {@link PatientWait} or {@link PatientRetry} that
+     *                   created the future.
+     *
+     * @return the {@link PatientListener} for the rest of this execution. May not be null.
+     */
+    default PatientListener onWaitStarted(String policyName) {
+        return this;
+    }
+
+    /**
+     * Called right before each attempt.
+     *
+     * @param attemptIndex the zero based index of the attempt.
+     */
+    default void onAttemptStarted(int attemptIndex) {
+    }
+
+    /**
+     * Called right after each attempt that returned a result.
+     *
+     * @param attemptIndex  the zero based index of the attempt.
+     * @param result        the {@link PatientExecutionResult} of the attempt.
+     * @param durationNanos the nanoseconds that the attempt took.
+     */
+    default void onAttemptEnded(int attemptIndex,
+                                PatientExecutionResult<?> result,
+                                long durationNanos) {
+    }
+
+    /**
+     * Called right before the waiting thread sleeps, either for the initial delay or between attempts.
+     * It isn't called for zero length delays.
+     *
+     * @param sleepNanos the nanoseconds that the thread is about to sleep for.
+     */
+    default void onSleep(long sleepNanos) {
+    }
+
+    /**
+     * Called when a valid result was found.
+     *
+     * @param attempts     the number of attempts made, including the successful one.
+     * @param elapsedNanos the nanoseconds since the execution started.
+     */
+    default void onSuccess(int attempts,
+                           long elapsedNanos) {
+    }
+
+    /**
+     * Called when no valid result was found before the timeout expired or the retries were used up.
+     *
+     * @param attempts     the number of attempts made.
+     * @param elapsedNanos the nanoseconds since the execution started.
+     */
+    default void onTimeout(int attempts,
+                           long elapsedNanos) {
+    }
+
+    /**
+     * Called when an attempt was aborted by the execution handler.
+     *
+     * @param attempts     the number of attempts made, including the aborted one.
+     * @param elapsedNanos the nanoseconds since the execution started.
+     */
+    default void onAbort(int attempts,
+                         long elapsedNanos) {
+    }
+
+    /**
+     * Called when the execution ended with an unexpected exception, e.g. one thrown by the execution
+     * handler, the delay supplier, or a listener, or an interrupted sleep. An {@link Error} is given
+     * wrapped in a {@link com.redfin.patience.exceptions.PatientException}, but the Error itself is thrown.
+     *
+     * @param error        the RuntimeException that is about to be thrown.
+     * @param attempts     the number of attempts started.
+     * @param elapsedNanos the nanoseconds since the execution started.
+     */
+    default void onError(RuntimeException error,
+                         int attempts,
+                         long elapsedNanos) {
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright: (c) 2016 Redfin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.redfin.patience;
+
+import com.redfin.patience.listeners.CompositePatientListener;
+import com.redfin.patience.listeners.FlightRecorderSupport;
+import com.redfin.patience.listeners.PatientInFlightRegistry;
+import com.redfin.patience.stats.PatientStatsCollector;
+import com.redfin.patience.trace.PatientTraceRecorder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A static, non-instantiable, class for obtaining instances of different
+ * implementations of the {@link PatientListener} interface.
+ */
+public final class PatientListeners {
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Instance Methods
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /*
+     * Make sure that the static class cannot be instantiated
+     */
+
+    private PatientListeners() {
+        throw new AssertionError("Cannot instantiate PatientListeners.");
+    }
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Static Methods and Fields
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    private static final PatientListener NONE = new PatientListener() { };
+
+    /**
+     * @return the {@link PatientListener} that ignores every callback. The same
+     * instance is always returned.
+     */
+    public static PatientListener none() {
+        return NONE;
+    }
+
+    /**
+     * @param listeners the array of {@link PatientListener}s to notify.
+     *                  May not be null or contain null elements.
+     *
+     * @return a {@link PatientListener} that notifies each of the given listeners in order.
+     * If there are no listeners then {@link #none()} is returned and if there is
+     * only one then it is returned as is.
+     *
+     * @throws IllegalArgumentException if listeners is null or contains null elements.
+     */
+    public static PatientListener composite(PatientListener... listeners) {
+        return composite(null == listeners ? null : Arrays.asList(listeners));
+    }
+
+    /**
+     * @param listeners the collection of {@link PatientListener}s to notify.
+     *                  May not be null or contain null elements.
+     *
+     * @return a {@link PatientListener} that notifies each of the given listeners in order.
+     * If there are no listeners then {@link #none()} is returned and if there is
+     * only one then it is returned as is.
+     *
+     * @throws IllegalArgumentException if listeners is null or contains null elements.
+     */
+    public static PatientListener composite(Collection<PatientListener> listeners) {
+        CompositePatientListener composite = new CompositePatientListener(listeners);
+        switch (composite.getListeners().size()) {
+            case 0:
+                return NONE;
+            case 1:
+                return composite.getListeners().get(0);
+            default:
+                return composite;
+        }
+    }
+
+    /**
+     * @return a new {@link PatientStatsCollector} that keeps statistics for the futures
+     * of every {@link PatientWait} or {@link PatientRetry} it is added to as a listener.
+     */
+    public static PatientStatsCollector stats() {
+        return new PatientStatsCollector();
+    }
+
+    /**
+     * On Java 11 or later this returns a {@link PatientListener} that emits Java Flight Recorder
+     * events for each wait, attempt, and sleep, with the policy name, attempt index, duration, and
+     * outcome. The events are only created while a recording has them enabled. On Java 8 this
+     * returns {@link #none()}. The {@link PatientWait} and {@link PatientRetry} builders add this
+     * listener by default, so it only needs to be added to listeners that are composed by hand.
+     *
+     * @return a {@link PatientListener} that emits Java Flight Recorder events where available.
+     */
+    public static PatientListener flightRecorder() {
+        return FlightRecorderSupport.listener();
+    }
+
+    /*
+     * The listener of a policy built with the given listeners. Unless they are turned off, the
+     * Java Flight Recorder events are emitted where available, so that a recording captures
+     * every policy without the caller adding the listener. The events cost a check per wait
+     * when they aren't being recorded.
+     */
+
+    static PatientListener forPolicy(List<PatientListener> listeners,
+                                     boolean flightRecorderEvents) {
+        PatientListener flightRecorder = flightRecorder();
+        if (!flightRecorderEvents || !FlightRecorderSupport.isAvailable() || listeners.contains(flightRecorder)) {
+            return composite(listeners);
+        }
+        List<PatientListener> withFlightRecorder = new ArrayList<>(listeners);
+        withFlightRecorder.add(flightRecorder);
+        return composite(withFlightRecorder);
+    }
+
+    /**
+     * @return a new {@link PatientInFlightRegistry}, a listener that keeps track of the waits that are
+     * in progress and can report the ones that are stuck.
+     */
+    public static PatientInFlightRegistry inFlight() {
+        return new PatientInFlightRegistry();
+    }
+
+    /**
+     * @param capacity        the number of the most recent traces to keep.
+     *                        May not be less than 1.
+     * @param minimumDuration the {@link Duration} a wait must take for its trace to be kept.
+     *                        May not be null or negative.
+     *
+     * @return a new {@link PatientTraceRecorder}, a listener that records the timeline of each
+     * attempt and sleep of slow waits so that they can be exported for a trace viewer.
+     *
+     * @throws IllegalArgumentException if capacity is less than 1 or if minimumDuration is null or negative.
+     */
+    public static PatientTraceRecorder trace(int capacity,
+                                             Duration minimumDuration) {
+        return new PatientTraceRecorder(capacity, minimumDuration);
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright: (c) 2016 Redfin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.redfin.patience;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The outcome of a {@link PatientWaitFuture} or {@link PatientRetryFuture} from one of
+ * their {@code attempt} methods. It is either successful, with the result that was found,
+ * or unsuccessful because the timeout or retries ran out, with the history of the failed
+ * attempts. Running out of time or retries doesn't throw an exception, so callers that
+ * expect it to happen often don't pay the cost of creating and catching one.
+ *
+ * @param <T> the type of the result.
+ */
+public final class PatientOutcome<T> {
+
+    private static final long[] NO_TIMINGS = new long[0];
+
+    private final T result;
+    private final int attemptCount;
+    private final List<String> failedAttemptsDescriptions;
+    private final long[] attemptDurationsNanos;
+    private final long[] sleepDurationsNanos;
+    private final boolean success;
+
+    static <T> PatientOutcome<T> success(T result,
+                                         int attemptCount) {
+        return new PatientOutcome<>(result, attemptCount, null, NO_TIMINGS, NO_TIMINGS, true);
+    }
+
+    static <T> PatientOutcome<T> failure(List<String> failedAttemptsDescriptions,
+                                         long[] attemptDurationsNanos,
+                                         long[] sleepDurationsNanos) {
+        return new PatientOutcome<>(null,
+                                    failedAttemptsDescriptions.size(),
+                                    failedAttemptsDescriptions,
+                                    attemptDurationsNanos,
+                                    sleepDurationsNanos,
+                                    false);
+    }
+
+    private PatientOutcome(T result,
+                           int attemptCount,
+                           List<String> failedAttemptsDescriptions,
+                           long[] attemptDurationsNanos,
+                           long[] sleepDurationsNanos,
+                           boolean success) {
+        this.result = result;
+        this.attemptCount = attemptCount;
+        this.failedAttemptsDescriptions = failedAttemptsDescriptions;
+        this.attemptDurationsNanos = attemptDurationsNanos;
+        this.sleepDurationsNanos = sleepDurationsNanos;
+        this.success = success;
+    }
+
+    /**
+     * @return true if a valid result was found or false if the timeout or retries ran out.
+     */
+    public boolean isSuccess() {
+        return success;
+    }
+
+    /**
+     * @return the valid result that was found.
+     *
+     * @throws UnsupportedOperationException if {@link #isSuccess()} returns false.
+     */
+    public T getResult() {
+        if (!success) {
+            throw new UnsupportedOperationException("Cannot get the result from an unsuccessful PatientOutcome.");
+        }
+        return result;
+    }
+
+    /**
+     * @return an {@link Optional} containing the result if it was successful and non-null,
+     * or an empty Optional otherwise.
+     */
+    public Optional<T> toOptional() {
+        return success ? Optional.ofNullable(result) : Optional.empty();
+    }
+
+    /**
+     * @param other the value to return if this outcome was unsuccessful.
+     *              May be null.
+     *
+     * @return the result if this outcome was successful or other if it wasn't.
+     */
+    public T orElse(T other) {
+        return success ? result : other;
+    }
+
+    /**
+     * @return the number of attempts that were made.
+     */
+    public int getAttemptCount() {
+        return attemptCount;
+    }
+
+    /**
+     * @return an unmodifiable list of the descriptions of the failed attempts.
+     * The list isn't copied until asked for, and is empty for a successful outcome.
+     */
+    public List<String> getFailedAttemptsDescriptions() {
+        return success ? Collections.emptyList() : Collections.unmodifiableList(failedAttemptsDescriptions);
+    }
+
+    /**
+     * @return a copy of the array of nanoseconds each of the failed attempts took to execute,
+     * in the same order as the descriptions. The array is empty for a successful outcome.
+     */
+    public long[] getAttemptDurationsNanos() {
+        return attemptDurationsNanos.clone();
+    }
+
+    /**
+     * @return a copy of the array of nanoseconds slept before each of the failed attempts,
+     * in the same order as the descriptions. The array is empty for a successful outcome.
+     */
+    public long[] getSleepDurationsNanos() {
+        return sleepDurationsNanos.clone();
+    }
+
+    /**
+     * @return the total {@link Duration} spent executing the failed attempts.
+     */
+    public Duration getTotalAttemptDuration() {
+        return Duration.ofNanos(sum(attemptDurationsNanos));
+    }
+
+    /**
+     * @return the total {@link Duration} spent sleeping before the failed attempts.
+     */
+    public Duration getTotalSleepDuration() {
+        return Duration.ofNanos(sum(sleepDurationsNanos));
+    }
+
+    @Override
+    public String toString() {
+        if (success) {
+            return String.format("PatientOutcome(success, attempts=%d, result=%s)", attemptCount, result);
+        }
+        return String.format("PatientOutcome(failure, attempts=%d, failedAttemptsDescriptions=%s)",
+                             attemptCount,
+                             failedAttemptsDescriptions);
+    }
+
+    private static long sum(long[] timings) {
+        long total = 0;
+        for (long timing : timings) {
+            total += timing;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,254 @@
+/*
+ * Copyright: (c) 2016 Redfin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.redfin.patience;
+
+import com.redfin.patience.exceptions.PatientInterruptedException;
+import com.redfin.patience.exceptions.PatientParallelException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static com.redfin.validity.Validity.validate;
+
+/**
+ * A PatientParallel instance applies a function, e.g. a patient wait or retry, to each
+ * item of a collection on an {@link Executor} with at most a maximum number of the items
+ * being processed at any time. The results are returned in the order of the items and
+ * the failures of the items are gathered into a single {@link PatientParallelException}.
+ * With fail fast the first failure stops any more items from being started and cancels
+ * the ones that are being processed.
+ * <br>
+ * The items are processed with the {@link PatientDeadline} of the calling thread, so a
+ * parallel step within a patient wait doesn't outlive it.
+ * It is immutable and thread safe.
+ */
+public final class PatientParallel {
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Instance Fields & Methods
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    private final Executor executor;
+    private final int maxConcurrency;
+    private final boolean failFast;
+
+    private PatientParallel(Executor executor,
+                            int maxConcurrency,
+                            boolean failFast) {
+        this.executor = validate().that(executor).isNotNull();
+        this.maxConcurrency = validate().that(maxConcurrency).isStrictlyPositive();
+        this.failFast = failFast;
+    }
+
+    /**
+     * Apply the given function to each of the given items. The items are taken in order by
+     * at most the maximum concurrency of tasks on the executor, so there are never more than
+     * that many items being processed at once however many items there are. This returns
+     * once every item has been processed, or with fail fast as soon as an item fails.
+     *
+     * @param items    the {@link Collection} of items to process.
+     *                 May not be null.
+     * @param function the {@link Function} to apply to each item.
+     *                 May not be null.
+     * @param <I>      the type of the items.
+     * @param <T>      the type of the results.
+     *
+     * @return the unmodifiable list of the results, in the iteration order of the given items.
+     *
+     * @throws IllegalArgumentException    if items or function are null.
+     * @throws PatientParallelException    if any of the items failed.
+     * @throws PatientInterruptedException if the calling thread is interrupted while waiting
+     *                                     for the items, the items being processed are cancelled.
+     */
+    @SuppressWarnings("unchecked")
+    public <I, T> List<T> map(Collection<I> items,
+                              Function<? super I, ? extends T> function) {
+        validate().that(items).isNotNull();
+        validate().that(function).isNotNull();
+        List<I> list = new ArrayList<>(items);
+        int size = list.size();
+        if (0 == size) {
+            return Collections.emptyList();
+        }
+        Object[] results = new Object[size];
+        Map<Integer, Throwable> failures = new ConcurrentHashMap<>();
+        AtomicReference<Throwable> firstFailure = new AtomicReference<>();
+        AtomicInteger nextIndex = new AtomicInteger(0);
+        AtomicBoolean stopped = new AtomicBoolean(false);
+        // Each task keeps taking the next item, which bounds the concurrency without a task per item
+        Runnable task = PatientDeadline.propagate(() -> {
+            int index;
+            while (!stopped.get() && (index = nextIndex.getAndIncrement()) < size) {
+                try {
+                    results[index] = function.apply(list.get(index));
+                } catch (Throwable thrown) {
+                    if (failFast) {
+                        // Record the failure before stopping, since the caller stops waiting as soon as it sees
+                        // the stop. A failure after the first one is most likely from it cancelling this item.
+                        if (firstFailure.compareAndSet(null, thrown)) {
+                            failures.put(index, thrown);
+                            stopped.set(true);
+                        }
+                        return;
+                    }
+                    failures.put(index, thrown);
+                    firstFailure.compareAndSet(null, thrown);
+                }
+            }
+        });
+        int taskCount = Math.min(maxConcurrency, size);
+        CompletionService<Void> completionService = new ExecutorCompletionService<>(executor);
+        List<Future<Void>> futures = new ArrayList<>(taskCount);
+        try {
+            for (int i = 0; i < taskCount; i++) {
+                futures.add(completionService.submit(task, null));
+            }
+            for (int i = 0; i < taskCount && !(failFast && stopped.get()); i++) {
+                completionService.take();
+            }
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            throw new PatientInterruptedException("Thread waiting for the parallel items was interrupted.", interrupted);
+        } finally {
+            // Cancel whatever is still outstanding, this is a no-op for the completed tasks
+            for (Future<Void> future : futures) {
+                future.cancel(true);
+            }
+        }
+        if (!failures.isEmpty()) {
+            throw new PatientParallelException(String.format("%d of %d items failed.", failures.size(), size),
+                                               size,
+                                               failures,
+                                               firstFailure.get());
+        }
+        return Collections.unmodifiableList(Arrays.asList((T[]) results));
+    }
+
+    // ----------------------------------------------------
+    // Package-private methods for testing
+    // ----------------------------------------------------
+
+    Executor getExecutor() {
+        return executor;
+    }
+
+    int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    boolean isFailFast() {
+        return failFast;
+    }
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Static Methods
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /**
+     * Create a {@link Builder} instance for fluently generating a {@link PatientParallel} instance
+     * with defaults for non-specified arguments.
+     * <br>
+     * The default uses the common {@link ForkJoinPool}, a maximum concurrency of the number of
+     * available processors, and doesn't fail fast. Patient waits and retries spend most of their
+     * time sleeping, so a dedicated executor is recommended for them rather than the common pool.
+     *
+     * @return a new {@link Builder} instance.
+     */
+    public static PatientParallel.Builder builder() {
+        return new Builder();
+    }
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Builder
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /**
+     * A builder for {@link PatientParallel} instances.
+     * It is not thread safe.
+     */
+    public static final class Builder {
+
+        private Executor executor = ForkJoinPool.commonPool();
+        private int maxConcurrency = Runtime.getRuntime().availableProcessors();
+        private boolean failFast = false;
+
+        /**
+         * Set the {@link Executor} for {@link PatientParallel} instances generated by this {@link Builder}.
+         *
+         * @param executor the {@link Executor} to process the items on. Cancelling the items
+         *                 interrupts them if the executor runs them on threads of its own.
+         *                 May not be null.
+         *
+         * @return a self reference.
+         *
+         * @throws IllegalArgumentException if executor is null.
+         */
+        public PatientParallel.Builder withExecutor(Executor executor) {
+            this.executor = validate().that(executor).isNotNull();
+            return this;
+        }
+
+        /**
+         * Set the maximum concurrency for {@link PatientParallel} instances generated by this {@link Builder}.
+         *
+         * @param maxConcurrency the maximum number of items to be processed at once.
+         *                       Must be positive.
+         *
+         * @return a self reference.
+         *
+         * @throws IllegalArgumentException if maxConcurrency is not positive.
+         */
+        public PatientParallel.Builder withMaxConcurrency(int maxConcurrency) {
+            this.maxConcurrency = validate().that(maxConcurrency).isStrictlyPositive();
+            return this;
+        }
+
+        /**
+         * Set whether {@link PatientParallel} instances generated by this {@link Builder} stop at
+         * the first item that fails, rather than processing every item and gathering all of the failures.
+         *
+         * @param failFast true to stop at the first failure or false otherwise.
+         *
+         * @return a self reference.
+         */
+        public PatientParallel.Builder withFailFast(boolean failFast) {
+            this.failFast = failFast;
+            return this;
+        }
+
+        /**
+         * @return a new {@link PatientParallel} instance with the values of this {@link Builder}.
+         */
+        public PatientParallel build() {
+            return new PatientParallel(executor, maxConcurrency, failFast);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright: (c) 2016 Redfin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.redfin.patience;
+
+import com.redfin.patience.executions.IgnoringPatientExecutionHandler;
+import com.redfin.patience.executions.SimplePatientExecutionHandler;
+
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.IntSupplier;
+import java.util.function.LongPredicate;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * A static, non-instantiable, class for the attempt functions of the primitive
+ * {@code until}, {@code fromInt} and {@code fromLong} futures. A value from the supplier
+ * is tested without boxing it, and a failed attempt uses a shared result with a constant
+ * description rather than rendering the value. This only covers the value itself, the
+ * attempt loop still keeps its per attempt context, description and timings. Throwables from
+ * the supplier are given to the {@link PatientExecutionHandler} so that it still decides
+ * which of them are ignored. The values themselves bypass the execution handler, so this
+ * is only done for the simple and ignoring handlers, which never look at the values. For
+ * any other handler, e.g. one that aborts on a result, there is no specialized attempt
+ * function and the values are boxed and given to the handler like any other executable.
+ */
+final class PatientPrimitiveAttempts {
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Instance Methods
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /*
+     * Make sure that the static class cannot be instantiated
+     */
+
+    private PatientPrimitiveAttempts() {
+        throw new AssertionError("Cannot instantiate PatientPrimitiveAttempts.");
+    }
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Static Methods and Fields
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /*
+     * Execution results are immutable, so the boolean ones can be shared
+     */
+
+    private static final PatientExecutionResult<Boolean> TRUE_RESULT = PatientExecutionResult.pass(Boolean.TRUE);
+    private static final PatientExecutionResult<Boolean> FALSE_RESULT = PatientExecutionResult.fail("false");
+    private static final PatientExecutionResult<Integer> FAILED_INT_RESULT = PatientExecutionResult.fail("An int value that didn't match the filter");
+    private static final PatientExecutionResult<Long> FAILED_LONG_RESULT = PatientExecutionResult.fail("A long value that didn't match the filter");
+    private static final Predicate<Object> ANY = value -> true;
+
+    /**
+     * @return true if the given execution handler never looks at the values it is given, so that
+     * they can be tested without it.
+     */
+    static boolean ignoresValues(PatientExecutionHandler executionHandler) {
+        return executionHandler instanceof SimplePatientExecutionHandler
+               || executionHandler instanceof IgnoringPatientExecutionHandler;
+    }
+
+    /**
+     * @return the factory for the attempt functions, or null if the execution handler may look at the values.
+     */
+    static Supplier<Function<PatientAttemptContext, PatientExecutionResult<Boolean>>> forBoolean(BooleanSupplier supplier,
+                                                                                                 PatientExecutionHandler executionHandler) {
+        if (!ignoresValues(executionHandler)) {
+            return null;
+        }
+        return () -> context -> {
+            boolean value;
+            try {
+                value = supplier.getAsBoolean();
+            } catch (Throwable thrown) {
+                return handleThrown(thrown, executionHandler);
+            }
+            return value ? TRUE_RESULT : FALSE_RESULT;
+        };
+    }
+
+    /**
+     * @return the factory for the attempt functions, or null if the execution handler may look at the values.
+     */
+    static Supplier<Function<PatientAttemptContext, PatientExecutionResult<Integer>>> forInt(IntSupplier supplier,
+                                                                                             IntPredicate filter,
+                                                                                             PatientExecutionHandler executionHandler) {
+        if (!ignoresValues(executionHandler)) {
+            return null;
+        }
+        return () -> context -> {
+            int value;
+            try {
+                value = supplier.getAsInt();
+            } catch (Throwable thrown) {
+                return handleThrown(thrown, executionHandler);
+            }
+            // Only a successful value is ever boxed
+            return filter.test(value) ? PatientExecutionResult.pass(value) : FAILED_INT_RESULT;
+        };
+    }
+
+    /**
+     * @return the factory for the attempt functions, or null if the execution handler may look at the values.
+     */
+    static Supplier<Function<PatientAttemptContext, PatientExecutionResult<Long>>> forLong(LongSupplier supplier,
+                                                                                           LongPredicate filter,
+                                                                                           PatientExecutionHandler executionHandler) {
+        if (!ignoresValues(executionHandler)) {
+            return null;
+        }
+        return () -> context -> {
+            long value;
+            try {
+                value = supplier.getAsLong();
+            } catch (Throwable thrown) {
+                return handleThrown(thrown, executionHandler);
+            }
+            // Only a successful value is ever boxed
+            return filter.test(value) ? PatientExecutionResult.pass(value) : FAILED_LONG_RESULT;
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> PatientExecutionResult<T> handleThrown(Throwable thrown,
+                                                              PatientExecutionHandler executionHandler) {
+        PatientExecutable<T> rethrowing = () -> {
+            throw thrown;
+        };
+        return executionHandler.execute(rethrowing, (Predicate<T>) ANY);
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright: (c) 2016 Redfin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.redfin.patience;
+
+import com.redfin.patience.exceptions.PatientException;
+import com.redfin.validity.ValidityUtils;
+
+import java.time.Duration;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * A static, non-instantiable, class for the attempts of the {@code fromProgress} futures.
+ * Each attempt executes the executable once and measures the progress of its value. A
+ * measure higher than any before it is progress and restarts the stall timeout. An attempt
+ * that doesn't pass the filter of the future once the stall timeout has expired without
+ * progress is aborted, so a stuck wait ends early while the timeout of the future is the
+ * absolute cap for a wait that keeps making progress. The stall timeout starts at the first
+ * attempt, after any initial delay, and the delay before each attempt is limited so that the
+ * attempt isn't later than the end of the stall timeout. Only the highest measure and the time
+ * it was reached are kept between attempts.
+ */
+final class PatientProgressAttempts {
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Instance Methods
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /*
+     * Make sure that the static class cannot be instantiated
+     */
+
+    private PatientProgressAttempts() {
+        throw new AssertionError("Cannot instantiate PatientProgressAttempts.");
+    }
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Static Methods
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /**
+     * @return a factory for the attempt function of a single wait, which keeps track of the
+     * progress of that wait. The stall timeout starts at the first attempt.
+     */
+    static <T> PatientFilteredAttempts<T> forProgress(PatientExecutable<T> executable,
+                                                      ToLongFunction<? super T> progress,
+                                                      Duration stallTimeout,
+                                                      Predicate<T> filter,
+                                                      PatientExecutionHandler executionHandler) {
+        return new PatientFilteredAttempts<T>() {
+            @Override
+            public Function<PatientAttemptContext, PatientExecutionResult<T>> get() {
+                return new Progress<>(executable, progress, stallTimeout, filter, executionHandler);
+            }
+
+            @Override
+            public PatientFilteredAttempts<T> withFilter(Predicate<T> newFilter) {
+                return forProgress(executable, progress, stallTimeout, newFilter, executionHandler);
+            }
+        };
+    }
+
+    private static final class Progress<T>
+                    implements Function<PatientAttemptContext, PatientExecutionResult<T>>, PatientAttemptLoop.DelayLimit {
+
+        private final PatientExecutable<T> executable;
+        private final ToLongFunction<? super T> progress;
+        private final Duration stallTimeout;
+        private final long stallTimeoutNanos;
+        private final Predicate<T> filter;
+        private final PatientExecutionHandler executionHandler;
+        private boolean measured = false;
+        private long highest = 0;
+        private boolean started = false;
+        private long lastProgressNanos;
+
+        private Progress(PatientExecutable<T> executable,
+                         ToLongFunction<? super T> progress,
+                         Duration stallTimeout,
+                         Predicate<T> filter,
+                         PatientExecutionHandler executionHandler) {
+            this.executable = executable;
+            this.progress = progress;
+            this.stallTimeout = stallTimeout;
+            this.stallTimeoutNanos = PatientDeadline.toNanos(stallTimeout);
+            this.filter = filter;
+            this.executionHandler = executionHandler;
+        }
+
+        @Override
+        public PatientExecutionResult<T> apply(PatientAttemptContext context) {
+            if (!started) {
+                // Not when created, since that is before the initial delay
+                started = true;
+                lastProgressNanos = System.nanoTime();
+            }
+            // Every value is measured, the filter is tested separately
+            PatientExecutionResult<T> result = executionHandler.execute(executable, value -> true);
+            if (null == result) {
+                throw new PatientException("Received a null PatientExecutionResult from the execution handler.");
+            }
+            if (result.isAborted()) {
+                return result;
+            }
+            if (!result.isSuccess()) {
+                // A failed execution isn't progress, but it can be stalled
+                return stalled() ? abort(result.getFailedAttemptDescription(), result.getCause().orElse(null)) : result;
+            }
+            T value = result.getResult();
+            long measure = progress.applyAsLong(value);
+            if (!measured || measure > highest) {
+                measured = true;
+                highest = measure;
+                lastProgressNanos = System.nanoTime();
+            }
+            if (filter.test(value)) {
+                return PatientExecutionResult.pass(value);
+            }
+            String description = "progress " + measure + ": " + ValidityUtils.describe(value);
+            return stalled() ? abort(description, null) : PatientExecutionResult.fail(description);
+        }
+
+        @Override
+        public Duration limit(Duration nextDelay) {
+            // Don't sleep past the end of the stall timeout, the attempt then will abort if there's no progress
+            long remainingNanos = Math.max(0, stallTimeoutNanos - (System.nanoTime() - lastProgressNanos));
+            return PatientDeadline.toNanos(nextDelay) > remainingNanos ? Duration.ofNanos(remainingNanos) : nextDelay;
+        }
+
+        private boolean stalled() {
+            return System.nanoTime() - lastProgressNanos >= stallTimeoutNanos;
+        }
+
+        private PatientExecutionResult<T> abort(String description,
+                                                Throwable cause) {
+            String stall = measured ? "no progress past " + highest + " within " : "no progress within ";
+            return PatientExecutionResult.abort(stall + stallTimeout + ", " + description, cause);
+        }
+    }
+}
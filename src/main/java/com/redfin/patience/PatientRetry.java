@@ -17,6 +17,18 @@
 package com.redfin.patience;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.IntSupplier;
+import java.util.function.LongPredicate;
+import java.util.function.LongSupplier;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 
@@ -32,6 +44,11 @@ public final class PatientRetry {
     // Constants
     // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 
+    /**
+     * The name of {@link PatientRetry} instances that weren't given one.
+     */
+    static final String DEFAULT_NAME = "PatientRetry";
+
     private static final Supplier<String> DEFAULT_FAILURE_MESSAGE_SUPPLIER;
     private static final Predicate<?> DEFAULT_FILTER;
 
@@ -44,11 +61,10 @@ public final class PatientRetry {
     // Instance Fields & Methods
     // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 
-    private final PatientSleep sleep;
     private final Duration initialDelay;
     private final int defaultNumberOfRetries;
     private final PatientExecutionHandler executionHandler;
-    private final PatientDelaySupplierFactory delaySupplierFactory;
+    private final PatientAttemptLoop attemptLoop;
 
     /**
      * Create a {@link PatientRetry} instance with the given default values used when
@@ -76,18 +92,27 @@ public final class PatientRetry {
                         int defaultNumberOfRetries,
                         PatientExecutionHandler executionHandler,
                         PatientDelaySupplierFactory delaySupplierFactory) {
-        this.sleep = validate().that(sleep).isNotNull();
+        this(new PatientAttemptLoop(sleep, delaySupplierFactory, DEFAULT_NAME),
+             initialDelay,
+             defaultNumberOfRetries,
+             executionHandler);
+    }
+
+    private PatientRetry(PatientAttemptLoop attemptLoop,
+                         Duration initialDelay,
+                         int defaultNumberOfRetries,
+                         PatientExecutionHandler executionHandler) {
+        this.attemptLoop = validate().that(attemptLoop).isNotNull();
         this.initialDelay = validate().that(initialDelay).isAtLeast(Duration.ZERO);
         this.defaultNumberOfRetries = validate().that(defaultNumberOfRetries).isAtLeast(0);
         this.executionHandler = validate().that(executionHandler).isNotNull();
-        this.delaySupplierFactory = validate().that(delaySupplierFactory).isNotNull();
     }
 
     /**
      * @return the given {@link PatientSleep} instance.
      */
     public PatientSleep getSleep() {
-        return sleep;
+        return attemptLoop.getSleep();
     }
 
     /**
@@ -117,7 +142,45 @@ public final class PatientRetry {
      * @return the given {@link PatientDelaySupplierFactory}.
      */
     public PatientDelaySupplierFactory getDelaySupplierFactory() {
-        return delaySupplierFactory;
+        return attemptLoop.getDelaySupplierFactory();
+    }
+
+    /**
+     * @return the minimum {@link Duration} that a delay suggested by a failed
+     * {@link PatientExecutionResult} is raised to.
+     */
+    public Duration getMinimumSuggestedDelay() {
+        return attemptLoop.getMinimumSuggestedDelay();
+    }
+
+    /**
+     * @return the maximum {@link Duration} that a delay suggested by a failed
+     * {@link PatientExecutionResult} is lowered to.
+     */
+    public Duration getMaximumSuggestedDelay() {
+        return attemptLoop.getMaximumSuggestedDelay();
+    }
+
+    /**
+     * @return the String name given to the {@link PatientListener} when a generated future starts.
+     */
+    public String getName() {
+        return attemptLoop.getName();
+    }
+
+    /**
+     * @return the {@link PatientListener} notified by generated futures, including the Java Flight
+     * Recorder listener when its events are emitted.
+     */
+    public PatientListener getListener() {
+        return attemptLoop.getListener();
+    }
+
+    /**
+     * @return true if the exceptions thrown by generated futures fill in their stack traces or false otherwise.
+     */
+    public boolean hasWritableStackTraces() {
+        return attemptLoop.hasWritableStackTraces();
     }
 
     /**
@@ -135,17 +198,205 @@ public final class PatientRetry {
      * @throws IllegalArgumentException if executable is null.
      */
     public <T> PatientRetryFuture<T> from(PatientExecutable<T> executable) {
+        return from((PatientContextualExecutable<T>) executable);
+    }
+
+    /**
+     * Generate a {@link PatientRetryFuture} instance from this {@link PatientRetry} instance.
+     * The {@link PatientRetryFuture} will have the default filter {@link Predicate}.
+     * The default filter return true for any non-null value, unless the value is a Boolean in which
+     * case it will return true only if the value is non-null and not false.
+     * <br>
+     * The executable is given a {@link PatientAttemptContext} for each attempt, e.g. so that
+     * it can size its own timeouts to the time remaining.
+     *
+     * @param executable the {@link PatientContextualExecutable} to try to retrieve a value from.
+     *                   May not be null.
+     * @param <T>        the type returned from the given executable.
+     *
+     * @return a {@link PatientRetryFuture} instance with the given executable and values.
+     *
+     * @throws IllegalArgumentException if executable is null.
+     */
+    public <T> PatientRetryFuture<T> from(PatientContextualExecutable<T> executable) {
         validate().that(executable).isNotNull();
-        return new PatientRetryFuture<>(sleep,
+        return new PatientRetryFuture<>(attemptLoop,
                                         initialDelay,
                                         defaultNumberOfRetries,
                                         executionHandler,
-                                        delaySupplierFactory,
                                         executable,
                                         getDefaultFilter(),
                                         DEFAULT_FAILURE_MESSAGE_SUPPLIER);
     }
 
+    /**
+     * Generate a {@link PatientRetryFuture} instance from this {@link PatientRetry} instance that
+     * succeeds once the given supplier returns true.
+     * <br>
+     * Unlike {@link #from(PatientExecutable)} with a Boolean executable, the value is never boxed
+     * and an unsuccessful attempt is described with a constant string rather than by rendering the
+     * value. The attempts are still tracked like those of any other wait, e.g. with a context and a
+     * description for each one. Any throwable from the supplier is still
+     * given to the {@link PatientExecutionHandler}. The values are only tested without the execution
+     * handler if it is a simple or ignoring one, which never look at the values. With any other handler,
+     * e.g. one that aborts on a result, or if the returned future is given a new filter, the values
+     * are boxed and given to the execution handler.
+     *
+     * @param supplier the {@link BooleanSupplier} to poll.
+     *                 May not be null.
+     *
+     * @return a {@link PatientRetryFuture} instance with the given supplier and values.
+     *
+     * @throws IllegalArgumentException if supplier is null.
+     */
+    public PatientRetryFuture<Boolean> until(BooleanSupplier supplier) {
+        validate().that(supplier).isNotNull();
+        return new PatientRetryFuture<>(attemptLoop,
+                                        initialDelay,
+                                        defaultNumberOfRetries,
+                                        executionHandler,
+                                        context -> supplier.getAsBoolean(),
+                                        value -> value,
+                                        DEFAULT_FAILURE_MESSAGE_SUPPLIER,
+                                        PatientPrimitiveAttempts.forBoolean(supplier, executionHandler));
+    }
+
+    /**
+     * Generate a {@link PatientRetryFuture} instance from this {@link PatientRetry} instance that
+     * succeeds once a value from the given supplier matches the given filter.
+     * The values are tested without boxing them and an unsuccessful attempt is described
+     * with a constant string, see {@link #until(BooleanSupplier)}.
+     *
+     * @param supplier the {@link IntSupplier} to poll.
+     *                 May not be null.
+     * @param filter   the {@link IntPredicate} a value must match to be a valid result.
+     *                 May not be null.
+     *
+     * @return a {@link PatientRetryFuture} instance with the given supplier, filter, and values.
+     *
+     * @throws IllegalArgumentException if supplier or filter are null.
+     */
+    public PatientRetryFuture<Integer> fromInt(IntSupplier supplier,
+                                               IntPredicate filter) {
+        validate().that(supplier).isNotNull();
+        validate().that(filter).isNotNull();
+        return new PatientRetryFuture<>(attemptLoop,
+                                        initialDelay,
+                                        defaultNumberOfRetries,
+                                        executionHandler,
+                                        context -> supplier.getAsInt(),
+                                        value -> filter.test(value),
+                                        DEFAULT_FAILURE_MESSAGE_SUPPLIER,
+                                        PatientPrimitiveAttempts.forInt(supplier, filter, executionHandler));
+    }
+
+    /**
+     * Generate a {@link PatientRetryFuture} instance from this {@link PatientRetry} instance that
+     * succeeds once a value from the given supplier matches the given filter.
+     * The values are tested without boxing them and an unsuccessful attempt is described
+     * with a constant string, see {@link #until(BooleanSupplier)}.
+     *
+     * @param supplier the {@link LongSupplier} to poll.
+     *                 May not be null.
+     * @param filter   the {@link LongPredicate} a value must match to be a valid result.
+     *                 May not be null.
+     *
+     * @return a {@link PatientRetryFuture} instance with the given supplier, filter, and values.
+     *
+     * @throws IllegalArgumentException if supplier or filter are null.
+     */
+    public PatientRetryFuture<Long> fromLong(LongSupplier supplier,
+                                             LongPredicate filter) {
+        validate().that(supplier).isNotNull();
+        validate().that(filter).isNotNull();
+        return new PatientRetryFuture<>(attemptLoop,
+                                        initialDelay,
+                                        defaultNumberOfRetries,
+                                        executionHandler,
+                                        context -> supplier.getAsLong(),
+                                        value -> filter.test(value),
+                                        DEFAULT_FAILURE_MESSAGE_SUPPLIER,
+                                        PatientPrimitiveAttempts.forLong(supplier, filter, executionHandler));
+    }
+
+    /**
+     * Generate a {@link PatientRetryFuture} instance from this {@link PatientRetry} instance
+     * for a batch operation that can partially fail, e.g. a bulk write. The batch executable
+     * is given the keys to operate on and returns a {@link PatientExecutionResult} outcome
+     * for each of them. The first attempt is for every key and each retry is only for the keys
+     * that failed, so a handful of failures doesn't repeat the whole batch. The result is a
+     * map of each key to the result of its successful outcome, in the iteration order of the
+     * given keys.
+     * <br>
+     * A key without an outcome has failed. The failed attempt description of each attempt has
+     * the number of keys that failed and the descriptions of the first ten of them, by key, so
+     * the descriptions of a {@link com.redfin.patience.exceptions.PatientRetryException} are the
+     * failure history of those keys. The longest delay suggested by an outcome is used before the next retry, and
+     * an aborted outcome aborts the whole retry. The execution handler is used for each call
+     * to the batch executable, so it decides which throwables are ignored and a failed call
+     * leaves every key failed. If the returned future is given a new filter then every key is
+     * executed for each attempt and the filter is given a map of the keys that succeeded.
+     *
+     * @param keys            the {@link Collection} of keys to operate on.
+     *                        May not be null or contain null.
+     * @param batchExecutable the {@link PatientBatchExecutable} that returns an outcome for each key.
+     *                        May not be null.
+     * @param <K>             the type of the keys.
+     * @param <V>             the type of the results for the keys.
+     *
+     * @return a {@link PatientRetryFuture} instance with the given keys, batch executable, and values.
+     *
+     * @throws IllegalArgumentException if keys is null or contains null or if batchExecutable is null.
+     */
+    public <K, V> PatientRetryFuture<Map<K, V>> fromBatch(Collection<K> keys,
+                                                           PatientBatchExecutable<K, PatientExecutionResult<V>> batchExecutable) {
+        validate().that(keys).isNotNull();
+        validate().that(batchExecutable).isNotNull();
+        Set<K> distinctKeys = new LinkedHashSet<>(keys.size());
+        for (K key : keys) {
+            distinctKeys.add(validate().that(key).isNotNull());
+        }
+        List<K> items = new ArrayList<>(distinctKeys);
+        return new PatientRetryFuture<>(attemptLoop,
+                                        initialDelay,
+                                        defaultNumberOfRetries,
+                                        executionHandler,
+                                        PatientBatchAttempts.everyOutcome(items, batchExecutable),
+                                        results -> results.size() == items.size(),
+                                        DEFAULT_FAILURE_MESSAGE_SUPPLIER,
+                                        PatientBatchAttempts.forOutcomes(items, batchExecutable, executionHandler));
+    }
+
+    /**
+     * Generate a {@link PatientRetryFuture} for each of the given items from this {@link PatientRetry} instance
+     * and get their results in parallel with the given {@link PatientParallel}. This is the same
+     * as using {@link PatientParallel#map(Collection, Function)} with a function that calls
+     * {@code from(executable).get()} for the executable of each item.
+     *
+     * @param items       the {@link Collection} of items to process.
+     *                    May not be null.
+     * @param executables the {@link Function} that creates the {@link PatientExecutable} for an item.
+     *                    May not be null.
+     * @param parallel    the {@link PatientParallel} to process the items with.
+     *                    May not be null.
+     * @param <I>         the type of the items.
+     * @param <T>         the type returned from the executables.
+     *
+     * @return the unmodifiable list of the results, in the iteration order of the given items.
+     *
+     * @throws IllegalArgumentException if items, executables, or parallel are null.
+     * @throws com.redfin.patience.exceptions.PatientParallelException if any of the items failed,
+     * e.g. with the exception thrown by the get method of its future.
+     */
+    public <I, T> List<T> getAll(Collection<I> items,
+                                 Function<? super I, ? extends PatientExecutable<T>> executables,
+                                 PatientParallel parallel) {
+        validate().that(items).isNotNull();
+        validate().that(executables).isNotNull();
+        validate().that(parallel).isNotNull();
+        return parallel.map(items, item -> from(executables.apply(item)).get());
+    }
+
     // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
     // Static Methods
     // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
@@ -182,6 +433,12 @@ public final class PatientRetry {
         private int defaultNumberOfRetries = 0;
         private PatientExecutionHandler executionHandler = PatientExecutionHandlers.simple();
         private PatientDelaySupplierFactory delaySupplierFactory = PatientDelaySuppliers.fixed(Duration.ZERO);
+        private Duration minimumSuggestedDelay = PatientAttemptLoop.DEFAULT_MINIMUM_SUGGESTED_DELAY;
+        private Duration maximumSuggestedDelay = PatientAttemptLoop.DEFAULT_MAXIMUM_SUGGESTED_DELAY;
+        private String name = DEFAULT_NAME;
+        private final List<PatientListener> listeners = new ArrayList<>();
+        private boolean writableStackTraces = true;
+        private boolean flightRecorderEvents = true;
 
         /**
          * Set the {@link PatientSleep} for {@link PatientRetry} instances generated by this {@link Builder}.
@@ -258,15 +515,116 @@ public final class PatientRetry {
             return this;
         }
 
+        /**
+         * Set the bounds for delays suggested by failed {@link PatientExecutionResult}s for the
+         * {@link PatientRetry} instances generated by this {@link Builder}. When a failed attempt suggests
+         * a next delay, e.g. from a Retry-After header, it is used instead of the delay from the
+         * delay supplier after being clamped to these bounds. By default the bounds are zero and
+         * no maximum, so any suggestion is honoured as is.
+         *
+         * @param minimum the minimum {@link Duration} for a suggested delay.
+         *                May not be null or negative.
+         * @param maximum the maximum {@link Duration} for a suggested delay.
+         *                May not be null or less than minimum.
+         *
+         * @return a self reference.
+         *
+         * @throws IllegalArgumentException if minimum is null or negative or if maximum is
+         *                                  null or less than minimum.
+         */
+        public PatientRetry.Builder withSuggestedDelayBounds(Duration minimum,
+                                                             Duration maximum) {
+            validate().that(minimum).isAtLeast(Duration.ZERO);
+            validate().that(maximum).isAtLeast(minimum);
+            this.minimumSuggestedDelay = minimum;
+            this.maximumSuggestedDelay = maximum;
+            return this;
+        }
+
+        /**
+         * Set the name for {@link PatientRetry} instances generated by this {@link Builder}. The name is
+         * given to the {@link PatientListener} when a generated future starts, e.g. so that statistics
+         * can be kept per policy. The default is "PatientRetry".
+         *
+         * @param name the String name.
+         *             May not be null or empty.
+         *
+         * @return a self reference.
+         *
+         * @throws IllegalArgumentException if name is null or empty.
+         */
+        public PatientRetry.Builder withName(String name) {
+            this.name = validate().that(name).isNotEmpty();
+            return this;
+        }
+
+        /**
+         * Add a listener for {@link PatientRetry} instances generated by this {@link Builder}. Unlike the
+         * other builder methods this adds to, rather than replaces, the listeners given so far and each
+         * of them is notified in the order they were added. The default is no listener other than the
+         * Java Flight Recorder one, see {@link #withFlightRecorderEvents(boolean)}.
+         *
+         * @param listener the {@link PatientListener} to be notified.
+         *                 May not be null.
+         *
+         * @return a self reference.
+         *
+         * @throws IllegalArgumentException if listener is null.
+         */
+        public PatientRetry.Builder withListener(PatientListener listener) {
+            listeners.add(validate().that(listener).isNotNull());
+            return this;
+        }
+
+        /**
+         * Set whether the exceptions thrown by futures from the {@link PatientRetry} instances generated by this
+         * {@link Builder} fill in their stack traces. Filling in a stack trace costs time and memory that
+         * add up on high-volume paths where running out of attempts is expected and handled, and the
+         * interesting information is the history of failed attempts anyway. When false, the
+         * {@link com.redfin.patience.exceptions.PatientRetryException} and
+         * {@link com.redfin.patience.exceptions.PatientAbortException} are created without a stack trace
+         * and without suppressed exceptions. The default is true.
+         *
+         * @param writableStackTraces true if the exceptions should fill in their stack traces.
+         *
+         * @return a self reference.
+         */
+        public PatientRetry.Builder withWritableStackTraces(boolean writableStackTraces) {
+            this.writableStackTraces = writableStackTraces;
+            return this;
+        }
+
+        /**
+         * Set whether futures from the {@link PatientRetry} instances generated by this {@link Builder} emit
+         * Java Flight Recorder events for each wait, attempt, and sleep, as described by
+         * {@link PatientListeners#flightRecorder()}, so that an existing recording captures them. The events
+         * need Java 11 or later and are only created while a recording has them enabled, so when nothing is
+         * recording they cost a check at the start of each wait. The default is true.
+         *
+         * @param flightRecorderEvents true if Java Flight Recorder events should be emitted where available.
+         *
+         * @return a self reference.
+         */
+        public PatientRetry.Builder withFlightRecorderEvents(boolean flightRecorderEvents) {
+            this.flightRecorderEvents = flightRecorderEvents;
+            return this;
+        }
+
         /**
          * @return a new {@link PatientRetry} instance with the given or default values.
          */
         public PatientRetry build() {
-            return new PatientRetry(sleep,
+            PatientAttemptLoop attemptLoop = new PatientAttemptLoop(sleep,
+                                                                    delaySupplierFactory,
+                                                                    minimumSuggestedDelay,
+                                                                    maximumSuggestedDelay,
+                                                                    name,
+                                                                    PatientListeners.forPolicy(listeners, flightRecorderEvents),
+                                                                    writableStackTraces);
+            return new PatientRetry(attemptLoop,
                                     initialDelay,
                                     defaultNumberOfRetries,
-                                    executionHandler,
-                                    delaySupplierFactory);
+                                    executionHandler);
         }
     }
 }
@@ -16,14 +16,18 @@
 
 package com.redfin.patience;
 
-import com.redfin.patience.exceptions.PatientException;
+import com.redfin.patience.exceptions.PatientAbortException;
 import com.redfin.patience.exceptions.PatientRetryException;
 
 import java.time.Duration;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static com.redfin.validity.Validity.validate;
 
@@ -40,14 +44,14 @@ public final class PatientRetryFuture<T> {
     // Instance Fields & Methods
     // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 
-    private final PatientSleep sleep;
+    private final PatientAttemptLoop attemptLoop;
     private final Duration initialDelay;
     private final int defaultNumberOfRetries;
     private final PatientExecutionHandler executionHandler;
-    private final PatientDelaySupplierFactory delaySupplierFactory;
-    private final PatientExecutable<T> executable;
+    private final PatientContextualExecutable<T> executable;
     private final Predicate<T> filter;
     private final Supplier<String> failureMessageSupplier;
+    private final Supplier<Function<PatientAttemptContext, PatientExecutionResult<T>>> attemptFunctionFactory;
 
     /**
      * Create a new {@link PatientWaitFuture} instance with the given values.
@@ -85,14 +89,15 @@ public final class PatientRetryFuture<T> {
                               PatientExecutable<T> executable,
                               Predicate<T> filter,
                               String failureMessage) {
+        // A PatientExecutable is a contextual executable that ignores the context
         this(sleep,
              initialDelay,
              defaultNumberOfRetries,
              executionHandler,
              delaySupplierFactory,
-             executable,
+             (PatientContextualExecutable<T>) executable,
              filter,
-             () -> failureMessage);
+             failureMessage);
     }
 
     /**
@@ -130,62 +135,160 @@ public final class PatientRetryFuture<T> {
                               PatientExecutable<T> executable,
                               Predicate<T> filter,
                               Supplier<String> failureMessageSupplier) {
-        this.sleep = validate().that(sleep).isNotNull();
+        // A PatientExecutable is a contextual executable that ignores the context
+        this(sleep,
+             initialDelay,
+             defaultNumberOfRetries,
+             executionHandler,
+             delaySupplierFactory,
+             (PatientContextualExecutable<T>) executable,
+             filter,
+             failureMessageSupplier);
+    }
+
+    /**
+     * Create a new {@link PatientWaitFuture} instance with the given values.
+     *
+     * @param sleep                  the {@link PatientSleep} to be used for making the current thread sleep.
+     *                               May not be null.
+     * @param initialDelay           the {@link Duration} time to sleep when waiting for a value.
+     *                               A value of zero means to not sleep.
+     *                               May not be null or negative.
+     * @param defaultNumberOfRetries The default maximum number of retries. This is used
+     *                               for the {@link #get()} and {@link #check()} methods.
+     *                               A value of zero means to attempt to get a value only once.
+     *                               May not be negative.
+     * @param executionHandler       the {@link PatientExecutionHandler} to be used for this future.
+     *                               May not be null.
+     * @param delaySupplierFactory   the {@link PatientDelaySupplierFactory} to be used to get a supplier
+     *                               of durations to wait between unsuccessful attempts to get a result.
+     *                               May not be null.
+     * @param executable             the {@link PatientContextualExecutable} to be used to retrieve values.
+     *                               May not be null.
+     * @param filter                 the {@link Predicate} to be used to test values from the executable.
+     *                               May not be null.
+     * @param failureMessage         the String message for the {@link PatientRetryException} if no
+     *                               valid value is found within the timeout.
+     *                               May be null.
+     *
+     * @throws IllegalArgumentException if any argument other than failureMessage is null or if
+     *                                  either initialDelay or defaultNumberOfRetries are negative.
+     */
+    public PatientRetryFuture(PatientSleep sleep,
+                              Duration initialDelay,
+                              int defaultNumberOfRetries,
+                              PatientExecutionHandler executionHandler,
+                              PatientDelaySupplierFactory delaySupplierFactory,
+                              PatientContextualExecutable<T> executable,
+                              Predicate<T> filter,
+                              String failureMessage) {
+        this(sleep,
+             initialDelay,
+             defaultNumberOfRetries,
+             executionHandler,
+             delaySupplierFactory,
+             executable,
+             filter,
+             () -> failureMessage);
+    }
+
+    /**
+     * Create a new {@link PatientWaitFuture} instance with the given values.
+     *
+     * @param sleep                  the {@link PatientSleep} to be used for making the current thread sleep.
+     *                               May not be null.
+     * @param initialDelay           the {@link Duration} time to sleep when waiting for a value.
+     *                               A value of zero means to not sleep.
+     *                               May not be null or negative.
+     * @param defaultNumberOfRetries The default maximum number of retries. This is used
+     *                               for the {@link #get()} and {@link #check()} methods.
+     *                               A value of zero means to attempt to get a value only once.
+     *                               May not be negative.
+     * @param executionHandler       the {@link PatientExecutionHandler} to be used for this future.
+     *                               May not be null.
+     * @param delaySupplierFactory   the {@link PatientDelaySupplierFactory} to be used to get a supplier
+     *                               of durations to wait between unsuccessful attempts to get a result.
+     *                               May not be null.
+     * @param executable             the {@link PatientContextualExecutable} to be used to retrieve values.
+     *                               May not be null.
+     * @param filter                 the {@link Predicate} to be used to test values from the executable.
+     *                               May not be null.
+     * @param failureMessageSupplier the {@link Supplier} of String messages for the {@link PatientRetryException} if no
+     *                               valid value is found within the timeout. May not be null.
+     *
+     * @throws IllegalArgumentException if any argument other than failureMessage is null or if
+     *                                  either initialDelay or defaultNumberOfRetries are negative.
+     */
+    public PatientRetryFuture(PatientSleep sleep,
+                              Duration initialDelay,
+                              int defaultNumberOfRetries,
+                              PatientExecutionHandler executionHandler,
+                              PatientDelaySupplierFactory delaySupplierFactory,
+                              PatientContextualExecutable<T> executable,
+                              Predicate<T> filter,
+                              Supplier<String> failureMessageSupplier) {
+        this(new PatientAttemptLoop(sleep, delaySupplierFactory, PatientRetry.DEFAULT_NAME),
+             initialDelay,
+             defaultNumberOfRetries,
+             executionHandler,
+             executable,
+             filter,
+             failureMessageSupplier);
+    }
+
+    PatientRetryFuture(PatientAttemptLoop attemptLoop,
+                       Duration initialDelay,
+                       int defaultNumberOfRetries,
+                       PatientExecutionHandler executionHandler,
+                       PatientContextualExecutable<T> executable,
+                       Predicate<T> filter,
+                       Supplier<String> failureMessageSupplier) {
+        this(attemptLoop,
+             initialDelay,
+             defaultNumberOfRetries,
+             executionHandler,
+             executable,
+             filter,
+             failureMessageSupplier,
+             null);
+    }
+
+    PatientRetryFuture(PatientAttemptLoop attemptLoop,
+                       Duration initialDelay,
+                       int defaultNumberOfRetries,
+                       PatientExecutionHandler executionHandler,
+                       PatientContextualExecutable<T> executable,
+                       Predicate<T> filter,
+                       Supplier<String> failureMessageSupplier,
+                       Supplier<Function<PatientAttemptContext, PatientExecutionResult<T>>> attemptFunctionFactory) {
+        this.attemptLoop = validate().that(attemptLoop).isNotNull();
         this.initialDelay = validate().that(initialDelay).isAtLeast(Duration.ZERO);
         this.defaultNumberOfRetries = validate().that(defaultNumberOfRetries).isAtLeast(0);
         this.executionHandler = validate().that(executionHandler).isNotNull();
-        this.delaySupplierFactory = validate().that(delaySupplierFactory).isNotNull();
         this.executable = validate().that(executable).isNotNull();
         this.filter = validate().that(filter).isNotNull();
         this.failureMessageSupplier = validate().that(failureMessageSupplier).isNotNull();
+        this.attemptFunctionFactory = attemptFunctionFactory;
     }
 
     // ----------------------------------------------------
     // Helpers
     // ----------------------------------------------------
 
-    private T execute(Supplier<PatientExecutionResult<T>> patientExecutionResultSupplier,
-                      int numRetries) {
-        // Validate the arguments
-        validate().that(patientExecutionResultSupplier).isNotNull();
-        validate().that(numRetries).isAtLeast(0);
-        // Start trying to get a successful result
-        List<String> failedAttemptDescriptions = new ArrayList<>();
-        Supplier<Duration> delayDurationSupplier = delaySupplierFactory.create();
-        if (null == delayDurationSupplier) {
-            throw new PatientException("Received a null duration supplier from the retry handler");
+    private Function<PatientAttemptContext, PatientExecutionResult<T>> attemptFunction() {
+        if (null != attemptFunctionFactory) {
+            // A specialized attempt function, created for each run since it may have state
+            return attemptFunctionFactory.get();
         }
-        // Make the first next delay zero so that we don't sleep during the first loop
-        Duration nextDelay = Duration.ZERO;
-        // We go while <= since the first attempt is NOT a retry
-        for (int i = 0; i <= numRetries; i++) {
-            // Sleep for the next duration delay
-            sleep.sleepFor(nextDelay);
-            // Get an execution attempt result and check it's status
-            try {
-                PatientExecutionResult<T> result = patientExecutionResultSupplier.get();
-                if (null == result) {
-                    throw new PatientException("Received a null PatientExecutionResult from the execution handler.");
-                }
-                if (result.isSuccess()) {
-                    return result.getResult();
-                } else {
-                    failedAttemptDescriptions.add(result.getFailedAttemptDescription());
-                }
-            } catch (PatientException e) {
-                // simply propagate this
-                throw e;
-            } catch (Throwable throwable) {
-                throw new PatientException("Unexpected throwable caught while getting execution result", throwable);
-            }
-            // Failure, get the next delay duration
-            nextDelay = delayDurationSupplier.get();
-            if (null == nextDelay || nextDelay.isNegative()) {
-                throw new PatientException("Received a null or negative Duration from the delay duration supplier.");
-            }
+        return context -> executionHandler.execute(executableFor(context), filter);
+    }
+
+    private PatientExecutable<T> executableFor(PatientAttemptContext context) {
+        if (executable instanceof PatientExecutable) {
+            // It ignores the context anyway, so don't wrap it
+            return (PatientExecutable<T>) executable;
         }
-        // No valid result found within the max duration
-        throw new PatientRetryException(failureMessageSupplier.get(), failedAttemptDescriptions);
+        return () -> executable.execute(context);
     }
 
     // ----------------------------------------------------
@@ -214,14 +317,14 @@ public final class PatientRetryFuture<T> {
      */
     public PatientRetryFuture<T> withMessage(Supplier<String> failureMessageSupplier) {
         validate().that(failureMessageSupplier).isNotNull();
-        return new PatientRetryFuture<>(sleep,
+        return new PatientRetryFuture<>(attemptLoop,
                                         initialDelay,
                                         defaultNumberOfRetries,
                                         executionHandler,
-                                        delaySupplierFactory,
                                         executable,
                                         filter,
-                                        failureMessageSupplier);
+                                        failureMessageSupplier,
+                                        attemptFunctionFactory);
     }
 
     /**
@@ -235,11 +338,10 @@ public final class PatientRetryFuture<T> {
      */
     public PatientRetryFuture<T> withFilter(Predicate<T> filter) {
         validate().that(filter).isNotNull();
-        return new PatientRetryFuture<>(sleep,
+        return new PatientRetryFuture<>(attemptLoop,
                                         initialDelay,
                                         defaultNumberOfRetries,
                                         executionHandler,
-                                        delaySupplierFactory,
                                         executable,
                                         filter,
                                         failureMessageSupplier);
@@ -272,6 +374,8 @@ public final class PatientRetryFuture<T> {
      *
      * @param numRetries the number of retries possible when trying to get
      *                   a valid result. A value of zero means only attempt to get a value once.
+     *                   If the current thread has a {@link PatientDeadline} then no retry is
+     *                   made whose delay would take it past that deadline.
      *                   May not be negative.
      *
      * @return the first found valid result from this patient future instance.
@@ -279,14 +383,20 @@ public final class PatientRetryFuture<T> {
      * @throws IllegalArgumentException if numRetries is negative.
      * @throws PatientRetryException    if no valid result is found within the
      *                                  specified number of retries.
+     * @throws PatientAbortException    if the execution handler aborts an attempt.
      */
     public T get(int numRetries) {
         validate().that(numRetries).isAtLeast(0);
-        // Sleep for the initial timeout (if any)
-        sleep.sleepFor(initialDelay);
         // Start trying to get a valid result
-        return execute(() -> executionHandler.execute(executable, filter),
-                       numRetries);
+        return attemptLoop.execute(attemptFunction(),
+                                   initialDelay,
+                                   numRetries,
+                                   PatientAttemptLoop.NO_TIMEOUT,
+                                   (descriptions, attemptNanos, sleepNanos) -> new PatientRetryException(failureMessageSupplier.get(),
+                                                                                                         descriptions,
+                                                                                                         attemptNanos,
+                                                                                                         sleepNanos,
+                                                                                                         attemptLoop.hasWritableStackTraces()));
     }
 
     /**
@@ -316,25 +426,123 @@ public final class PatientRetryFuture<T> {
      *                   a valid result. A value of zero means only attempt to get a value once.
      *                   May not be negative.
      *
-     * @return true if a successful value is found before the timeout or false otherwise.
+     * @return true if a successful value is found before the timeout or false otherwise,
+     * including when the execution handler aborts an attempt.
      *
      * @throws IllegalArgumentException if numRetries is negative.
      */
     public boolean check(int numRetries) {
         try {
-            get(numRetries);
-            return true;
-        } catch (PatientRetryException ignore) {
+            return attempt(numRetries).isSuccess();
+        } catch (PatientAbortException ignore) {
             return false;
         }
     }
 
+    /**
+     * This is the same as calling {@link #attempt(int)} with the default number of
+     * retries for this patient future.
+     *
+     * @return the {@link PatientOutcome} of the retry.
+     */
+    public PatientOutcome<T> attempt() {
+        return attempt(defaultNumberOfRetries);
+    }
+
+    /**
+     * Begin executing the patient retry in the same way as {@link #get(int)}, but
+     * return a {@link PatientOutcome} rather than throwing a {@link PatientRetryException}
+     * if no valid result is found within the given number of retries. The outcome has the
+     * number of attempts and the history of the failed attempts.
+     *
+     * @param numRetries the maximum number of retries to attempt. A value of zero
+     *                   means only attempt to get a value once.
+     *                   May not be negative.
+     *
+     * @return the {@link PatientOutcome} of the retry.
+     *
+     * @throws IllegalArgumentException if numRetries is negative.
+     * @throws PatientAbortException    if the execution handler aborts an attempt.
+     */
+    public PatientOutcome<T> attempt(int numRetries) {
+        validate().that(numRetries).isAtLeast(0);
+        return attemptLoop.attempt(attemptFunction(),
+                                   initialDelay,
+                                   numRetries,
+                                   PatientAttemptLoop.NO_TIMEOUT);
+    }
+
+    /**
+     * This is the same as calling {@link #iterator(int)} with the default number of retries
+     * for this patient future.
+     *
+     * @return an {@link Iterator} over the results of the attempts.
+     */
+    public Iterator<PatientExecutionResult<T>> iterator() {
+        return iterator(defaultNumberOfRetries);
+    }
+
+    /**
+     * Create a lazy {@link Iterator} over the result of each attempt, e.g. to observe progress
+     * while waiting rather than only the final value. Nothing is executed until the iterator is
+     * used, and then each call to {@link Iterator#hasNext()} that needs a new result makes the
+     * next attempt, first sleeping for the delay before it. The attempts follow the same schedule
+     * as {@link #get(int)}. The iterator ends after a successful or aborted result, or once
+     * the attempts would have been used up, without throwing an exception.
+     * The listeners of the patient future aren't told about these attempts.
+     *
+     * @param numRetries the maximum number of retries after the first attempt,
+     *                   as for {@link #get(int)}.
+     *                   May not be negative.
+     *
+     * @return an {@link Iterator} over the results of the attempts.
+     *
+     * @throws IllegalArgumentException if numRetries is negative.
+     */
+    public Iterator<PatientExecutionResult<T>> iterator(int numRetries) {
+        validate().that(numRetries).isAtLeast(0);
+        return attemptLoop.iterate(attemptFunction(),
+                                   initialDelay,
+                                   numRetries,
+                                   PatientAttemptLoop.NO_TIMEOUT);
+    }
+
+    /**
+     * This is the same as calling {@link #stream(int)} with the default number of retries
+     * for this patient future.
+     *
+     * @return a {@link Stream} of the results of the attempts.
+     */
+    public Stream<PatientExecutionResult<T>> stream() {
+        return stream(defaultNumberOfRetries);
+    }
+
+    /**
+     * Create a lazy, sequential, {@link Stream} of the result of each attempt, see {@link #iterator(int)}.
+     * Since the attempts are made as the stream is consumed, a short-circuiting operation such as
+     * {@link Stream#filter(java.util.function.Predicate)} followed by {@link Stream#findFirst()}
+     * stops making attempts once it has what it needs.
+     *
+     * @param numRetries the maximum number of retries after the first attempt,
+     *                   as for {@link #get(int)}.
+     *                   May not be negative.
+     *
+     * @return a {@link Stream} of the results of the attempts.
+     *
+     * @throws IllegalArgumentException if numRetries is negative.
+     */
+    public Stream<PatientExecutionResult<T>> stream(int numRetries) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator(numRetries),
+                                                                        Spliterator.ORDERED | Spliterator.NONNULL),
+                                    false);
+    }
+
     // ----------------------------------------------------
     // Package-private methods for testing
     // ----------------------------------------------------
 
     PatientSleep getSleep() {
-        return sleep;
+        return attemptLoop.getSleep();
     }
 
     Duration getInitialDelay() {
@@ -350,10 +558,14 @@ public final class PatientRetryFuture<T> {
     }
 
     PatientDelaySupplierFactory getDelaySupplierFactory() {
-        return delaySupplierFactory;
+        return attemptLoop.getDelaySupplierFactory();
+    }
+
+    PatientAttemptLoop getAttemptLoop() {
+        return attemptLoop;
     }
 
-    PatientExecutable<T> getExecutable() {
+    PatientContextualExecutable<T> getExecutable() {
         return executable;
     }
 
@@ -17,8 +17,24 @@
 package com.redfin.patience;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.IntSupplier;
+import java.util.function.LongPredicate;
+import java.util.function.LongSupplier;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
 
 import static com.redfin.validity.Validity.*;
 
@@ -32,6 +48,11 @@ public final class PatientWait {
     // Constants
     // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 
+    /**
+     * The name of {@link PatientWait} instances that weren't given one.
+     */
+    static final String DEFAULT_NAME = "PatientWait";
+
     private static final Supplier<String> DEFAULT_FAILURE_MESSAGE_SUPPLIER;
     private static final Predicate<?> DEFAULT_FILTER;
 
@@ -44,11 +65,10 @@ public final class PatientWait {
     // Instance Fields & Methods
     // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 
-    private final PatientSleep sleep;
     private final Duration initialDelay;
     private final Duration defaultTimeout;
     private final PatientExecutionHandler executionHandler;
-    private final PatientDelaySupplierFactory delaySupplierFactory;
+    private final PatientAttemptLoop attemptLoop;
 
     /**
      * Create a {@link PatientWait} instance with the given default values used when
@@ -76,18 +96,27 @@ public final class PatientWait {
                        Duration defaultTimeout,
                        PatientExecutionHandler executionHandler,
                        PatientDelaySupplierFactory delaySupplierFactory) {
-        this.sleep = validate().that(sleep).isNotNull();
+        this(new PatientAttemptLoop(sleep, delaySupplierFactory, DEFAULT_NAME),
+             initialDelay,
+             defaultTimeout,
+             executionHandler);
+    }
+
+    private PatientWait(PatientAttemptLoop attemptLoop,
+                        Duration initialDelay,
+                        Duration defaultTimeout,
+                        PatientExecutionHandler executionHandler) {
+        this.attemptLoop = validate().that(attemptLoop).isNotNull();
         this.initialDelay = validate().that(initialDelay).isAtLeast(Duration.ZERO);
         this.defaultTimeout = validate().that(defaultTimeout).isAtLeast(Duration.ZERO);
         this.executionHandler = validate().that(executionHandler).isNotNull();
-        this.delaySupplierFactory = validate().that(delaySupplierFactory).isNotNull();
     }
 
     /**
      * @return the given {@link PatientSleep} instance.
      */
     public PatientSleep getSleep() {
-        return sleep;
+        return attemptLoop.getSleep();
     }
 
     /**
@@ -117,7 +146,45 @@ public final class PatientWait {
      * @return the given {@link PatientDelaySupplierFactory}.
      */
     public PatientDelaySupplierFactory getDelaySupplierFactory() {
-        return delaySupplierFactory;
+        return attemptLoop.getDelaySupplierFactory();
+    }
+
+    /**
+     * @return the minimum {@link Duration} that a delay suggested by a failed
+     * {@link PatientExecutionResult} is raised to.
+     */
+    public Duration getMinimumSuggestedDelay() {
+        return attemptLoop.getMinimumSuggestedDelay();
+    }
+
+    /**
+     * @return the maximum {@link Duration} that a delay suggested by a failed
+     * {@link PatientExecutionResult} is lowered to.
+     */
+    public Duration getMaximumSuggestedDelay() {
+        return attemptLoop.getMaximumSuggestedDelay();
+    }
+
+    /**
+     * @return the String name given to the {@link PatientListener} when a generated future starts.
+     */
+    public String getName() {
+        return attemptLoop.getName();
+    }
+
+    /**
+     * @return the {@link PatientListener} notified by generated futures, including the Java Flight
+     * Recorder listener when its events are emitted.
+     */
+    public PatientListener getListener() {
+        return attemptLoop.getListener();
+    }
+
+    /**
+     * @return true if the exceptions thrown by generated futures fill in their stack traces or false otherwise.
+     */
+    public boolean hasWritableStackTraces() {
+        return attemptLoop.hasWritableStackTraces();
     }
 
     /**
@@ -135,17 +202,533 @@ public final class PatientWait {
      * @throws IllegalArgumentException if executable is null.
      */
     public <T> PatientWaitFuture<T> from(PatientExecutable<T> executable) {
+        return from((PatientContextualExecutable<T>) executable);
+    }
+
+    /**
+     * Generate a {@link PatientWaitFuture} instance from this {@link PatientWait} instance.
+     * The {@link PatientWaitFuture} will have the default filter {@link Predicate}.
+     * The default filter return true for any non-null value, unless the value is a Boolean in which
+     * case it will return true only if the value is non-null and not false.
+     * <br>
+     * The executable is given a {@link PatientAttemptContext} for each attempt, e.g. so that
+     * it can size its own timeouts to the time remaining.
+     *
+     * @param executable the {@link PatientContextualExecutable} to try to retrieve a value from.
+     *                   May not be null.
+     * @param <T>        the type returned from the given executable.
+     *
+     * @return a {@link PatientWaitFuture} instance with the given executable and values.
+     *
+     * @throws IllegalArgumentException if executable is null.
+     */
+    public <T> PatientWaitFuture<T> from(PatientContextualExecutable<T> executable) {
         validate().that(executable).isNotNull();
-        return new PatientWaitFuture<>(sleep,
+        return new PatientWaitFuture<>(attemptLoop,
                                        initialDelay,
                                        defaultTimeout,
                                        executionHandler,
-                                       delaySupplierFactory,
                                        executable,
                                        getDefaultFilter(),
                                        DEFAULT_FAILURE_MESSAGE_SUPPLIER);
     }
 
+    /**
+     * Generate a {@link PatientWaitFuture} instance from this {@link PatientWait} instance that
+     * succeeds once the given supplier returns true.
+     * <br>
+     * Unlike {@link #from(PatientExecutable)} with a Boolean executable, the value is never boxed
+     * and an unsuccessful attempt is described with a constant string rather than by rendering the
+     * value. The attempts are still tracked like those of any other wait, e.g. with a context and a
+     * description for each one. Any throwable from the supplier is still
+     * given to the {@link PatientExecutionHandler}. The values are only tested without the execution
+     * handler if it is a simple or ignoring one, which never look at the values. With any other handler,
+     * e.g. one that aborts on a result, or if the returned future is given a new filter, the values
+     * are boxed and given to the execution handler.
+     *
+     * @param supplier the {@link BooleanSupplier} to poll.
+     *                 May not be null.
+     *
+     * @return a {@link PatientWaitFuture} instance with the given supplier and values.
+     *
+     * @throws IllegalArgumentException if supplier is null.
+     */
+    public PatientWaitFuture<Boolean> until(BooleanSupplier supplier) {
+        validate().that(supplier).isNotNull();
+        return new PatientWaitFuture<>(attemptLoop,
+                                       initialDelay,
+                                       defaultTimeout,
+                                       executionHandler,
+                                       context -> supplier.getAsBoolean(),
+                                       value -> value,
+                                       DEFAULT_FAILURE_MESSAGE_SUPPLIER,
+                                       PatientPrimitiveAttempts.forBoolean(supplier, executionHandler));
+    }
+
+    /**
+     * Generate a {@link PatientWaitFuture} instance from this {@link PatientWait} instance that
+     * succeeds once a value from the given supplier matches the given filter.
+     * The values are tested without boxing them and an unsuccessful attempt is described
+     * with a constant string, see {@link #until(BooleanSupplier)}.
+     *
+     * @param supplier the {@link IntSupplier} to poll.
+     *                 May not be null.
+     * @param filter   the {@link IntPredicate} a value must match to be a valid result.
+     *                 May not be null.
+     *
+     * @return a {@link PatientWaitFuture} instance with the given supplier, filter, and values.
+     *
+     * @throws IllegalArgumentException if supplier or filter are null.
+     */
+    public PatientWaitFuture<Integer> fromInt(IntSupplier supplier,
+                                              IntPredicate filter) {
+        validate().that(supplier).isNotNull();
+        validate().that(filter).isNotNull();
+        return new PatientWaitFuture<>(attemptLoop,
+                                       initialDelay,
+                                       defaultTimeout,
+                                       executionHandler,
+                                       context -> supplier.getAsInt(),
+                                       value -> filter.test(value),
+                                       DEFAULT_FAILURE_MESSAGE_SUPPLIER,
+                                       PatientPrimitiveAttempts.forInt(supplier, filter, executionHandler));
+    }
+
+    /**
+     * Generate a {@link PatientWaitFuture} instance from this {@link PatientWait} instance that
+     * succeeds once a value from the given supplier matches the given filter.
+     * The values are tested without boxing them and an unsuccessful attempt is described
+     * with a constant string, see {@link #until(BooleanSupplier)}.
+     *
+     * @param supplier the {@link LongSupplier} to poll.
+     *                 May not be null.
+     * @param filter   the {@link LongPredicate} a value must match to be a valid result.
+     *                 May not be null.
+     *
+     * @return a {@link PatientWaitFuture} instance with the given supplier, filter, and values.
+     *
+     * @throws IllegalArgumentException if supplier or filter are null.
+     */
+    public PatientWaitFuture<Long> fromLong(LongSupplier supplier,
+                                            LongPredicate filter) {
+        validate().that(supplier).isNotNull();
+        validate().that(filter).isNotNull();
+        return new PatientWaitFuture<>(attemptLoop,
+                                       initialDelay,
+                                       defaultTimeout,
+                                       executionHandler,
+                                       context -> supplier.getAsLong(),
+                                       value -> filter.test(value),
+                                       DEFAULT_FAILURE_MESSAGE_SUPPLIER,
+                                       PatientPrimitiveAttempts.forLong(supplier, filter, executionHandler));
+    }
+
+    /**
+     * Generate a {@link PatientWaitFuture} instance from this {@link PatientWait} instance
+     * that waits for every one of the given executables to have a valid result, checked with
+     * the default filter. Each attempt executes only the executables that haven't produced a
+     * valid result yet, so waiting for several items takes about as long as waiting for the
+     * slowest one rather than the sum of their waits. The result is the list of values in the
+     * iteration order of the given collection.
+     * <br>
+     * The failed attempt description of each attempt has the number of items that are still
+     * pending and the description of the first few of them, by their index, so the descriptions
+     * of a {@link com.redfin.patience.exceptions.PatientTimeoutException} are the failure history
+     * of those items. If an item is aborted by the execution handler then the whole wait is
+     * aborted, with the index of the item in the description. If the returned future is given
+     * a new filter then it is given the list of results once every item has passed, and if the
+     * list doesn't pass then every item is executed again by the next attempt.
+     *
+     * @param executables the {@link Collection} of {@link PatientExecutable} instances
+     *                    to try to retrieve values from.
+     *                    May not be null or contain null.
+     * @param <T>         the type returned from the given executables.
+     *
+     * @return a {@link PatientWaitFuture} instance with the given executables and values.
+     *
+     * @throws IllegalArgumentException if executables is null or contains null.
+     */
+    public <T> PatientWaitFuture<List<T>> fromAll(Collection<? extends PatientExecutable<T>> executables) {
+        Predicate<List<T>> filter = PatientAllAttempts::allPassed;
+        PatientFilteredAttempts<List<T>> attemptFunctionFactory = PatientAllAttempts.forAll(copyOf(executables),
+                                                                                            getDefaultFilter(),
+                                                                                            filter,
+                                                                                            executionHandler);
+        return new PatientWaitFuture<>(attemptLoop,
+                                       initialDelay,
+                                       defaultTimeout,
+                                       executionHandler,
+                                       PatientAllAttempts.allValid(attemptFunctionFactory),
+                                       filter,
+                                       DEFAULT_FAILURE_MESSAGE_SUPPLIER,
+                                       attemptFunctionFactory);
+    }
+
+    /**
+     * Generate a {@link PatientWaitFuture} instance from this {@link PatientWait} instance
+     * that waits for any one of the given executables to have a valid result, checked with
+     * the filter of the future, which is the default filter unless the future is given a new
+     * one. This is intended for equivalent sources of the same value, e.g.
+     * replicas or caches. Each attempt executes the items in turn until one of them passes,
+     * starting with the item after the one that started the previous attempt so that a
+     * lagging item doesn't always go first. An unsuccessful attempt has the failed attempt
+     * description of each item, by its index. If an item is aborted by the execution handler
+     * then the whole wait is aborted.
+     *
+     * @param executables the {@link Collection} of {@link PatientExecutable} instances
+     *                    to try to retrieve a value from.
+     *                    May not be null, empty, or contain null.
+     * @param <T>         the type returned from the given executables.
+     *
+     * @return a {@link PatientWaitFuture} instance with the given executables and values.
+     *
+     * @throws IllegalArgumentException if executables is null, empty, or contains null.
+     */
+    public <T> PatientWaitFuture<T> fromAny(Collection<? extends PatientExecutable<T>> executables) {
+        return anyOf(copyOf(executables), null);
+    }
+
+    /**
+     * Generate a {@link PatientWaitFuture} instance from this {@link PatientWait} instance
+     * that waits for any one of the given executables to have a valid result, checked with
+     * the filter of the future. This is the same as {@link #fromAny(Collection)} except that each
+     * attempt executes all of the items concurrently on the given executor, along with the
+     * {@link PatientDeadline} of the waiting thread. The attempt succeeds with the first item
+     * that passes and the items that are still executing are cancelled, which interrupts them
+     * if the executor allows it. Note that the execution handler is used on the threads of the
+     * executor.
+     *
+     * @param executables the {@link Collection} of {@link PatientExecutable} instances
+     *                    to try to retrieve a value from.
+     *                    May not be null, empty, or contain null.
+     * @param executor    the {@link Executor} to execute the items on.
+     *                    May not be null.
+     * @param <T>         the type returned from the given executables.
+     *
+     * @return a {@link PatientWaitFuture} instance with the given executables and values.
+     *
+     * @throws IllegalArgumentException if executables is null, empty, or contains null
+     *                                  or if executor is null.
+     */
+    public <T> PatientWaitFuture<T> fromAny(Collection<? extends PatientExecutable<T>> executables,
+                                            Executor executor) {
+        List<PatientExecutable<T>> items = copyOf(executables);
+        return anyOf(items, validate().that(executor).isNotNull());
+    }
+
+    private <T> PatientWaitFuture<T> anyOf(List<PatientExecutable<T>> items,
+                                           Executor executor) {
+        validate().that(items).isNotEmpty();
+        PatientFilteredAttempts<T> attemptFunctionFactory = PatientAnyAttempts.forAny(items, getDefaultFilter(), executionHandler, executor);
+        return new PatientWaitFuture<>(attemptLoop,
+                                       initialDelay,
+                                       defaultTimeout,
+                                       executionHandler,
+                                       PatientAnyAttempts.firstValid(attemptFunctionFactory),
+                                       getDefaultFilter(),
+                                       DEFAULT_FAILURE_MESSAGE_SUPPLIER,
+                                       attemptFunctionFactory);
+    }
+
+    /**
+     * Generate a {@link PatientWaitFuture} instance from this {@link PatientWait} instance
+     * that waits for every one of the given keys to have a valid value, checked with the
+     * default filter. Each attempt makes a single call to the batch executable with the keys
+     * that are still pending, e.g. one query for the status of thousands of jobs, rather than
+     * an execution for each key. The keys share the delays between attempts. The result is
+     * a map of each key to its value, in the iteration order of the given keys.
+     * <br>
+     * The execution handler is used for each call to the batch executable, so it decides
+     * which throwables are ignored and a failed call leaves every key pending. The failed
+     * attempt description of each attempt has the number of keys that are still pending and
+     * the first few of them. If the returned future is given a new filter then every key is
+     * checked for each attempt and the filter is given a map of the keys that have a valid value.
+     *
+     * @param keys            the {@link Collection} of keys to wait for.
+     *                        May not be null or contain null.
+     * @param batchExecutable the {@link PatientBatchExecutable} to check the pending keys with.
+     *                        May not be null.
+     * @param <K>             the type of the keys.
+     * @param <V>             the type of the values for the keys.
+     *
+     * @return a {@link PatientWaitFuture} instance with the given keys, batch executable, and values.
+     *
+     * @throws IllegalArgumentException if keys is null or contains null or if batchExecutable is null.
+     */
+    public <K, V> PatientWaitFuture<Map<K, V>> fromBatch(Collection<K> keys,
+                                                          PatientBatchExecutable<K, V> batchExecutable) {
+        validate().that(keys).isNotNull();
+        validate().that(batchExecutable).isNotNull();
+        Set<K> distinctKeys = new LinkedHashSet<>(keys.size());
+        for (K key : keys) {
+            distinctKeys.add(validate().that(key).isNotNull());
+        }
+        List<K> items = new ArrayList<>(distinctKeys);
+        Predicate<V> filter = getDefaultFilter();
+        return new PatientWaitFuture<>(attemptLoop,
+                                       initialDelay,
+                                       defaultTimeout,
+                                       executionHandler,
+                                       PatientBatchAttempts.everyKey(items, batchExecutable, filter),
+                                       results -> results.size() == items.size(),
+                                       DEFAULT_FAILURE_MESSAGE_SUPPLIER,
+                                       PatientBatchAttempts.forBatch(items, batchExecutable, filter, executionHandler));
+    }
+
+    /**
+     * Generate a {@link PatientWaitFuture} instance from this {@link PatientWait} instance
+     * that folds the value of each attempt into an accumulator and tests the accumulator,
+     * rather than the value, with the filter of the future. This is intended for incremental
+     * sources, e.g. polling a paginated or streaming source until enough items have been
+     * collected, without keeping mutable state in the executable. Each call to get starts
+     * with a new accumulator from the given supplier, and only the accumulator is kept
+     * between attempts so each value is folded in exactly once. The result is the accumulator
+     * that passed the filter, which is the default filter unless the future is given a new one.
+     * <br>
+     * An attempt whose execution fails, e.g. with a throwable ignored by the execution handler,
+     * leaves the accumulator unchanged. The failed attempt description of an attempt describes
+     * the accumulator without growing with it: the size of a collection or map, otherwise the
+     * start of its description.
+     *
+     * @param executable  the {@link PatientExecutable} to retrieve the values from.
+     *                    May not be null.
+     * @param initial     the {@link Supplier} of the initial accumulator for each wait.
+     *                    May not be null and may not supply null.
+     * @param accumulator the {@link BiFunction} that folds a value into the accumulator and returns
+     *                    the new accumulator, which may be the same mutated instance.
+     *                    May not be null and may not return null.
+     * @param <T>         the type returned from the given executable.
+     * @param <A>         the type of the accumulator.
+     *
+     * @return a {@link PatientWaitFuture} instance with the given executable, accumulator, and values.
+     *
+     * @throws IllegalArgumentException if executable, initial, or accumulator are null.
+     */
+    public <T, A> PatientWaitFuture<A> fromAccumulating(PatientExecutable<T> executable,
+                                                         Supplier<A> initial,
+                                                         BiFunction<A, ? super T, A> accumulator) {
+        validate().that(executable).isNotNull();
+        validate().that(initial).isNotNull();
+        validate().that(accumulator).isNotNull();
+        Predicate<A> filter = getDefaultFilter();
+        return new PatientWaitFuture<>(attemptLoop,
+                                       initialDelay,
+                                       defaultTimeout,
+                                       executionHandler,
+                                       PatientAccumulatingAttempts.singleValue(executable, initial, accumulator),
+                                       filter,
+                                       DEFAULT_FAILURE_MESSAGE_SUPPLIER,
+                                       PatientAccumulatingAttempts.forAccumulating(executable, initial, accumulator, filter, executionHandler));
+    }
+
+    /**
+     * Generate a {@link PatientWaitFuture} instance from this {@link PatientWait} instance
+     * that waits for the value of the given executable to change. The value of the first attempt
+     * is the baseline, so the earliest the wait can succeed is the second attempt. The value of each
+     * later attempt is compared with the baseline using the given equivalence, e.g. {@code Objects::equals}.
+     * The result is the first value that isn't equivalent to the baseline and also passes the filter
+     * of the future, which is the default filter unless the future is given a new one. The baseline
+     * never changes during the wait, so a changed value that fails the filter doesn't become the new
+     * baseline. Only the baseline is kept between attempts. Use
+     * {@link #fromChange(PatientExecutable, Object, BiPredicate)} to give the baseline yourself, e.g.
+     * when the value may already have changed by the first attempt.
+     * <br>
+     * An attempt whose execution fails, e.g. with a throwable ignored by the execution handler,
+     * before the baseline is known doesn't set one.
+     *
+     * @param executable  the {@link PatientExecutable} to retrieve the values from.
+     *                    May not be null.
+     * @param equivalence the {@link BiPredicate} that is true if the baseline, given first,
+     *                    and the current value are the same.
+     *                    May not be null.
+     * @param <T>         the type returned from the given executable.
+     *
+     * @return a {@link PatientWaitFuture} instance with the given executable, equivalence, and values.
+     *
+     * @throws IllegalArgumentException if executable or equivalence are null.
+     */
+    public <T> PatientWaitFuture<T> fromChange(PatientExecutable<T> executable,
+                                               BiPredicate<? super T, ? super T> equivalence) {
+        validate().that(executable).isNotNull();
+        validate().that(equivalence).isNotNull();
+        Predicate<T> filter = getDefaultFilter();
+        return new PatientWaitFuture<>(attemptLoop,
+                                       initialDelay,
+                                       defaultTimeout,
+                                       executionHandler,
+                                       executable,
+                                       filter,
+                                       DEFAULT_FAILURE_MESSAGE_SUPPLIER,
+                                       PatientChangeAttempts.forChange(executable, equivalence, filter, executionHandler));
+    }
+
+    /**
+     * Generate a {@link PatientWaitFuture} instance from this {@link PatientWait} instance
+     * that waits for the value of the given executable to differ from the given baseline. The
+     * value of each attempt, starting with the first, is compared with the baseline using the
+     * given equivalence, e.g. {@code Objects::equals}, so a value that has already changed by the
+     * first attempt is returned at once. The result is the first value that isn't equivalent to
+     * the baseline and also passes the filter of the future, which is the default filter unless
+     * the future is given a new one. The baseline never changes during the wait.
+     *
+     * @param executable   the {@link PatientExecutable} to retrieve the values from.
+     *                     May not be null.
+     * @param initialValue the baseline value to wait for a change from.
+     *                     May be null.
+     * @param equivalence  the {@link BiPredicate} that is true if the baseline, given first,
+     *                     and the current value are the same.
+     *                     May not be null.
+     * @param <T>          the type returned from the given executable.
+     *
+     * @return a {@link PatientWaitFuture} instance with the given executable, baseline, equivalence, and values.
+     *
+     * @throws IllegalArgumentException if executable or equivalence are null.
+     */
+    public <T> PatientWaitFuture<T> fromChange(PatientExecutable<T> executable,
+                                               T initialValue,
+                                               BiPredicate<? super T, ? super T> equivalence) {
+        validate().that(executable).isNotNull();
+        validate().that(equivalence).isNotNull();
+        Predicate<T> filter = getDefaultFilter();
+        return new PatientWaitFuture<>(attemptLoop,
+                                       initialDelay,
+                                       defaultTimeout,
+                                       executionHandler,
+                                       executable,
+                                       filter,
+                                       DEFAULT_FAILURE_MESSAGE_SUPPLIER,
+                                       PatientChangeAttempts.forChange(executable, initialValue, equivalence, filter, executionHandler));
+    }
+
+    /**
+     * Generate a {@link PatientWaitFuture} instance from this {@link PatientWait} instance
+     * that waits for the value of the given executable to settle. The value of each attempt
+     * is compared with the value of the previous attempt of the same wait using the given
+     * equivalence, e.g. {@code Objects::equals}, and the result is the first value that has
+     * been the same for the given number of consecutive attempts and also passes the filter
+     * of the future, which is the default filter unless the future is given a new one. Only
+     * the previous value is kept between attempts.
+     * <br>
+     * An attempt whose execution fails, e.g. with a throwable ignored by the execution handler,
+     * starts the count of consecutive attempts again.
+     *
+     * @param executable  the {@link PatientExecutable} to retrieve the values from.
+     *                    May not be null.
+     * @param polls       the number of consecutive attempts that must have the same value.
+     *                    Must be strictly positive.
+     * @param equivalence the {@link BiPredicate} that is true if the previous value, given first,
+     *                    and the current value are the same.
+     *                    May not be null.
+     * @param <T>         the type returned from the given executable.
+     *
+     * @return a {@link PatientWaitFuture} instance with the given executable, equivalence, and values.
+     *
+     * @throws IllegalArgumentException if executable or equivalence are null or if polls is not strictly positive.
+     */
+    public <T> PatientWaitFuture<T> fromStable(PatientExecutable<T> executable,
+                                               int polls,
+                                               BiPredicate<? super T, ? super T> equivalence) {
+        validate().that(executable).isNotNull();
+        validate().that(polls).isStrictlyPositive();
+        validate().that(equivalence).isNotNull();
+        Predicate<T> filter = getDefaultFilter();
+        return new PatientWaitFuture<>(attemptLoop,
+                                       initialDelay,
+                                       defaultTimeout,
+                                       executionHandler,
+                                       executable,
+                                       filter,
+                                       DEFAULT_FAILURE_MESSAGE_SUPPLIER,
+                                       PatientChangeAttempts.forStable(executable, polls, equivalence, filter, executionHandler));
+    }
+
+    /**
+     * Generate a {@link PatientWaitFuture} instance from this {@link PatientWait} instance
+     * that waits for as long as the given executable keeps making progress. Each value is
+     * measured with the given progress function, e.g. the number of rows copied, and a measure
+     * higher than any before it is progress. If the given stall timeout passes without progress
+     * then the next attempt that doesn't pass the filter of the future aborts the wait with a
+     * {@link com.redfin.patience.exceptions.PatientAbortException}, so a stuck wait fails early.
+     * The timeout given to get, or the default timeout, is the absolute cap for a wait that keeps
+     * making progress. The result is the first value that passes the filter of the future, which
+     * is the default filter unless the future is given a new one.
+     * <br>
+     * The stall timeout starts at the first attempt, after any initial delay, and an attempt whose
+     * execution fails, e.g. with a throwable ignored by the execution handler, isn't progress. A stall
+     * is noticed by an attempt, so the delay before each attempt is limited to the time left before the
+     * stall timeout expires. A stall is an abort rather than a timeout, so {@link PatientWaitFuture#get()}
+     * throws a {@link com.redfin.patience.exceptions.PatientAbortException}, {@link PatientWaitFuture#attempt()}
+     * throws it as well rather than returning an unsuccessful {@link PatientOutcome}, and
+     * {@link PatientWaitFuture#check()} returns false.
+     *
+     * @param executable   the {@link PatientExecutable} to retrieve the values from.
+     *                     May not be null.
+     * @param progress     the {@link ToLongFunction} that measures the progress of a value.
+     *                     May not be null.
+     * @param stallTimeout the {@link Duration} without progress after which the wait is aborted.
+     *                     May not be null or negative.
+     * @param <T>          the type returned from the given executable.
+     *
+     * @return a {@link PatientWaitFuture} instance with the given executable, progress, and values.
+     *
+     * @throws IllegalArgumentException if executable or progress are null or if stallTimeout is null or negative.
+     */
+    public <T> PatientWaitFuture<T> fromProgress(PatientExecutable<T> executable,
+                                                 ToLongFunction<? super T> progress,
+                                                 Duration stallTimeout) {
+        validate().that(executable).isNotNull();
+        validate().that(progress).isNotNull();
+        validate().that(stallTimeout).isAtLeast(Duration.ZERO);
+        Predicate<T> filter = getDefaultFilter();
+        return new PatientWaitFuture<>(attemptLoop,
+                                       initialDelay,
+                                       defaultTimeout,
+                                       executionHandler,
+                                       executable,
+                                       filter,
+                                       DEFAULT_FAILURE_MESSAGE_SUPPLIER,
+                                       PatientProgressAttempts.forProgress(executable, progress, stallTimeout, filter, executionHandler));
+    }
+
+    private static <T> List<PatientExecutable<T>> copyOf(Collection<? extends PatientExecutable<T>> executables) {
+        validate().that(executables).isNotNull();
+        List<PatientExecutable<T>> items = new ArrayList<>(executables.size());
+        for (PatientExecutable<T> executable : executables) {
+            items.add(validate().that(executable).isNotNull());
+        }
+        return items;
+    }
+
+    /**
+     * Generate a {@link PatientWaitFuture} for each of the given items from this {@link PatientWait} instance
+     * and get their results in parallel with the given {@link PatientParallel}. This is the same
+     * as using {@link PatientParallel#map(Collection, Function)} with a function that calls
+     * {@code from(executable).get()} for the executable of each item.
+     *
+     * @param items       the {@link Collection} of items to process.
+     *                    May not be null.
+     * @param executables the {@link Function} that creates the {@link PatientExecutable} for an item.
+     *                    May not be null.
+     * @param parallel    the {@link PatientParallel} to process the items with.
+     *                    May not be null.
+     * @param <I>         the type of the items.
+     * @param <T>         the type returned from the executables.
+     *
+     * @return the unmodifiable list of the results, in the iteration order of the given items.
+     *
+     * @throws IllegalArgumentException if items, executables, or parallel are null.
+     * @throws com.redfin.patience.exceptions.PatientParallelException if any of the items failed,
+     * e.g. with the exception thrown by the get method of its future.
+     */
+    public <I, T> List<T> getAll(Collection<I> items,
+                                 Function<? super I, ? extends PatientExecutable<T>> executables,
+                                 PatientParallel parallel) {
+        validate().that(items).isNotNull();
+        validate().that(executables).isNotNull();
+        validate().that(parallel).isNotNull();
+        return parallel.map(items, item -> from(executables.apply(item)).get());
+    }
+
     // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
     // Static Methods
     // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
@@ -182,6 +765,12 @@ public final class PatientWait {
         private Duration defaultTimeout = Duration.ZERO;
         private PatientExecutionHandler executionHandler = PatientExecutionHandlers.simple();
         private PatientDelaySupplierFactory delaySupplierFactory = PatientDelaySuppliers.fixed(Duration.ZERO);
+        private Duration minimumSuggestedDelay = PatientAttemptLoop.DEFAULT_MINIMUM_SUGGESTED_DELAY;
+        private Duration maximumSuggestedDelay = PatientAttemptLoop.DEFAULT_MAXIMUM_SUGGESTED_DELAY;
+        private String name = DEFAULT_NAME;
+        private final List<PatientListener> listeners = new ArrayList<>();
+        private boolean writableStackTraces = true;
+        private boolean flightRecorderEvents = true;
 
         /**
          * Set the {@link PatientSleep} for {@link PatientWait} instances generated by this {@link Builder}.
@@ -258,15 +847,116 @@ public final class PatientWait {
             return this;
         }
 
+        /**
+         * Set the bounds for delays suggested by failed {@link PatientExecutionResult}s for the
+         * {@link PatientWait} instances generated by this {@link Builder}. When a failed attempt suggests
+         * a next delay, e.g. from a Retry-After header, it is used instead of the delay from the
+         * delay supplier after being clamped to these bounds. By default the bounds are zero and
+         * no maximum, so any suggestion is honoured as is.
+         *
+         * @param minimum the minimum {@link Duration} for a suggested delay.
+         *                May not be null or negative.
+         * @param maximum the maximum {@link Duration} for a suggested delay.
+         *                May not be null or less than minimum.
+         *
+         * @return a self reference.
+         *
+         * @throws IllegalArgumentException if minimum is null or negative or if maximum is
+         *                                  null or less than minimum.
+         */
+        public Builder withSuggestedDelayBounds(Duration minimum,
+                                                Duration maximum) {
+            validate().that(minimum).isAtLeast(Duration.ZERO);
+            validate().that(maximum).isAtLeast(minimum);
+            this.minimumSuggestedDelay = minimum;
+            this.maximumSuggestedDelay = maximum;
+            return this;
+        }
+
+        /**
+         * Set the name for {@link PatientWait} instances generated by this {@link Builder}. The name is
+         * given to the {@link PatientListener} when a generated future starts, e.g. so that statistics
+         * can be kept per policy. The default is "PatientWait".
+         *
+         * @param name the String name.
+         *             May not be null or empty.
+         *
+         * @return a self reference.
+         *
+         * @throws IllegalArgumentException if name is null or empty.
+         */
+        public Builder withName(String name) {
+            this.name = validate().that(name).isNotEmpty();
+            return this;
+        }
+
+        /**
+         * Add a listener for {@link PatientWait} instances generated by this {@link Builder}. Unlike the
+         * other builder methods this adds to, rather than replaces, the listeners given so far and each
+         * of them is notified in the order they were added. The default is no listener other than the
+         * Java Flight Recorder one, see {@link #withFlightRecorderEvents(boolean)}.
+         *
+         * @param listener the {@link PatientListener} to be notified.
+         *                 May not be null.
+         *
+         * @return a self reference.
+         *
+         * @throws IllegalArgumentException if listener is null.
+         */
+        public Builder withListener(PatientListener listener) {
+            listeners.add(validate().that(listener).isNotNull());
+            return this;
+        }
+
+        /**
+         * Set whether the exceptions thrown by futures from the {@link PatientWait} instances generated by this
+         * {@link Builder} fill in their stack traces. Filling in a stack trace costs time and memory that
+         * add up on high-volume paths where running out of attempts is expected and handled, and the
+         * interesting information is the history of failed attempts anyway. When false, the
+         * {@link com.redfin.patience.exceptions.PatientTimeoutException} and
+         * {@link com.redfin.patience.exceptions.PatientAbortException} are created without a stack trace
+         * and without suppressed exceptions. The default is true.
+         *
+         * @param writableStackTraces true if the exceptions should fill in their stack traces.
+         *
+         * @return a self reference.
+         */
+        public Builder withWritableStackTraces(boolean writableStackTraces) {
+            this.writableStackTraces = writableStackTraces;
+            return this;
+        }
+
+        /**
+         * Set whether futures from the {@link PatientWait} instances generated by this {@link Builder} emit
+         * Java Flight Recorder events for each wait, attempt, and sleep, as described by
+         * {@link PatientListeners#flightRecorder()}, so that an existing recording captures them. The events
+         * need Java 11 or later and are only created while a recording has them enabled, so when nothing is
+         * recording they cost a check at the start of each wait. The default is true.
+         *
+         * @param flightRecorderEvents true if Java Flight Recorder events should be emitted where available.
+         *
+         * @return a self reference.
+         */
+        public Builder withFlightRecorderEvents(boolean flightRecorderEvents) {
+            this.flightRecorderEvents = flightRecorderEvents;
+            return this;
+        }
+
         /**
          * @return a new {@link PatientWait} instance with the given or default values.
          */
         public PatientWait build() {
-            return new PatientWait(sleep,
+            PatientAttemptLoop attemptLoop = new PatientAttemptLoop(sleep,
+                                                                    delaySupplierFactory,
+                                                                    minimumSuggestedDelay,
+                                                                    maximumSuggestedDelay,
+                                                                    name,
+                                                                    PatientListeners.forPolicy(listeners, flightRecorderEvents),
+                                                                    writableStackTraces);
+            return new PatientWait(attemptLoop,
                                    initialDelay,
                                    defaultTimeout,
-                                   executionHandler,
-                                   delaySupplierFactory);
+                                   executionHandler);
         }
     }
 }
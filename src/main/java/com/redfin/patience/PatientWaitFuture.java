@@ -16,15 +16,18 @@
 
 package com.redfin.patience;
 
-import com.redfin.patience.exceptions.PatientException;
+import com.redfin.patience.exceptions.PatientAbortException;
 import com.redfin.patience.exceptions.PatientTimeoutException;
 
 import java.time.Duration;
-import java.time.Instant;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static com.redfin.validity.Validity.validate;
 
@@ -40,14 +43,14 @@ public final class PatientWaitFuture<T> {
     // Instance Fields & Methods
     // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 
-    private final PatientSleep sleep;
+    private final PatientAttemptLoop attemptLoop;
     private final Duration initialDelay;
     private final Duration defaultTimeout;
     private final PatientExecutionHandler executionHandler;
-    private final PatientDelaySupplierFactory delaySupplierFactory;
-    private final PatientExecutable<T> executable;
+    private final PatientContextualExecutable<T> executable;
     private final Predicate<T> filter;
     private final Supplier<String> failureMessageSupplier;
+    private final Supplier<Function<PatientAttemptContext, PatientExecutionResult<T>>> attemptFunctionFactory;
 
     /**
      * Create a new {@link PatientWaitFuture} instance with the given values.
@@ -85,14 +88,15 @@ public final class PatientWaitFuture<T> {
                              PatientExecutable<T> executable,
                              Predicate<T> filter,
                              String failureMessage) {
+        // A PatientExecutable is a contextual executable that ignores the context
         this(sleep,
              initialDelay,
              defaultTimeout,
              executionHandler,
              delaySupplierFactory,
-             executable,
+             (PatientContextualExecutable<T>) executable,
              filter,
-             () -> failureMessage);
+             failureMessage);
     }
 
     /**
@@ -130,63 +134,160 @@ public final class PatientWaitFuture<T> {
                              PatientExecutable<T> executable,
                              Predicate<T> filter,
                              Supplier<String> failureMessageSupplier) {
-        this.sleep = validate().that(sleep).isNotNull();
+        // A PatientExecutable is a contextual executable that ignores the context
+        this(sleep,
+             initialDelay,
+             defaultTimeout,
+             executionHandler,
+             delaySupplierFactory,
+             (PatientContextualExecutable<T>) executable,
+             filter,
+             failureMessageSupplier);
+    }
+
+    /**
+     * Create a new {@link PatientWaitFuture} instance with the given values.
+     *
+     * @param sleep                the {@link PatientSleep} to be used for making the current thread sleep.
+     *                             May not be null.
+     * @param initialDelay         the {@link Duration} time to sleep when waiting for a value.
+     *                             A value of zero means to not sleep.
+     *                             May not be null or negative.
+     * @param defaultTimeout       the {@link Duration} default maximum wait time. This is used
+     *                             for the {@link #get()} or {@link #check()} methods.
+     *                             A value of zero means to attempt to get a value only once.
+     *                             May not be null or negative.
+     * @param executionHandler     the {@link PatientExecutionHandler} to be used for this future.
+     *                             May not be null.
+     * @param delaySupplierFactory the {@link PatientDelaySupplierFactory} to be used to get a supplier
+     *                             of durations to wait between unsuccessful attempts to get a result.
+     *                             May not be null.
+     * @param executable           the {@link PatientContextualExecutable} to be used to retrieve values.
+     *                             May not be null.
+     * @param filter               the {@link Predicate} to be used to test values from the executable.
+     *                             May not be null.
+     * @param failureMessage       the String message for the {@link PatientTimeoutException} if no
+     *                             valid value is found within the timeout.
+     *                             May be null.
+     *
+     * @throws IllegalArgumentException if any argument other than failureMessage is null or if
+     *                                  either initialDelay or defaultTimeout are negative.
+     */
+    public PatientWaitFuture(PatientSleep sleep,
+                             Duration initialDelay,
+                             Duration defaultTimeout,
+                             PatientExecutionHandler executionHandler,
+                             PatientDelaySupplierFactory delaySupplierFactory,
+                             PatientContextualExecutable<T> executable,
+                             Predicate<T> filter,
+                             String failureMessage) {
+        this(sleep,
+             initialDelay,
+             defaultTimeout,
+             executionHandler,
+             delaySupplierFactory,
+             executable,
+             filter,
+             () -> failureMessage);
+    }
+
+    /**
+     * Create a new {@link PatientWaitFuture} instance with the given values.
+     *
+     * @param sleep                  the {@link PatientSleep} to be used for making the current thread sleep.
+     *                               May not be null.
+     * @param initialDelay           the {@link Duration} time to sleep when waiting for a value.
+     *                               A value of zero means to not sleep.
+     *                               May not be null or negative.
+     * @param defaultTimeout         the {@link Duration} default maximum wait time. This is used
+     *                               for the {@link #get()} or {@link #check()} methods.
+     *                               A value of zero means to attempt to get a value only once.
+     *                               May not be null or negative.
+     * @param executionHandler       the {@link PatientExecutionHandler} to be used for this future.
+     *                               May not be null.
+     * @param delaySupplierFactory   the {@link PatientDelaySupplierFactory} to be used to get a supplier
+     *                               of durations to wait between unsuccessful attempts to get a result.
+     *                               May not be null.
+     * @param executable             the {@link PatientContextualExecutable} to be used to retrieve values.
+     *                               May not be null.
+     * @param filter                 the {@link Predicate} to be used to test values from the executable.
+     *                               May not be null.
+     * @param failureMessageSupplier the {@link Supplier} of String messages for the {@link PatientTimeoutException} if no
+     *                               valid value is found within the timeout. May not be null.
+     *
+     * @throws IllegalArgumentException if any argument is null or if
+     *                                  either initialDelay or defaultTimeout are negative.
+     */
+    public PatientWaitFuture(PatientSleep sleep,
+                             Duration initialDelay,
+                             Duration defaultTimeout,
+                             PatientExecutionHandler executionHandler,
+                             PatientDelaySupplierFactory delaySupplierFactory,
+                             PatientContextualExecutable<T> executable,
+                             Predicate<T> filter,
+                             Supplier<String> failureMessageSupplier) {
+        this(new PatientAttemptLoop(sleep, delaySupplierFactory, PatientWait.DEFAULT_NAME),
+             initialDelay,
+             defaultTimeout,
+             executionHandler,
+             executable,
+             filter,
+             failureMessageSupplier);
+    }
+
+    PatientWaitFuture(PatientAttemptLoop attemptLoop,
+                      Duration initialDelay,
+                      Duration defaultTimeout,
+                      PatientExecutionHandler executionHandler,
+                      PatientContextualExecutable<T> executable,
+                      Predicate<T> filter,
+                      Supplier<String> failureMessageSupplier) {
+        this(attemptLoop,
+             initialDelay,
+             defaultTimeout,
+             executionHandler,
+             executable,
+             filter,
+             failureMessageSupplier,
+             null);
+    }
+
+    PatientWaitFuture(PatientAttemptLoop attemptLoop,
+                      Duration initialDelay,
+                      Duration defaultTimeout,
+                      PatientExecutionHandler executionHandler,
+                      PatientContextualExecutable<T> executable,
+                      Predicate<T> filter,
+                      Supplier<String> failureMessageSupplier,
+                      Supplier<Function<PatientAttemptContext, PatientExecutionResult<T>>> attemptFunctionFactory) {
+        this.attemptLoop = validate().that(attemptLoop).isNotNull();
         this.initialDelay = validate().that(initialDelay).isAtLeast(Duration.ZERO);
         this.defaultTimeout = validate().that(defaultTimeout).isAtLeast(Duration.ZERO);
         this.executionHandler = validate().that(executionHandler).isNotNull();
-        this.delaySupplierFactory = validate().that(delaySupplierFactory).isNotNull();
         this.executable = validate().that(executable).isNotNull();
         this.filter = validate().that(filter).isNotNull();
         this.failureMessageSupplier = validate().that(failureMessageSupplier).isNotNull();
+        this.attemptFunctionFactory = attemptFunctionFactory;
     }
 
     // ----------------------------------------------------
     // Helpers
     // ----------------------------------------------------
 
-    private T execute(Supplier<PatientExecutionResult<T>> patientExecutionResultSupplier,
-                      Duration maxDuration) {
-        // Validate the arguments
-        validate().that(patientExecutionResultSupplier).isNotNull();
-        validate().that(maxDuration).isAtLeast(Duration.ZERO);
-        // Start trying to get a successful result, use a do-while since a duration of ZERO should attempt once
-        List<String> failedAttemptDescriptions = new ArrayList<>();
-        Supplier<Duration> delayDurationSupplier = delaySupplierFactory.create();
-        if (null == delayDurationSupplier) {
-            throw new PatientException("Received a null duration supplier from the retry handler");
+    private Function<PatientAttemptContext, PatientExecutionResult<T>> attemptFunction() {
+        if (null != attemptFunctionFactory) {
+            // A specialized attempt function, created for each run since it may have state
+            return attemptFunctionFactory.get();
+        }
+        return context -> executionHandler.execute(executableFor(context), filter);
+    }
+
+    private PatientExecutable<T> executableFor(PatientAttemptContext context) {
+        if (executable instanceof PatientExecutable) {
+            // It ignores the context anyway, so don't wrap it
+            return (PatientExecutable<T>) executable;
         }
-        // Make the first next delay zero so that we don't sleep during the first loop
-        Duration nextDelay = Duration.ZERO;
-        Instant maxEndTime = Instant.now().plus(maxDuration);
-        do {
-            // Sleep for the next duration delay
-            sleep.sleepFor(nextDelay);
-            // Get an execution attempt result and check it's status
-            try {
-                PatientExecutionResult<T> result = patientExecutionResultSupplier.get();
-                if (null == result) {
-                    throw new PatientException("Received a null PatientExecutionResult from the execution handler.");
-                }
-                if (result.isSuccess()) {
-                    return result.getResult();
-                } else {
-                    failedAttemptDescriptions.add(result.getFailedAttemptDescription());
-                }
-            } catch (PatientException e) {
-                // simply propagate this
-                throw e;
-            } catch (Throwable throwable) {
-                throw new PatientException("Unexpected throwable caught while getting execution result", throwable);
-            }
-            // Failure, get the next delay duration
-            nextDelay = delayDurationSupplier.get();
-            if (null == nextDelay || nextDelay.isNegative()) {
-                throw new PatientException("Received a null or negative Duration from the delay duration supplier.");
-            }
-            // Don't sleep if the next delay would put the wake time after the max timeout
-        } while (Instant.now().plus(nextDelay).isBefore(maxEndTime));
-        // No valid result found within the max duration
-        throw new PatientTimeoutException(failureMessageSupplier.get(), failedAttemptDescriptions);
+        return () -> executable.execute(context);
     }
 
     // ----------------------------------------------------
@@ -215,14 +316,14 @@ public final class PatientWaitFuture<T> {
      */
     public PatientWaitFuture<T> withMessage(Supplier<String> failureMessageSupplier) {
         validate().that(failureMessageSupplier).isNotNull();
-        return new PatientWaitFuture<>(sleep,
+        return new PatientWaitFuture<>(attemptLoop,
                                        initialDelay,
                                        defaultTimeout,
                                        executionHandler,
-                                       delaySupplierFactory,
                                        executable,
                                        filter,
-                                       failureMessageSupplier);
+                                       failureMessageSupplier,
+                                       attemptFunctionFactory);
     }
 
     /**
@@ -234,16 +335,22 @@ public final class PatientWaitFuture<T> {
      *
      * @throws IllegalArgumentException if filter is null.
      */
+    @SuppressWarnings("unchecked")
     public PatientWaitFuture<T> withFilter(Predicate<T> filter) {
         validate().that(filter).isNotNull();
-        return new PatientWaitFuture<>(sleep,
+        // Only keep a specialized attempt function that tests its results with the filter of the future
+        PatientFilteredAttempts<T> filteredAttempts = null;
+        if (attemptFunctionFactory instanceof PatientFilteredAttempts) {
+            filteredAttempts = ((PatientFilteredAttempts<T>) attemptFunctionFactory).withFilter(filter);
+        }
+        return new PatientWaitFuture<>(attemptLoop,
                                        initialDelay,
                                        defaultTimeout,
                                        executionHandler,
-                                       delaySupplierFactory,
                                        executable,
                                        filter,
-                                       failureMessageSupplier);
+                                       failureMessageSupplier,
+                                       filteredAttempts);
     }
 
     /**
@@ -276,6 +383,8 @@ public final class PatientWaitFuture<T> {
      *                return before the timeout is reached if the next delay
      *                between execution attempts would take it over the maximum
      *                timeout. A value of zero means only attempt to get a value once.
+     *                If the current thread has a {@link PatientDeadline} that expires
+     *                sooner, then the timeout is shortened to that deadline.
      *                May not be null or negative.
      *
      * @return the first found valid result from this patient future instance.
@@ -283,14 +392,20 @@ public final class PatientWaitFuture<T> {
      * @throws IllegalArgumentException if timeout is null or negative.
      * @throws PatientTimeoutException  if no valid result is found within the
      *                                  given timeout.
+     * @throws PatientAbortException    if the execution handler aborts an attempt.
      */
     public T get(Duration timeout) {
         validate().that(timeout).isAtLeast(Duration.ZERO);
-        // Sleep for the initial timeout (if any)
-        sleep.sleepFor(initialDelay);
         // Start trying to get a valid result
-        return execute(() -> executionHandler.execute(executable, filter),
-                       timeout);
+        return attemptLoop.execute(attemptFunction(),
+                                   initialDelay,
+                                   PatientAttemptLoop.UNLIMITED_RETRIES,
+                                   PatientDeadline.toNanos(timeout),
+                                   (descriptions, attemptNanos, sleepNanos) -> new PatientTimeoutException(failureMessageSupplier.get(),
+                                                                                                           descriptions,
+                                                                                                           attemptNanos,
+                                                                                                           sleepNanos,
+                                                                                                           attemptLoop.hasWritableStackTraces()));
     }
 
     /**
@@ -323,25 +438,124 @@ public final class PatientWaitFuture<T> {
      *                timeout. A value of zero means only attempt to get a value once.
      *                May not be null or negative.
      *
-     * @return true if a successful value is found before the timeout or false otherwise.
+     * @return true if a successful value is found before the timeout or false otherwise,
+     * including when the execution handler aborts an attempt.
      *
      * @throws IllegalArgumentException if timeout is null or negative.
      */
     public boolean check(Duration timeout) {
         try {
-            get(timeout);
-            return true;
-        } catch (PatientTimeoutException ignore) {
+            return attempt(timeout).isSuccess();
+        } catch (PatientAbortException ignore) {
             return false;
         }
     }
 
+    /**
+     * This is the same as calling {@link #attempt(Duration)} with the default timeout
+     * duration for this patient future.
+     *
+     * @return the {@link PatientOutcome} of the wait.
+     */
+    public PatientOutcome<T> attempt() {
+        return attempt(defaultTimeout);
+    }
+
+    /**
+     * Begin executing the patient wait in the same way as {@link #get(Duration)}, but
+     * return a {@link PatientOutcome} rather than throwing a {@link PatientTimeoutException}
+     * if no valid result is found within the given timeout. The outcome has the number of
+     * attempts and the history of the failed attempts.
+     *
+     * @param timeout the {@link Duration} that represents the maximum amount
+     *                of time to try to find a valid result. A value of zero
+     *                means only attempt to get a value once.
+     *                May not be null or negative.
+     *
+     * @return the {@link PatientOutcome} of the wait.
+     *
+     * @throws IllegalArgumentException if timeout is null or negative.
+     * @throws PatientAbortException    if the execution handler aborts an attempt.
+     */
+    public PatientOutcome<T> attempt(Duration timeout) {
+        validate().that(timeout).isAtLeast(Duration.ZERO);
+        return attemptLoop.attempt(attemptFunction(),
+                                   initialDelay,
+                                   PatientAttemptLoop.UNLIMITED_RETRIES,
+                                   PatientDeadline.toNanos(timeout));
+    }
+
+    /**
+     * This is the same as calling {@link #iterator(Duration)} with the default timeout duration
+     * for this patient future.
+     *
+     * @return an {@link Iterator} over the results of the attempts.
+     */
+    public Iterator<PatientExecutionResult<T>> iterator() {
+        return iterator(defaultTimeout);
+    }
+
+    /**
+     * Create a lazy {@link Iterator} over the result of each attempt, e.g. to observe progress
+     * while waiting rather than only the final value. Nothing is executed until the iterator is
+     * used, and then each call to {@link Iterator#hasNext()} that needs a new result makes the
+     * next attempt, first sleeping for the delay before it. The attempts follow the same schedule
+     * as {@link #get(Duration)}. The iterator ends after a successful or aborted result, or once
+     * the attempts would have been used up, without throwing an exception.
+     * The listeners of the patient future aren't told about these attempts.
+     *
+     * @param timeout the {@link Duration} that represents the maximum amount
+     *                of time to make attempts for, as for {@link #get(Duration)}.
+     *                May not be null or negative.
+     *
+     * @return an {@link Iterator} over the results of the attempts.
+     *
+     * @throws IllegalArgumentException if timeout is null or negative.
+     */
+    public Iterator<PatientExecutionResult<T>> iterator(Duration timeout) {
+        validate().that(timeout).isAtLeast(Duration.ZERO);
+        return attemptLoop.iterate(attemptFunction(),
+                                   initialDelay,
+                                   PatientAttemptLoop.UNLIMITED_RETRIES,
+                                   PatientDeadline.toNanos(timeout));
+    }
+
+    /**
+     * This is the same as calling {@link #stream(Duration)} with the default timeout duration
+     * for this patient future.
+     *
+     * @return a {@link Stream} of the results of the attempts.
+     */
+    public Stream<PatientExecutionResult<T>> stream() {
+        return stream(defaultTimeout);
+    }
+
+    /**
+     * Create a lazy, sequential, {@link Stream} of the result of each attempt, see {@link #iterator(Duration)}.
+     * Since the attempts are made as the stream is consumed, a short-circuiting operation such as
+     * {@link Stream#filter(java.util.function.Predicate)} followed by {@link Stream#findFirst()}
+     * stops making attempts once it has what it needs.
+     *
+     * @param timeout the {@link Duration} that represents the maximum amount
+     *                of time to make attempts for, as for {@link #get(Duration)}.
+     *                May not be null or negative.
+     *
+     * @return a {@link Stream} of the results of the attempts.
+     *
+     * @throws IllegalArgumentException if timeout is null or negative.
+     */
+    public Stream<PatientExecutionResult<T>> stream(Duration timeout) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator(timeout),
+                                                                        Spliterator.ORDERED | Spliterator.NONNULL),
+                                    false);
+    }
+
     // ----------------------------------------------------
     // Package-private methods for testing
     // ----------------------------------------------------
 
     PatientSleep getSleep() {
-        return sleep;
+        return attemptLoop.getSleep();
     }
 
     Duration getInitialDelay() {
@@ -357,10 +571,14 @@ public final class PatientWaitFuture<T> {
     }
 
     PatientDelaySupplierFactory getDelaySupplierFactory() {
-        return delaySupplierFactory;
+        return attemptLoop.getDelaySupplierFactory();
+    }
+
+    PatientAttemptLoop getAttemptLoop() {
+        return attemptLoop;
     }
 
-    PatientExecutable<T> getExecutable() {
+    PatientContextualExecutable<T> getExecutable() {
         return executable;
     }
 
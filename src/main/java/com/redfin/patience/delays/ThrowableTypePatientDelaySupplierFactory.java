@@ -0,0 +1,113 @@
+/*
+ * Copyright: (c) 2016 Redfin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.redfin.patience.delays;
+
+import com.redfin.patience.PatientCauseAwareDelaySupplier;
+import com.redfin.patience.PatientDelaySupplierFactory;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static com.redfin.validity.Validity.validate;
+
+/**
+ * An implementation of {@link PatientDelaySupplierFactory} that picks a different delay
+ * schedule depending on the type of Throwable that caused the previous attempt to fail, e.g.
+ * to retry quickly after a refused connection but back off hard after a throttling error.
+ * <br>
+ * Each schedule is itself a {@link PatientDelaySupplierFactory}. The schedule for a Throwable is
+ * the one given for its class or, if there isn't one, for its nearest super class. Failed attempts
+ * without a cause, or with a cause that matches none of the types, use the default schedule.
+ * The lookup for a given Throwable class is only done once and then cached.
+ * <br>
+ * Each {@link Supplier} created by this factory creates its own supplier for a schedule the first
+ * time it is used, so each schedule progresses independently within a single patient future,
+ * e.g. an exponential schedule for throttling errors isn't advanced by refused connections.
+ */
+public final class ThrowableTypePatientDelaySupplierFactory
+        implements PatientDelaySupplierFactory {
+
+    private final Map<Class<? extends Throwable>, PatientDelaySupplierFactory> factoriesByThrowableType;
+    private final PatientDelaySupplierFactory defaultFactory;
+    private final ClassValue<PatientDelaySupplierFactory> resolvedFactories = new ClassValue<PatientDelaySupplierFactory>() {
+        @Override
+        protected PatientDelaySupplierFactory computeValue(Class<?> type) {
+            for (Class<?> current = type; null != current; current = current.getSuperclass()) {
+                PatientDelaySupplierFactory factory = factoriesByThrowableType.get(current);
+                if (null != factory) {
+                    return factory;
+                }
+            }
+            return defaultFactory;
+        }
+    };
+
+    /**
+     * Create a new {@link ThrowableTypePatientDelaySupplierFactory} instance with the
+     * given schedules.
+     *
+     * @param factoriesByThrowableType the Map of Throwable classes to the {@link PatientDelaySupplierFactory}
+     *                                 schedule to use after a failed attempt caused by that type (or a subclass of it).
+     *                                 The map is copied. May not be null or contain null keys or values.
+     * @param defaultFactory           the {@link PatientDelaySupplierFactory} schedule to use after a failed
+     *                                 attempt without a cause or whose cause doesn't match any of the types.
+     *                                 May not be null.
+     *
+     * @throws IllegalArgumentException if factoriesByThrowableType is null or contains null keys or values or
+     *                                  if defaultFactory is null.
+     */
+    public ThrowableTypePatientDelaySupplierFactory(Map<Class<? extends Throwable>, PatientDelaySupplierFactory> factoriesByThrowableType,
+                                                    PatientDelaySupplierFactory defaultFactory) {
+        validate().that(factoriesByThrowableType).isNotNull();
+        this.factoriesByThrowableType = new HashMap<>();
+        for (Map.Entry<Class<? extends Throwable>, PatientDelaySupplierFactory> entry : factoriesByThrowableType.entrySet()) {
+            validate().withMessage("Cannot use a null Throwable type.")
+                      .that(entry.getKey())
+                      .isNotNull();
+            validate().withMessage("Cannot use a null delay supplier factory.")
+                      .that(entry.getValue())
+                      .isNotNull();
+            this.factoriesByThrowableType.put(entry.getKey(), entry.getValue());
+        }
+        this.defaultFactory = validate().that(defaultFactory).isNotNull();
+    }
+
+    @Override
+    public Supplier<Duration> create() {
+        return new PatientCauseAwareDelaySupplier() {
+
+            private final Map<PatientDelaySupplierFactory, Supplier<Duration>> suppliers = new IdentityHashMap<>();
+
+            @Override
+            public Duration get(Throwable cause) {
+                PatientDelaySupplierFactory factory = null == cause ? defaultFactory : resolvedFactories.get(cause.getClass());
+                Supplier<Duration> supplier = suppliers.get(factory);
+                if (null == supplier) {
+                    supplier = factory.create();
+                    if (null == supplier) {
+                        return null;
+                    }
+                    suppliers.put(factory, supplier);
+                }
+                return supplier.get();
+            }
+        };
+    }
+}
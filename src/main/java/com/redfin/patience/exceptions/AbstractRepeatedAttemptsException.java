@@ -16,6 +16,7 @@
 
 package com.redfin.patience.exceptions;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -25,15 +26,22 @@ import static com.redfin.validity.Validity.validate;
 /**
  * An AbstractRepeatedAttemptsException is the base class for
  * exceptions in the Patient library when it tries to
- * successfully get a value but runs out of attempts.<br>
+ * successfully get a value but runs out of attempts, or
+ * stops attempting early.<br>
  * <br>
  * It contains a list of string descriptions for all of
- * the unsuccessful attempts.
+ * the unsuccessful attempts and, when they were recorded, how
+ * long each of those attempts took to execute and how long
+ * was spent sleeping before each of them.
  */
 public abstract class AbstractRepeatedAttemptsException
               extends RuntimeException {
 
+    private static final long[] NO_TIMINGS = new long[0];
+
     private final List<String> failedAttemptsDescriptions;
+    private final long[] attemptDurationsNanos;
+    private final long[] sleepDurationsNanos;
 
     /**
      * @param message                    the String message for the exception.
@@ -46,7 +54,88 @@ public abstract class AbstractRepeatedAttemptsException
      */
     public AbstractRepeatedAttemptsException(String message,
                                              List<String> failedAttemptsDescriptions) {
-        super(message);
+        this(message, failedAttemptsDescriptions, null);
+    }
+
+    /**
+     * @param message                    the String message for the exception.
+     *                                   May be null.
+     * @param failedAttemptsDescriptions the List of String descriptions for each of
+     *                                   the unsuccessful attempts.
+     *                                   May not be null or empty.
+     * @param cause                      the Throwable that caused this exception.
+     *                                   May be null.
+     *
+     * @throws IllegalArgumentException if failedAttemptsDescriptions is null or empty.
+     */
+    public AbstractRepeatedAttemptsException(String message,
+                                             List<String> failedAttemptsDescriptions,
+                                             Throwable cause) {
+        super(message, cause);
+        validate().withMessage("Cannot use a null list")
+                  .that(failedAttemptsDescriptions)
+                  .isNotNull();
+        this.failedAttemptsDescriptions = Collections.unmodifiableList(new ArrayList<>(failedAttemptsDescriptions));
+        validate().withMessage("Cannot use an empty list")
+                  .that(failedAttemptsDescriptions)
+                  .isNotEmpty();
+        this.attemptDurationsNanos = NO_TIMINGS;
+        this.sleepDurationsNanos = NO_TIMINGS;
+    }
+
+    /**
+     * @param message                    the String message for the exception.
+     *                                   May be null.
+     * @param failedAttemptsDescriptions the List of String descriptions for each of
+     *                                   the unsuccessful attempts.
+     *                                   May not be null or empty.
+     * @param attemptDurationsNanos      the nanoseconds each of the unsuccessful attempts took to execute.
+     *                                   The array is copied. May not be null and must be the same
+     *                                   length as failedAttemptsDescriptions.
+     * @param sleepDurationsNanos        the nanoseconds slept before each of the unsuccessful attempts.
+     *                                   The array is copied. May not be null and must be the same
+     *                                   length as failedAttemptsDescriptions.
+     * @param cause                      the Throwable that caused this exception.
+     *                                   May be null.
+     *
+     * @throws IllegalArgumentException if failedAttemptsDescriptions is null or empty or if either
+     *                                  of the timing arrays is null or of a different length.
+     */
+    public AbstractRepeatedAttemptsException(String message,
+                                             List<String> failedAttemptsDescriptions,
+                                             long[] attemptDurationsNanos,
+                                             long[] sleepDurationsNanos,
+                                             Throwable cause) {
+        this(message, failedAttemptsDescriptions, attemptDurationsNanos, sleepDurationsNanos, cause, true);
+    }
+
+    /**
+     * @param message                    the String message for the exception.
+     *                                   May be null.
+     * @param failedAttemptsDescriptions the List of String descriptions for each of
+     *                                   the unsuccessful attempts.
+     *                                   May not be null or empty.
+     * @param attemptDurationsNanos      the nanoseconds each of the unsuccessful attempts took to execute.
+     *                                   The array is copied. May not be null and must be the same
+     *                                   length as failedAttemptsDescriptions.
+     * @param sleepDurationsNanos        the nanoseconds slept before each of the unsuccessful attempts.
+     *                                   The array is copied. May not be null and must be the same
+     *                                   length as failedAttemptsDescriptions.
+     * @param cause                      the Throwable that caused this exception.
+     *                                   May be null.
+     * @param writableStackTrace         true if the stack trace should be filled in and suppressed
+     *                                   exceptions recorded, false for a cheaper exception without them.
+     *
+     * @throws IllegalArgumentException if failedAttemptsDescriptions is null or empty or if either
+     *                                  of the timing arrays is null or of a different length.
+     */
+    public AbstractRepeatedAttemptsException(String message,
+                                             List<String> failedAttemptsDescriptions,
+                                             long[] attemptDurationsNanos,
+                                             long[] sleepDurationsNanos,
+                                             Throwable cause,
+                                             boolean writableStackTrace) {
+        super(message, cause, writableStackTrace, writableStackTrace);
         validate().withMessage("Cannot use a null list")
                   .that(failedAttemptsDescriptions)
                   .isNotNull();
@@ -54,6 +143,19 @@ public abstract class AbstractRepeatedAttemptsException
         validate().withMessage("Cannot use an empty list")
                   .that(failedAttemptsDescriptions)
                   .isNotEmpty();
+        this.attemptDurationsNanos = copyTimings(attemptDurationsNanos, failedAttemptsDescriptions.size());
+        this.sleepDurationsNanos = copyTimings(sleepDurationsNanos, failedAttemptsDescriptions.size());
+    }
+
+    private static long[] copyTimings(long[] timings,
+                                      int count) {
+        validate().withMessage("Cannot use a null timings array")
+                  .that(timings)
+                  .isNotNull();
+        validate().withMessage("Cannot use a timings array with a different length than the list")
+                  .that(timings.length == count)
+                  .isTrue();
+        return timings.clone();
     }
 
     /**
@@ -69,4 +171,45 @@ public abstract class AbstractRepeatedAttemptsException
     public List<String> getFailedAttemptsDescriptions() {
         return failedAttemptsDescriptions;
     }
+
+    /**
+     * @return a copy of the array of nanoseconds each of the failed attempts took to execute, in the
+     * same order as the descriptions. The array is empty if the timings weren't recorded.
+     */
+    public long[] getAttemptDurationsNanos() {
+        return attemptDurationsNanos.clone();
+    }
+
+    /**
+     * @return a copy of the array of nanoseconds slept before each of the failed attempts, including
+     * any initial delay before the first, in the same order as the descriptions. The array is empty if
+     * the timings weren't recorded.
+     */
+    public long[] getSleepDurationsNanos() {
+        return sleepDurationsNanos.clone();
+    }
+
+    /**
+     * @return the total {@link Duration} spent executing the failed attempts.
+     * This is zero if the timings weren't recorded.
+     */
+    public Duration getTotalAttemptDuration() {
+        return Duration.ofNanos(sum(attemptDurationsNanos));
+    }
+
+    /**
+     * @return the total {@link Duration} spent sleeping before the failed attempts.
+     * This is zero if the timings weren't recorded.
+     */
+    public Duration getTotalSleepDuration() {
+        return Duration.ofNanos(sum(sleepDurationsNanos));
+    }
+
+    private static long sum(long[] timings) {
+        long total = 0;
+        for (long timing : timings) {
+            total += timing;
+        }
+        return total;
+    }
 }
@@ -0,0 +1,131 @@
+/*
+ * Copyright: (c) 2016 Redfin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.redfin.patience.exceptions;
+
+import java.util.List;
+
+/**
+ * A PatientAbortException is an unchecked exception. It is intended to signal that
+ * an execution handler decided that an attempt was unrecoverable, so the patient wait
+ * or retry stopped immediately instead of using up its timeout or retries. The last
+ * element of the failed attempts descriptions is the description of the aborted attempt.
+ */
+public final class PatientAbortException
+           extends AbstractRepeatedAttemptsException {
+
+    static final long serialVersionUID = 5L;
+
+    /**
+     * Constructs a new patient abort exception with the specified detail message,
+     * and the list of (string) descriptions of the unsuccessful attempts.
+     * The cause will be {@code null}.
+     *
+     * @param message                    the detail message.
+     *                                   May be null.
+     * @param failedAttemptsDescriptions the list of String descriptions of the invalid
+     *                                   results when waiting, ending with the aborted attempt.
+     *                                   May not be null or empty.
+     *
+     * @throws IllegalArgumentException if failedAttemptsDescriptions is null or empty.
+     */
+    public PatientAbortException(String message,
+                                 List<String> failedAttemptsDescriptions) {
+        super(message, failedAttemptsDescriptions);
+    }
+
+    /**
+     * Constructs a new patient abort exception with the specified detail message,
+     * the list of (string) descriptions of the unsuccessful attempts, and the cause
+     * of the aborted attempt.
+     *
+     * @param message                    the detail message.
+     *                                   May be null.
+     * @param failedAttemptsDescriptions the list of String descriptions of the invalid
+     *                                   results when waiting, ending with the aborted attempt.
+     *                                   May not be null or empty.
+     * @param cause                      the Throwable that caused the attempt to be aborted.
+     *                                   May be null.
+     *
+     * @throws IllegalArgumentException if failedAttemptsDescriptions is null or empty.
+     */
+    public PatientAbortException(String message,
+                                 List<String> failedAttemptsDescriptions,
+                                 Throwable cause) {
+        super(message, failedAttemptsDescriptions, cause);
+    }
+
+    /**
+     * Constructs a new patient abort exception with the specified detail message,
+     * the list of (string) descriptions of the unsuccessful attempts, how long each
+     * of the unsuccessful attempts took to execute and slept before executing, and
+     * the cause of the aborted attempt.
+     *
+     * @param message                    the detail message.
+     *                                   May be null.
+     * @param failedAttemptsDescriptions the list of String descriptions of the invalid
+     *                                   results when waiting, ending with the aborted attempt.
+     *                                   May not be null or empty.
+     * @param attemptDurationsNanos      the nanoseconds each of the unsuccessful attempts took to execute.
+     *                                   May not be null and must be the same length as failedAttemptsDescriptions.
+     * @param sleepDurationsNanos        the nanoseconds slept before each of the unsuccessful attempts.
+     *                                   May not be null and must be the same length as failedAttemptsDescriptions.
+     * @param cause                      the Throwable that caused the attempt to be aborted.
+     *                                   May be null.
+     *
+     * @throws IllegalArgumentException if failedAttemptsDescriptions is null or empty or if either
+     *                                  of the timing arrays is null or of a different length.
+     */
+    public PatientAbortException(String message,
+                                 List<String> failedAttemptsDescriptions,
+                                 long[] attemptDurationsNanos,
+                                 long[] sleepDurationsNanos,
+                                 Throwable cause) {
+        super(message, failedAttemptsDescriptions, attemptDurationsNanos, sleepDurationsNanos, cause);
+    }
+
+    /**
+     * Constructs a new patient abort exception with the specified detail message,
+     * the list of (string) descriptions of the unsuccessful attempts, how long each
+     * of the unsuccessful attempts took to execute and slept before executing, and
+     * the cause of the aborted attempt. When writableStackTrace is false the exception
+     * has no stack trace and no suppressed exceptions.
+     *
+     * @param message                    the detail message.
+     *                                   May be null.
+     * @param failedAttemptsDescriptions the list of String descriptions of the invalid
+     *                                   results when waiting, ending with the aborted attempt.
+     *                                   May not be null or empty.
+     * @param attemptDurationsNanos      the nanoseconds each of the unsuccessful attempts took to execute.
+     *                                   May not be null and must be the same length as failedAttemptsDescriptions.
+     * @param sleepDurationsNanos        the nanoseconds slept before each of the unsuccessful attempts.
+     *                                   May not be null and must be the same length as failedAttemptsDescriptions.
+     * @param cause                      the Throwable that caused the attempt to be aborted.
+     *                                   May be null.
+     * @param writableStackTrace         true if the stack trace should be filled in.
+     *
+     * @throws IllegalArgumentException if failedAttemptsDescriptions is null or empty or if either
+     *                                  of the timing arrays is null or of a different length.
+     */
+    public PatientAbortException(String message,
+                                 List<String> failedAttemptsDescriptions,
+                                 long[] attemptDurationsNanos,
+                                 long[] sleepDurationsNanos,
+                                 Throwable cause,
+                                 boolean writableStackTrace) {
+        super(message, failedAttemptsDescriptions, attemptDurationsNanos, sleepDurationsNanos, cause, writableStackTrace);
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright: (c) 2016 Redfin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.redfin.patience.exceptions;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import static com.redfin.validity.Validity.validate;
+
+/**
+ * A PatientParallelException is an unchecked exception. It is intended to signal
+ * that one or more of the items given to a {@link com.redfin.patience.PatientParallel}
+ * failed. It has the throwable of each failed item by the index of the item, and its
+ * cause is the first failure to have been received.
+ */
+public final class PatientParallelException
+           extends RuntimeException {
+
+    static final long serialVersionUID = 5L;
+
+    private final int itemCount;
+    private final SortedMap<Integer, Throwable> failures;
+
+    /**
+     * Create a new {@link PatientParallelException} instance.
+     *
+     * @param message   the String message for the exception.
+     * @param itemCount the number of items that were given.
+     *                  May not be negative.
+     * @param failures  the map of the index of each failed item to what it threw.
+     *                  May not be null or empty.
+     * @param cause     the throwable of the first failure to have been received.
+     *                  May be null.
+     *
+     * @throws IllegalArgumentException if itemCount is negative or if failures is null or empty.
+     */
+    public PatientParallelException(String message,
+                                    int itemCount,
+                                    Map<Integer, Throwable> failures,
+                                    Throwable cause) {
+        super(message, cause);
+        this.itemCount = validate().that(itemCount).isAtLeast(0);
+        validate().that(failures).isNotNull();
+        validate().withMessage("Cannot have a parallel exception without any failures.")
+                  .that(failures.isEmpty())
+                  .isFalse();
+        this.failures = Collections.unmodifiableSortedMap(new TreeMap<>(failures));
+    }
+
+    /**
+     * @return the number of items that were given.
+     */
+    public int getItemCount() {
+        return itemCount;
+    }
+
+    /**
+     * @return the unmodifiable map of the index of each failed item to the throwable
+     * it failed with, in index order. With fail fast the items that were cancelled, or
+     * never started, aren't included.
+     */
+    public SortedMap<Integer, Throwable> getFailures() {
+        return failures;
+    }
+}
@@ -44,4 +44,60 @@ public final class PatientTimeoutException
                                    List<String> failedAttemptsDescriptions) {
         super(message, failedAttemptsDescriptions);
     }
+
+    /**
+     * Constructs a new patient timeout exception with the specified detail message,
+     * the list of (string) descriptions of the unsuccessful attempts, and how long
+     * each of the unsuccessful attempts took to execute and slept before executing.
+     * The cause will be {@code null}.
+     *
+     * @param message                    the detail message.
+     *                                   May be null.
+     * @param failedAttemptsDescriptions the list of String descriptions of the invalid
+     *                                   results when waiting.
+     *                                   May not be null or empty.
+     * @param attemptDurationsNanos      the nanoseconds each of the unsuccessful attempts took to execute.
+     *                                   May not be null and must be the same length as failedAttemptsDescriptions.
+     * @param sleepDurationsNanos        the nanoseconds slept before each of the unsuccessful attempts.
+     *                                   May not be null and must be the same length as failedAttemptsDescriptions.
+     *
+     * @throws IllegalArgumentException if failedAttemptsDescriptions is null or empty or if either
+     *                                  of the timing arrays is null or of a different length.
+     */
+    public PatientTimeoutException(String message,
+                                   List<String> failedAttemptsDescriptions,
+                                   long[] attemptDurationsNanos,
+                                   long[] sleepDurationsNanos) {
+        super(message, failedAttemptsDescriptions, attemptDurationsNanos, sleepDurationsNanos, null);
+    }
+
+    /**
+     * Constructs a new patient timeout exception with the specified detail message,
+     * the list of (string) descriptions of the unsuccessful attempts, and how long
+     * each of the unsuccessful attempts took to execute and slept before executing.
+     * The cause will be {@code null}. When writableStackTrace is false the exception
+     * has no stack trace and no suppressed exceptions, which makes it much cheaper to
+     * create where running out of attempts is expected and handled.
+     *
+     * @param message                    the detail message.
+     *                                   May be null.
+     * @param failedAttemptsDescriptions the list of String descriptions of the invalid
+     *                                   results when waiting.
+     *                                   May not be null or empty.
+     * @param attemptDurationsNanos      the nanoseconds each of the unsuccessful attempts took to execute.
+     *                                   May not be null and must be the same length as failedAttemptsDescriptions.
+     * @param sleepDurationsNanos        the nanoseconds slept before each of the unsuccessful attempts.
+     *                                   May not be null and must be the same length as failedAttemptsDescriptions.
+     * @param writableStackTrace         true if the stack trace should be filled in.
+     *
+     * @throws IllegalArgumentException if failedAttemptsDescriptions is null or empty or if either
+     *                                  of the timing arrays is null or of a different length.
+     */
+    public PatientTimeoutException(String message,
+                                   List<String> failedAttemptsDescriptions,
+                                   long[] attemptDurationsNanos,
+                                   long[] sleepDurationsNanos,
+                                   boolean writableStackTrace) {
+        super(message, failedAttemptsDescriptions, attemptDurationsNanos, sleepDurationsNanos, null, writableStackTrace);
+    }
 }
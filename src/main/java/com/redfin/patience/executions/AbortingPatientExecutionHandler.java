@@ -0,0 +1,168 @@
+/*
+ * Copyright: (c) 2016 Redfin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.redfin.patience.executions;
+
+import com.redfin.patience.PatientExecutable;
+import com.redfin.patience.PatientExecutionHandler;
+import com.redfin.patience.PatientExecutionResult;
+import com.redfin.patience.exceptions.PatientExecutionException;
+import com.redfin.validity.ValidityUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static com.redfin.validity.Validity.validate;
+
+/**
+ * An implementation of the {@link PatientExecutionHandler} that recognizes unrecoverable
+ * attempts and returns an aborted {@link PatientExecutionResult} for them so that the
+ * patient wait or retry stops immediately. It will extract a value from the executable
+ * and if the executable throws a Throwable that is one of the aborting types, or returns
+ * a value that matches one of the aborting predicates, the attempt is aborted. Otherwise
+ * the value (or thrown Throwable) is handed to the delegate execution handler, which
+ * decides if the attempt passed or failed as usual.
+ * <br>
+ * Instances are created via the {@link Builder} returned by {@link #builder()}.
+ */
+public final class AbortingPatientExecutionHandler
+        implements PatientExecutionHandler {
+
+    private final PatientExecutionHandler delegate;
+    private final List<Class<? extends Throwable>> abortingThrowableTypes;
+    private final List<Predicate<Object>> abortingResultPredicates;
+
+    private AbortingPatientExecutionHandler(PatientExecutionHandler delegate,
+                                            List<Class<? extends Throwable>> abortingThrowableTypes,
+                                            List<Predicate<Object>> abortingResultPredicates) {
+        this.delegate = validate().that(delegate).isNotNull();
+        this.abortingThrowableTypes = Collections.unmodifiableList(new ArrayList<>(validate().that(abortingThrowableTypes).isNotNull()));
+        this.abortingResultPredicates = Collections.unmodifiableList(new ArrayList<>(validate().that(abortingResultPredicates).isNotNull()));
+    }
+
+    @Override
+    public <T> PatientExecutionResult<T> execute(PatientExecutable<T> executable,
+                                                 Predicate<T> filter) {
+        validate().that(executable).isNotNull();
+        validate().that(filter).isNotNull();
+        T value;
+        try {
+            value = executable.execute();
+        } catch (Throwable thrown) {
+            if (abortingThrowableTypes.stream().anyMatch(clazz -> clazz.isAssignableFrom(thrown.getClass()))) {
+                return PatientExecutionResult.abort("Caught throwable: " + thrown.toString(), thrown);
+            }
+            // Let the delegate decide what to do with the throwable
+            return delegate.execute(() -> {
+                throw thrown;
+            }, filter);
+        }
+        boolean abort;
+        try {
+            abort = abortingResultPredicates.stream().anyMatch(predicate -> predicate.test(value));
+        } catch (Throwable thrown) {
+            throw new PatientExecutionException("Unexpected throwable caught while checking for an unrecoverable result.", thrown);
+        }
+        if (abort) {
+            return PatientExecutionResult.abort(ValidityUtils.describe(value));
+        }
+        return delegate.execute(() -> value, filter);
+    }
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Static Methods
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /**
+     * @return a new {@link Builder} instance.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Builder
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /**
+     * A mutable builder class used to generate an {@link AbortingPatientExecutionHandler} instance.
+     */
+    public static final class Builder {
+
+        private PatientExecutionHandler delegate = new SimplePatientExecutionHandler();
+        private final List<Class<? extends Throwable>> abortingThrowableTypes = new ArrayList<>();
+        private final List<Predicate<Object>> abortingResultPredicates = new ArrayList<>();
+
+        /**
+         * Set the execution handler used for attempts that are not aborted. The default is
+         * a {@link SimplePatientExecutionHandler}.
+         *
+         * @param delegate the {@link PatientExecutionHandler} to be used.
+         *                 May not be null.
+         *
+         * @return a self reference.
+         *
+         * @throws IllegalArgumentException if delegate is null.
+         */
+        public Builder withDelegate(PatientExecutionHandler delegate) {
+            this.delegate = validate().that(delegate).isNotNull();
+            return this;
+        }
+
+        /**
+         * Add a Throwable type that aborts the attempt when thrown from the executable.
+         * Note that a Throwable is considered a match even if it is a subclass of the given type.
+         *
+         * @param throwableType the Throwable class that is unrecoverable.
+         *                      May not be null.
+         *
+         * @return a self reference.
+         *
+         * @throws IllegalArgumentException if throwableType is null.
+         */
+        public Builder withAbortingThrowableType(Class<? extends Throwable> throwableType) {
+            abortingThrowableTypes.add(validate().that(throwableType).isNotNull());
+            return this;
+        }
+
+        /**
+         * Add a predicate that aborts the attempt when it returns true for the value
+         * returned by the executable. The predicate is tested before the filter.
+         *
+         * @param resultPredicate the {@link Predicate} that recognizes unrecoverable values.
+         *                        May not be null.
+         *
+         * @return a self reference.
+         *
+         * @throws IllegalArgumentException if resultPredicate is null.
+         */
+        public Builder withAbortingResultPredicate(Predicate<Object> resultPredicate) {
+            abortingResultPredicates.add(validate().that(resultPredicate).isNotNull());
+            return this;
+        }
+
+        /**
+         * @return a new {@link AbortingPatientExecutionHandler} from the current state of this builder.
+         */
+        public AbortingPatientExecutionHandler build() {
+            return new AbortingPatientExecutionHandler(delegate,
+                                                       abortingThrowableTypes,
+                                                       abortingResultPredicates);
+        }
+    }
+}
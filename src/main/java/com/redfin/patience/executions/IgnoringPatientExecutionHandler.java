@@ -36,7 +36,7 @@ import static com.redfin.validity.Validity.validate;
  * extract a value from the executable and test it with the predicate. Any Throwable
  * thrown from the executable or the predicate will be checked against a set of
  * ignored types. If the thrown Throwable was one of the ignored types, a non-successful
- * {@link PatientExecutionResult} will be returned. If the Throwable was not one of
+ * {@link PatientExecutionResult} will be returned with the Throwable as its cause. If the Throwable was not one of
  * the ignored types it will be set as the cause of a {@link PatientExecutionResult} which
  * will then be thrown.
  */
@@ -113,7 +113,7 @@ public final class IgnoringPatientExecutionHandler
             } else if (ignoredThrowableTypes.stream()
                                             .anyMatch(clazz -> clazz.isAssignableFrom(thrown.getClass()))) {
                 // It was ignored and not explicitly NOT ignored, return a failure case
-                return PatientExecutionResult.fail("Caught throwable: " + thrown.toString());
+                return PatientExecutionResult.fail("Caught throwable: " + thrown.toString(), null, thrown);
             } else {
                 // It was neither ignored or not ignored, throw an exception
                 throw new PatientExecutionException(errorMessage, thrown);
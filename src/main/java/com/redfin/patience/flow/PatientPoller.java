@@ -0,0 +1,232 @@
+/*
+ * Copyright: (c) 2016 Redfin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.redfin.patience.flow;
+
+import com.redfin.patience.PatientExecutable;
+import com.redfin.patience.PatientWait;
+import com.redfin.patience.exceptions.PatientTimeoutException;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import static com.redfin.validity.Validity.validate;
+
+/**
+ * The demand driven polling behind a subscription to a patient publisher. Each poll is a
+ * whole patient wait, so it follows the delays and timeout of the wait, and its value is
+ * emitted once it passes. Polling only happens while there is outstanding demand: once
+ * the demand reaches zero the poller stops until more is requested, so neither a slow
+ * subscriber nor the polled backend is flooded. The polls run one at a time on the
+ * executor and the signals are never concurrent, as the reactive streams rules require.
+ * <br>
+ * A poll that times out ends the subscription, either with the {@link PatientTimeoutException}
+ * or by completing, and any other throwable ends it with an error. Cancelling stops the
+ * polling and interrupts a poll that is in progress.
+ *
+ * @param <T> the type of the polled values.
+ */
+final class PatientPoller<T> {
+
+    /**
+     * The signals of a subscription, they are never called concurrently.
+     *
+     * @param <T> the type of the polled values.
+     */
+    interface Signals<T> {
+
+        void onNext(T value);
+
+        void onError(Throwable throwable);
+
+        void onComplete();
+    }
+
+    /**
+     * Create the poll for a single subscription, which is a wait for the executable with the
+     * given filter. If only changes are wanted then a value must also differ, by
+     * {@link Objects#equals(Object, Object)}, from the value the previous poll returned, so
+     * an unchanged value counts as an unsuccessful attempt of the wait. The poll keeps the
+     * previous value itself, so each subscription needs its own.
+     *
+     * @param wait        the {@link PatientWait} to poll with.
+     *                    May not be null.
+     * @param executable  the {@link PatientExecutable} to poll.
+     *                    May not be null.
+     * @param filter      the {@link Predicate} a polled value must match.
+     *                    May not be null.
+     * @param onlyChanges true if a value must differ from the previously polled value.
+     * @param <T>         the type of the polled values.
+     *
+     * @return the poll.
+     *
+     * @throws IllegalArgumentException if wait, executable, or filter are null.
+     */
+    static <T> Supplier<T> waitingFor(PatientWait wait,
+                                      PatientExecutable<T> executable,
+                                      Predicate<T> filter,
+                                      boolean onlyChanges) {
+        validate().that(wait).isNotNull();
+        validate().that(executable).isNotNull();
+        validate().that(filter).isNotNull();
+        if (!onlyChanges) {
+            return () -> wait.from(executable).withFilter(filter).get();
+        }
+        return new ChangePoll<>(wait, executable, filter);
+    }
+
+    private static final class ChangePoll<T>
+                    implements Supplier<T> {
+
+        private final PatientWait wait;
+        private final PatientExecutable<T> executable;
+        private final Predicate<T> filter;
+        // Only used by the polls, which are never concurrent
+        private T previous = null;
+        private boolean polled = false;
+
+        private ChangePoll(PatientWait wait,
+                           PatientExecutable<T> executable,
+                           Predicate<T> filter) {
+            this.wait = wait;
+            this.executable = executable;
+            this.filter = filter;
+        }
+
+        @Override
+        public T get() {
+            T value = wait.from(executable)
+                          .withFilter(candidate -> filter.test(candidate) && !(polled && Objects.equals(previous, candidate)))
+                          .get();
+            previous = value;
+            polled = true;
+            return value;
+        }
+    }
+
+    private final Supplier<T> poll;
+    private final Executor executor;
+    private final Signals<T> signals;
+    private final boolean completeOnTimeout;
+    private final AtomicLong demand = new AtomicLong(0);
+    private final AtomicInteger workInProgress = new AtomicInteger(0);
+    private volatile boolean cancelled = false;
+    private volatile boolean done = false;
+    private volatile Throwable invalidRequest = null;
+    private Thread pollingThread = null;
+
+    PatientPoller(Supplier<T> poll,
+                  Executor executor,
+                  Signals<T> signals,
+                  boolean completeOnTimeout) {
+        this.poll = validate().that(poll).isNotNull();
+        this.executor = validate().that(executor).isNotNull();
+        this.signals = validate().that(signals).isNotNull();
+        this.completeOnTimeout = completeOnTimeout;
+    }
+
+    /**
+     * Add to the outstanding demand and start polling if it isn't already.
+     *
+     * @param n the number of additional values requested. A non-positive number ends
+     *          the subscription with an {@link IllegalArgumentException}.
+     */
+    void request(long n) {
+        if (n <= 0) {
+            invalidRequest = new IllegalArgumentException("The number of requested values must be positive, but was " + n);
+        } else {
+            // Saturate at Long.MAX_VALUE, which is treated as unbounded
+            demand.accumulateAndGet(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+        }
+        schedule();
+    }
+
+    /**
+     * Stop polling, interrupting a poll that is in progress. No more signals are sent.
+     */
+    void cancel() {
+        cancelled = true;
+        // The polling thread is only interrupted while it is polling, never once it has moved on
+        synchronized (this) {
+            if (null != pollingThread) {
+                pollingThread.interrupt();
+            }
+        }
+    }
+
+    private void schedule() {
+        // Only the first of concurrent requests starts a drain, the others are picked up by it
+        if (workInProgress.getAndIncrement() == 0) {
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException rejected) {
+                cancelled = true;
+                signals.onError(rejected);
+            }
+        }
+    }
+
+    private void drain() {
+        int missed = 1;
+        do {
+            while (!cancelled && !done && (null != invalidRequest || demand.get() > 0)) {
+                if (null != invalidRequest) {
+                    done = true;
+                    signals.onError(invalidRequest);
+                    return;
+                }
+                T value;
+                try {
+                    synchronized (this) {
+                        pollingThread = Thread.currentThread();
+                    }
+                    value = poll.get();
+                } catch (Throwable thrown) {
+                    if (!cancelled) {
+                        done = true;
+                        if (completeOnTimeout && thrown instanceof PatientTimeoutException) {
+                            signals.onComplete();
+                        } else {
+                            signals.onError(thrown);
+                        }
+                    }
+                    return;
+                } finally {
+                    synchronized (this) {
+                        pollingThread = null;
+                    }
+                    if (cancelled) {
+                        // Don't leave an interrupt from cancelling on a thread of the executor
+                        Thread.interrupted();
+                    }
+                }
+                if (cancelled) {
+                    return;
+                }
+                if (demand.get() != Long.MAX_VALUE) {
+                    demand.decrementAndGet();
+                }
+                signals.onNext(value);
+            }
+            missed = workInProgress.addAndGet(-missed);
+        } while (0 != missed);
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright: (c) 2016 Redfin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.redfin.patience.listeners;
+
+import com.redfin.patience.PatientExecutionResult;
+import com.redfin.patience.PatientListener;
+import com.redfin.patience.exceptions.PatientException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import static com.redfin.validity.Validity.validate;
+
+/**
+ * An implementation of {@link PatientListener} that passes every callback on to
+ * each of a list of listeners, in order.
+ */
+public final class CompositePatientListener
+        implements PatientListener {
+
+    private final List<PatientListener> listeners;
+
+    /**
+     * Create a new {@link CompositePatientListener} for the given listeners.
+     *
+     * @param listeners the collection of {@link PatientListener}s to notify.
+     *                  The collection is copied. May not be null or contain null elements.
+     *
+     * @throws IllegalArgumentException if listeners is null or contains null elements.
+     */
+    public CompositePatientListener(Collection<PatientListener> listeners) {
+        validate().that(listeners).isNotNull();
+        List<PatientListener> copy = new ArrayList<>(listeners.size());
+        for (PatientListener listener : listeners) {
+            copy.add(validate().withMessage("Cannot use a null listener.")
+                               .that(listener)
+                               .isNotNull());
+        }
+        this.listeners = Collections.unmodifiableList(copy);
+    }
+
+    /**
+     * @return an unmodifiable list of the listeners that are notified.
+     */
+    public List<PatientListener> getListeners() {
+        return listeners;
+    }
+
+    @Override
+    public PatientListener onWaitStarted(String policyName) {
+        // Only allocated once a listener returns a different listener for the execution
+        List<PatientListener> started = null;
+        int i = 0;
+        try {
+            for (; i < listeners.size(); i++) {
+                PatientListener listener = listeners.get(i);
+                PatientListener execution = validate().withMessage("Cannot use a null listener for an execution.")
+                                                      .that(listener.onWaitStarted(policyName))
+                                                      .isNotNull();
+                if (null == started && execution != listener) {
+                    started = new ArrayList<>(listeners.subList(0, i));
+                }
+                if (null != started) {
+                    started.add(execution);
+                }
+            }
+        } catch (RuntimeException | Error thrown) {
+            // The wait never starts, so end it for the listeners that already started. Otherwise
+            // they would never get a terminal callback, e.g. leaving a wait in flight forever.
+            endStarted(null == started ? listeners.subList(0, i) : started, thrown);
+            throw thrown;
+        }
+        return null == started ? this : new CompositePatientListener(started);
+    }
+
+    private static void endStarted(List<PatientListener> started,
+                                   Throwable thrown) {
+        RuntimeException error = thrown instanceof RuntimeException
+                                 ? (RuntimeException) thrown
+                                 : new PatientException("Unexpected error caught while starting a wait", thrown);
+        for (PatientListener execution : started) {
+            try {
+                execution.onError(error, 0, 0);
+            } catch (RuntimeException | Error suppressed) {
+                thrown.addSuppressed(suppressed);
+            }
+        }
+    }
+
+    @Override
+    public void onAttemptStarted(int attemptIndex) {
+        for (PatientListener listener : listeners) {
+            listener.onAttemptStarted(attemptIndex);
+        }
+    }
+
+    @Override
+    public void onAttemptEnded(int attemptIndex,
+                               PatientExecutionResult<?> result,
+                               long durationNanos) {
+        for (PatientListener listener : listeners) {
+            listener.onAttemptEnded(attemptIndex, result, durationNanos);
+        }
+    }
+
+    @Override
+    public void onSleep(long sleepNanos) {
+        for (PatientListener listener : listeners) {
+            listener.onSleep(sleepNanos);
+        }
+    }
+
+    @Override
+    public void onSuccess(int attempts,
+                          long elapsedNanos) {
+        for (PatientListener listener : listeners) {
+            listener.onSuccess(attempts, elapsedNanos);
+        }
+    }
+
+    @Override
+    public void onTimeout(int attempts,
+                          long elapsedNanos) {
+        for (PatientListener listener : listeners) {
+            listener.onTimeout(attempts, elapsedNanos);
+        }
+    }
+
+    @Override
+    public void onAbort(int attempts,
+                        long elapsedNanos) {
+        for (PatientListener listener : listeners) {
+            listener.onAbort(attempts, elapsedNanos);
+        }
+    }
+
+    @Override
+    public void onError(RuntimeException error,
+                        int attempts,
+                        long elapsedNanos) {
+        for (PatientListener listener : listeners) {
+            listener.onError(error, attempts, elapsedNanos);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright: (c) 2016 Redfin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.redfin.patience.listeners;
+
+import com.redfin.patience.PatientListener;
+import com.redfin.patience.PatientListeners;
+
+/**
+ * A static, non-instantiable, class for the Java Flight Recorder integration.
+ * <br>
+ * This is the Java 8 version of the class, which has no Java Flight Recorder events.
+ * The jar is a multi-release jar and on Java 11 or later this class is replaced by
+ * one that emits events for each wait, attempt, and sleep.
+ */
+public final class FlightRecorderSupport {
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Instance Methods
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /*
+     * Make sure that the static class cannot be instantiated
+     */
+
+    private FlightRecorderSupport() {
+        throw new AssertionError("Cannot instantiate FlightRecorderSupport.");
+    }
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Static Methods
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /**
+     * @return true if Java Flight Recorder events are emitted on this Java version or false otherwise.
+     */
+    public static boolean isAvailable() {
+        return false;
+    }
+
+    /**
+     * @return a {@link PatientListener} that emits Java Flight Recorder events, which on this
+     * Java version is {@link PatientListeners#none()}.
+     */
+    public static PatientListener listener() {
+        return PatientListeners.none();
+    }
+}
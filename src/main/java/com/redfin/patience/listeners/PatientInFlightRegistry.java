@@ -0,0 +1,161 @@
+/*
+ * Copyright: (c) 2016 Redfin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.redfin.patience.listeners;
+
+import com.redfin.patience.PatientExecutionResult;
+import com.redfin.patience.PatientListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * A {@link PatientListener} that keeps track of the waits that are currently in progress for
+ * every {@link com.redfin.patience.PatientWait} or {@link com.redfin.patience.PatientRetry} it
+ * is added to. Each wait is registered when it starts and removed when it ends. The registry is
+ * a concurrent set, which is internally striped, and a wait only updates its own entry while
+ * it runs, so it is cheap enough to leave on in production.
+ * <br>
+ * Use {@link #getInFlightWaits()} to see which waits are live, or {@link #watchdog(Duration, Consumer)}
+ * to be told about waits that have been running for longer than expected.
+ */
+public final class PatientInFlightRegistry
+        implements PatientListener {
+
+    private final Set<Entry> entries = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public PatientListener onWaitStarted(String policyName) {
+        Entry entry = new Entry(this, policyName, Thread.currentThread());
+        entries.add(entry);
+        return entry;
+    }
+
+    /**
+     * @return an unmodifiable list of {@link PatientInFlightWait} views of the waits
+     * that are in progress at the time of the call.
+     */
+    public List<PatientInFlightWait> getInFlightWaits() {
+        List<PatientInFlightWait> waits = new ArrayList<>();
+        for (Entry entry : entries) {
+            waits.add(entry.view());
+        }
+        return Collections.unmodifiableList(waits);
+    }
+
+    /**
+     * Create a watchdog that reports the waits in this registry that have been in progress for
+     * longer than the given threshold. The watchdog doesn't check anything until it is started or
+     * its {@link PatientStuckWaitWatchdog#check()} method is called.
+     *
+     * @param threshold the {@link Duration} after which a wait is considered stuck.
+     *                  May not be null, zero or negative.
+     * @param reporter  the {@link Consumer} to give each stuck wait to, once per wait.
+     *                  May not be null.
+     *
+     * @return a new {@link PatientStuckWaitWatchdog}.
+     *
+     * @throws IllegalArgumentException if threshold is null, zero or negative or if reporter is null.
+     */
+    public PatientStuckWaitWatchdog watchdog(Duration threshold,
+                                             Consumer<PatientInFlightWait> reporter) {
+        return new PatientStuckWaitWatchdog(this, threshold, reporter);
+    }
+
+    Set<Entry> getEntries() {
+        return entries;
+    }
+
+    /*
+     * The per-wait listener, which is also the registry entry for the wait.
+     * Only the waiting thread writes to it, the volatile fields let other threads read it.
+     */
+
+    static final class Entry
+            implements PatientListener {
+
+        private final PatientInFlightRegistry registry;
+        private final String policyName;
+        private final Thread thread;
+        private final long startMillis;
+        private final long startNanos;
+        private volatile int attempts;
+        private volatile String lastFailure;
+
+        private Entry(PatientInFlightRegistry registry,
+                      String policyName,
+                      Thread thread) {
+            this.registry = registry;
+            this.policyName = policyName;
+            this.thread = thread;
+            this.startMillis = System.currentTimeMillis();
+            this.startNanos = System.nanoTime();
+        }
+
+        long getElapsedNanos() {
+            return System.nanoTime() - startNanos;
+        }
+
+        PatientInFlightWait view() {
+            return new PatientInFlightWait(thread,
+                                           policyName,
+                                           startMillis,
+                                           getElapsedNanos(),
+                                           attempts,
+                                           lastFailure);
+        }
+
+        @Override
+        public void onAttemptEnded(int attemptIndex,
+                                   PatientExecutionResult<?> result,
+                                   long durationNanos) {
+            if (!result.isSuccess()) {
+                lastFailure = result.getFailedAttemptDescription();
+            }
+            attempts = attemptIndex + 1;
+        }
+
+        @Override
+        public void onSuccess(int attempts,
+                              long elapsedNanos) {
+            registry.entries.remove(this);
+        }
+
+        @Override
+        public void onTimeout(int attempts,
+                              long elapsedNanos) {
+            registry.entries.remove(this);
+        }
+
+        @Override
+        public void onAbort(int attempts,
+                            long elapsedNanos) {
+            registry.entries.remove(this);
+        }
+
+        @Override
+        public void onError(RuntimeException error,
+                            int attempts,
+                            long elapsedNanos) {
+            registry.entries.remove(this);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright: (c) 2016 Redfin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.redfin.patience.listeners;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * An immutable view of a wait that was in progress when it was taken from a
+ * {@link PatientInFlightRegistry}.
+ */
+public final class PatientInFlightWait {
+
+    private final Thread thread;
+    private final String policyName;
+    private final long startMillis;
+    private final long elapsedNanos;
+    private final int attempts;
+    private final String lastFailure;
+
+    PatientInFlightWait(Thread thread,
+                        String policyName,
+                        long startMillis,
+                        long elapsedNanos,
+                        int attempts,
+                        String lastFailure) {
+        this.thread = thread;
+        this.policyName = policyName;
+        this.startMillis = startMillis;
+        this.elapsedNanos = elapsedNanos;
+        this.attempts = attempts;
+        this.lastFailure = lastFailure;
+    }
+
+    /**
+     * @return the {@link Thread} that is waiting, e.g. so that its stack trace can be looked at.
+     */
+    public Thread getThread() {
+        return thread;
+    }
+
+    /**
+     * @return the name of the policy of the wait.
+     */
+    public String getPolicyName() {
+        return policyName;
+    }
+
+    /**
+     * @return the {@link Instant} that the wait started.
+     */
+    public Instant getStartTime() {
+        return Instant.ofEpochMilli(startMillis);
+    }
+
+    /**
+     * @return the {@link Duration} the wait had been in progress when the view was taken.
+     */
+    public Duration getElapsed() {
+        return Duration.ofNanos(elapsedNanos);
+    }
+
+    /**
+     * @return the number of attempts that had finished when the view was taken.
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    /**
+     * @return an {@link Optional} containing the description of the most recent failed
+     * attempt, or an empty Optional if no attempt had failed when the view was taken.
+     */
+    public Optional<String> getLastFailure() {
+        return Optional.ofNullable(lastFailure);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PatientInFlightWait(policyName=%s, thread=%s, startTime=%s, elapsed=%s, attempts=%d, lastFailure=%s)",
+                             policyName,
+                             thread.getName(),
+                             getStartTime(),
+                             getElapsed(),
+                             attempts,
+                             lastFailure);
+    }
+}
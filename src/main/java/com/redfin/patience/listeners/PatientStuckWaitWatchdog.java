@@ -0,0 +1,115 @@
+/*
+ * Copyright: (c) 2016 Redfin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.redfin.patience.listeners;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static com.redfin.validity.Validity.validate;
+
+/**
+ * Reports the waits in a {@link PatientInFlightRegistry} that have been in progress for longer
+ * than a threshold. Each stuck wait is given to the reporter once. Checks are made either by
+ * calling {@link #check()} or periodically on a daemon thread after calling {@link #start(Duration)}.
+ * Closing the watchdog stops the periodic checks.
+ */
+public final class PatientStuckWaitWatchdog
+        implements AutoCloseable {
+
+    private final PatientInFlightRegistry registry;
+    private final long thresholdNanos;
+    private final Consumer<PatientInFlightWait> reporter;
+    private final Set<PatientInFlightRegistry.Entry> reported = ConcurrentHashMap.newKeySet();
+    private ScheduledExecutorService executor;
+
+    PatientStuckWaitWatchdog(PatientInFlightRegistry registry,
+                             Duration threshold,
+                             Consumer<PatientInFlightWait> reporter) {
+        this.registry = validate().that(registry).isNotNull();
+        this.thresholdNanos = validate().that(threshold).isStrictlyPositive().toNanos();
+        this.reporter = validate().that(reporter).isNotNull();
+    }
+
+    /**
+     * Report each wait that has been in progress for at least the threshold and hasn't
+     * already been reported by this watchdog.
+     *
+     * @return the list of {@link PatientInFlightWait}s that were reported by this call.
+     */
+    public List<PatientInFlightWait> check() {
+        Set<PatientInFlightRegistry.Entry> entries = registry.getEntries();
+        // Forget about reported waits that have since finished
+        reported.retainAll(entries);
+        List<PatientInFlightWait> stuck = new ArrayList<>();
+        for (PatientInFlightRegistry.Entry entry : entries) {
+            if (entry.getElapsedNanos() >= thresholdNanos && reported.add(entry)) {
+                PatientInFlightWait wait = entry.view();
+                stuck.add(wait);
+                reporter.accept(wait);
+            }
+        }
+        return stuck;
+    }
+
+    /**
+     * Start checking for stuck waits periodically on a daemon thread.
+     *
+     * @param interval the {@link Duration} between checks.
+     *                 May not be null, zero or negative.
+     *
+     * @return a self reference.
+     *
+     * @throws IllegalArgumentException if interval is null, zero or negative.
+     * @throws IllegalStateException    if the watchdog has already been started.
+     */
+    public synchronized PatientStuckWaitWatchdog start(Duration interval) {
+        long intervalNanos = validate().that(interval).isStrictlyPositive().toNanos();
+        if (null != executor) {
+            throw new IllegalStateException("The watchdog has already been started.");
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "patience-stuck-wait-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(() -> {
+            try {
+                check();
+            } catch (RuntimeException ignored) {
+                // A failing reporter shouldn't stop the checks
+            }
+        }, intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+        return this;
+    }
+
+    /**
+     * Stop the periodic checks, if they were started.
+     */
+    @Override
+    public synchronized void close() {
+        if (null != executor) {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright: (c) 2016 Redfin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.redfin.patience.stats;
+
+import static com.redfin.validity.Validity.validate;
+
+/**
+ * An immutable snapshot of a histogram of nanosecond durations kept by a
+ * {@link PatientStatsCollector}. Percentiles are accurate to within 12.5%
+ * and never larger than the largest recorded value.
+ */
+public final class PatientHistogramSnapshot {
+
+    private final long[] counts;
+    private final long count;
+    private final long sum;
+    private final long max;
+
+    PatientHistogramSnapshot(long[] counts,
+                             long sum,
+                             long max) {
+        this.counts = counts;
+        long total = 0;
+        for (long bucketCount : counts) {
+            total += bucketCount;
+        }
+        this.count = total;
+        this.sum = sum;
+        this.max = max;
+    }
+
+    /**
+     * @return the number of recorded values.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return the sum of the recorded values in nanoseconds.
+     */
+    public long getSumNanos() {
+        return sum;
+    }
+
+    /**
+     * @return the largest recorded value in nanoseconds, or zero if there are none.
+     */
+    public long getMaxNanos() {
+        return max;
+    }
+
+    /**
+     * @return the mean of the recorded values in nanoseconds, or zero if there are none.
+     */
+    public double getMeanNanos() {
+        return 0 == count ? 0 : (double) sum / count;
+    }
+
+    /**
+     * @param percentile the double percentile to get, e.g. 99.0 for the 99th percentile.
+     *                   May not be less than 0 or greater than 100.
+     *
+     * @return the value in nanoseconds that the given percentage of the recorded values
+     * are less than or equal to, or zero if there are none.
+     *
+     * @throws IllegalArgumentException if percentile is less than 0 or greater than 100.
+     */
+    public long getPercentileNanos(double percentile) {
+        validate().withMessage("Cannot use a percentile less than 0 or greater than 100.")
+                  .that(percentile >= 0 && percentile <= 100)
+                  .isTrue();
+        if (0 == count) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(LogLinearHistogram.highestValueOf(i), max);
+            }
+        }
+        return max;
+    }
+
+    /*
+     * The values recorded since the given earlier snapshot of the same histogram. The
+     * largest value isn't kept per bucket, so it is the top of the highest bucket used
+     * since then, capped by the largest value overall.
+     */
+
+    PatientHistogramSnapshot since(PatientHistogramSnapshot earlier) {
+        long[] recent = new long[counts.length];
+        long recentMax = 0;
+        for (int i = 0; i < counts.length; i++) {
+            recent[i] = Math.max(0, counts[i] - earlier.counts[i]);
+            if (recent[i] > 0) {
+                recentMax = Math.min(LogLinearHistogram.highestValueOf(i), max);
+            }
+        }
+        return new PatientHistogramSnapshot(recent, Math.max(0, sum - earlier.sum), recentMax);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d, mean=%.0fns, p50=%dns, p99=%dns, max=%dns",
+                             count,
+                             getMeanNanos(),
+                             getPercentileNanos(50),
+                             getPercentileNanos(99),
+                             max);
+    }
+}
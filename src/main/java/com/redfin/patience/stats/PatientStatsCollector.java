@@ -0,0 +1,151 @@
+/*
+ * Copyright: (c) 2016 Redfin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.redfin.patience.stats;
+
+import com.redfin.patience.PatientExecutionResult;
+import com.redfin.patience.PatientListener;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link PatientListener} that keeps statistics for every future generated by the
+ * {@link com.redfin.patience.PatientWait} or {@link com.redfin.patience.PatientRetry} that it is
+ * added to, without depending on a metrics library. Add one collector per policy to keep
+ * statistics per policy.
+ * <br>
+ * The counters are {@link LongAdder}s and the histograms have a fixed size, so recording is
+ * lock-free and cheap even when many threads are waiting at once. Call {@link #snapshot()}
+ * from any thread, e.g. a reporting thread, to read the statistics.
+ */
+public final class PatientStatsCollector
+        implements PatientListener {
+
+    private final LongAdder waits = new LongAdder();
+    private final LongAdder attempts = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder successes = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder aborts = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder sleepNanos = new LongAdder();
+    private final LogLinearHistogram attemptDurations = new LogLinearHistogram();
+    private final LogLinearHistogram timeToSuccess = new LogLinearHistogram();
+    private final LogLinearHistogram timeToFailure = new LogLinearHistogram();
+
+    @Override
+    public PatientListener onWaitStarted(String policyName) {
+        waits.increment();
+        return this;
+    }
+
+    @Override
+    public void onAttemptEnded(int attemptIndex,
+                               PatientExecutionResult<?> result,
+                               long durationNanos) {
+        attempts.increment();
+        attemptDurations.record(durationNanos);
+    }
+
+    @Override
+    public void onSleep(long sleepNanos) {
+        this.sleepNanos.add(sleepNanos);
+    }
+
+    @Override
+    public void onSuccess(int attempts,
+                          long elapsedNanos) {
+        successes.increment();
+        retries.add(attempts - 1);
+        timeToSuccess.record(elapsedNanos);
+    }
+
+    @Override
+    public void onTimeout(int attempts,
+                          long elapsedNanos) {
+        timeouts.increment();
+        retries.add(attempts - 1);
+        timeToFailure.record(elapsedNanos);
+    }
+
+    @Override
+    public void onAbort(int attempts,
+                        long elapsedNanos) {
+        aborts.increment();
+        retries.add(attempts - 1);
+        timeToFailure.record(elapsedNanos);
+    }
+
+    @Override
+    public void onError(RuntimeException error,
+                        int attempts,
+                        long elapsedNanos) {
+        errors.increment();
+        retries.add(Math.max(0, attempts - 1));
+        timeToFailure.record(elapsedNanos);
+    }
+
+    /**
+     * @return a new {@link PatientStatsSnapshot} of the statistics collected so far. The snapshot
+     * isn't atomic, waits that are in progress while it is taken may be partially included.
+     */
+    public PatientStatsSnapshot snapshot() {
+        return new PatientStatsSnapshot(waits.sum(),
+                                        attempts.sum(),
+                                        retries.sum(),
+                                        successes.sum(),
+                                        timeouts.sum(),
+                                        aborts.sum(),
+                                        errors.sum(),
+                                        sleepNanos.sum(),
+                                        attemptDurations.snapshot(),
+                                        timeToSuccess.snapshot(),
+                                        timeToFailure.snapshot());
+    }
+
+    // ----------------------------------------------------
+    // Package-private reads of single statistics, so that
+    // the MXBean doesn't take a whole snapshot for each
+    // ----------------------------------------------------
+
+    long getWaits() {
+        return waits.sum();
+    }
+
+    long getAttempts() {
+        return attempts.sum();
+    }
+
+    long getSuccesses() {
+        return successes.sum();
+    }
+
+    long getTimeouts() {
+        return timeouts.sum();
+    }
+
+    long getAborts() {
+        return aborts.sum();
+    }
+
+    long getErrors() {
+        return errors.sum();
+    }
+
+    PatientHistogramSnapshot getTimeToSuccess() {
+        return timeToSuccess.snapshot();
+    }
+}
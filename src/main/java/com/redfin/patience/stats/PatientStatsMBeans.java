@@ -0,0 +1,127 @@
+/*
+ * Copyright: (c) 2016 Redfin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.redfin.patience.stats;
+
+import com.redfin.patience.exceptions.PatientException;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+import static com.redfin.validity.Validity.validate;
+
+/**
+ * A static, non-instantiable, class for registering {@link PatientStatsCollector}s with the
+ * platform MBean server as {@link PatientStatsMXBean}s. The beans are registered under the
+ * {@value #DOMAIN} domain with the policy type and name as keys, e.g.
+ * {@code com.redfin.patience:type=PatientWait,name="order-status"}.
+ */
+public final class PatientStatsMBeans {
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Instance Methods
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /*
+     * Make sure that the static class cannot be instantiated
+     */
+
+    private PatientStatsMBeans() {
+        throw new AssertionError("Cannot instantiate PatientStatsMBeans.");
+    }
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Static Methods and Fields
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /**
+     * The JMX domain that the beans are registered under.
+     */
+    public static final String DOMAIN = "com.redfin.patience";
+
+    /**
+     * @param type the type of the policy, e.g. "PatientWait".
+     *             May not be null or empty.
+     * @param name the name of the policy.
+     *             May not be null or empty.
+     *
+     * @return the {@link ObjectName} that a policy with the given type and name is registered under.
+     *
+     * @throws IllegalArgumentException if type or name are null or empty or if type isn't a valid key value.
+     */
+    public static ObjectName objectName(String type,
+                                        String name) {
+        validate().that(type).isNotEmpty();
+        validate().that(name).isNotEmpty();
+        try {
+            return new ObjectName(DOMAIN + ":type=" + type + ",name=" + ObjectName.quote(name));
+        } catch (MalformedObjectNameException e) {
+            throw new IllegalArgumentException("Invalid policy type for an ObjectName: " + type, e);
+        }
+    }
+
+    /**
+     * Register the given collector with the platform MBean server as a {@link PatientStatsMXBean}.
+     * The bean stays registered until the returned {@link PatientStatsRegistration} is closed, so
+     * close it when the policy using the collector is thrown away.
+     *
+     * @param type      the type of the policy, e.g. "PatientWait".
+     *                  May not be null or empty.
+     * @param name      the name of the policy.
+     *                  May not be null or empty.
+     * @param collector the {@link PatientStatsCollector} to expose.
+     *                  May not be null.
+     *
+     * @return the {@link PatientStatsRegistration} to close to unregister the bean.
+     *
+     * @throws IllegalArgumentException if any argument is invalid.
+     * @throws PatientException         if the bean could not be registered, e.g. because a bean is
+     *                                  already registered for the same type and name.
+     */
+    public static PatientStatsRegistration register(String type,
+                                                    String name,
+                                                    PatientStatsCollector collector) {
+        validate().that(collector).isNotNull();
+        ObjectName objectName = objectName(type, name);
+        PatientStatsMXBean bean = new PatientStatsMXBeanAdapter(name, collector);
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(bean, objectName);
+        } catch (InstanceAlreadyExistsException e) {
+            throw new PatientException("An MBean is already registered as " + objectName + ", close its registration first", e);
+        } catch (JMException e) {
+            throw new PatientException("Unable to register the MBean " + objectName, e);
+        }
+        return new PatientStatsRegistration(objectName);
+    }
+
+    /*
+     * Unregister the bean with the given name, if there still is one.
+     */
+
+    static void unregister(ObjectName objectName) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (InstanceNotFoundException e) {
+            // Already unregistered, e.g. directly through the MBean server
+        } catch (JMException e) {
+            throw new PatientException("Unable to unregister the MBean " + objectName, e);
+        }
+    }
+}
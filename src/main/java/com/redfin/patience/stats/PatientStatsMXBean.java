@@ -0,0 +1,110 @@
+/*
+ * Copyright: (c) 2016 Redfin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.redfin.patience.stats;
+
+/**
+ * The management interface for the live statistics of a named
+ * {@link com.redfin.patience.PatientWait} or {@link com.redfin.patience.PatientRetry}
+ * policy. Instances are registered with the platform MBean server by {@link PatientStatsMBeans}.
+ * <br>
+ * The counts and the lifetime attributes are totals since the collector was created, so they
+ * barely move during an incident in a long running process. The recent attributes cover a window
+ * of at least a second that ends at the query which rolls it over, e.g. the previous refresh of a
+ * console, and are the ones to watch while something is going wrong.
+ */
+public interface PatientStatsMXBean {
+
+    /**
+     * @return the name of the policy.
+     */
+    String getPolicyName();
+
+    /**
+     * @return the number of waits started since the collector was created.
+     */
+    long getWaits();
+
+    /**
+     * @return the number of waits that have started but not yet finished.
+     */
+    long getInFlight();
+
+    /**
+     * @return the number of attempts made since the collector was created.
+     */
+    long getAttempts();
+
+    /**
+     * @return the number of attempts made per second over the recent window.
+     * This is 0 until the first window has ended.
+     */
+    double getAttemptsPerSecond();
+
+    /**
+     * @return the number of waits that found a successful result since the collector was created.
+     */
+    long getSuccesses();
+
+    /**
+     * @return the number of waits that ran out of time or retries since the collector was created.
+     */
+    long getTimeouts();
+
+    /**
+     * @return the number of waits that were aborted since the collector was created.
+     */
+    long getAborts();
+
+    /**
+     * @return the number of waits that ended with an unexpected error since the collector was created.
+     */
+    long getErrors();
+
+    /**
+     * @return the ratio of successful waits to waits finished over the recent window, between 0 and 1.
+     * This is 0 if no waits finished in the window.
+     */
+    double getRecentSuccessRatio();
+
+    /**
+     * @return the median time to success in milliseconds of the waits that succeeded over the
+     * recent window. This is 0 if no waits succeeded in the window.
+     */
+    double getRecentTimeToSuccessP50Millis();
+
+    /**
+     * @return the 99th percentile time to success in milliseconds of the waits that succeeded
+     * over the recent window. This is 0 if no waits succeeded in the window.
+     */
+    double getRecentTimeToSuccessP99Millis();
+
+    /**
+     * @return the ratio of successful waits to finished waits since the collector was created,
+     * between 0 and 1. This is 0 if no waits have finished.
+     */
+    double getLifetimeSuccessRatio();
+
+    /**
+     * @return the median time to success in milliseconds since the collector was created.
+     */
+    double getLifetimeTimeToSuccessP50Millis();
+
+    /**
+     * @return the 99th percentile time to success in milliseconds since the collector was created.
+     */
+    double getLifetimeTimeToSuccessP99Millis();
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright: (c) 2016 Redfin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.redfin.patience.stats;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.redfin.validity.Validity.validate;
+
+/**
+ * A {@link PatientStatsMXBean} that reads from a {@link PatientStatsCollector}. The reads
+ * only happen when the bean is queried so the collector stays the only cost on the hot path.
+ * Each lifetime attribute only reads the counters it needs rather than taking a whole snapshot,
+ * since a console queries every attribute separately. The recent attributes share one window that
+ * is rolled over by the first query at least a second after it started, so the values a console
+ * reads in one refresh all cover the same window.
+ */
+final class PatientStatsMXBeanAdapter
+        implements PatientStatsMXBean {
+
+    private static final long DEFAULT_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final String policyName;
+    private final PatientStatsCollector collector;
+    private final long windowNanos;
+
+    // The start of the current window and the values of the previous one, guarded by this
+    private long windowStartNanos;
+    private long windowStartAttempts;
+    private long windowStartSuccesses;
+    private long windowStartFinished;
+    private PatientHistogramSnapshot windowStartTimeToSuccess;
+    private double attemptsPerSecond;
+    private double recentSuccessRatio;
+    private PatientHistogramSnapshot recentTimeToSuccess;
+
+    PatientStatsMXBeanAdapter(String policyName,
+                              PatientStatsCollector collector) {
+        this(policyName, collector, DEFAULT_WINDOW_NANOS);
+    }
+
+    PatientStatsMXBeanAdapter(String policyName,
+                              PatientStatsCollector collector,
+                              long windowNanos) {
+        this.policyName = validate().that(policyName).isNotEmpty();
+        this.collector = validate().that(collector).isNotNull();
+        this.windowNanos = validate().that(windowNanos).isAtLeast(0L);
+        this.windowStartNanos = System.nanoTime();
+        this.windowStartAttempts = collector.getAttempts();
+        this.windowStartSuccesses = collector.getSuccesses();
+        this.windowStartFinished = finished();
+        this.windowStartTimeToSuccess = collector.getTimeToSuccess();
+        this.recentTimeToSuccess = windowStartTimeToSuccess.since(windowStartTimeToSuccess);
+    }
+
+    @Override
+    public String getPolicyName() {
+        return policyName;
+    }
+
+    @Override
+    public long getWaits() {
+        return collector.getWaits();
+    }
+
+    @Override
+    public long getInFlight() {
+        // Read the finished waits first so that a wait ending in between can't make it negative
+        long finished = finished();
+        return Math.max(0, collector.getWaits() - finished);
+    }
+
+    @Override
+    public long getAttempts() {
+        return collector.getAttempts();
+    }
+
+    @Override
+    public synchronized double getAttemptsPerSecond() {
+        rollWindow();
+        return attemptsPerSecond;
+    }
+
+    @Override
+    public long getSuccesses() {
+        return collector.getSuccesses();
+    }
+
+    @Override
+    public long getTimeouts() {
+        return collector.getTimeouts();
+    }
+
+    @Override
+    public long getAborts() {
+        return collector.getAborts();
+    }
+
+    @Override
+    public long getErrors() {
+        return collector.getErrors();
+    }
+
+    @Override
+    public synchronized double getRecentSuccessRatio() {
+        rollWindow();
+        return recentSuccessRatio;
+    }
+
+    @Override
+    public synchronized double getRecentTimeToSuccessP50Millis() {
+        rollWindow();
+        return recentTimeToSuccess.getPercentileNanos(50) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public synchronized double getRecentTimeToSuccessP99Millis() {
+        rollWindow();
+        return recentTimeToSuccess.getPercentileNanos(99) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getLifetimeSuccessRatio() {
+        long successes = collector.getSuccesses();
+        long finished = finished();
+        return ratio(successes, finished);
+    }
+
+    @Override
+    public double getLifetimeTimeToSuccessP50Millis() {
+        return collector.getTimeToSuccess().getPercentileNanos(50) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getLifetimeTimeToSuccessP99Millis() {
+        return collector.getTimeToSuccess().getPercentileNanos(99) / NANOS_PER_MILLI;
+    }
+
+    // Must be called while holding the lock on this
+    private void rollWindow() {
+        long now = System.nanoTime();
+        long elapsed = now - windowStartNanos;
+        if (elapsed >= windowNanos && elapsed > 0) {
+            long attempts = collector.getAttempts();
+            long successes = collector.getSuccesses();
+            long finished = finished();
+            PatientHistogramSnapshot timeToSuccess = collector.getTimeToSuccess();
+            attemptsPerSecond = (attempts - windowStartAttempts) * NANOS_PER_SECOND / elapsed;
+            recentSuccessRatio = ratio(successes - windowStartSuccesses, finished - windowStartFinished);
+            recentTimeToSuccess = timeToSuccess.since(windowStartTimeToSuccess);
+            windowStartNanos = now;
+            windowStartAttempts = attempts;
+            windowStartSuccesses = successes;
+            windowStartFinished = finished;
+            windowStartTimeToSuccess = timeToSuccess;
+        }
+    }
+
+    private static double ratio(long successes,
+                                long finished) {
+        return finished <= 0 ? 0 : Math.min(1, (double) successes / finished);
+    }
+
+    private long finished() {
+        return collector.getSuccesses() + collector.getTimeouts() + collector.getAborts() + collector.getErrors();
+    }
+}
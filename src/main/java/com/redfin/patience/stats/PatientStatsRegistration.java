@@ -0,0 +1,58 @@
+/*
+ * Copyright: (c) 2016 Redfin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.redfin.patience.stats;
+
+import javax.management.ObjectName;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The registration of a {@link PatientStatsMXBean} returned from
+ * {@link PatientStatsMBeans#register(String, String, PatientStatsCollector)}. Closing it
+ * unregisters the bean, so keep it for as long as the policy is in use and close it when
+ * the policy is thrown away, e.g. when the component that owns the policy shuts down.
+ */
+public final class PatientStatsRegistration
+        implements AutoCloseable {
+
+    private final ObjectName objectName;
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+
+    PatientStatsRegistration(ObjectName objectName) {
+        this.objectName = objectName;
+    }
+
+    /**
+     * @return the {@link ObjectName} that the bean is registered under.
+     */
+    public ObjectName getObjectName() {
+        return objectName;
+    }
+
+    /**
+     * Unregister the bean from the platform MBean server. Calling this more than
+     * once has no further effect.
+     *
+     * @throws com.redfin.patience.exceptions.PatientException if the bean could not be unregistered.
+     */
+    @Override
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            PatientStatsMBeans.unregister(objectName);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright: (c) 2016 Redfin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.redfin.patience.stats;
+
+/**
+ * An immutable snapshot of the statistics kept by a {@link PatientStatsCollector}.
+ * All of the counts are totals since the collector was created.
+ */
+public final class PatientStatsSnapshot {
+
+    private final long waits;
+    private final long attempts;
+    private final long retries;
+    private final long successes;
+    private final long timeouts;
+    private final long aborts;
+    private final long errors;
+    private final long sleepNanos;
+    private final PatientHistogramSnapshot attemptDurations;
+    private final PatientHistogramSnapshot timeToSuccess;
+    private final PatientHistogramSnapshot timeToFailure;
+
+    PatientStatsSnapshot(long waits,
+                         long attempts,
+                         long retries,
+                         long successes,
+                         long timeouts,
+                         long aborts,
+                         long errors,
+                         long sleepNanos,
+                         PatientHistogramSnapshot attemptDurations,
+                         PatientHistogramSnapshot timeToSuccess,
+                         PatientHistogramSnapshot timeToFailure) {
+        this.waits = waits;
+        this.attempts = attempts;
+        this.retries = retries;
+        this.successes = successes;
+        this.timeouts = timeouts;
+        this.aborts = aborts;
+        this.errors = errors;
+        this.sleepNanos = sleepNanos;
+        this.attemptDurations = attemptDurations;
+        this.timeToSuccess = timeToSuccess;
+        this.timeToFailure = timeToFailure;
+    }
+
+    /**
+     * @return the number of waits started.
+     */
+    public long getWaits() {
+        return waits;
+    }
+
+    /**
+     * @return the number of attempts that returned a result.
+     */
+    public long getAttempts() {
+        return attempts;
+    }
+
+    /**
+     * @return the number of attempts after the first one of each finished wait.
+     */
+    public long getRetries() {
+        return retries;
+    }
+
+    /**
+     * @return the number of waits that found a valid result.
+     */
+    public long getSuccesses() {
+        return successes;
+    }
+
+    /**
+     * @return the number of waits that timed out or used up their retries.
+     */
+    public long getTimeouts() {
+        return timeouts;
+    }
+
+    /**
+     * @return the number of waits that were aborted by the execution handler.
+     */
+    public long getAborts() {
+        return aborts;
+    }
+
+    /**
+     * @return the number of waits that ended with an unexpected exception.
+     */
+    public long getErrors() {
+        return errors;
+    }
+
+    /**
+     * @return the number of waits that were started but hadn't finished.
+     */
+    public long getInFlight() {
+        return Math.max(0, waits - successes - timeouts - aborts - errors);
+    }
+
+    /**
+     * @return the total nanoseconds spent sleeping, including initial delays.
+     */
+    public long getSleepNanos() {
+        return sleepNanos;
+    }
+
+    /**
+     * @return the histogram of the nanosecond durations of each attempt.
+     */
+    public PatientHistogramSnapshot getAttemptDurations() {
+        return attemptDurations;
+    }
+
+    /**
+     * @return the histogram of the nanoseconds from the start of a wait until it found a valid result.
+     */
+    public PatientHistogramSnapshot getTimeToSuccess() {
+        return timeToSuccess;
+    }
+
+    /**
+     * @return the histogram of the nanoseconds from the start of a wait until it timed out,
+     * was aborted, or ended with an error.
+     */
+    public PatientHistogramSnapshot getTimeToFailure() {
+        return timeToFailure;
+    }
+
+    @Override
+    public String toString() {
+        return "PatientStatsSnapshot{" +
+               "waits=" + waits +
+               ", attempts=" + attempts +
+               ", retries=" + retries +
+               ", successes=" + successes +
+               ", timeouts=" + timeouts +
+               ", aborts=" + aborts +
+               ", errors=" + errors +
+               ", sleepNanos=" + sleepNanos +
+               ", attemptDurations={" + attemptDurations +
+               "}, timeToSuccess={" + timeToSuccess +
+               "}, timeToFailure={" + timeToFailure +
+               "}}";
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright: (c) 2016 Redfin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.redfin.patience.trace;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static com.redfin.validity.Validity.validate;
+
+/**
+ * An immutable timeline of a single finished wait recorded by a {@link PatientTraceRecorder}.
+ * The start of each attempt and sleep is given as nanoseconds from the start of the wait.
+ * The duration of a sleep is the requested duration, as it is recorded before sleeping.
+ */
+public final class PatientTrace {
+
+    /**
+     * The outcome of a wait or of one of its attempts.
+     */
+    public enum Outcome {
+        /** A successful wait or attempt. */
+        SUCCESS,
+        /** An unsuccessful attempt. */
+        FAILURE,
+        /** A wait that ran out of time or retries. */
+        TIMEOUT,
+        /** An aborted wait or attempt. */
+        ABORT,
+        /** A wait or attempt that ended with an unexpected error. */
+        ERROR
+    }
+
+    private final String policyName;
+    private final String threadName;
+    private final long threadId;
+    private final long startEpochMicros;
+    private final long durationNanos;
+    private final Outcome outcome;
+    private final long[] attemptStartNanos;
+    private final long[] attemptDurationNanos;
+    private final Outcome[] attemptOutcomes;
+    private final long[] sleepStartNanos;
+    private final long[] sleepDurationNanos;
+
+    PatientTrace(String policyName,
+                 String threadName,
+                 long threadId,
+                 long startEpochMicros,
+                 long durationNanos,
+                 Outcome outcome,
+                 long[] attemptStartNanos,
+                 long[] attemptDurationNanos,
+                 Outcome[] attemptOutcomes,
+                 long[] sleepStartNanos,
+                 long[] sleepDurationNanos) {
+        this.policyName = policyName;
+        this.threadName = threadName;
+        this.threadId = threadId;
+        this.startEpochMicros = startEpochMicros;
+        this.durationNanos = durationNanos;
+        this.outcome = outcome;
+        this.attemptStartNanos = attemptStartNanos;
+        this.attemptDurationNanos = attemptDurationNanos;
+        this.attemptOutcomes = attemptOutcomes;
+        this.sleepStartNanos = sleepStartNanos;
+        this.sleepDurationNanos = sleepDurationNanos;
+    }
+
+    /**
+     * @return the name of the policy of the wait.
+     */
+    public String getPolicyName() {
+        return policyName;
+    }
+
+    /**
+     * @return the name of the thread that waited.
+     */
+    public String getThreadName() {
+        return threadName;
+    }
+
+    /**
+     * @return the id of the thread that waited.
+     */
+    public long getThreadId() {
+        return threadId;
+    }
+
+    /**
+     * @return the {@link Instant} that the wait started.
+     */
+    public Instant getStartTime() {
+        return Instant.EPOCH.plus(startEpochMicros, ChronoUnit.MICROS);
+    }
+
+    /**
+     * @return the start of the wait in microseconds since the epoch.
+     */
+    public long getStartEpochMicros() {
+        return startEpochMicros;
+    }
+
+    /**
+     * @return the {@link Duration} of the whole wait.
+     */
+    public Duration getDuration() {
+        return Duration.ofNanos(durationNanos);
+    }
+
+    /**
+     * @return the {@link Outcome} of the wait.
+     */
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    /**
+     * @return the number of attempts that were started.
+     */
+    public int getAttemptCount() {
+        return attemptStartNanos.length;
+    }
+
+    /**
+     * @param index the index of the attempt.
+     *              Must be at least 0 and less than the attempt count.
+     *
+     * @return the nanoseconds from the start of the wait until the attempt started.
+     *
+     * @throws IllegalArgumentException if index is out of range.
+     */
+    public long getAttemptStartNanos(int index) {
+        return attemptStartNanos[checkIndex(index, attemptStartNanos.length)];
+    }
+
+    /**
+     * @param index the index of the attempt.
+     *              Must be at least 0 and less than the attempt count.
+     *
+     * @return the nanoseconds the attempt took.
+     *
+     * @throws IllegalArgumentException if index is out of range.
+     */
+    public long getAttemptDurationNanos(int index) {
+        return attemptDurationNanos[checkIndex(index, attemptDurationNanos.length)];
+    }
+
+    /**
+     * @param index the index of the attempt.
+     *              Must be at least 0 and less than the attempt count.
+     *
+     * @return the {@link Outcome} of the attempt.
+     *
+     * @throws IllegalArgumentException if index is out of range.
+     */
+    public Outcome getAttemptOutcome(int index) {
+        return attemptOutcomes[checkIndex(index, attemptOutcomes.length)];
+    }
+
+    /**
+     * @return the number of sleeps, including any initial delay.
+     */
+    public int getSleepCount() {
+        return sleepStartNanos.length;
+    }
+
+    /**
+     * @param index the index of the sleep.
+     *              Must be at least 0 and less than the sleep count.
+     *
+     * @return the nanoseconds from the start of the wait until the sleep started.
+     *
+     * @throws IllegalArgumentException if index is out of range.
+     */
+    public long getSleepStartNanos(int index) {
+        return sleepStartNanos[checkIndex(index, sleepStartNanos.length)];
+    }
+
+    /**
+     * @param index the index of the sleep.
+     *              Must be at least 0 and less than the sleep count.
+     *
+     * @return the requested nanoseconds of the sleep.
+     *
+     * @throws IllegalArgumentException if index is out of range.
+     */
+    public long getSleepDurationNanos(int index) {
+        return sleepDurationNanos[checkIndex(index, sleepDurationNanos.length)];
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PatientTrace(policyName=%s, thread=%s, startTime=%s, duration=%s, outcome=%s, attempts=%d, sleeps=%d)",
+                             policyName,
+                             threadName,
+                             getStartTime(),
+                             getDuration(),
+                             outcome,
+                             getAttemptCount(),
+                             getSleepCount());
+    }
+
+    private static int checkIndex(int index,
+                                  int length) {
+        validate().withMessage("Cannot use an index less than 0 or not less than " + length + ".")
+                  .that(index >= 0 && index < length)
+                  .isTrue();
+        return index;
+    }
+}
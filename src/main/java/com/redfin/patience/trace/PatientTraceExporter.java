@@ -0,0 +1,192 @@
+/*
+ * Copyright: (c) 2016 Redfin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.redfin.patience.trace;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static com.redfin.validity.Validity.validate;
+
+/**
+ * A static, non-instantiable, class for exporting {@link PatientTrace}s in the Chrome
+ * trace-event JSON format, which can be opened in chrome://tracing, Perfetto, or Speedscope.
+ * <br>
+ * Each wait, attempt, and sleep is a complete ("X") event on the timeline of the thread that
+ * waited. The wait is named after its policy, and the wait and attempt events have their
+ * outcome as an argument.
+ */
+public final class PatientTraceExporter {
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Instance Methods
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /*
+     * Make sure that the static class cannot be instantiated
+     */
+
+    private PatientTraceExporter() {
+        throw new AssertionError("Cannot instantiate PatientTraceExporter.");
+    }
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Static Methods
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /**
+     * @param traces the collection of {@link PatientTrace}s to export.
+     *               May not be null or contain null elements.
+     *
+     * @return the traces as a Chrome trace-event JSON String.
+     *
+     * @throws IllegalArgumentException if traces is null or contains null elements.
+     */
+    public static String toChromeTraceJson(Collection<PatientTrace> traces) {
+        StringBuilder builder = new StringBuilder();
+        try {
+            writeChromeTraceJson(traces, builder);
+        } catch (IOException e) {
+            // A StringBuilder doesn't throw
+            throw new UncheckedIOException(e);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Write the given traces in the Chrome trace-event JSON format.
+     *
+     * @param traces the collection of {@link PatientTrace}s to export.
+     *               May not be null or contain null elements.
+     * @param out    the {@link Appendable} to write to, e.g. a Writer.
+     *               May not be null.
+     *
+     * @throws IllegalArgumentException if traces is null or contains null elements or if out is null.
+     * @throws IOException              if thrown by out.
+     */
+    public static void writeChromeTraceJson(Collection<PatientTrace> traces,
+                                            Appendable out) throws IOException {
+        validate().that(traces).isNotNull();
+        validate().that(out).isNotNull();
+        out.append("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[");
+        boolean first = true;
+        Set<Long> namedThreads = new HashSet<>();
+        for (PatientTrace trace : traces) {
+            validate().withMessage("Cannot export a null trace.")
+                      .that(trace)
+                      .isNotNull();
+            long tid = trace.getThreadId();
+            if (namedThreads.add(tid)) {
+                first = separate(out, first);
+                out.append("{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,\"tid\":").append(Long.toString(tid))
+                   .append(",\"args\":{\"name\":");
+                appendString(out, trace.getThreadName());
+                out.append("}}");
+            }
+            long start = trace.getStartEpochMicros();
+            first = separate(out, first);
+            appendEvent(out, trace.getPolicyName(), "wait", tid, start, toMicros(trace.getDuration().toNanos()), trace.getOutcome());
+            for (int i = 0; i < trace.getAttemptCount(); i++) {
+                first = separate(out, first);
+                appendEvent(out,
+                            "attempt " + i,
+                            "attempt",
+                            tid,
+                            start + toMicros(trace.getAttemptStartNanos(i)),
+                            toMicros(trace.getAttemptDurationNanos(i)),
+                            trace.getAttemptOutcome(i));
+            }
+            for (int i = 0; i < trace.getSleepCount(); i++) {
+                first = separate(out, first);
+                appendEvent(out,
+                            "sleep",
+                            "sleep",
+                            tid,
+                            start + toMicros(trace.getSleepStartNanos(i)),
+                            toMicros(trace.getSleepDurationNanos(i)),
+                            null);
+            }
+        }
+        out.append("]}");
+    }
+
+    private static boolean separate(Appendable out,
+                                    boolean first) throws IOException {
+        if (!first) {
+            out.append(',');
+        }
+        return false;
+    }
+
+    private static void appendEvent(Appendable out,
+                                    String name,
+                                    String category,
+                                    long tid,
+                                    long timestampMicros,
+                                    long durationMicros,
+                                    PatientTrace.Outcome outcome) throws IOException {
+        out.append("{\"name\":");
+        appendString(out, name);
+        out.append(",\"cat\":\"patience.").append(category)
+           .append("\",\"ph\":\"X\",\"pid\":1,\"tid\":").append(Long.toString(tid))
+           .append(",\"ts\":").append(Long.toString(timestampMicros))
+           .append(",\"dur\":").append(Long.toString(durationMicros));
+        if (null != outcome) {
+            out.append(",\"args\":{\"outcome\":\"").append(outcome.name()).append("\"}");
+        }
+        out.append('}');
+    }
+
+    private static void appendString(Appendable out,
+                                     String value) throws IOException {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    out.append("\\\"");
+                    break;
+                case '\\':
+                    out.append("\\\\");
+                    break;
+                case '\n':
+                    out.append("\\n");
+                    break;
+                case '\r':
+                    out.append("\\r");
+                    break;
+                case '\t':
+                    out.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+            }
+        }
+        out.append('"');
+    }
+
+    private static long toMicros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+}
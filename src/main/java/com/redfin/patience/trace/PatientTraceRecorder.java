@@ -0,0 +1,245 @@
+/*
+ * Copyright: (c) 2016 Redfin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.redfin.patience.trace;
+
+import com.redfin.patience.PatientExecutionResult;
+import com.redfin.patience.PatientListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static com.redfin.validity.Validity.validate;
+
+/**
+ * A {@link PatientListener} that records the timeline of each wait, i.e. when every attempt
+ * and sleep started and how long it took, and keeps the most recent ones that took at least
+ * a minimum duration. Export them with {@link PatientTraceExporter} to look at them in a
+ * trace viewer. Nothing is recorded unless the recorder is added to a
+ * {@link com.redfin.patience.PatientWait} or {@link com.redfin.patience.PatientRetry}.
+ * <br>
+ * While a wait is in progress its events are appended to a primitive array owned by the
+ * waiting thread, so recording doesn't allocate per attempt apart from growing the array.
+ * The {@link PatientTrace} is only created when the wait ends, and only if it was slow
+ * enough to be kept. The kept traces are in a fixed-size ring that is updated without locks.
+ */
+public final class PatientTraceRecorder
+        implements PatientListener {
+
+    // Events are stored as (kind, offset nanos, duration nanos) triples
+    private static final int SLEEP = -1;
+    private static final int IN_PROGRESS = -2;
+    private static final int EVENT_SIZE = 3;
+    private static final int INITIAL_EVENTS = 8;
+    private static final PatientTrace.Outcome[] OUTCOMES = PatientTrace.Outcome.values();
+
+    private final long minimumDurationNanos;
+    private final AtomicReferenceArray<PatientTrace> traces;
+    private final AtomicLong next = new AtomicLong();
+
+    /**
+     * Create a new {@link PatientTraceRecorder} instance.
+     *
+     * @param capacity        the number of the most recent traces to keep.
+     *                        May not be less than 1.
+     * @param minimumDuration the {@link Duration} a wait must take for its trace to be kept.
+     *                        May not be null or negative.
+     *
+     * @throws IllegalArgumentException if capacity is less than 1 or if minimumDuration is null or negative.
+     */
+    public PatientTraceRecorder(int capacity,
+                                Duration minimumDuration) {
+        validate().withMessage("Cannot use a capacity less than 1.")
+                  .that(capacity)
+                  .isAtLeast(1);
+        this.minimumDurationNanos = validate().withMessage("Cannot use a null or negative minimum duration.")
+                                              .that(minimumDuration)
+                                              .isAtLeast(Duration.ZERO)
+                                              .toNanos();
+        this.traces = new AtomicReferenceArray<>(capacity);
+    }
+
+    @Override
+    public PatientListener onWaitStarted(String policyName) {
+        return new Recording(policyName);
+    }
+
+    /**
+     * @return an unmodifiable list of the kept {@link PatientTrace}s, oldest first.
+     */
+    public List<PatientTrace> getTraces() {
+        int capacity = traces.length();
+        long end = next.get();
+        List<PatientTrace> list = new ArrayList<>(capacity);
+        for (long i = Math.max(0, end - capacity); i < end; i++) {
+            PatientTrace trace = traces.get((int) (i % capacity));
+            if (null != trace) {
+                list.add(trace);
+            }
+        }
+        return Collections.unmodifiableList(list);
+    }
+
+    /**
+     * Discard all of the kept traces.
+     */
+    public void clear() {
+        for (int i = 0; i < traces.length(); i++) {
+            traces.set(i, null);
+        }
+    }
+
+    private void keep(PatientTrace trace) {
+        traces.set((int) (next.getAndIncrement() % traces.length()), trace);
+    }
+
+    /*
+     * The per-wait listener, only used by the waiting thread. The kind of an attempt
+     * event is the ordinal of its outcome, or IN_PROGRESS until it ends.
+     */
+
+    private final class Recording
+            implements PatientListener {
+
+        private final String policyName;
+        private final Thread thread;
+        private final long startEpochMicros;
+        private final long startNanos;
+        private long[] events = new long[INITIAL_EVENTS * EVENT_SIZE];
+        private int size;
+        private int attempts;
+        private int sleeps;
+        private int currentAttempt = -1;
+
+        private Recording(String policyName) {
+            this.policyName = policyName;
+            this.thread = Thread.currentThread();
+            this.startEpochMicros = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+            this.startNanos = System.nanoTime();
+        }
+
+        @Override
+        public void onAttemptStarted(int attemptIndex) {
+            currentAttempt = size;
+            append(IN_PROGRESS, System.nanoTime() - startNanos, 0);
+            attempts++;
+        }
+
+        @Override
+        public void onAttemptEnded(int attemptIndex,
+                                   PatientExecutionResult<?> result,
+                                   long durationNanos) {
+            PatientTrace.Outcome outcome = result.isSuccess() ? PatientTrace.Outcome.SUCCESS
+                                                              : result.isAborted() ? PatientTrace.Outcome.ABORT
+                                                                                   : PatientTrace.Outcome.FAILURE;
+            endAttempt(outcome, durationNanos);
+        }
+
+        @Override
+        public void onSleep(long sleepNanos) {
+            append(SLEEP, System.nanoTime() - startNanos, sleepNanos);
+            sleeps++;
+        }
+
+        @Override
+        public void onSuccess(int attemptCount,
+                              long elapsedNanos) {
+            finish(PatientTrace.Outcome.SUCCESS, elapsedNanos);
+        }
+
+        @Override
+        public void onTimeout(int attemptCount,
+                              long elapsedNanos) {
+            finish(PatientTrace.Outcome.TIMEOUT, elapsedNanos);
+        }
+
+        @Override
+        public void onAbort(int attemptCount,
+                            long elapsedNanos) {
+            finish(PatientTrace.Outcome.ABORT, elapsedNanos);
+        }
+
+        @Override
+        public void onError(RuntimeException error,
+                            int attemptCount,
+                            long elapsedNanos) {
+            if (currentAttempt >= 0) {
+                endAttempt(PatientTrace.Outcome.ERROR, System.nanoTime() - startNanos - events[currentAttempt + 1]);
+            }
+            finish(PatientTrace.Outcome.ERROR, elapsedNanos);
+        }
+
+        private void endAttempt(PatientTrace.Outcome outcome,
+                                long durationNanos) {
+            events[currentAttempt] = outcome.ordinal();
+            events[currentAttempt + 2] = durationNanos;
+            currentAttempt = -1;
+        }
+
+        private void append(long kind,
+                            long offsetNanos,
+                            long durationNanos) {
+            if (size == events.length) {
+                events = Arrays.copyOf(events, size * 2);
+            }
+            events[size++] = kind;
+            events[size++] = offsetNanos;
+            events[size++] = durationNanos;
+        }
+
+        private void finish(PatientTrace.Outcome outcome,
+                            long elapsedNanos) {
+            if (elapsedNanos < minimumDurationNanos) {
+                return;
+            }
+            long[] attemptStarts = new long[attempts];
+            long[] attemptDurations = new long[attempts];
+            PatientTrace.Outcome[] attemptOutcomes = new PatientTrace.Outcome[attempts];
+            long[] sleepStarts = new long[sleeps];
+            long[] sleepDurations = new long[sleeps];
+            int attempt = 0;
+            int sleep = 0;
+            for (int i = 0; i < size; i += EVENT_SIZE) {
+                int kind = (int) events[i];
+                if (kind == SLEEP) {
+                    sleepStarts[sleep] = events[i + 1];
+                    sleepDurations[sleep++] = events[i + 2];
+                } else {
+                    attemptStarts[attempt] = events[i + 1];
+                    attemptDurations[attempt] = events[i + 2];
+                    attemptOutcomes[attempt++] = kind == IN_PROGRESS ? PatientTrace.Outcome.ERROR : OUTCOMES[kind];
+                }
+            }
+            keep(new PatientTrace(policyName,
+                                  thread.getName(),
+                                  thread.getId(),
+                                  startEpochMicros,
+                                  elapsedNanos,
+                                  outcome,
+                                  attemptStarts,
+                                  attemptDurations,
+                                  attemptOutcomes,
+                                  sleepStarts,
+                                  sleepDurations));
+        }
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright: (c) 2016 Redfin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.redfin.patience.flow;
+
+import com.redfin.patience.PatientExecutable;
+import com.redfin.patience.PatientWait;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+
+import static com.redfin.validity.Validity.validate;
+
+/**
+ * A PatientFlowPublisher is a {@link Flow.Publisher} of the values polled with a {@link PatientWait}.
+ * Each value is the result of a whole wait: the executable is polled with the delays of the wait
+ * until a value passes the filter, and that value is emitted. Another wait only starts when the
+ * subscriber has requested another value, so polling pauses whenever there is no demand. With
+ * {@link Builder#withOnlyChanges()} a value only passes if it also differs from the previously
+ * emitted value, so each emitted value is a change. A wait that times out errors the subscription
+ * with the {@link com.redfin.patience.exceptions.PatientTimeoutException}, or completes it with
+ * {@link Builder#withCompletionOnTimeout()}. Cancelling the subscription interrupts a wait that
+ * is in progress.
+ * <br>
+ * This class requires Java 11 or later. Each subscription polls independently.
+ * It is immutable and thread safe.
+ *
+ * @param <T> the type of the polled values.
+ */
+public final class PatientFlowPublisher<T>
+        implements Flow.Publisher<T> {
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Instance Fields & Methods
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    private final PatientWait wait;
+    private final PatientExecutable<T> executable;
+    private final Predicate<T> filter;
+    private final Executor executor;
+    private final boolean onlyChanges;
+    private final boolean completeOnTimeout;
+
+    private PatientFlowPublisher(Builder<T> builder) {
+        this.wait = builder.wait;
+        this.executable = builder.executable;
+        this.filter = builder.filter;
+        this.executor = builder.executor;
+        this.onlyChanges = builder.onlyChanges;
+        this.completeOnTimeout = builder.completeOnTimeout;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        validate().that(subscriber).isNotNull();
+        Subscription<T> subscription = new Subscription<>(this, subscriber);
+        subscriber.onSubscribe(subscription);
+    }
+
+    private static final class Subscription<T>
+                    implements Flow.Subscription, PatientPoller.Signals<T> {
+
+        private final Flow.Subscriber<? super T> subscriber;
+        private final PatientPoller<T> poller;
+
+        private Subscription(PatientFlowPublisher<T> publisher,
+                             Flow.Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+            this.poller = new PatientPoller<>(PatientPoller.waitingFor(publisher.wait,
+                                                                       publisher.executable,
+                                                                       publisher.filter,
+                                                                       publisher.onlyChanges),
+                                              publisher.executor,
+                                              this,
+                                              publisher.completeOnTimeout);
+        }
+
+        @Override
+        public void request(long n) {
+            poller.request(n);
+        }
+
+        @Override
+        public void cancel() {
+            poller.cancel();
+        }
+
+        @Override
+        public void onNext(T value) {
+            subscriber.onNext(value);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            subscriber.onError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            subscriber.onComplete();
+        }
+    }
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Static Methods
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /**
+     * Create a {@link Builder} instance for fluently generating a {@link PatientFlowPublisher} instance
+     * with defaults for non-specified arguments.
+     * <br>
+     * The default uses the default filter of {@link PatientWait}, the common {@link ForkJoinPool} for the
+     * polling, emits every passing value, and errors when a wait times out. Polling spends most of its
+     * time sleeping, so a dedicated executor is recommended rather than the common pool.
+     *
+     * @param wait       the {@link PatientWait} to poll with.
+     *                   May not be null.
+     * @param executable the {@link PatientExecutable} to poll.
+     *                   May not be null.
+     * @param <T>        the type returned from the given executable.
+     *
+     * @return a new {@link Builder} instance.
+     *
+     * @throws IllegalArgumentException if wait or executable are null.
+     */
+    public static <T> PatientFlowPublisher.Builder<T> builder(PatientWait wait,
+                                                              PatientExecutable<T> executable) {
+        return new Builder<>(wait, executable);
+    }
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Builder
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /**
+     * A builder for {@link PatientFlowPublisher} instances.
+     * It is not thread safe.
+     *
+     * @param <T> the type of the polled values.
+     */
+    public static final class Builder<T> {
+
+        private final PatientWait wait;
+        private final PatientExecutable<T> executable;
+        private Predicate<T> filter = PatientWait.getDefaultFilter();
+        private Executor executor = ForkJoinPool.commonPool();
+        private boolean onlyChanges = false;
+        private boolean completeOnTimeout = false;
+
+        private Builder(PatientWait wait,
+                        PatientExecutable<T> executable) {
+            this.wait = validate().that(wait).isNotNull();
+            this.executable = validate().that(executable).isNotNull();
+        }
+
+        /**
+         * @param filter the {@link Predicate} a polled value must match to be emitted.
+         *               May not be null.
+         *
+         * @return a self reference.
+         *
+         * @throws IllegalArgumentException if filter is null.
+         */
+        public PatientFlowPublisher.Builder<T> withFilter(Predicate<T> filter) {
+            this.filter = validate().that(filter).isNotNull();
+            return this;
+        }
+
+        /**
+         * @param executor the {@link Executor} to poll on.
+         *                 May not be null.
+         *
+         * @return a self reference.
+         *
+         * @throws IllegalArgumentException if executor is null.
+         */
+        public PatientFlowPublisher.Builder<T> withExecutor(Executor executor) {
+            this.executor = validate().that(executor).isNotNull();
+            return this;
+        }
+
+        /**
+         * Only emit a value that differs, by {@link Objects#equals(Object, Object)}, from the
+         * previously emitted value. Unchanged values count as unsuccessful attempts of the wait.
+         *
+         * @return a self reference.
+         */
+        public PatientFlowPublisher.Builder<T> withOnlyChanges() {
+            this.onlyChanges = true;
+            return this;
+        }
+
+        /**
+         * Complete the subscription, rather than erroring it, when a wait times out.
+         *
+         * @return a self reference.
+         */
+        public PatientFlowPublisher.Builder<T> withCompletionOnTimeout() {
+            this.completeOnTimeout = true;
+            return this;
+        }
+
+        /**
+         * @return a new {@link PatientFlowPublisher} instance with the values of this {@link Builder}.
+         */
+        public PatientFlowPublisher<T> build() {
+            return new PatientFlowPublisher<>(this);
+        }
+    }
+}
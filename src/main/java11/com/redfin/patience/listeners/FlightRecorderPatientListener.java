@@ -0,0 +1,232 @@
+/*
+ * Copyright: (c) 2016 Redfin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.redfin.patience.listeners;
+
+import com.redfin.patience.PatientExecutionResult;
+import com.redfin.patience.PatientListener;
+import com.redfin.patience.PatientListeners;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * A {@link PatientListener} that emits Java Flight Recorder events. Each wait gets its own
+ * listener from {@link #onWaitStarted(String)} so that the events in progress can be kept
+ * without any synchronization. If none of the events are enabled then {@link PatientListeners#none()}
+ * is returned for the wait instead, so a wait that isn't being recorded doesn't create any events.
+ */
+final class FlightRecorderPatientListener
+        implements PatientListener {
+
+    private static final String SUCCESS = "SUCCESS";
+    private static final String FAILURE = "FAILURE";
+    private static final String TIMEOUT = "TIMEOUT";
+    private static final String ABORT = "ABORT";
+    private static final String ERROR = "ERROR";
+
+    private static final WaitEvent WAIT_PROBE = new WaitEvent();
+    private static final AttemptEvent ATTEMPT_PROBE = new AttemptEvent();
+    private static final SleepEvent SLEEP_PROBE = new SleepEvent();
+
+    @Override
+    public PatientListener onWaitStarted(String policyName) {
+        boolean waits = WAIT_PROBE.isEnabled();
+        boolean attempts = ATTEMPT_PROBE.isEnabled();
+        boolean sleeps = SLEEP_PROBE.isEnabled();
+        if (!waits && !attempts && !sleeps) {
+            return PatientListeners.none();
+        }
+        return new ExecutionListener(policyName, waits, attempts, sleeps);
+    }
+
+    // ----------------------------------------------------
+    // Per-wait listener
+    // ----------------------------------------------------
+
+    private static final class ExecutionListener
+            implements PatientListener {
+
+        private final String policyName;
+        private final boolean attempts;
+        private final boolean sleeps;
+        private final WaitEvent waitEvent;
+        private AttemptEvent attemptEvent;
+        private SleepEvent sleepEvent;
+
+        private ExecutionListener(String policyName,
+                                  boolean waits,
+                                  boolean attempts,
+                                  boolean sleeps) {
+            this.policyName = policyName;
+            this.attempts = attempts;
+            this.sleeps = sleeps;
+            if (waits) {
+                this.waitEvent = new WaitEvent();
+                this.waitEvent.policyName = policyName;
+                this.waitEvent.begin();
+            } else {
+                this.waitEvent = null;
+            }
+        }
+
+        @Override
+        public void onAttemptStarted(int attemptIndex) {
+            commitSleep();
+            if (attempts) {
+                attemptEvent = new AttemptEvent();
+                attemptEvent.policyName = policyName;
+                attemptEvent.attemptIndex = attemptIndex;
+                attemptEvent.begin();
+            }
+        }
+
+        @Override
+        public void onAttemptEnded(int attemptIndex,
+                                   PatientExecutionResult<?> result,
+                                   long durationNanos) {
+            if (null != attemptEvent) {
+                attemptEvent.end();
+                attemptEvent.outcome = result.isSuccess() ? SUCCESS : result.isAborted() ? ABORT : FAILURE;
+                attemptEvent.commit();
+                attemptEvent = null;
+            }
+        }
+
+        @Override
+        public void onSleep(long sleepNanos) {
+            if (sleeps) {
+                // The listener is told before the sleep, so the event is committed once
+                // the next attempt starts or the wait ends
+                sleepEvent = new SleepEvent();
+                sleepEvent.policyName = policyName;
+                sleepEvent.sleepDuration = sleepNanos;
+                sleepEvent.begin();
+            }
+        }
+
+        @Override
+        public void onSuccess(int attemptCount,
+                              long elapsedNanos) {
+            commitWait(SUCCESS, attemptCount);
+        }
+
+        @Override
+        public void onTimeout(int attemptCount,
+                              long elapsedNanos) {
+            commitWait(TIMEOUT, attemptCount);
+        }
+
+        @Override
+        public void onAbort(int attemptCount,
+                            long elapsedNanos) {
+            commitWait(ABORT, attemptCount);
+        }
+
+        @Override
+        public void onError(RuntimeException error,
+                            int attemptCount,
+                            long elapsedNanos) {
+            if (null != attemptEvent) {
+                // The attempt itself failed unexpectedly
+                attemptEvent.end();
+                attemptEvent.outcome = ERROR;
+                attemptEvent.commit();
+                attemptEvent = null;
+            }
+            commitWait(ERROR, attemptCount);
+        }
+
+        private void commitSleep() {
+            if (null != sleepEvent) {
+                sleepEvent.end();
+                sleepEvent.commit();
+                sleepEvent = null;
+            }
+        }
+
+        private void commitWait(String outcome,
+                                int attemptCount) {
+            commitSleep();
+            if (null != waitEvent && !waitEvent.isFinished()) {
+                waitEvent.end();
+                waitEvent.outcome = outcome;
+                waitEvent.attemptCount = attemptCount;
+                waitEvent.commit();
+            }
+        }
+    }
+
+    // ----------------------------------------------------
+    // Events
+    // ----------------------------------------------------
+
+    @Name("com.redfin.patience.Wait")
+    @Label("Patient Wait")
+    @Category("Patience")
+    @Description("A patient wait or retry from start to finish")
+    static final class WaitEvent
+            extends Event {
+
+        @Label("Policy Name")
+        String policyName;
+
+        @Label("Attempt Count")
+        int attemptCount;
+
+        @Label("Outcome")
+        String outcome;
+
+        boolean isFinished() {
+            return null != outcome;
+        }
+    }
+
+    @Name("com.redfin.patience.Attempt")
+    @Label("Patient Attempt")
+    @Category("Patience")
+    @Description("A single attempt of a patient wait or retry")
+    static final class AttemptEvent
+            extends Event {
+
+        @Label("Policy Name")
+        String policyName;
+
+        @Label("Attempt Index")
+        int attemptIndex;
+
+        @Label("Outcome")
+        String outcome;
+    }
+
+    @Name("com.redfin.patience.Sleep")
+    @Label("Patient Sleep")
+    @Category("Patience")
+    @Description("A sleep between the attempts of a patient wait or retry")
+    static final class SleepEvent
+            extends Event {
+
+        @Label("Policy Name")
+        String policyName;
+
+        @Label("Sleep Duration")
+        @Timespan(Timespan.NANOSECONDS)
+        long sleepDuration;
+    }
+}
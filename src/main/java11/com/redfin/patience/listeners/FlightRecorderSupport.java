@@ -0,0 +1,62 @@
+/*
+ * Copyright: (c) 2016 Redfin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.redfin.patience.listeners;
+
+import com.redfin.patience.PatientListener;
+
+/**
+ * A static, non-instantiable, class for the Java Flight Recorder integration.
+ * <br>
+ * This is the Java 11 version of the class, which emits a {@code com.redfin.patience.Wait}
+ * event for each wait, a {@code com.redfin.patience.Attempt} event for each attempt, and a
+ * {@code com.redfin.patience.Sleep} event for each sleep between attempts. The events are
+ * only created while a recording has them enabled.
+ */
+public final class FlightRecorderSupport {
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Instance Methods
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /*
+     * Make sure that the static class cannot be instantiated
+     */
+
+    private FlightRecorderSupport() {
+        throw new AssertionError("Cannot instantiate FlightRecorderSupport.");
+    }
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Static Methods and Fields
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    private static final PatientListener LISTENER = new FlightRecorderPatientListener();
+
+    /**
+     * @return true if Java Flight Recorder events are emitted on this Java version or false otherwise.
+     */
+    public static boolean isAvailable() {
+        return true;
+    }
+
+    /**
+     * @return a {@link PatientListener} that emits Java Flight Recorder events.
+     */
+    public static PatientListener listener() {
+        return LISTENER;
+    }
+}
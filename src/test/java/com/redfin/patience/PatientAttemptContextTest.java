@@ -0,0 +1,99 @@
+/*
+ * Copyright: (c) 2016 Redfin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.redfin.patience;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+@DisplayName("A PatientAttemptContext")
+final class PatientAttemptContextTest {
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Test cases
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    @Nested
+    @DisplayName("is constructed")
+    final class ConstructorTests {
+
+        @Test
+        @DisplayName("it returns successfully with valid arguments")
+        void testValidArgumentsSucceed() {
+            Assertions.assertNotNull(new PatientAttemptContext(0, 0, PatientAttemptContext.UNBOUNDED, null),
+                                     "Should have returned a non-null instance for valid arguments.");
+        }
+
+        @Test
+        @DisplayName("it throws an exception for a negative attempt index")
+        void testThrowsForNegativeAttemptIndex() {
+            Assertions.assertThrows(IllegalArgumentException.class,
+                                    () -> new PatientAttemptContext(-1, 0, 0, null),
+                                    "Should throw for a negative attempt index.");
+        }
+
+        @Test
+        @DisplayName("it throws an exception for a negative elapsed time")
+        void testThrowsForNegativeElapsedNanos() {
+            Assertions.assertThrows(IllegalArgumentException.class,
+                                    () -> new PatientAttemptContext(0, -1, 0, null),
+                                    "Should throw for a negative elapsed time.");
+        }
+    }
+
+    @Nested
+    @DisplayName("has it's getter methods called")
+    final class GetterTests {
+
+        @Test
+        @DisplayName("it returns the given values")
+        void testReturnsGivenValues() {
+            PatientAttemptContext context = new PatientAttemptContext(3, 500, 1000, "whoops");
+            Assertions.assertAll(() -> Assertions.assertEquals(3, context.getAttemptIndex(), "Should return the given attempt index"),
+                                 () -> Assertions.assertEquals(500, context.getElapsedNanos(), "Should return the given elapsed nanos"),
+                                 () -> Assertions.assertEquals(1000, context.getRemainingNanos(), "Should return the given remaining nanos"),
+                                 () -> Assertions.assertEquals(Optional.of(Duration.ofNanos(1000)), context.getRemaining(), "Should return the given remaining duration"),
+                                 () -> Assertions.assertEquals(Optional.of("whoops"), context.getPreviousFailure(), "Should return the given previous failure"));
+        }
+
+        @Test
+        @DisplayName("it returns an empty remaining duration when unbounded")
+        void testReturnsEmptyRemainingWhenUnbounded() {
+            Assertions.assertFalse(new PatientAttemptContext(0, 0, PatientAttemptContext.UNBOUNDED, null).getRemaining().isPresent(),
+                                   "Should return an empty remaining duration when unbounded.");
+        }
+
+        @Test
+        @DisplayName("it treats a negative remaining time as zero")
+        void testTreatsNegativeRemainingAsZero() {
+            Assertions.assertEquals(0,
+                                    new PatientAttemptContext(0, 0, -5, null).getRemainingNanos(),
+                                    "Should treat a negative remaining time as zero.");
+        }
+
+        @Test
+        @DisplayName("it returns an empty previous failure for the first attempt")
+        void testReturnsEmptyPreviousFailure() {
+            Assertions.assertFalse(new PatientAttemptContext(0, 0, 0, null).getPreviousFailure().isPresent(),
+                                   "Should return an empty previous failure for a null description.");
+        }
+    }
+}
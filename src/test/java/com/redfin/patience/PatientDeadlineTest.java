@@ -0,0 +1,198 @@
+/*
+ * Copyright: (c) 2016 Redfin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.redfin.patience;
+
+import com.redfin.patience.exceptions.PatientRetryException;
+import com.redfin.patience.exceptions.PatientTimeoutException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+@DisplayName("PatientDeadline")
+final class PatientDeadlineTest
+ implements NonInstantiableContract<PatientDeadline> {
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Test constants, requirements, and helpers
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    @Override
+    public Class<PatientDeadline> getClassObject_NonInstantiableContract() {
+        return PatientDeadline.class;
+    }
+
+    private static PatientWait getWait(Duration defaultTimeout) {
+        return PatientWait.builder()
+                          .withDefaultTimeout(defaultTimeout)
+                          .withExecutionHandler(PatientExecutionHandlers.ignoringAll())
+                          .withDelaySupplier(PatientDelaySuppliers.fixed(Duration.ofMillis(10)))
+                          .build();
+    }
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Test cases
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    @Nested
+    @DisplayName("when remaining() is called")
+    final class RemainingTests {
+
+        @Test
+        @DisplayName("it returns an empty optional without a deadline")
+        void testReturnsEmptyWithoutDeadline() {
+            Assertions.assertFalse(PatientDeadline.remaining().isPresent(),
+                                   "Should have no remaining duration without a deadline.");
+        }
+
+        @Test
+        @DisplayName("it returns the remaining budget within a deadline")
+        void testReturnsRemainingWithinDeadline() {
+            Optional<Duration> remaining = PatientDeadline.within(Duration.ofSeconds(5), PatientDeadline::remaining);
+            Assertions.assertTrue(remaining.isPresent(),
+                                  "Should have a remaining duration within a deadline.");
+            Assertions.assertTrue(remaining.get().compareTo(Duration.ofSeconds(5)) <= 0,
+                                  "The remaining duration should not be larger than the budget.");
+        }
+
+        @Test
+        @DisplayName("it returns a zero duration for an expired deadline")
+        void testReturnsZeroForExpiredDeadline() {
+            Assertions.assertEquals(Optional.of(Duration.ZERO),
+                                    PatientDeadline.within(Duration.ZERO, PatientDeadline::remaining),
+                                    "An expired deadline should have zero remaining.");
+        }
+    }
+
+    @Nested
+    @DisplayName("when within(Duration, Supplier) is called")
+    final class WithinTests {
+
+        @Test
+        @DisplayName("it throws an exception for a null budget")
+        void testThrowsForNullBudget() {
+            Assertions.assertThrows(IllegalArgumentException.class,
+                                    () -> PatientDeadline.within(null, () -> true),
+                                    "Should throw for a null budget.");
+        }
+
+        @Test
+        @DisplayName("it throws an exception for a negative budget")
+        void testThrowsForNegativeBudget() {
+            Assertions.assertThrows(IllegalArgumentException.class,
+                                    () -> PatientDeadline.within(Duration.ofMillis(-1), () -> true),
+                                    "Should throw for a negative budget.");
+        }
+
+        @Test
+        @DisplayName("it throws an exception for a null supplier")
+        void testThrowsForNullSupplier() {
+            Assertions.assertThrows(IllegalArgumentException.class,
+                                    () -> PatientDeadline.within(Duration.ZERO, null),
+                                    "Should throw for a null supplier.");
+        }
+
+        @Test
+        @DisplayName("it does not extend an earlier outer deadline")
+        void testDoesNotExtendOuterDeadline() {
+            Duration inner = PatientDeadline.within(Duration.ofSeconds(1),
+                                                    () -> PatientDeadline.within(Duration.ofHours(1),
+                                                                                 () -> PatientDeadline.remaining().orElse(null)));
+            Assertions.assertTrue(inner.compareTo(Duration.ofSeconds(1)) <= 0,
+                                  "An inner deadline should not outlive the outer deadline.");
+        }
+
+        @Test
+        @DisplayName("it restores the previous deadline when done")
+        void testRestoresPreviousDeadline() {
+            PatientDeadline.within(Duration.ofSeconds(1), () -> true);
+            Assertions.assertFalse(PatientDeadline.remaining().isPresent(),
+                                   "The deadline should be removed after within returns.");
+        }
+    }
+
+    @Nested
+    @DisplayName("when propagate is called")
+    final class PropagateTests {
+
+        @Test
+        @DisplayName("it throws an exception for a null runnable")
+        void testThrowsForNullRunnable() {
+            Assertions.assertThrows(IllegalArgumentException.class,
+                                    () -> PatientDeadline.propagate((Runnable) null),
+                                    "Should throw for a null runnable.");
+        }
+
+        @Test
+        @DisplayName("it throws an exception for a null supplier")
+        void testThrowsForNullSupplier() {
+            Assertions.assertThrows(IllegalArgumentException.class,
+                                    () -> PatientDeadline.propagate((Supplier<?>) null),
+                                    "Should throw for a null supplier.");
+        }
+
+        @Test
+        @DisplayName("it carries the deadline into another thread")
+        void testCarriesDeadlineIntoAnotherThread() {
+            Optional<Duration> remaining = PatientDeadline.within(Duration.ofSeconds(5),
+                                                                  () -> CompletableFuture.supplyAsync(PatientDeadline.propagate(PatientDeadline::remaining))
+                                                                                         .join());
+            Assertions.assertTrue(remaining.isPresent(),
+                                  "The deadline should have been propagated to the other thread.");
+        }
+    }
+
+    @Nested
+    @DisplayName("is used with nested patient futures")
+    final class NestedFutureTests {
+
+        @Test
+        @DisplayName("it clamps an inner wait timeout to the outer wait")
+        void testInnerWaitIsClampedToOuterWait() {
+            PatientWait inner = getWait(Duration.ofSeconds(10));
+            PatientWait outer = getWait(Duration.ofMillis(200));
+            long start = System.nanoTime();
+            Assertions.assertThrows(PatientTimeoutException.class,
+                                    () -> outer.from(() -> inner.from(() -> false).get()).get(),
+                                    "The inner wait should time out with the outer wait.");
+            Assertions.assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(5)) < 0,
+                                  "The inner wait should not have used its own timeout.");
+        }
+
+        @Test
+        @DisplayName("it stops retrying when the deadline would be passed")
+        void testRetryStopsAtDeadline() {
+            AtomicInteger counter = new AtomicInteger(0);
+            PatientRetry retry = PatientRetry.builder()
+                                             .withDefaultNumberOfRetries(1000)
+                                             .withDelaySupplier(PatientDelaySuppliers.fixed(Duration.ofMillis(50)))
+                                             .build();
+            Assertions.assertThrows(PatientRetryException.class,
+                                    () -> PatientDeadline.within(Duration.ofMillis(200),
+                                                                 () -> retry.from(() -> counter.incrementAndGet() < 0).get()),
+                                    "The retry should run out of time before it runs out of retries.");
+            Assertions.assertTrue(counter.get() < 1000,
+                                  "The retry should have stopped at the deadline.");
+        }
+    }
+}
@@ -20,6 +20,7 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -28,6 +29,7 @@ import org.junit.jupiter.params.provider.ArgumentsSource;
 
 import java.time.Duration;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
@@ -167,4 +169,34 @@ final class PatientDelaySuppliersTest
             Assertions.assertAll(expectedSuppliedDurations.stream().map(next -> () -> Assertions.assertEquals(next, supplier.get())));
         }
     }
+
+    @Nested
+    @DisplayName("when byThrowableType(Map, PatientDelaySupplierFactory) is called")
+    final class ByThrowableTypeTests {
+
+        @Test
+        @DisplayName("it throws an exception for a null map")
+        void testThrowsForNullMap() {
+            Assertions.assertThrows(IllegalArgumentException.class,
+                                    () -> PatientDelaySuppliers.byThrowableType(null, PatientDelaySuppliers.fixed(Duration.ZERO)),
+                                    "Should throw an exception for a null map.");
+        }
+
+        @Test
+        @DisplayName("it throws an exception for a null default factory")
+        void testThrowsForNullDefaultFactory() {
+            Assertions.assertThrows(IllegalArgumentException.class,
+                                    () -> PatientDelaySuppliers.byThrowableType(Collections.emptyMap(), null),
+                                    "Should throw an exception for a null default factory.");
+        }
+
+        @Test
+        @DisplayName("it returns a non-null delay supplier for valid arguments")
+        void testReturnsSuccessfullyWithValidArguments() {
+            Assertions.assertNotNull(PatientDelaySuppliers.byThrowableType(Collections.singletonMap(IllegalStateException.class,
+                                                                                                    PatientDelaySuppliers.fixed(Duration.ofSeconds(1))),
+                                                                           PatientDelaySuppliers.fixed(Duration.ZERO)),
+                                     "Should return a non-null delay supplier for valid arguments.");
+        }
+    }
 }
@@ -128,4 +128,16 @@ final class PatientExecutionHandlersTest
                                      "Should be able to receive a non-null execution handler.");
         }
     }
+
+    @Nested
+    @DisplayName("when aborting() is called")
+    final class Aborting {
+
+        @Test
+        @DisplayName("it returns a non-null builder")
+        void testReturnsNonNullForAborting() {
+            Assertions.assertNotNull(PatientExecutionHandlers.aborting(),
+                                     "Should be able to receive a non-null builder.");
+        }
+    }
 }
@@ -26,6 +26,8 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.ArgumentsProvider;
 import org.junit.jupiter.params.provider.ArgumentsSource;
 
+import java.time.Duration;
+import java.util.Optional;
 import java.util.stream.Stream;
 
 @DisplayName("When a PatientExecutionResult")
@@ -117,6 +119,15 @@ final class PatientExecutionResultTest {
                                                                 .getFailedAttemptDescription(),
                                     "A passing execution result should throw for getFailedAttemptDescription()");
         }
+
+        @Test
+        @DisplayName("it throws an exception from getSuggestedNextDelay()")
+        void testPassingResultThrowsForGetSuggestedNextDelay() {
+            Assertions.assertThrows(UnsupportedOperationException.class,
+                                    () -> PatientExecutionResult.pass("hello")
+                                                                .getSuggestedNextDelay(),
+                                    "A passing execution result should throw for getSuggestedNextDelay()");
+        }
     }
 
     @Nested
@@ -149,5 +160,95 @@ final class PatientExecutionResultTest {
                                                                 .getResult(),
                                     "A failing execution result should throw for getResult()");
         }
+
+        @Test
+        @DisplayName("it returns an empty suggested next delay when none is given")
+        void testFailingResultReturnsEmptySuggestedNextDelay() {
+            Assertions.assertEquals(Optional.empty(),
+                                    PatientExecutionResult.fail("hello").getSuggestedNextDelay(),
+                                    "A failing execution result without a suggestion should return an empty suggested next delay");
+        }
+
+        @Test
+        @DisplayName("it returns the given suggested next delay")
+        void testFailingResultReturnsGivenSuggestedNextDelay() {
+            Assertions.assertEquals(Optional.of(Duration.ofSeconds(3)),
+                                    PatientExecutionResult.fail("hello", Duration.ofSeconds(3)).getSuggestedNextDelay(),
+                                    "A failing execution result should return the given suggested next delay");
+        }
+
+        @Test
+        @DisplayName("it returns the given cause")
+        void testFailingResultReturnsGivenCause() {
+            Throwable cause = new IllegalStateException("whoops");
+            Assertions.assertEquals(Optional.of(cause),
+                                    PatientExecutionResult.fail("hello", null, cause).getCause(),
+                                    "A failing execution result should return the given cause");
+        }
+
+        @Test
+        @DisplayName("it returns an empty cause when none is given")
+        void testFailingResultReturnsEmptyCause() {
+            Assertions.assertEquals(Optional.empty(),
+                                    PatientExecutionResult.fail("hello").getCause(),
+                                    "A failing execution result without a cause should return an empty cause");
+        }
+
+        @Test
+        @DisplayName("it throws an exception for a negative suggested next delay")
+        void testFailingResultThrowsForNegativeSuggestedNextDelay() {
+            Assertions.assertThrows(IllegalArgumentException.class,
+                                    () -> PatientExecutionResult.fail("hello", Duration.ofSeconds(-3)),
+                                    "A failing execution result should throw for a negative suggested next delay");
+        }
+    }
+
+    @Nested
+    @DisplayName("is an aborted result")
+    final class AbortedResultTests {
+
+        @Test
+        @DisplayName("it returns false from isSuccess() and true from isAborted()")
+        void testAbortedResultIsNotSuccessfulAndIsAborted() {
+            PatientExecutionResult<String> result = PatientExecutionResult.abort("not found");
+            Assertions.assertFalse(result.isSuccess(),
+                                   "An aborted execution result should return false for isSuccess()");
+            Assertions.assertTrue(result.isAborted(),
+                                  "An aborted execution result should return true for isAborted()");
+        }
+
+        @Test
+        @DisplayName("it returns a default description for a null description")
+        void testAbortedResultReturnsDefaultDescription() {
+            Assertions.assertEquals("Aborted execution attempt",
+                                    PatientExecutionResult.abort(null).getFailedAttemptDescription(),
+                                    "An aborted execution result should have a default description.");
+        }
+
+        @Test
+        @DisplayName("it returns the given cause")
+        void testAbortedResultReturnsGivenCause() {
+            Throwable cause = new IllegalStateException("whoops");
+            Assertions.assertEquals(Optional.of(cause),
+                                    PatientExecutionResult.abort("hello", cause).getCause(),
+                                    "An aborted execution result should return the given cause.");
+        }
+
+        @Test
+        @DisplayName("it is not returned from pass or fail")
+        void testPassAndFailAreNotAborted() {
+            Assertions.assertFalse(PatientExecutionResult.pass("hello").isAborted(),
+                                   "A passing execution result should not be aborted.");
+            Assertions.assertFalse(PatientExecutionResult.fail("hello").isAborted(),
+                                   "A failing execution result should not be aborted.");
+        }
+
+        @Test
+        @DisplayName("it throws an exception from getCause() for a passing result")
+        void testPassingResultThrowsForGetCause() {
+            Assertions.assertThrows(UnsupportedOperationException.class,
+                                    () -> PatientExecutionResult.pass("hello").getCause(),
+                                    "A passing execution result should throw for getCause()");
+        }
     }
 }
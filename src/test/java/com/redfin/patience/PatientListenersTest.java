@@ -0,0 +1,183 @@
+/*
+ * Copyright: (c) 2016 Redfin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.redfin.patience;
+
+import com.redfin.patience.listeners.CompositePatientListener;
+import com.redfin.patience.listeners.FlightRecorderSupport;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+
+@DisplayName("When PatientListeners")
+final class PatientListenersTest
+ implements NonInstantiableContract<PatientListeners> {
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Test constants, requirements, and helpers
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    @Override
+    public Class<PatientListeners> getClassObject_NonInstantiableContract() {
+        return PatientListeners.class;
+    }
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Test cases
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    @Nested
+    @DisplayName("when none() is called")
+    final class None {
+
+        @Test
+        @DisplayName("it returns the same listener each time")
+        void testReturnsSameListener() {
+            Assertions.assertSame(PatientListeners.none(),
+                                  PatientListeners.none(),
+                                  "Should return the same listener for each call.");
+        }
+
+        @Test
+        @DisplayName("it returns itself when a wait starts")
+        void testReturnsItselfWhenWaitStarts() {
+            Assertions.assertSame(PatientListeners.none(),
+                                  PatientListeners.none().onWaitStarted("wait"),
+                                  "Should return itself when a wait starts.");
+        }
+    }
+
+    @Nested
+    @DisplayName("when composite(...) is called")
+    final class Composite {
+
+        @Test
+        @DisplayName("it throws an exception for a null array")
+        void testThrowsForNullArray() {
+            Assertions.assertThrows(IllegalArgumentException.class,
+                                    () -> PatientListeners.composite((PatientListener[]) null),
+                                    "Should throw for a null array.");
+        }
+
+        @Test
+        @DisplayName("it throws an exception for a null element")
+        void testThrowsForNullElement() {
+            Assertions.assertThrows(IllegalArgumentException.class,
+                                    () -> PatientListeners.composite(PatientListeners.none(), null),
+                                    "Should throw for a null element.");
+        }
+
+        @Test
+        @DisplayName("it returns the no-op listener for no listeners")
+        void testReturnsNoneForNoListeners() {
+            Assertions.assertSame(PatientListeners.none(),
+                                  PatientListeners.composite(Collections.emptyList()),
+                                  "Should return the no-op listener for no listeners.");
+        }
+
+        @Test
+        @DisplayName("it returns a single listener as is")
+        void testReturnsSingleListener() {
+            PatientListener listener = new PatientListener() { };
+            Assertions.assertSame(listener,
+                                  PatientListeners.composite(listener),
+                                  "Should return a single listener as is.");
+        }
+
+        @Test
+        @DisplayName("it returns a composite listener for several listeners")
+        void testReturnsCompositeForSeveralListeners() {
+            PatientListener listener = new PatientListener() { };
+            Assertions.assertTrue(PatientListeners.composite(Arrays.asList(listener, listener)) instanceof CompositePatientListener,
+                                  "Should return a composite listener for several listeners.");
+        }
+    }
+
+    @Nested
+    @DisplayName("when stats() is called")
+    final class Stats {
+
+        @Test
+        @DisplayName("it returns a new collector each time")
+        void testReturnsNewCollector() {
+            Assertions.assertNotSame(PatientListeners.stats(),
+                                     PatientListeners.stats(),
+                                     "Should return a new collector for each call.");
+        }
+    }
+
+    @Nested
+    @DisplayName("when flightRecorder() is called")
+    final class FlightRecorder {
+
+        @Test
+        @DisplayName("it returns the flight recorder support listener")
+        void testReturnsFlightRecorderListener() {
+            Assertions.assertSame(FlightRecorderSupport.listener(),
+                                  PatientListeners.flightRecorder(),
+                                  "Should return the flight recorder support listener.");
+        }
+
+        @Test
+        @DisplayName("it returns the no-op listener when flight recorder events are unavailable")
+        void testReturnsNoneWhenUnavailable() {
+            if (!FlightRecorderSupport.isAvailable()) {
+                Assertions.assertSame(PatientListeners.none(),
+                                      PatientListeners.flightRecorder(),
+                                      "Should return the no-op listener when flight recorder events are unavailable.");
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("when inFlight() is called")
+    final class InFlight {
+
+        @Test
+        @DisplayName("it returns a new registry each time")
+        void testReturnsNewRegistry() {
+            Assertions.assertNotSame(PatientListeners.inFlight(),
+                                     PatientListeners.inFlight(),
+                                     "Should return a new registry for each call.");
+        }
+    }
+
+    @Nested
+    @DisplayName("when trace(int, Duration) is called")
+    final class Trace {
+
+        @Test
+        @DisplayName("it throws an exception for a capacity less than 1")
+        void testThrowsForZeroCapacity() {
+            Assertions.assertThrows(IllegalArgumentException.class,
+                                    () -> PatientListeners.trace(0, Duration.ZERO),
+                                    "Should throw for a capacity less than 1.");
+        }
+
+        @Test
+        @DisplayName("it throws an exception for a negative minimum duration")
+        void testThrowsForNegativeMinimumDuration() {
+            Assertions.assertThrows(IllegalArgumentException.class,
+                                    () -> PatientListeners.trace(1, Duration.ofMillis(-1)),
+                                    "Should throw for a negative minimum duration.");
+        }
+    }
+}
@@ -0,0 +1,263 @@
+/*
+ * Copyright: (c) 2016 Redfin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.redfin.patience;
+
+import com.redfin.patience.exceptions.PatientParallelException;
+import com.redfin.patience.exceptions.PatientRetryException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+@DisplayName("When a PatientParallel")
+final class PatientParallelTest {
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Test constants, requirements, and helpers
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    private static List<Integer> range(int size) {
+        List<Integer> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            items.add(i);
+        }
+        return items;
+    }
+
+    private static <T> T withExecutor(Function<ExecutorService, T> function) {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            return function.apply(executor);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Test cases
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    @Nested
+    @DisplayName("Builder has been created")
+    final class BuilderTests {
+
+        @Test
+        @DisplayName("it throws an exception for a null executor")
+        void testThrowsForNullExecutor() {
+            Assertions.assertThrows(IllegalArgumentException.class,
+                                    () -> PatientParallel.builder().withExecutor(null));
+        }
+
+        @Test
+        @DisplayName("it throws an exception for a maximum concurrency that isn't positive")
+        void testThrowsForNonPositiveMaxConcurrency() {
+            Assertions.assertThrows(IllegalArgumentException.class,
+                                    () -> PatientParallel.builder().withMaxConcurrency(0));
+        }
+
+        @Test
+        @DisplayName("it returns a PatientParallel with the expected defaults")
+        void testBuildsWithDefaults() {
+            PatientParallel parallel = PatientParallel.builder().build();
+            Assertions.assertAll(() -> Assertions.assertSame(ForkJoinPool.commonPool(), parallel.getExecutor()),
+                                 () -> Assertions.assertEquals(Runtime.getRuntime().availableProcessors(), parallel.getMaxConcurrency()),
+                                 () -> Assertions.assertFalse(parallel.isFailFast()));
+        }
+
+        @Test
+        @DisplayName("it returns a PatientParallel with the given values")
+        void testBuildsWithGivenValues() {
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            try {
+                PatientParallel parallel = PatientParallel.builder()
+                                                          .withExecutor(executor)
+                                                          .withMaxConcurrency(3)
+                                                          .withFailFast(true)
+                                                          .build();
+                Assertions.assertAll(() -> Assertions.assertSame(executor, parallel.getExecutor()),
+                                     () -> Assertions.assertEquals(3, parallel.getMaxConcurrency()),
+                                     () -> Assertions.assertTrue(parallel.isFailFast()));
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("has the map(Collection, Function) method called")
+    final class MapTests {
+
+        @Test
+        @DisplayName("it throws an exception for null items or a null function")
+        void testThrowsForNullArguments() {
+            PatientParallel parallel = PatientParallel.builder().build();
+            Assertions.assertAll(() -> Assertions.assertThrows(IllegalArgumentException.class, () -> parallel.map(null, item -> item)),
+                                 () -> Assertions.assertThrows(IllegalArgumentException.class, () -> parallel.map(range(1), null)));
+        }
+
+        @Test
+        @DisplayName("it returns an empty list for no items")
+        void testReturnsEmptyListForNoItems() {
+            Assertions.assertEquals(Collections.emptyList(),
+                                    PatientParallel.builder().build().map(Collections.<Integer>emptyList(), item -> item));
+        }
+
+        @Test
+        @DisplayName("it returns the results in the order of the items")
+        void testReturnsResultsInOrder() {
+            List<Integer> results = withExecutor(executor -> PatientParallel.builder()
+                                                                            .withExecutor(executor)
+                                                                            .withMaxConcurrency(4)
+                                                                            .build()
+                                                                            .map(range(100), item -> item * 2));
+            for (int i = 0; i < 100; i++) {
+                Assertions.assertEquals(Integer.valueOf(i * 2), results.get(i), "Should have the results in order.");
+            }
+        }
+
+        @Test
+        @DisplayName("it processes no more than the maximum concurrency of items at once")
+        void testBoundsConcurrency() {
+            AtomicInteger current = new AtomicInteger(0);
+            AtomicInteger maximum = new AtomicInteger(0);
+            withExecutor(executor -> PatientParallel.builder()
+                                                    .withExecutor(executor)
+                                                    .withMaxConcurrency(3)
+                                                    .build()
+                                                    .map(range(30), item -> {
+                                                        maximum.accumulateAndGet(current.incrementAndGet(), Math::max);
+                                                        try {
+                                                            Thread.sleep(2);
+                                                        } catch (InterruptedException e) {
+                                                            Thread.currentThread().interrupt();
+                                                        }
+                                                        return current.decrementAndGet();
+                                                    }));
+            Assertions.assertTrue(maximum.get() <= 3, "Should not have processed more than 3 items at once.");
+        }
+
+        @Test
+        @DisplayName("it throws an exception with every failed item")
+        void testThrowsWithEveryFailure() {
+            Function<Integer, Integer> function = item -> {
+                if (item % 4 == 1) {
+                    throw new IllegalStateException("item " + item);
+                }
+                return item;
+            };
+            PatientParallelException exception = Assertions.assertThrows(PatientParallelException.class,
+                                                                         () -> withExecutor(executor -> PatientParallel.builder()
+                                                                                                                       .withExecutor(executor)
+                                                                                                                       .build()
+                                                                                                                       .map(range(10), function)));
+            Assertions.assertAll(() -> Assertions.assertEquals(10, exception.getItemCount()),
+                                 () -> Assertions.assertEquals(Arrays.asList(1, 5, 9), new ArrayList<>(exception.getFailures().keySet())),
+                                 () -> Assertions.assertEquals("item 5", exception.getFailures().get(5).getMessage()),
+                                 () -> Assertions.assertNotNull(exception.getCause()));
+        }
+
+        @Test
+        @DisplayName("it stops and cancels the other items at the first failure with fail fast")
+        void testFailsFast() throws InterruptedException {
+            CountDownLatch cancelled = new CountDownLatch(1);
+            AtomicInteger started = new AtomicInteger(0);
+            Function<Integer, Integer> function = item -> {
+                started.incrementAndGet();
+                if (item != 0) {
+                    throw new IllegalStateException("whoops");
+                }
+                try {
+                    Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+                } catch (InterruptedException e) {
+                    cancelled.countDown();
+                }
+                return item;
+            };
+            PatientParallelException exception = Assertions.assertThrows(PatientParallelException.class,
+                                                                         () -> withExecutor(executor -> PatientParallel.builder()
+                                                                                                                       .withExecutor(executor)
+                                                                                                                       .withMaxConcurrency(2)
+                                                                                                                       .withFailFast(true)
+                                                                                                                       .build()
+                                                                                                                       .map(range(100), function)));
+            Assertions.assertTrue(cancelled.await(5, TimeUnit.SECONDS), "The item being processed should have been cancelled.");
+            Assertions.assertAll(() -> Assertions.assertEquals(Collections.singleton(1), exception.getFailures().keySet()),
+                                 () -> Assertions.assertEquals(2, started.get(), "Should not have started any more items."));
+        }
+    }
+
+    @Nested
+    @DisplayName("is used with a PatientRetry")
+    final class RetryTests {
+
+        @Test
+        @DisplayName("it throws an exception for null arguments")
+        void testThrowsForNullArguments() {
+            PatientRetry retry = PatientRetry.builder().build();
+            PatientParallel parallel = PatientParallel.builder().build();
+            Function<Integer, PatientExecutable<Integer>> executables = item -> () -> item;
+            Assertions.assertAll(() -> Assertions.assertThrows(IllegalArgumentException.class, () -> retry.getAll(null, executables, parallel)),
+                                 () -> Assertions.assertThrows(IllegalArgumentException.class, () -> retry.getAll(range(1), null, parallel)),
+                                 () -> Assertions.assertThrows(IllegalArgumentException.class, () -> retry.getAll(range(1), executables, null)));
+        }
+
+        @Test
+        @DisplayName("it retries each item and returns the results in order")
+        void testRetriesEachItem() {
+            Map<Integer, AtomicInteger> attempts = new ConcurrentHashMap<>();
+            PatientRetry retry = PatientRetry.builder()
+                                             .withDefaultNumberOfRetries(1)
+                                             .build();
+            // Each item only passes on its second attempt
+            Function<Integer, PatientExecutable<Integer>> executables = item -> () -> {
+                int attempt = attempts.computeIfAbsent(item, key -> new AtomicInteger(0)).incrementAndGet();
+                return attempt > 1 ? item : null;
+            };
+            List<Integer> results = withExecutor(executor -> retry.getAll(range(10),
+                                                                          executables,
+                                                                          PatientParallel.builder().withExecutor(executor).build()));
+            Assertions.assertEquals(range(10), results, "Should have retried each item.");
+        }
+
+        @Test
+        @DisplayName("it throws an exception with the retry exception of each failed item")
+        void testThrowsWithRetryExceptions() {
+            PatientRetry retry = PatientRetry.builder().build();
+            Function<Integer, PatientExecutable<Integer>> executables = item -> () -> item % 2 == 0 ? item : null;
+            PatientParallelException exception = Assertions.assertThrows(PatientParallelException.class,
+                                                                         () -> withExecutor(executor -> retry.getAll(range(4),
+                                                                                                                     executables,
+                                                                                                                     PatientParallel.builder().withExecutor(executor).build())));
+            Assertions.assertAll(() -> Assertions.assertEquals(Arrays.asList(1, 3), new ArrayList<>(exception.getFailures().keySet())),
+                                 () -> Assertions.assertTrue(exception.getFailures().get(1) instanceof PatientRetryException));
+        }
+    }
+}
@@ -31,10 +31,18 @@ import org.junit.jupiter.params.provider.ArgumentsProvider;
 import org.junit.jupiter.params.provider.ArgumentsSource;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.mockito.Mockito.mock;
@@ -222,6 +230,21 @@ final class PatientRetryFutureTest {
                                                       messageSupplier),
                                     "Should have thrown an exception for an invalid argument");
         }
+
+        @Test
+        @DisplayName("it accepts a contextual executable")
+        void testAcceptsContextualExecutable() {
+            PatientContextualExecutable<Boolean> executable = context -> 0 == context.getAttemptIndex();
+            Assertions.assertTrue(new PatientRetryFuture<>(Thread::sleep,
+                                                           Duration.ZERO,
+                                                           0,
+                                                           new SimplePatientExecutionHandler(),
+                                                           new FixedPatientDelaySupplierFactory(Duration.ZERO),
+                                                           executable,
+                                                           bool -> null != bool && bool,
+                                                           (String) null).get(),
+                                  "Should pass the attempt context to a contextual executable.");
+        }
     }
 
     @Nested
@@ -514,6 +537,388 @@ final class PatientRetryFutureTest {
         }
     }
 
+    @Nested
+    @DisplayName("has a listener")
+    final class ListenerTests {
+
+        private List<String> getEvents(PatientExecutionHandler executionHandler,
+                                       PatientExecutable<Boolean> executable) {
+            return getEvents(executionHandler, PatientDelaySuppliers.fixed(Duration.ofMillis(10)), executable);
+        }
+
+        private List<String> getEvents(PatientExecutionHandler executionHandler,
+                                       PatientDelaySupplierFactory delaySupplierFactory,
+                                       PatientExecutable<Boolean> executable) {
+            List<String> events = new ArrayList<>();
+            PatientListener listener = new PatientListener() {
+                @Override
+                public PatientListener onWaitStarted(String policyName) {
+                    events.add("started " + policyName);
+                    return this;
+                }
+
+                @Override
+                public void onAttemptStarted(int attemptIndex) {
+                    events.add("attempt " + attemptIndex);
+                }
+
+                @Override
+                public void onAttemptEnded(int attemptIndex,
+                                           PatientExecutionResult<?> result,
+                                           long durationNanos) {
+                    events.add("ended " + attemptIndex + " " + result.isSuccess());
+                }
+
+                @Override
+                public void onSleep(long sleepNanos) {
+                    events.add("sleep " + Duration.ofNanos(sleepNanos).toMillis());
+                }
+
+                @Override
+                public void onSuccess(int attempts,
+                                      long elapsedNanos) {
+                    events.add("success " + attempts);
+                    if (attempts > 2) {
+                        throw new IllegalStateException("listener whoops");
+                    }
+                }
+
+                @Override
+                public void onTimeout(int attempts,
+                                      long elapsedNanos) {
+                    events.add("timeout " + attempts);
+                }
+
+                @Override
+                public void onAbort(int attempts,
+                                    long elapsedNanos) {
+                    events.add("abort " + attempts);
+                }
+
+                @Override
+                public void onError(RuntimeException error,
+                                    int attempts,
+                                    long elapsedNanos) {
+                    events.add("error " + attempts);
+                }
+            };
+            PatientRetry retry = PatientRetry.builder()
+                                             .withName("orders")
+                                             .withSleep((millis, nanos) -> { })
+                                             .withInitialDelay(Duration.ofMillis(5))
+                                             .withDelaySupplier(delaySupplierFactory)
+                                             .withExecutionHandler(executionHandler)
+                                             .withListener(listener)
+                                             .build();
+            try {
+                retry.from(executable).get(2);
+            } catch (RuntimeException ignore) {
+                // the events tell the story
+            }
+            return events;
+        }
+
+        @Test
+        @DisplayName("it is told about each attempt and sleep and the success")
+        void testListenerReceivesSuccessEvents() {
+            AtomicInteger counter = new AtomicInteger(0);
+            Assertions.assertEquals(Arrays.asList("started orders", "sleep 5",
+                                                  "attempt 0", "ended 0 false", "sleep 10",
+                                                  "attempt 1", "ended 1 true", "success 2"),
+                                    getEvents(PatientExecutionHandlers.simple(), () -> counter.incrementAndGet() > 1),
+                                    "The listener should be told about a successful retry.");
+        }
+
+        @Test
+        @DisplayName("it is told when the retries are used up")
+        void testListenerReceivesTimeoutEvents() {
+            Assertions.assertEquals(Arrays.asList("started orders", "sleep 5",
+                                                  "attempt 0", "ended 0 false", "sleep 10",
+                                                  "attempt 1", "ended 1 false", "sleep 10",
+                                                  "attempt 2", "ended 2 false", "timeout 3"),
+                                    getEvents(PatientExecutionHandlers.simple(), () -> false),
+                                    "The listener should be told about an unsuccessful retry.");
+        }
+
+        @Test
+        @DisplayName("it is told about an aborted attempt")
+        void testListenerReceivesAbortEvents() {
+            Assertions.assertEquals(Arrays.asList("started orders", "sleep 5",
+                                                  "attempt 0", "ended 0 false", "abort 1"),
+                                    getEvents(PatientExecutionHandlers.aborting()
+                                                                      .withAbortingThrowableType(IllegalStateException.class)
+                                                                      .build(),
+                                              () -> {
+                                                  throw new IllegalStateException("whoops");
+                                              }),
+                                    "The listener should be told about an aborted retry.");
+        }
+
+        @Test
+        @DisplayName("it is told about an unexpected error")
+        void testListenerReceivesErrorEvents() {
+            Assertions.assertEquals(Arrays.asList("started orders", "sleep 5",
+                                                  "attempt 0", "error 0"),
+                                    getEvents(PatientExecutionHandlers.simple(),
+                                              () -> {
+                                                  throw new IllegalStateException("whoops");
+                                              }),
+                                    "The listener should be told about an unexpected error.");
+        }
+
+        @Test
+        @DisplayName("it is told about an error thrown by the delay supplier")
+        void testListenerReceivesDelaySupplierErrorEvents() {
+            Assertions.assertEquals(Arrays.asList("started orders", "sleep 5",
+                                                  "attempt 0", "ended 0 false", "error 1"),
+                                    getEvents(PatientExecutionHandlers.simple(),
+                                              () -> () -> {
+                                                  throw new IllegalStateException("whoops");
+                                              },
+                                              () -> false),
+                                    "The listener should be told about an error from the delay supplier.");
+        }
+
+        @Test
+        @DisplayName("it is told about the end of the wait only once when a callback throws")
+        void testListenerReceivesOneTerminalEventWhenCallbackThrows() {
+            AtomicInteger counter = new AtomicInteger(0);
+            Assertions.assertEquals(Arrays.asList("started orders", "sleep 5",
+                                                  "attempt 0", "ended 0 false", "sleep 10",
+                                                  "attempt 1", "ended 1 false", "sleep 10",
+                                                  "attempt 2", "ended 2 true", "success 3"),
+                                    getEvents(PatientExecutionHandlers.simple(), () -> counter.incrementAndGet() > 2),
+                                    "The listener shouldn't be told about an error after the success.");
+        }
+    }
+
+    @Nested
+    @DisplayName("uses a delay supplier that depends on the cause of the failure")
+    final class ThrowableTypeDelayTests {
+
+        @Test
+        @DisplayName("it progresses the schedule for each throwable type independently")
+        void testSleepsForScheduleOfEachThrowableType() {
+            List<Duration> sleeps = new ArrayList<>();
+            AtomicInteger counter = new AtomicInteger(0);
+            PatientRetry retry = PatientRetry.builder()
+                                             .withSleep((millis, nanos) -> sleeps.add(Duration.ofMillis(millis).plusNanos(nanos)))
+                                             .withExecutionHandler(PatientExecutionHandlers.ignoring(RuntimeException.class))
+                                             .withDelaySupplier(PatientDelaySuppliers.byThrowableType(Collections.singletonMap(IllegalStateException.class,
+                                                                                                                               PatientDelaySuppliers.exponential(2, Duration.ofMillis(100))),
+                                                                                                      PatientDelaySuppliers.fixed(Duration.ofMillis(1))))
+                                             .build();
+            Assertions.assertThrows(PatientRetryException.class,
+                                    () -> retry.from(() -> {
+                                        if (counter.incrementAndGet() % 2 == 1) {
+                                            throw new IllegalStateException("throttled");
+                                        }
+                                        throw new IllegalArgumentException("refused");
+                                    }).get(3),
+                                    "Should throw when the retries are used up.");
+            Assertions.assertEquals(Arrays.asList(Duration.ofMillis(100), Duration.ofMillis(1), Duration.ofMillis(200)),
+                                    sleeps,
+                                    "Should sleep according to the schedule for the cause of each failed attempt.");
+        }
+    }
+
+    @Nested
+    @DisplayName("runs out of retries")
+    final class AttemptTimingTests {
+
+        @Test
+        @DisplayName("it throws an exception with the execution and sleep time of each attempt")
+        void testExceptionHasAttemptTimings() {
+            PatientRetry retry = PatientRetry.builder()
+                                             .withDelaySupplier(PatientDelaySuppliers.fixed(Duration.ofMillis(20)))
+                                             .build();
+            PatientRetryException exception = Assertions.assertThrows(PatientRetryException.class,
+                                                                      () -> retry.from(() -> false).get(2),
+                                                                      "Should throw when the retries are used up.");
+            long[] attempts = exception.getAttemptDurationsNanos();
+            long[] sleeps = exception.getSleepDurationsNanos();
+            Assertions.assertAll(() -> Assertions.assertEquals(3, attempts.length, "Should have the duration of each attempt."),
+                                 () -> Assertions.assertEquals(3, sleeps.length, "Should have the sleep before each attempt."),
+                                 () -> Assertions.assertEquals(0, sleeps[0], "Should not have slept before the first attempt."),
+                                 () -> Assertions.assertTrue(sleeps[1] >= Duration.ofMillis(20).toNanos(), "Should have slept before the second attempt."),
+                                 () -> Assertions.assertTrue(exception.getTotalSleepDuration().compareTo(Duration.ofMillis(40)) >= 0, "Should have the total sleep."));
+        }
+    }
+
+    @Nested
+    @DisplayName("receives failed results with a suggested next delay")
+    final class SuggestedDelayTests {
+
+        private List<Duration> getSleptDurations(Duration suggestedDelay,
+                                                 Duration minimum,
+                                                 Duration maximum) {
+            List<Duration> sleeps = new ArrayList<>();
+            PatientExecutionHandler busyHandler = new PatientExecutionHandler() {
+                @Override
+                public <T> PatientExecutionResult<T> execute(PatientExecutable<T> executable,
+                                                             Predicate<T> filter) {
+                    return PatientExecutionResult.fail("busy", suggestedDelay);
+                }
+            };
+            PatientRetry retry = PatientRetry.builder()
+                                             .withSleep((millis, nanos) -> sleeps.add(Duration.ofMillis(millis).plusNanos(nanos)))
+                                             .withDelaySupplier(new FixedPatientDelaySupplierFactory(Duration.ofSeconds(1)))
+                                             .withExecutionHandler(busyHandler)
+                                             .withSuggestedDelayBounds(minimum, maximum)
+                                             .build();
+            Assertions.assertThrows(PatientRetryException.class,
+                                    () -> retry.from(() -> true).get(2),
+                                    "Should throw when the retries are used up.");
+            return sleeps;
+        }
+
+        @Test
+        @DisplayName("it sleeps for the suggested delay instead of the supplied delay")
+        void testSleepsForSuggestedDelay() {
+            Assertions.assertEquals(Arrays.asList(Duration.ofMillis(5), Duration.ofMillis(5)),
+                                    getSleptDurations(Duration.ofMillis(5), Duration.ZERO, Duration.ofSeconds(10)),
+                                    "Should sleep for the suggested delay.");
+        }
+
+        @Test
+        @DisplayName("it raises the suggested delay to the minimum")
+        void testRaisesSuggestedDelayToMinimum() {
+            Assertions.assertEquals(Arrays.asList(Duration.ofMillis(20), Duration.ofMillis(20)),
+                                    getSleptDurations(Duration.ofMillis(5), Duration.ofMillis(20), Duration.ofSeconds(10)),
+                                    "Should sleep for the minimum suggested delay.");
+        }
+
+        @Test
+        @DisplayName("it lowers the suggested delay to the maximum")
+        void testLowersSuggestedDelayToMaximum() {
+            Assertions.assertEquals(Arrays.asList(Duration.ofMillis(50), Duration.ofMillis(50)),
+                                    getSleptDurations(Duration.ofMinutes(5), Duration.ZERO, Duration.ofMillis(50)),
+                                    "Should sleep for the maximum suggested delay.");
+        }
+
+        @Test
+        @DisplayName("it sleeps for the supplied delay without a suggestion")
+        void testSleepsForSuppliedDelayWithoutSuggestion() {
+            Assertions.assertEquals(Arrays.asList(Duration.ofSeconds(1), Duration.ofSeconds(1)),
+                                    getSleptDurations(null, Duration.ZERO, Duration.ofMillis(50)),
+                                    "Should sleep for the supplied delay.");
+        }
+    }
+
+    @Nested
+    @DisplayName("has the iterator or stream methods called")
+    final class StreamTests {
+
+        private PatientRetry getPatientRetry() {
+            return PatientRetry.builder()
+                               .withSleep((millis, nanos) -> { })
+                               .withDefaultNumberOfRetries(2)
+                               .build();
+        }
+
+        @Test
+        @DisplayName("it throws an exception for an invalid argument")
+        void testThrowsForInvalidArgument() {
+            PatientRetryFuture<Boolean> future = getPatientRetry().from(() -> true);
+            Assertions.assertAll(() -> Assertions.assertThrows(IllegalArgumentException.class, () -> future.iterator(-1)),
+                                 () -> Assertions.assertThrows(IllegalArgumentException.class, () -> future.stream(-1)));
+        }
+
+        @Test
+        @DisplayName("it doesn't make any attempts until the iterator is used")
+        void testIsLazy() {
+            AtomicInteger counter = new AtomicInteger(0);
+            Iterator<PatientExecutionResult<Integer>> iterator = getPatientRetry().from(counter::incrementAndGet).iterator();
+            Assertions.assertEquals(0, counter.get(), "Should not have made an attempt yet.");
+            Assertions.assertTrue(iterator.hasNext(), "Should have a first attempt.");
+            Assertions.assertTrue(iterator.hasNext(), "Should not make another attempt for a second hasNext.");
+            Assertions.assertEquals(1, counter.get(), "Should have made a single attempt.");
+        }
+
+        @Test
+        @DisplayName("it returns each attempt and ends after a successful attempt")
+        void testEndsAfterSuccess() {
+            AtomicInteger counter = new AtomicInteger(0);
+            List<PatientExecutionResult<Integer>> results = getPatientRetry().from(counter::incrementAndGet)
+                                                                             .withFilter(i -> i > 1)
+                                                                             .stream()
+                                                                             .collect(Collectors.toList());
+            Assertions.assertAll(() -> Assertions.assertEquals(2, results.size()),
+                                 () -> Assertions.assertFalse(results.get(0).isSuccess()),
+                                 () -> Assertions.assertEquals("1", results.get(0).getFailedAttemptDescription()),
+                                 () -> Assertions.assertEquals(Integer.valueOf(2), results.get(1).getResult()));
+        }
+
+        @Test
+        @DisplayName("it ends without an exception once the retries are used up")
+        void testEndsAfterRetries() {
+            Iterator<PatientExecutionResult<Boolean>> iterator = getPatientRetry().from(() -> false).iterator(1);
+            Assertions.assertAll(() -> Assertions.assertFalse(iterator.next().isSuccess()),
+                                 () -> Assertions.assertFalse(iterator.next().isSuccess()),
+                                 () -> Assertions.assertFalse(iterator.hasNext()),
+                                 () -> Assertions.assertThrows(NoSuchElementException.class, iterator::next));
+        }
+
+        @Test
+        @DisplayName("it stops making attempts when the stream is short-circuited")
+        void testShortCircuits() {
+            AtomicInteger counter = new AtomicInteger(0);
+            Optional<PatientExecutionResult<Integer>> progress = getPatientRetry().from(counter::incrementAndGet)
+                                                                                  .withFilter(i -> i > 100)
+                                                                                  .stream(100)
+                                                                                  .filter(result -> "2".equals(result.getFailedAttemptDescription()))
+                                                                                  .findFirst();
+            Assertions.assertTrue(progress.isPresent(), "Should have found the attempt.");
+            Assertions.assertEquals(2, counter.get(), "Should not have made any more attempts.");
+        }
+    }
+
+    @Nested
+    @DisplayName("has it's attempt methods called")
+    final class AttemptTests {
+
+        private PatientRetry getPatientRetry() {
+            return PatientRetry.builder()
+                               .withSleep((millis, nanos) -> { })
+                               .withDefaultNumberOfRetries(2)
+                               .build();
+        }
+
+        @Test
+        @DisplayName("it throws an exception for an invalid argument")
+        void testAttemptThrowsForInvalidArgument() {
+            Assertions.assertThrows(IllegalArgumentException.class,
+                                    () -> getPatientRetry().from(() -> true).attempt(-1),
+                                    "Should throw for an invalid argument.");
+        }
+
+        @Test
+        @DisplayName("it returns a successful outcome with the result")
+        void testAttemptReturnsSuccessfulOutcome() {
+            AtomicInteger counter = new AtomicInteger(0);
+            PatientOutcome<Integer> outcome = getPatientRetry().from(counter::incrementAndGet)
+                                                          .withFilter(i -> i > 1)
+                                                          .attempt();
+            Assertions.assertAll(() -> Assertions.assertTrue(outcome.isSuccess(), "Should be successful."),
+                                 () -> Assertions.assertEquals(2, outcome.getResult().intValue(), "Should have the result."),
+                                 () -> Assertions.assertEquals(2, outcome.getAttemptCount(), "Should have the attempt count."),
+                                 () -> Assertions.assertTrue(outcome.getFailedAttemptsDescriptions().isEmpty(), "Should have no failure history."));
+        }
+
+        @Test
+        @DisplayName("it returns an unsuccessful outcome rather than throwing")
+        void testAttemptReturnsUnsuccessfulOutcome() {
+            PatientOutcome<Boolean> outcome = getPatientRetry().from(() -> false).attempt(2);
+            Assertions.assertAll(() -> Assertions.assertFalse(outcome.isSuccess(), "Should be unsuccessful."),
+                                 () -> Assertions.assertEquals(3, outcome.getAttemptCount(), "Should have the attempt count."),
+                                 () -> Assertions.assertEquals(3, outcome.getFailedAttemptsDescriptions().size(), "Should have the failure history."),
+                                 () -> Assertions.assertEquals(3, outcome.getAttemptDurationsNanos().length, "Should have the attempt timings."),
+                                 () -> Assertions.assertFalse(outcome.toOptional().isPresent(), "Should have an empty optional."),
+                                 () -> Assertions.assertTrue(outcome.orElse(true), "Should return the other value."),
+                                 () -> Assertions.assertThrows(UnsupportedOperationException.class, outcome::getResult, "Should not have a result."));
+        }
+    }
+
     @Nested
     @DisplayName("has it's check methods called")
     final class CheckTests {
@@ -17,6 +17,9 @@
 package com.redfin.patience;
 
 import com.redfin.patience.delays.FixedPatientDelaySupplierFactory;
+import com.redfin.patience.exceptions.PatientAbortException;
+import com.redfin.patience.exceptions.PatientException;
+import com.redfin.patience.exceptions.PatientRetryException;
 import com.redfin.patience.executions.SimplePatientExecutionHandler;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
@@ -29,6 +32,17 @@ import org.junit.jupiter.params.provider.ArgumentsProvider;
 import org.junit.jupiter.params.provider.ArgumentsSource;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
 import java.util.stream.Stream;
 
 @DisplayName("When a PatientRetry")
@@ -181,6 +195,252 @@ public class PatientRetryTest {
         }
     }
 
+    @Nested
+    @DisplayName("has the from(PatientContextualExecutable) method called")
+    final class FromContextualTests {
+
+        @Test
+        @DisplayName("it returns a non-null future for a non-null PatientContextualExecutable")
+        void testFromReturnsNonNull() {
+            Assertions.assertNotNull(getInstance().from(context -> true),
+                                     "Should return a non-null future with from(PatientContextualExecutable) call.");
+        }
+
+        @Test
+        @DisplayName("it throws an exception for a null PatientContextualExecutable")
+        void testFromThrowsForNullExecutable() {
+            Assertions.assertThrows(IllegalArgumentException.class,
+                                    () -> getInstance().from((PatientContextualExecutable<Boolean>) null),
+                                    "Should throw for a null executable to from(PatientContextualExecutable)");
+        }
+
+        @Test
+        @DisplayName("it gives the executable a context for each attempt")
+        void testFromGivesContextForEachAttempt() {
+            Assertions.assertEquals(2,
+                                    (int) PatientRetry.builder()
+                                          .withDefaultNumberOfRetries(5)
+                                          .build().from(context -> context.getAttemptIndex() == 2 ? context.getAttemptIndex() : null)
+                                               .get(),
+                                    "The executable should see the index of each attempt.");
+        }
+
+        @Test
+        @DisplayName("it gives the executable the previous failure")
+        void testFromGivesPreviousFailure() {
+            Assertions.assertEquals("null",
+                                    PatientRetry.builder()
+                                          .withDefaultNumberOfRetries(5)
+                                          .build().from(context -> context.getPreviousFailure().orElse(null))
+                                               .get(),
+                                    "The executable should see the description of the previous failure.");
+        }
+    }
+
+    @Nested
+    @DisplayName("has the primitive until, fromInt, or fromLong methods called")
+    final class PrimitiveTests {
+
+        private PatientRetry getRetry(PatientExecutionHandler executionHandler) {
+            return PatientRetry.builder()
+                               .withDefaultNumberOfRetries(2)
+                               .withExecutionHandler(executionHandler)
+                               .build();
+        }
+
+        @Test
+        @DisplayName("it throws an exception for a null supplier or filter")
+        void testThrowsForNullArguments() {
+            PatientRetry retry = getRetry(EXECUTION_HANDLER);
+            Assertions.assertAll(() -> Assertions.assertThrows(IllegalArgumentException.class, () -> retry.until(null)),
+                                 () -> Assertions.assertThrows(IllegalArgumentException.class, () -> retry.fromInt(null, i -> true)),
+                                 () -> Assertions.assertThrows(IllegalArgumentException.class, () -> retry.fromInt(() -> 1, null)),
+                                 () -> Assertions.assertThrows(IllegalArgumentException.class, () -> retry.fromLong(null, l -> true)),
+                                 () -> Assertions.assertThrows(IllegalArgumentException.class, () -> retry.fromLong(() -> 1L, null)));
+        }
+
+        @Test
+        @DisplayName("it returns true once the boolean supplier returns true")
+        void testUntilReturnsTrue() {
+            AtomicInteger counter = new AtomicInteger(0);
+            Assertions.assertTrue(getRetry(EXECUTION_HANDLER).until(() -> counter.incrementAndGet() == 3).get(),
+                                  "Should return true once the supplier returns true.");
+            Assertions.assertEquals(3, counter.get(), "Should have polled the supplier until it returned true.");
+        }
+
+        @Test
+        @DisplayName("it describes each false attempt with a constant description")
+        void testUntilDescribesFalseAttempts() {
+            PatientRetryException exception = Assertions.assertThrows(PatientRetryException.class,
+                                                                      () -> getRetry(EXECUTION_HANDLER).until(() -> false).get());
+            Assertions.assertEquals(Arrays.asList("false", "false", "false"),
+                                    exception.getFailedAttemptsDescriptions(),
+                                    "Each unsuccessful attempt should be described as false.");
+        }
+
+        @Test
+        @DisplayName("it returns the first int or long value that matches the filter")
+        void testFromIntAndFromLongReturnMatchingValue() {
+            AtomicInteger ints = new AtomicInteger(0);
+            AtomicLong longs = new AtomicLong(0);
+            Assertions.assertAll(() -> Assertions.assertEquals(Integer.valueOf(2), getRetry(EXECUTION_HANDLER).fromInt(ints::incrementAndGet, i -> i > 1).get()),
+                                 () -> Assertions.assertEquals(Long.valueOf(3), getRetry(EXECUTION_HANDLER).fromLong(longs::incrementAndGet, l -> l > 2).get()));
+        }
+
+        @Test
+        @DisplayName("it gives throwables from the supplier to the execution handler")
+        void testThrowablesAreGivenToExecutionHandler() {
+            AtomicInteger counter = new AtomicInteger(0);
+            BooleanSupplier throwing = () -> {
+                if (counter.incrementAndGet() < 3) {
+                    throw new IllegalStateException("whoops");
+                }
+                return true;
+            };
+            Assertions.assertAll(() -> Assertions.assertThrows(PatientException.class,
+                                                               () -> getRetry(EXECUTION_HANDLER).until(throwing).get(),
+                                                               "The simple execution handler should not ignore the throwable."),
+                                 () -> Assertions.assertTrue(getRetry(PatientExecutionHandlers.ignoringAll()).until(throwing).get(),
+                                                             "The ignoring execution handler should keep trying."));
+        }
+
+        @Test
+        @DisplayName("it keeps the primitive attempts for a new message but uses a new filter")
+        void testWithMessageAndWithFilter() {
+            PatientRetryException exception = Assertions.assertThrows(PatientRetryException.class,
+                                                                      () -> getRetry(EXECUTION_HANDLER).fromInt(() -> 1, i -> i > 1)
+                                                                                                       .withMessage("message")
+                                                                                                       .get());
+            Assertions.assertTrue(exception.getMessage().startsWith("message"),
+                                  "Should have used the given message.");
+            Assertions.assertEquals(Integer.valueOf(1),
+                                    getRetry(EXECUTION_HANDLER).fromInt(() -> 1, i -> i > 1)
+                                                               .withFilter(i -> i == 1)
+                                                               .get(),
+                                    "Should have used the new filter.");
+        }
+
+        @Test
+        @DisplayName("it gives the values to an execution handler that looks at them")
+        void testGivesValuesToExecutionHandler() {
+            PatientRetry retry = getRetry(PatientExecutionHandlers.aborting()
+                                                                  .withAbortingResultPredicate(Boolean.FALSE::equals)
+                                                                  .build());
+            Assertions.assertThrows(PatientAbortException.class,
+                                    () -> retry.until(() -> false).get(),
+                                    "Should abort on a value the execution handler aborts on.");
+        }
+    }
+
+    @Nested
+    @DisplayName("has the fromBatch(Collection, PatientBatchExecutable) method called")
+    final class FromBatchTests {
+
+        private PatientRetry getRetry() {
+            return PatientRetry.builder()
+                               .withDefaultNumberOfRetries(2)
+                               .build();
+        }
+
+        @Test
+        @DisplayName("it throws an exception for null keys, a null key, or a null batch executable")
+        void testThrowsForInvalidArguments() {
+            PatientRetry retry = getRetry();
+            PatientBatchExecutable<String, PatientExecutionResult<Boolean>> batchExecutable = keys -> Collections.emptyMap();
+            Assertions.assertAll(() -> Assertions.assertThrows(IllegalArgumentException.class, () -> retry.fromBatch(null, batchExecutable)),
+                                 () -> Assertions.assertThrows(IllegalArgumentException.class, () -> retry.fromBatch(Arrays.asList("a", null), batchExecutable)),
+                                 () -> Assertions.assertThrows(IllegalArgumentException.class, () -> retry.fromBatch(Collections.singletonList("a"), null)));
+        }
+
+        @Test
+        @DisplayName("it retries only the failed keys and merges the results in key order")
+        void testRetriesOnlyFailedKeys() {
+            List<Set<String>> calls = new ArrayList<>();
+            PatientBatchExecutable<String, PatientExecutionResult<Integer>> batchExecutable = keys -> {
+                calls.add(new HashSet<>(keys));
+                Map<String, PatientExecutionResult<Integer>> outcomes = new HashMap<>();
+                for (String key : keys) {
+                    // "b" fails the first time and "c" never has an outcome the first time
+                    if (calls.size() > 1 || "a".equals(key)) {
+                        outcomes.put(key, PatientExecutionResult.pass(calls.size()));
+                    } else if ("b".equals(key)) {
+                        outcomes.put(key, PatientExecutionResult.fail("conflict"));
+                    }
+                }
+                return outcomes;
+            };
+            Map<String, Integer> results = getRetry().fromBatch(Arrays.asList("a", "b", "c"), batchExecutable).get();
+            Assertions.assertAll(() -> Assertions.assertEquals(Arrays.asList("a", "b", "c"), new ArrayList<>(results.keySet())),
+                                 () -> Assertions.assertEquals(Arrays.asList(1, 2, 2), new ArrayList<>(results.values())),
+                                 () -> Assertions.assertEquals(Arrays.asList(new HashSet<>(Arrays.asList("a", "b", "c")),
+                                                                             new HashSet<>(Arrays.asList("b", "c"))),
+                                                               calls));
+        }
+
+        @Test
+        @DisplayName("it throws an exception with the history of the failed keys")
+        void testThrowsWithHistoryOfFailedKeys() {
+            AtomicInteger counter = new AtomicInteger(0);
+            PatientBatchExecutable<String, PatientExecutionResult<Boolean>> batchExecutable = keys -> {
+                counter.incrementAndGet();
+                Map<String, PatientExecutionResult<Boolean>> outcomes = new HashMap<>();
+                outcomes.put("a", PatientExecutionResult.pass(true));
+                outcomes.put("b", PatientExecutionResult.fail("error " + counter.get()));
+                return outcomes;
+            };
+            PatientRetryException exception = Assertions.assertThrows(PatientRetryException.class,
+                                                                      () -> getRetry().fromBatch(Arrays.asList("a", "b"), batchExecutable).get());
+            Assertions.assertEquals(Arrays.asList("1 of 2 keys failed: [b] error 1",
+                                                  "1 of 2 keys failed: [b] error 2",
+                                                  "1 of 2 keys failed: [b] error 3"),
+                                    exception.getFailedAttemptsDescriptions());
+        }
+
+        @Test
+        @DisplayName("it only describes the first few failed keys")
+        void testDescribesFirstFewFailedKeys() {
+            List<Integer> keys = new ArrayList<>();
+            for (int i = 0; i < 12; i++) {
+                keys.add(i);
+            }
+            PatientBatchExecutable<Integer, PatientExecutionResult<Boolean>> batchExecutable = pending -> Collections.emptyMap();
+            PatientRetryException exception = Assertions.assertThrows(PatientRetryException.class,
+                                                                      () -> getRetry().fromBatch(keys, batchExecutable).get(0));
+            Assertions.assertEquals(Collections.singletonList("12 of 12 keys failed: [0] no outcome, [1] no outcome, [2] no outcome, "
+                                                              + "[3] no outcome, [4] no outcome, [5] no outcome, [6] no outcome, "
+                                                              + "[7] no outcome, [8] no outcome, [9] no outcome, ..."),
+                                    exception.getFailedAttemptsDescriptions());
+        }
+
+        @Test
+        @DisplayName("it aborts if the outcome of a key is aborted")
+        void testAbortsForAbortedKey() {
+            AtomicInteger counter = new AtomicInteger(0);
+            PatientBatchExecutable<String, PatientExecutionResult<Boolean>> batchExecutable = keys -> {
+                counter.incrementAndGet();
+                return Collections.singletonMap("a", PatientExecutionResult.abort("invalid record"));
+            };
+            PatientAbortException exception = Assertions.assertThrows(PatientAbortException.class,
+                                                                      () -> getRetry().fromBatch(Collections.singletonList("a"), batchExecutable).get());
+            Assertions.assertAll(() -> Assertions.assertEquals(Collections.singletonList("[a] invalid record"), exception.getFailedAttemptsDescriptions()),
+                                 () -> Assertions.assertEquals(1, counter.get(), "Should not retry after an aborted key."));
+        }
+
+        @Test
+        @DisplayName("it doesn't call the batch executable without keys")
+        void testDoesNotCallWithoutKeys() {
+            PatientBatchExecutable<String, PatientExecutionResult<Boolean>> batchExecutable = keys -> {
+                throw new AssertionError("Should not be called without keys.");
+            };
+            Assertions.assertAll(() -> Assertions.assertEquals(Collections.emptyMap(),
+                                                               getRetry().fromBatch(Collections.<String>emptyList(), batchExecutable).get()),
+                                 () -> Assertions.assertEquals(Collections.emptyMap(),
+                                                               getRetry().fromBatch(Collections.<String>emptyList(), batchExecutable)
+                                                                         .withFilter(Map::isEmpty)
+                                                                         .get()));
+        }
+    }
+
     @Nested
     @DisplayName("has the getDefaultFilter() method called")
     final class FilterTests {
@@ -279,6 +539,115 @@ public class PatientRetryTest {
                                     "PatientRetry builder should throw for null delay supplier.");
         }
 
+        @Test
+        @DisplayName("it throws an exception for a null minimum suggested delay")
+        void testBuilderThrowsForNullMinimumSuggestedDelay() {
+            Assertions.assertThrows(IllegalArgumentException.class,
+                                    () -> PatientRetry.builder()
+                                                 .withSuggestedDelayBounds(null, POSITIVE_DURATION),
+                                    "PatientRetry builder should throw for null minimum suggested delay.");
+        }
+
+        @Test
+        @DisplayName("it throws an exception for a negative minimum suggested delay")
+        void testBuilderThrowsForNegativeMinimumSuggestedDelay() {
+            Assertions.assertThrows(IllegalArgumentException.class,
+                                    () -> PatientRetry.builder()
+                                                 .withSuggestedDelayBounds(NEGATIVE_DURATION, POSITIVE_DURATION),
+                                    "PatientRetry builder should throw for negative minimum suggested delay.");
+        }
+
+        @Test
+        @DisplayName("it throws an exception for a maximum suggested delay less than the minimum")
+        void testBuilderThrowsForMaximumSuggestedDelayLessThanMinimum() {
+            Assertions.assertThrows(IllegalArgumentException.class,
+                                    () -> PatientRetry.builder()
+                                                 .withSuggestedDelayBounds(POSITIVE_DURATION, Duration.ZERO),
+                                    "PatientRetry builder should throw for a maximum suggested delay less than the minimum.");
+        }
+
+        @Test
+        @DisplayName("it returns a PatientRetry with the given suggested delay bounds")
+        void testBuilderReturnsGivenSuggestedDelayBounds() {
+            PatientRetry built = PatientRetry.builder()
+                                                .withSuggestedDelayBounds(Duration.ZERO, POSITIVE_DURATION)
+                                                .build();
+            Assertions.assertAll(() -> Assertions.assertEquals(Duration.ZERO, built.getMinimumSuggestedDelay(), "Should have the given minimum suggested delay"),
+                                 () -> Assertions.assertEquals(POSITIVE_DURATION, built.getMaximumSuggestedDelay(), "Should have the given maximum suggested delay"));
+        }
+
+        @Test
+        @DisplayName("it throws an exception for a null or empty name")
+        void testBuilderThrowsForNullOrEmptyName() {
+            Assertions.assertAll(() -> Assertions.assertThrows(IllegalArgumentException.class,
+                                                               () -> PatientRetry.builder().withName(null),
+                                                               "PatientRetry builder should throw for a null name."),
+                                 () -> Assertions.assertThrows(IllegalArgumentException.class,
+                                                               () -> PatientRetry.builder().withName(""),
+                                                               "PatientRetry builder should throw for an empty name."));
+        }
+
+        @Test
+        @DisplayName("it throws an exception for a null listener")
+        void testBuilderThrowsForNullListener() {
+            Assertions.assertThrows(IllegalArgumentException.class,
+                                    () -> PatientRetry.builder()
+                                                .withListener(null),
+                                    "PatientRetry builder should throw for a null listener.");
+        }
+
+        @Test
+        @DisplayName("it returns a PatientRetry with the default name and only the flight recorder listener")
+        void testBuilderReturnsDefaultNameAndListener() {
+            PatientRetry built = PatientRetry.builder().build();
+            Assertions.assertAll(() -> Assertions.assertEquals("PatientRetry", built.getName(), "Should have the default name"),
+                                 () -> Assertions.assertSame(PatientListeners.flightRecorder(), built.getListener(), "Should only have the flight recorder listener"));
+        }
+
+        @Test
+        @DisplayName("it has writable stack traces by default")
+        void testBuilderHasWritableStackTracesByDefault() {
+            Assertions.assertTrue(PatientRetry.builder().build().hasWritableStackTraces(),
+                                  "Should have writable stack traces by default.");
+        }
+
+        @Test
+        @DisplayName("it throws exceptions without stack traces when they aren't writable")
+        void testBuilderWithoutWritableStackTraces() {
+            PatientRetry built = PatientRetry.builder()
+                                             .withWritableStackTraces(false)
+                                             .build();
+            PatientRetryException exception = Assertions.assertThrows(PatientRetryException.class,
+                                                                      () -> built.from(() -> false).get(0),
+                                                                      "Should throw when no valid result is found.");
+            Assertions.assertAll(() -> Assertions.assertFalse(built.hasWritableStackTraces(), "Should not have writable stack traces."),
+                                 () -> Assertions.assertEquals(0, exception.getStackTrace().length, "Should throw an exception without a stack trace."));
+        }
+
+        @Test
+        @DisplayName("it doesn't add the flight recorder listener twice")
+        void testBuilderDoesNotAddFlightRecorderTwice() {
+            PatientRetry built = PatientRetry.builder()
+                                             .withListener(PatientListeners.flightRecorder())
+                                             .build();
+            Assertions.assertSame(PatientListeners.flightRecorder(),
+                                  built.getListener(),
+                                  "Should only have the flight recorder listener once.");
+        }
+
+        @Test
+        @DisplayName("it returns a PatientRetry with the given name and listener")
+        void testBuilderReturnsGivenNameAndListener() {
+            PatientListener listener = new PatientListener() { };
+            PatientRetry built = PatientRetry.builder()
+                                                .withName("orders")
+                                                .withListener(listener)
+                                                .withFlightRecorderEvents(false)
+                                                .build();
+            Assertions.assertAll(() -> Assertions.assertEquals("orders", built.getName(), "Should have the given name"),
+                                 () -> Assertions.assertSame(listener, built.getListener(), "Should have the given listener"));
+        }
+
         @Test
         @DisplayName("should return a non-null PatientRetry when the build() method is called")
         void testBuilderBuildReturnsNonNull() {
@@ -17,6 +17,7 @@
 package com.redfin.patience;
 
 import com.redfin.patience.delays.FixedPatientDelaySupplierFactory;
+import com.redfin.patience.exceptions.PatientAbortException;
 import com.redfin.patience.exceptions.PatientException;
 import com.redfin.patience.exceptions.PatientTimeoutException;
 import com.redfin.patience.executions.SimplePatientExecutionHandler;
@@ -31,6 +32,7 @@ import org.junit.jupiter.params.provider.ArgumentsProvider;
 import org.junit.jupiter.params.provider.ArgumentsSource;
 
 import java.time.Duration;
+import java.util.Iterator;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
@@ -223,6 +225,21 @@ final class PatientWaitFutureTest {
                                                       messageSupplier),
                                     "Should have thrown an exception for an invalid argument");
         }
+
+        @Test
+        @DisplayName("it accepts a contextual executable")
+        void testAcceptsContextualExecutable() {
+            PatientContextualExecutable<Boolean> executable = context -> 0 == context.getAttemptIndex();
+            Assertions.assertTrue(new PatientWaitFuture<>(Thread::sleep,
+                                                          Duration.ZERO,
+                                                          Duration.ZERO,
+                                                          new SimplePatientExecutionHandler(),
+                                                          new FixedPatientDelaySupplierFactory(Duration.ZERO),
+                                                          executable,
+                                                          bool -> null != bool && bool,
+                                                          (String) null).get(),
+                                  "Should pass the attempt context to a contextual executable.");
+        }
     }
 
     @Nested
@@ -520,6 +537,141 @@ final class PatientWaitFutureTest {
         }
     }
 
+    @Nested
+    @DisplayName("has an execution handler that aborts")
+    final class AbortTests {
+
+        private PatientWaitFuture<Boolean> getAbortingInstance(AtomicInteger counter) {
+            return getInstance(Thread::sleep,
+                               Duration.ZERO,
+                               Duration.ofMinutes(1),
+                               PatientExecutionHandlers.aborting()
+                                                       .withAbortingThrowableType(IllegalStateException.class)
+                                                       .withDelegate(PatientExecutionHandlers.ignoringAll())
+                                                       .build(),
+                               new FixedPatientDelaySupplierFactory(Duration.ZERO),
+                               () -> {
+                                   if (counter.incrementAndGet() < 3) {
+                                       return false;
+                                   }
+                                   throw new IllegalStateException("not found");
+                               },
+                               bool -> null != bool && bool,
+                               "whoops");
+        }
+
+        @Test
+        @DisplayName("it throws an abort exception without waiting for the timeout")
+        void testGetThrowsAbortExceptionImmediately() {
+            AtomicInteger counter = new AtomicInteger(0);
+            PatientAbortException exception = Assertions.assertThrows(PatientAbortException.class,
+                                                                      getAbortingInstance(counter)::get,
+                                                                      "Should throw an abort exception for an aborted attempt.");
+            Assertions.assertEquals(3,
+                                    counter.get(),
+                                    "Should have stopped attempting after the aborted attempt.");
+            Assertions.assertEquals(3,
+                                    exception.getFailedAttemptsCount(),
+                                    "Should carry the descriptions of all the attempts.");
+            Assertions.assertTrue(exception.getCause() instanceof IllegalStateException,
+                                  "Should have the cause of the aborted attempt.");
+        }
+
+        @Test
+        @DisplayName("it returns false from check")
+        void testCheckReturnsFalse() {
+            Assertions.assertFalse(getAbortingInstance(new AtomicInteger(0)).check(),
+                                   "Should return false for an aborted attempt.");
+        }
+    }
+
+    @Nested
+    @DisplayName("has the iterator or stream methods called")
+    final class StreamTests {
+
+        private PatientWait getPatientWait() {
+            return PatientWait.builder()
+                              .withDefaultTimeout(Duration.ofMillis(50))
+                              .withDelaySupplier(PatientDelaySuppliers.fixed(Duration.ofMillis(5)))
+                              .build();
+        }
+
+        @Test
+        @DisplayName("it throws an exception for an invalid argument")
+        void testThrowsForInvalidArgument() {
+            PatientWaitFuture<Boolean> future = getPatientWait().from(() -> true);
+            Assertions.assertAll(() -> Assertions.assertThrows(IllegalArgumentException.class, () -> future.iterator(null)),
+                                 () -> Assertions.assertThrows(IllegalArgumentException.class, () -> future.stream(Duration.ofMillis(-1))));
+        }
+
+        @Test
+        @DisplayName("it returns each attempt and ends after a successful attempt")
+        void testEndsAfterSuccess() {
+            AtomicInteger counter = new AtomicInteger(0);
+            Iterator<PatientExecutionResult<Integer>> iterator = getPatientWait().from(counter::incrementAndGet)
+                                                                                 .withFilter(i -> i > 2)
+                                                                                 .iterator(Duration.ofSeconds(5));
+            Assertions.assertAll(() -> Assertions.assertEquals("1", iterator.next().getFailedAttemptDescription()),
+                                 () -> Assertions.assertEquals("2", iterator.next().getFailedAttemptDescription()),
+                                 () -> Assertions.assertEquals(Integer.valueOf(3), iterator.next().getResult()),
+                                 () -> Assertions.assertFalse(iterator.hasNext()));
+        }
+
+        @Test
+        @DisplayName("it ends without an exception once the timeout is reached")
+        void testEndsAtTimeout() {
+            long count = getPatientWait().from(() -> false).stream().count();
+            Assertions.assertTrue(count > 1, "Should have made several attempts before the timeout.");
+        }
+    }
+
+    @Nested
+    @DisplayName("has it's attempt methods called")
+    final class AttemptTests {
+
+        private PatientWait getPatientWait() {
+            return PatientWait.builder()
+                                           .withSleep((millis, nanos) -> { })
+                                           .withDefaultTimeout(Duration.ofMillis(50))
+                                           .withDelaySupplier(PatientDelaySuppliers.fixed(Duration.ofMillis(20)))
+                                           .build();
+        }
+
+        @Test
+        @DisplayName("it throws an exception for an invalid argument")
+        void testAttemptThrowsForInvalidArgument() {
+            Assertions.assertThrows(IllegalArgumentException.class,
+                                    () -> getPatientWait().from(() -> true).attempt(Duration.ofMillis(-1)),
+                                    "Should throw for an invalid argument.");
+        }
+
+        @Test
+        @DisplayName("it returns a successful outcome with the result")
+        void testAttemptReturnsSuccessfulOutcome() {
+            AtomicInteger counter = new AtomicInteger(0);
+            PatientOutcome<Integer> outcome = getPatientWait().from(counter::incrementAndGet)
+                                                          .withFilter(i -> i > 1)
+                                                          .attempt();
+            Assertions.assertAll(() -> Assertions.assertTrue(outcome.isSuccess(), "Should be successful."),
+                                 () -> Assertions.assertEquals(2, outcome.getResult().intValue(), "Should have the result."),
+                                 () -> Assertions.assertEquals(2, outcome.getAttemptCount(), "Should have the attempt count."),
+                                 () -> Assertions.assertTrue(outcome.getFailedAttemptsDescriptions().isEmpty(), "Should have no failure history."));
+        }
+
+        @Test
+        @DisplayName("it returns an unsuccessful outcome rather than throwing")
+        void testAttemptReturnsUnsuccessfulOutcome() {
+            PatientOutcome<Boolean> outcome = getPatientWait().from(() -> false).attempt(Duration.ofMillis(50));
+            Assertions.assertAll(() -> Assertions.assertFalse(outcome.isSuccess(), "Should be unsuccessful."),
+                                 () -> Assertions.assertTrue(outcome.getAttemptCount() > 0, "Should have the attempt count."),
+                                 () -> Assertions.assertEquals(outcome.getAttemptCount(), outcome.getFailedAttemptsDescriptions().size(), "Should have the failure history."),
+                                 () -> Assertions.assertEquals(outcome.getAttemptCount(), outcome.getAttemptDurationsNanos().length, "Should have the attempt timings."),
+                                 () -> Assertions.assertFalse(outcome.toOptional().isPresent(), "Should have an empty optional."),
+                                 () -> Assertions.assertTrue(outcome.orElse(true), "Should return the other value."),
+                                 () -> Assertions.assertThrows(UnsupportedOperationException.class, outcome::getResult, "Should not have a result."));
+        }
+    }
+
     @Nested
     @DisplayName("has it's check methods called")
     final class CheckTests {
@@ -17,6 +17,8 @@
 package com.redfin.patience;
 
 import com.redfin.patience.delays.FixedPatientDelaySupplierFactory;
+import com.redfin.patience.exceptions.PatientAbortException;
+import com.redfin.patience.exceptions.PatientTimeoutException;
 import com.redfin.patience.executions.SimplePatientExecutionHandler;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
@@ -29,6 +31,20 @@ import org.junit.jupiter.params.provider.ArgumentsProvider;
 import org.junit.jupiter.params.provider.ArgumentsSource;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
 @DisplayName("When a PatientWait")
@@ -180,6 +196,763 @@ final class PatientWaitTest {
         }
     }
 
+    @Nested
+    @DisplayName("has the from(PatientContextualExecutable) method called")
+    final class FromContextualTests {
+
+        @Test
+        @DisplayName("it returns a non-null future for a non-null PatientContextualExecutable")
+        void testFromReturnsNonNull() {
+            Assertions.assertNotNull(getInstance().from(context -> true),
+                                     "Should return a non-null future with from(PatientContextualExecutable) call.");
+        }
+
+        @Test
+        @DisplayName("it throws an exception for a null PatientContextualExecutable")
+        void testFromThrowsForNullExecutable() {
+            Assertions.assertThrows(IllegalArgumentException.class,
+                                    () -> getInstance().from((PatientContextualExecutable<Boolean>) null),
+                                    "Should throw for a null executable to from(PatientContextualExecutable)");
+        }
+
+        @Test
+        @DisplayName("it gives the executable a context for each attempt")
+        void testFromGivesContextForEachAttempt() {
+            Assertions.assertEquals(2,
+                                    (int) PatientWait.builder()
+                                          .withDefaultTimeout(Duration.ofSeconds(5))
+                                          .build().from(context -> context.getAttemptIndex() == 2 ? context.getAttemptIndex() : null)
+                                               .get(),
+                                    "The executable should see the index of each attempt.");
+        }
+
+        @Test
+        @DisplayName("it gives the executable the previous failure")
+        void testFromGivesPreviousFailure() {
+            Assertions.assertEquals("null",
+                                    PatientWait.builder()
+                                          .withDefaultTimeout(Duration.ofSeconds(5))
+                                          .build().from(context -> context.getPreviousFailure().orElse(null))
+                                               .get(),
+                                    "The executable should see the description of the previous failure.");
+        }
+    }
+
+    @Nested
+    @DisplayName("has the primitive until, fromInt, or fromLong methods called")
+    final class PrimitiveTests {
+
+        private PatientWait getWait() {
+            return PatientWait.builder()
+                              .withDefaultTimeout(Duration.ofMillis(50))
+                              .withDelaySupplier(PatientDelaySuppliers.fixed(Duration.ofMillis(5)))
+                              .build();
+        }
+
+        @Test
+        @DisplayName("it throws an exception for a null supplier or filter")
+        void testThrowsForNullArguments() {
+            PatientWait wait = getWait();
+            Assertions.assertAll(() -> Assertions.assertThrows(IllegalArgumentException.class, () -> wait.until(null)),
+                                 () -> Assertions.assertThrows(IllegalArgumentException.class, () -> wait.fromInt(null, i -> true)),
+                                 () -> Assertions.assertThrows(IllegalArgumentException.class, () -> wait.fromInt(() -> 1, null)),
+                                 () -> Assertions.assertThrows(IllegalArgumentException.class, () -> wait.fromLong(null, l -> true)),
+                                 () -> Assertions.assertThrows(IllegalArgumentException.class, () -> wait.fromLong(() -> 1L, null)));
+        }
+
+        @Test
+        @DisplayName("it returns the first value that matches")
+        void testReturnsMatchingValues() {
+            AtomicInteger counter = new AtomicInteger(0);
+            Assertions.assertAll(() -> Assertions.assertTrue(getWait().until(() -> counter.incrementAndGet() > 2).get()),
+                                 () -> Assertions.assertEquals(Integer.valueOf(4), getWait().fromInt(counter::incrementAndGet, i -> i > 3).get()),
+                                 () -> Assertions.assertEquals(Long.valueOf(7L), getWait().fromLong(() -> 7L, l -> l == 7L).get()));
+        }
+
+        @Test
+        @DisplayName("it times out if the supplier never returns true")
+        void testTimesOutForFalse() {
+            PatientTimeoutException exception = Assertions.assertThrows(PatientTimeoutException.class,
+                                                                        () -> getWait().until(() -> false).get());
+            Assertions.assertTrue(exception.getFailedAttemptsDescriptions().stream().allMatch("false"::equals),
+                                  "Each unsuccessful attempt should be described as false.");
+        }
+
+        @Test
+        @DisplayName("it gives the values to an execution handler that looks at them")
+        void testGivesValuesToExecutionHandler() {
+            PatientWait wait = PatientWait.builder()
+                                          .withDefaultTimeout(Duration.ofSeconds(5))
+                                          .withDelaySupplier(PatientDelaySuppliers.fixed(Duration.ofMillis(5)))
+                                          .withExecutionHandler(PatientExecutionHandlers.aborting()
+                                                                                        .withAbortingResultPredicate(value -> Integer.valueOf(-1).equals(value)
+                                                                                                                              || Long.valueOf(-1L).equals(value)
+                                                                                                                              || Boolean.FALSE.equals(value))
+                                                                                        .build())
+                                          .build();
+            Assertions.assertAll(() -> Assertions.assertThrows(PatientAbortException.class, () -> wait.until(() -> false).get()),
+                                 () -> Assertions.assertThrows(PatientAbortException.class, () -> wait.fromInt(() -> -1, i -> i > 0).get()),
+                                 () -> Assertions.assertThrows(PatientAbortException.class, () -> wait.fromLong(() -> -1L, l -> l > 0).get()));
+        }
+    }
+
+    @Nested
+    @DisplayName("has the fromAll(Collection) method called")
+    final class FromAllTests {
+
+        private PatientWait getWait(Duration timeout) {
+            return PatientWait.builder()
+                              .withDefaultTimeout(timeout)
+                              .withDelaySupplier(PatientDelaySuppliers.fixed(Duration.ofMillis(5)))
+                              .build();
+        }
+
+        @Test
+        @DisplayName("it throws an exception for a null collection or a null executable")
+        void testThrowsForNullArguments() {
+            PatientWait wait = getWait(Duration.ZERO);
+            Assertions.assertAll(() -> Assertions.assertThrows(IllegalArgumentException.class, () -> wait.fromAll(null)),
+                                 () -> Assertions.assertThrows(IllegalArgumentException.class, () -> wait.fromAll(Arrays.asList(() -> true, null))));
+        }
+
+        @Test
+        @DisplayName("it returns an empty list for an empty collection")
+        void testReturnsEmptyListForEmptyCollection() {
+            Assertions.assertEquals(Collections.emptyList(),
+                                    getWait(Duration.ZERO).fromAll(Collections.<PatientExecutable<String>>emptyList()).get(),
+                                    "Should return an empty list without any executables.");
+        }
+
+        @Test
+        @DisplayName("it executes only the pending items and returns the results in order")
+        void testExecutesOnlyPendingItems() {
+            AtomicInteger ready = new AtomicInteger(0);
+            AtomicInteger slow = new AtomicInteger(0);
+            List<PatientExecutable<Integer>> executables = Arrays.asList(() -> slow.incrementAndGet() >= 3 ? 2 : null,
+                                                                         ready::incrementAndGet);
+            Assertions.assertEquals(Arrays.asList(2, 1),
+                                    getWait(Duration.ofSeconds(5)).fromAll(executables).get(),
+                                    "Should return the result of each executable in order.");
+            Assertions.assertAll(() -> Assertions.assertEquals(3, slow.get(), "The slow item should be executed until it passes."),
+                                 () -> Assertions.assertEquals(1, ready.get(), "The ready item should be executed only once."));
+        }
+
+        @Test
+        @DisplayName("it times out with the history of the pending items")
+        void testTimesOutWithPendingItems() {
+            List<PatientExecutable<Boolean>> executables = Arrays.asList(() -> true, () -> false);
+            PatientTimeoutException exception = Assertions.assertThrows(PatientTimeoutException.class,
+                                                                        () -> getWait(Duration.ofMillis(50)).fromAll(executables).get());
+            Assertions.assertTrue(exception.getFailedAttemptsDescriptions()
+                                           .stream()
+                                           .allMatch("1 of 2 items pending: [1] false"::equals),
+                                  "Each unsuccessful attempt should describe the pending item.");
+        }
+
+        @Test
+        @DisplayName("it times out with a description of only the first few pending items")
+        void testTimesOutWithFirstFewPendingItems() {
+            List<PatientExecutable<Boolean>> executables = new ArrayList<>();
+            for (int i = 0; i < 12; i++) {
+                executables.add(() -> false);
+            }
+            PatientTimeoutException exception = Assertions.assertThrows(PatientTimeoutException.class,
+                                                                        () -> getWait(Duration.ZERO).fromAll(executables).get());
+            Assertions.assertEquals(Collections.singletonList("12 of 12 items pending: [0] false, [1] false, [2] false, [3] false, [4] false, "
+                                                              + "[5] false, [6] false, [7] false, [8] false, [9] false, ..."),
+                                    exception.getFailedAttemptsDescriptions());
+        }
+
+        @Test
+        @DisplayName("it tests the complete results with a new filter and starts over if they don't pass")
+        void testTestsCompleteResultsWithNewFilter() {
+            AtomicInteger ready = new AtomicInteger(0);
+            AtomicInteger slow = new AtomicInteger(0);
+            List<List<Integer>> filtered = new ArrayList<>();
+            List<PatientExecutable<Integer>> executables = Arrays.asList(() -> slow.incrementAndGet() >= 3 ? slow.get() : null,
+                                                                         ready::incrementAndGet);
+            Assertions.assertEquals(Arrays.asList(4, 2),
+                                    getWait(Duration.ofSeconds(5)).fromAll(executables)
+                                                                  .withFilter(results -> filtered.add(results) && results.get(1) > 1)
+                                                                  .get(),
+                                    "Should return the first complete results that pass the new filter.");
+            Assertions.assertAll(() -> Assertions.assertEquals(Arrays.asList(Arrays.asList(3, 1), Arrays.asList(4, 2)), filtered,
+                                                               "The new filter should only be given complete results."),
+                                 () -> Assertions.assertEquals(2, ready.get(),
+                                                               "A passed item should only be executed again once the results didn't pass."));
+        }
+
+        @Test
+        @DisplayName("it aborts with the index of an aborted item")
+        void testAbortsWithIndexOfAbortedItem() {
+            PatientWait wait = PatientWait.builder()
+                                          .withDefaultTimeout(Duration.ofSeconds(5))
+                                          .withExecutionHandler(PatientExecutionHandlers.aborting()
+                                                                                        .withAbortingResultPredicate("gone"::equals)
+                                                                                        .build())
+                                          .build();
+            List<PatientExecutable<String>> executables = Arrays.asList(() -> "up", () -> "gone");
+            PatientAbortException exception = Assertions.assertThrows(PatientAbortException.class,
+                                                                      () -> wait.fromAll(executables).get());
+            Assertions.assertTrue(exception.getFailedAttemptsDescriptions().get(0).startsWith("[1] "),
+                                  "Should describe the aborted item by its index, but was: " + exception.getFailedAttemptsDescriptions());
+        }
+    }
+
+    @Nested
+    @DisplayName("has the fromAny(Collection) or fromAny(Collection, Executor) method called")
+    final class FromAnyTests {
+
+        private PatientWait getWait(Duration timeout) {
+            return PatientWait.builder()
+                              .withDefaultTimeout(timeout)
+                              .withDelaySupplier(PatientDelaySuppliers.fixed(Duration.ofMillis(5)))
+                              .build();
+        }
+
+        @Test
+        @DisplayName("it throws an exception for a null or empty collection, a null executable, or a null executor")
+        void testThrowsForInvalidArguments() {
+            PatientWait wait = getWait(Duration.ZERO);
+            List<PatientExecutable<Boolean>> executables = Collections.singletonList(() -> true);
+            Assertions.assertAll(() -> Assertions.assertThrows(IllegalArgumentException.class, () -> wait.fromAny(null)),
+                                 () -> Assertions.assertThrows(IllegalArgumentException.class, () -> wait.fromAny(Collections.emptyList())),
+                                 () -> Assertions.assertThrows(IllegalArgumentException.class, () -> wait.fromAny(Arrays.asList(() -> true, null))),
+                                 () -> Assertions.assertThrows(IllegalArgumentException.class, () -> wait.fromAny(executables, null)));
+        }
+
+        @Test
+        @DisplayName("it returns the first valid result and stops executing the items")
+        void testReturnsFirstValidResult() {
+            AtomicInteger last = new AtomicInteger(0);
+            List<PatientExecutable<String>> executables = Arrays.asList(() -> null,
+                                                                        () -> "replica",
+                                                                        () -> String.valueOf(last.incrementAndGet()));
+            Assertions.assertEquals("replica",
+                                    getWait(Duration.ZERO).fromAny(executables).get(),
+                                    "Should return the first valid result.");
+            Assertions.assertEquals(0, last.get(), "Should not execute the items after a valid result.");
+        }
+
+        @Test
+        @DisplayName("it tests each item with a new filter")
+        void testTestsEachItemWithNewFilter() {
+            List<PatientExecutable<Integer>> executables = Arrays.asList(() -> 3, () -> 5);
+            ExecutorService executor = Executors.newFixedThreadPool(2);
+            try {
+                Assertions.assertAll(() -> Assertions.assertEquals(Integer.valueOf(5),
+                                                                   getWait(Duration.ZERO).fromAny(executables).withFilter(value -> value >= 5).get(),
+                                                                   "Should return the later item that passes the new filter."),
+                                     () -> Assertions.assertEquals(Integer.valueOf(5),
+                                                                   getWait(Duration.ZERO).fromAny(executables, executor).withFilter(value -> value >= 5).get(),
+                                                                   "Should return the later item that passes the new filter concurrently."));
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        @Test
+        @DisplayName("it starts each attempt with the next item")
+        void testStartsEachAttemptWithNextItem() {
+            List<PatientExecutable<Boolean>> executables = Arrays.asList(() -> false, () -> false);
+            PatientTimeoutException exception = Assertions.assertThrows(PatientTimeoutException.class,
+                                                                        () -> getWait(Duration.ofMillis(50)).fromAny(executables).get());
+            List<String> descriptions = exception.getFailedAttemptsDescriptions();
+            Assertions.assertAll(() -> Assertions.assertEquals("no items passed: [0] false, [1] false", descriptions.get(0)),
+                                 () -> Assertions.assertEquals("no items passed: [1] false, [0] false", descriptions.get(1)));
+        }
+
+        @Test
+        @DisplayName("it returns the first valid result from the executor and cancels the others")
+        void testConcurrentlyCancelsOutstandingItems() throws InterruptedException {
+            ExecutorService executor = Executors.newFixedThreadPool(2);
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch interrupted = new CountDownLatch(1);
+            try {
+                List<PatientExecutable<String>> executables = Arrays.asList(() -> {
+                    started.countDown();
+                    try {
+                        Thread.sleep(Duration.ofMinutes(1).toMillis());
+                    } catch (InterruptedException e) {
+                        interrupted.countDown();
+                    }
+                    return "lagging";
+                }, () -> started.await(5, TimeUnit.SECONDS) ? "replica" : null);
+                Assertions.assertEquals("replica",
+                                        getWait(Duration.ofSeconds(5)).fromAny(executables, executor).get(),
+                                        "Should return the valid result without waiting for the lagging item.");
+                Assertions.assertTrue(interrupted.await(5, TimeUnit.SECONDS),
+                                      "The lagging item should have been cancelled.");
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        @Test
+        @DisplayName("it describes every item when none of them pass on the executor")
+        void testConcurrentlyDescribesEveryItem() {
+            ExecutorService executor = Executors.newFixedThreadPool(2);
+            try {
+                List<PatientExecutable<Boolean>> executables = Arrays.asList(() -> false, () -> null);
+                PatientTimeoutException exception = Assertions.assertThrows(PatientTimeoutException.class,
+                                                                            () -> getWait(Duration.ZERO).fromAny(executables, executor).get());
+                Assertions.assertEquals(Collections.singletonList("no items passed: [0] false, [1] null"),
+                                        exception.getFailedAttemptsDescriptions());
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("has the fromBatch(Collection, PatientBatchExecutable) method called")
+    final class FromBatchTests {
+
+        private PatientWait getWait(Duration timeout) {
+            return PatientWait.builder()
+                              .withDefaultTimeout(timeout)
+                              .withExecutionHandler(PatientExecutionHandlers.ignoringAll())
+                              .withDelaySupplier(PatientDelaySuppliers.fixed(Duration.ofMillis(5)))
+                              .build();
+        }
+
+        @Test
+        @DisplayName("it throws an exception for null keys, a null key, or a null batch executable")
+        void testThrowsForInvalidArguments() {
+            PatientWait wait = getWait(Duration.ZERO);
+            PatientBatchExecutable<String, Boolean> batchExecutable = keys -> Collections.emptyMap();
+            Assertions.assertAll(() -> Assertions.assertThrows(IllegalArgumentException.class, () -> wait.fromBatch(null, batchExecutable)),
+                                 () -> Assertions.assertThrows(IllegalArgumentException.class, () -> wait.fromBatch(Arrays.asList("a", null), batchExecutable)),
+                                 () -> Assertions.assertThrows(IllegalArgumentException.class, () -> wait.fromBatch(Collections.singletonList("a"), null)));
+        }
+
+        @Test
+        @DisplayName("it calls the batch executable with only the pending keys and returns the values in key order")
+        void testCallsWithPendingKeys() {
+            List<Set<String>> calls = new ArrayList<>();
+            PatientBatchExecutable<String, Integer> batchExecutable = keys -> {
+                calls.add(new HashSet<>(keys));
+                Map<String, Integer> values = new HashMap<>();
+                // One more key is done with each call
+                values.put(Arrays.asList("c", "b", "a").get(calls.size() - 1), calls.size());
+                return values;
+            };
+            Map<String, Integer> results = getWait(Duration.ofSeconds(5)).fromBatch(Arrays.asList("a", "b", "c"), batchExecutable).get();
+            Assertions.assertAll(() -> Assertions.assertEquals(Arrays.asList("a", "b", "c"), new ArrayList<>(results.keySet())),
+                                 () -> Assertions.assertEquals(Arrays.asList(3, 2, 1), new ArrayList<>(results.values())),
+                                 () -> Assertions.assertEquals(Arrays.asList(new HashSet<>(Arrays.asList("a", "b", "c")),
+                                                                             new HashSet<>(Arrays.asList("a", "b")),
+                                                                             Collections.singleton("a")),
+                                                               calls));
+        }
+
+        @Test
+        @DisplayName("it keeps trying after a batch call throws an ignored exception")
+        void testKeepsTryingAfterIgnoredException() {
+            AtomicInteger counter = new AtomicInteger(0);
+            PatientBatchExecutable<String, Boolean> batchExecutable = keys -> {
+                if (counter.incrementAndGet() == 1) {
+                    throw new IllegalStateException("whoops");
+                }
+                return Collections.singletonMap("a", true);
+            };
+            Assertions.assertEquals(Collections.singletonMap("a", true),
+                                    getWait(Duration.ofSeconds(5)).fromBatch(Collections.singletonList("a"), batchExecutable).get());
+        }
+
+        @Test
+        @DisplayName("it doesn't call the batch executable without keys")
+        void testDoesNotCallWithoutKeys() {
+            PatientBatchExecutable<String, Integer> batchExecutable = keys -> {
+                throw new AssertionError("Should not be called without keys.");
+            };
+            Assertions.assertAll(() -> Assertions.assertEquals(Collections.emptyMap(),
+                                                               getWait(Duration.ZERO).fromBatch(Collections.<String>emptyList(), batchExecutable).get()),
+                                 () -> Assertions.assertEquals(Collections.emptyMap(),
+                                                               getWait(Duration.ZERO).fromBatch(Collections.<String>emptyList(), batchExecutable)
+                                                                                     .withFilter(Map::isEmpty)
+                                                                                     .get()));
+        }
+
+        @Test
+        @DisplayName("it times out with a description of the first few pending keys")
+        void testTimesOutWithPendingKeys() {
+            List<Integer> keys = new ArrayList<>();
+            for (int i = 0; i < 12; i++) {
+                keys.add(i);
+            }
+            PatientTimeoutException exception = Assertions.assertThrows(PatientTimeoutException.class,
+                                                                        () -> getWait(Duration.ZERO).fromBatch(keys, pending -> Collections.singletonMap(0, true)).get());
+            Assertions.assertEquals(Collections.singletonList("11 of 12 keys pending: [1, 2, 3, 4, 5, 6, 7, 8, 9, 10, ...]"),
+                                    exception.getFailedAttemptsDescriptions());
+        }
+    }
+
+    @Nested
+    @DisplayName("has the fromAccumulating(PatientExecutable, Supplier, BiFunction) method called")
+    final class FromAccumulatingTests {
+
+        private PatientWait getWait(Duration timeout) {
+            return PatientWait.builder()
+                              .withDefaultTimeout(timeout)
+                              .withExecutionHandler(PatientExecutionHandlers.ignoringAll())
+                              .withDelaySupplier(PatientDelaySuppliers.fixed(Duration.ofMillis(5)))
+                              .build();
+        }
+
+        private List<Integer> append(List<Integer> list, List<Integer> page) {
+            list.addAll(page);
+            return list;
+        }
+
+        @Test
+        @DisplayName("it throws an exception for a null executable, initial supplier, or accumulator")
+        void testThrowsForInvalidArguments() {
+            PatientWait wait = getWait(Duration.ZERO);
+            Assertions.assertAll(() -> Assertions.assertThrows(IllegalArgumentException.class, () -> wait.fromAccumulating(null, () -> 0, Integer::sum)),
+                                 () -> Assertions.assertThrows(IllegalArgumentException.class, () -> wait.fromAccumulating(() -> 1, null, Integer::sum)),
+                                 () -> Assertions.assertThrows(IllegalArgumentException.class, () -> wait.<Integer, Integer>fromAccumulating(() -> 1, () -> 0, null)));
+        }
+
+        @Test
+        @DisplayName("it tests the filter with the accumulator and folds each value in once")
+        void testFoldsEachValueOnce() {
+            AtomicInteger pages = new AtomicInteger(0);
+            PatientExecutable<List<Integer>> executable = () -> Collections.singletonList(pages.incrementAndGet());
+            Assertions.assertEquals(Arrays.asList(1, 2, 3),
+                                    getWait(Duration.ofSeconds(5)).fromAccumulating(executable, ArrayList<Integer>::new, this::append)
+                                                                  .withFilter(list -> list.size() >= 3)
+                                                                  .get(),
+                                    "Should return the accumulator once it passes the filter.");
+            Assertions.assertEquals(3, pages.get(),
+                                    "Should execute until the accumulator passes.");
+        }
+
+        @Test
+        @DisplayName("it starts each wait with a new accumulator")
+        void testStartsEachWaitWithNewAccumulator() {
+            PatientWaitFuture<List<Integer>> future = getWait(Duration.ofSeconds(5)).fromAccumulating(() -> Collections.singletonList(1),
+                                                                                                      ArrayList<Integer>::new,
+                                                                                                      this::append)
+                                                                                    .withFilter(list -> list.size() >= 2);
+            Assertions.assertAll(() -> Assertions.assertEquals(Arrays.asList(1, 1), future.get()),
+                                 () -> Assertions.assertEquals(Arrays.asList(1, 1), future.get()));
+        }
+
+        @Test
+        @DisplayName("it leaves the accumulator unchanged for a failed execution")
+        void testLeavesAccumulatorUnchangedForFailedExecution() {
+            AtomicInteger counter = new AtomicInteger(0);
+            PatientExecutable<Integer> executable = () -> {
+                if (counter.incrementAndGet() % 2 == 0) {
+                    throw new IllegalStateException("whoops");
+                }
+                return 1;
+            };
+            Assertions.assertEquals(Integer.valueOf(3),
+                                    getWait(Duration.ofSeconds(5)).fromAccumulating(executable, () -> 0, Integer::sum)
+                                                                  .withFilter(sum -> sum >= 3)
+                                                                  .get(),
+                                    "Should only fold in the values of successful executions.");
+            Assertions.assertEquals(5, counter.get(),
+                                    "Should execute until three values were folded in.");
+        }
+
+        @Test
+        @DisplayName("it times out with the description of the accumulator")
+        void testTimesOutWithAccumulator() {
+            PatientTimeoutException exception = Assertions.assertThrows(PatientTimeoutException.class,
+                                                                        () -> getWait(Duration.ZERO).fromAccumulating(() -> 2, () -> 0, Integer::sum)
+                                                                                                    .withFilter(sum -> sum > 10)
+                                                                                                    .get());
+            Assertions.assertEquals(Collections.singletonList("2"),
+                                    exception.getFailedAttemptsDescriptions());
+        }
+
+        @Test
+        @DisplayName("it describes a collection accumulator by its size and cuts off a long description")
+        void testDescribesAccumulatorWithoutGrowing() {
+            PatientTimeoutException listException = Assertions.assertThrows(PatientTimeoutException.class,
+                                                                            () -> getWait(Duration.ZERO).fromAccumulating(() -> Arrays.asList(1, 2, 3), ArrayList<Integer>::new, this::append)
+                                                                                                        .withFilter(list -> list.size() > 10)
+                                                                                                        .get());
+            StringBuilder longValue = new StringBuilder();
+            for (int i = 0; i < 200; i++) {
+                longValue.append('a');
+            }
+            PatientTimeoutException stringException = Assertions.assertThrows(PatientTimeoutException.class,
+                                                                              () -> getWait(Duration.ZERO).fromAccumulating(longValue::toString, () -> "", String::concat)
+                                                                                                          .withFilter(string -> string.length() > 1000)
+                                                                                                          .get());
+            Assertions.assertAll(() -> Assertions.assertEquals(Collections.singletonList("accumulated 3 items"),
+                                                               listException.getFailedAttemptsDescriptions()),
+                                 () -> Assertions.assertEquals(103,
+                                                               stringException.getFailedAttemptsDescriptions().get(0).length()));
+        }
+    }
+
+    @Nested
+    @DisplayName("has the fromChange(PatientExecutable, BiPredicate), fromChange(PatientExecutable, Object, BiPredicate) or fromStable(PatientExecutable, int, BiPredicate) method called")
+    final class FromChangeTests {
+
+        private PatientWait getWait(Duration timeout) {
+            return PatientWait.builder()
+                              .withDefaultTimeout(timeout)
+                              .withExecutionHandler(PatientExecutionHandlers.ignoringAll())
+                              .withDelaySupplier(PatientDelaySuppliers.fixed(Duration.ofMillis(5)))
+                              .build();
+        }
+
+        private PatientExecutable<String> sequence(String... values) {
+            AtomicInteger index = new AtomicInteger(0);
+            return () -> values[Math.min(index.getAndIncrement(), values.length - 1)];
+        }
+
+        @Test
+        @DisplayName("it throws an exception for invalid arguments")
+        void testThrowsForInvalidArguments() {
+            PatientWait wait = getWait(Duration.ZERO);
+            Assertions.assertAll(() -> Assertions.assertThrows(IllegalArgumentException.class, () -> wait.fromChange(null, Objects::equals)),
+                                 () -> Assertions.assertThrows(IllegalArgumentException.class, () -> wait.fromChange(() -> "a", null)),
+                                 () -> Assertions.assertThrows(IllegalArgumentException.class, () -> wait.fromChange(null, "a", Objects::equals)),
+                                 () -> Assertions.assertThrows(IllegalArgumentException.class, () -> wait.fromChange(() -> "a", "a", null)),
+                                 () -> Assertions.assertThrows(IllegalArgumentException.class, () -> wait.fromStable(null, 2, Objects::equals)),
+                                 () -> Assertions.assertThrows(IllegalArgumentException.class, () -> wait.fromStable(() -> "a", 0, Objects::equals)),
+                                 () -> Assertions.assertThrows(IllegalArgumentException.class, () -> wait.fromStable(() -> "a", 2, null)));
+        }
+
+        @Test
+        @DisplayName("it returns the first value that differs from the previous one")
+        void testReturnsChangedValue() {
+            Assertions.assertEquals("b",
+                                    getWait(Duration.ofSeconds(5)).fromChange(sequence("a", "a", "a", "b", "c"), Objects::equals).get());
+        }
+
+        @Test
+        @DisplayName("it uses the given equivalence")
+        void testUsesEquivalence() {
+            Assertions.assertEquals("C",
+                                    getWait(Duration.ofSeconds(5)).fromChange(sequence("a", "A", "b", "C"), String::equalsIgnoreCase)
+                                                                  .withFilter(value -> value.equals(value.toUpperCase()))
+                                                                  .get(),
+                                    "Should only count a change by the equivalence and test the filter as well.");
+        }
+
+        @Test
+        @DisplayName("it keeps the baseline when a changed value fails the filter")
+        void testKeepsBaselineWhenFilterFails() {
+            Assertions.assertEquals("c",
+                                    getWait(Duration.ofSeconds(5)).fromChange(sequence("a", "b", "a", "b", "c"), Objects::equals)
+                                                                  .withFilter(value -> !value.equals("b"))
+                                                                  .get(),
+                                    "Should compare every value with the first one rather than the one that failed the filter.");
+        }
+
+        @Test
+        @DisplayName("it returns a value that already differs from the given baseline at the first attempt")
+        void testReturnsFirstValueChangedFromGivenBaseline() {
+            AtomicInteger counter = new AtomicInteger(0);
+            Assertions.assertEquals("b",
+                                    getWait(Duration.ofSeconds(5)).fromChange(() -> counter.incrementAndGet() == 1 ? "b" : "c", "a", Objects::equals).get());
+            Assertions.assertEquals(1, counter.get(),
+                                    "Should not need a second attempt when the value has already changed.");
+        }
+
+        @Test
+        @DisplayName("it waits for a change from the given baseline")
+        void testWaitsForChangeFromGivenBaseline() {
+            Assertions.assertEquals("b",
+                                    getWait(Duration.ofSeconds(5)).fromChange(sequence("a", "a", "b"), "a", Objects::equals).get());
+        }
+
+        @Test
+        @DisplayName("it accepts a null baseline")
+        void testAcceptsNullBaseline() {
+            Assertions.assertEquals("a",
+                                    getWait(Duration.ofSeconds(5)).fromChange(() -> "a", null, Objects::equals).get());
+        }
+
+        @Test
+        @DisplayName("it times out with the unchanged values for a given baseline")
+        void testTimesOutWithUnchangedValuesForGivenBaseline() {
+            PatientTimeoutException exception = Assertions.assertThrows(PatientTimeoutException.class,
+                                                                        () -> getWait(Duration.ZERO).fromChange(() -> "a", "a", Objects::equals).get());
+            Assertions.assertEquals(Collections.singletonList("unchanged: a"),
+                                    exception.getFailedAttemptsDescriptions());
+        }
+
+        @Test
+        @DisplayName("it keeps the baseline across a failed execution")
+        void testKeepsBaselineAcrossFailure() {
+            AtomicInteger counter = new AtomicInteger(0);
+            PatientExecutable<String> executable = () -> {
+                int count = counter.incrementAndGet();
+                if (count == 2) {
+                    throw new IllegalStateException("whoops");
+                }
+                return count < 4 ? "a" : "b";
+            };
+            Assertions.assertEquals("b",
+                                    getWait(Duration.ofSeconds(5)).fromChange(executable, Objects::equals).get());
+            Assertions.assertEquals(4, counter.get());
+        }
+
+        @Test
+        @DisplayName("it times out with the baseline and unchanged values")
+        void testTimesOutWithUnchangedValues() {
+            PatientTimeoutException exception = Assertions.assertThrows(PatientTimeoutException.class,
+                                                                        () -> getWait(Duration.ofMillis(50)).fromChange(() -> "a", Objects::equals).get());
+            List<String> descriptions = exception.getFailedAttemptsDescriptions();
+            Assertions.assertAll(() -> Assertions.assertEquals("baseline: a", descriptions.get(0)),
+                                 () -> Assertions.assertTrue(descriptions.stream().skip(1).allMatch("unchanged: a"::equals)));
+        }
+
+        @Test
+        @DisplayName("it returns a value once it has been the same for the given number of polls")
+        void testReturnsStableValue() {
+            Assertions.assertEquals("c",
+                                    getWait(Duration.ofSeconds(5)).fromStable(sequence("a", "b", "b", "c", "c", "c", "d"), 3, Objects::equals).get());
+        }
+
+        @Test
+        @DisplayName("it starts counting again after a failed execution")
+        void testStartsCountingAgainAfterFailure() {
+            AtomicInteger counter = new AtomicInteger(0);
+            PatientExecutable<String> executable = () -> {
+                if (counter.incrementAndGet() == 2) {
+                    throw new IllegalStateException("whoops");
+                }
+                return "a";
+            };
+            Assertions.assertEquals("a",
+                                    getWait(Duration.ofSeconds(5)).fromStable(executable, 2, Objects::equals).get());
+            Assertions.assertEquals(4, counter.get(),
+                                    "The polls before the failure shouldn't count towards stability.");
+        }
+
+        @Test
+        @DisplayName("it times out with how long the value was stable")
+        void testTimesOutWithStablePolls() {
+            PatientTimeoutException exception = Assertions.assertThrows(PatientTimeoutException.class,
+                                                                        () -> getWait(Duration.ZERO).fromStable(() -> "a", 2, Objects::equals).get());
+            Assertions.assertEquals(Collections.singletonList("stable for 1 of 2 polls: a"),
+                                    exception.getFailedAttemptsDescriptions());
+        }
+    }
+
+    @Nested
+    @DisplayName("has the fromProgress(PatientExecutable, ToLongFunction, Duration) method called")
+    final class FromProgressTests {
+
+        private PatientWait getWait(Duration timeout) {
+            return PatientWait.builder()
+                              .withDefaultTimeout(timeout)
+                              .withExecutionHandler(PatientExecutionHandlers.ignoringAll())
+                              .withDelaySupplier(PatientDelaySuppliers.fixed(Duration.ofMillis(10)))
+                              .build();
+        }
+
+        @Test
+        @DisplayName("it throws an exception for invalid arguments")
+        void testThrowsForInvalidArguments() {
+            PatientWait wait = getWait(Duration.ZERO);
+            Assertions.assertAll(() -> Assertions.assertThrows(IllegalArgumentException.class, () -> wait.<Integer>fromProgress(null, i -> i, Duration.ZERO)),
+                                 () -> Assertions.assertThrows(IllegalArgumentException.class, () -> wait.fromProgress(() -> 1, null, Duration.ZERO)),
+                                 () -> Assertions.assertThrows(IllegalArgumentException.class, () -> wait.fromProgress(() -> 1, i -> i, null)),
+                                 () -> Assertions.assertThrows(IllegalArgumentException.class, () -> wait.fromProgress(() -> 1, i -> i, NEGATIVE_DURATION)));
+        }
+
+        @Test
+        @DisplayName("it keeps waiting past the stall timeout while there is progress")
+        void testKeepsWaitingWithProgress() {
+            AtomicInteger counter = new AtomicInteger(0);
+            long start = System.nanoTime();
+            Integer result = getWait(Duration.ofSeconds(10)).fromProgress(counter::incrementAndGet, i -> i, Duration.ofMillis(200))
+                                                            .withFilter(i -> Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofMillis(400)) >= 0)
+                                                            .get();
+            Assertions.assertEquals(counter.get(), result.intValue(),
+                                    "Should return the value that passed the filter after the stall timeout.");
+        }
+
+        @Test
+        @DisplayName("it aborts early without progress")
+        void testAbortsWithoutProgress() {
+            long start = System.nanoTime();
+            PatientAbortException exception = Assertions.assertThrows(PatientAbortException.class,
+                                                                      () -> getWait(Duration.ofSeconds(10)).fromProgress(() -> 7, i -> i, Duration.ofMillis(50))
+                                                                                                           .withFilter(i -> i > 7)
+                                                                                                           .get());
+            Assertions.assertAll(() -> Assertions.assertTrue(exception.getMessage().contains("no progress past 7 within PT0.05S, progress 7: 7"),
+                                                             "Should describe the stall, but was: " + exception.getMessage()),
+                                 () -> Assertions.assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(5)) < 0,
+                                                             "Should not have used the whole timeout."));
+        }
+
+        @Test
+        @DisplayName("it starts the stall timeout at the first attempt")
+        void testStartsStallTimeoutAtFirstAttempt() {
+            AtomicInteger counter = new AtomicInteger(0);
+            PatientWait wait = PatientWait.builder()
+                                          .withInitialDelay(Duration.ofMillis(100))
+                                          .withDefaultTimeout(Duration.ofSeconds(10))
+                                          .withExecutionHandler(PatientExecutionHandlers.ignoringAll())
+                                          .withDelaySupplier(PatientDelaySuppliers.fixed(Duration.ofMillis(10)))
+                                          .build();
+            Assertions.assertEquals(5,
+                                    wait.fromProgress(() -> {
+                                        if (counter.incrementAndGet() == 1) {
+                                            throw new IllegalStateException("whoops");
+                                        }
+                                        return 5;
+                                    }, i -> i, Duration.ofMillis(50)).get().intValue(),
+                                    "Should not count the initial delay against the stall timeout.");
+        }
+
+        @Test
+        @DisplayName("it doesn't sleep past the stall timeout")
+        void testDoesNotSleepPastStallTimeout() {
+            long start = System.nanoTime();
+            PatientWait wait = PatientWait.builder()
+                                          .withDefaultTimeout(Duration.ofSeconds(30))
+                                          .withDelaySupplier(PatientDelaySuppliers.fixed(Duration.ofSeconds(10)))
+                                          .build();
+            Assertions.assertThrows(PatientAbortException.class,
+                                    () -> wait.fromProgress(() -> 7, i -> i, Duration.ofMillis(50))
+                                              .withFilter(i -> i > 7)
+                                              .get());
+            Assertions.assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(5)) < 0,
+                                  "Should have limited the delay to the end of the stall timeout.");
+        }
+
+        @Test
+        @DisplayName("it throws a stall from attempt rather than returning an outcome")
+        void testThrowsStallFromAttempt() {
+            Assertions.assertThrows(PatientAbortException.class,
+                                    () -> getWait(Duration.ofSeconds(10)).fromProgress(() -> 7, i -> i, Duration.ofMillis(50))
+                                                                         .withFilter(i -> i > 7)
+                                                                         .attempt());
+        }
+
+        @Test
+        @DisplayName("it counts failed executions as stalled")
+        void testCountsFailedExecutionsAsStalled() {
+            Assertions.assertThrows(PatientAbortException.class,
+                                    () -> getWait(Duration.ofSeconds(10)).fromProgress(() -> {
+                                        throw new IllegalStateException("whoops");
+                                    }, i -> 0L, Duration.ofMillis(50)).get());
+        }
+
+        @Test
+        @DisplayName("it times out at the cap with progress")
+        void testTimesOutAtCap() {
+            AtomicInteger counter = new AtomicInteger(0);
+            Assertions.assertThrows(PatientTimeoutException.class,
+                                    () -> getWait(Duration.ofMillis(100)).fromProgress(counter::incrementAndGet, i -> i, Duration.ofSeconds(10))
+                                                                         .withFilter(i -> i < 0)
+                                                                         .get());
+        }
+    }
+
     @Nested
     @DisplayName("has the getDefaultFilter() method called")
     final class FilterTests {
@@ -287,6 +1060,115 @@ final class PatientWaitTest {
                                     "PatientWait builder should throw for null delay supplier.");
         }
 
+        @Test
+        @DisplayName("it throws an exception for a null minimum suggested delay")
+        void testBuilderThrowsForNullMinimumSuggestedDelay() {
+            Assertions.assertThrows(IllegalArgumentException.class,
+                                    () -> PatientWait.builder()
+                                                .withSuggestedDelayBounds(null, POSITIVE_DURATION),
+                                    "PatientWait builder should throw for null minimum suggested delay.");
+        }
+
+        @Test
+        @DisplayName("it throws an exception for a negative minimum suggested delay")
+        void testBuilderThrowsForNegativeMinimumSuggestedDelay() {
+            Assertions.assertThrows(IllegalArgumentException.class,
+                                    () -> PatientWait.builder()
+                                                .withSuggestedDelayBounds(NEGATIVE_DURATION, POSITIVE_DURATION),
+                                    "PatientWait builder should throw for negative minimum suggested delay.");
+        }
+
+        @Test
+        @DisplayName("it throws an exception for a maximum suggested delay less than the minimum")
+        void testBuilderThrowsForMaximumSuggestedDelayLessThanMinimum() {
+            Assertions.assertThrows(IllegalArgumentException.class,
+                                    () -> PatientWait.builder()
+                                                .withSuggestedDelayBounds(POSITIVE_DURATION, Duration.ZERO),
+                                    "PatientWait builder should throw for a maximum suggested delay less than the minimum.");
+        }
+
+        @Test
+        @DisplayName("it returns a PatientWait with the given suggested delay bounds")
+        void testBuilderReturnsGivenSuggestedDelayBounds() {
+            PatientWait built = PatientWait.builder()
+                                              .withSuggestedDelayBounds(Duration.ZERO, POSITIVE_DURATION)
+                                              .build();
+            Assertions.assertAll(() -> Assertions.assertEquals(Duration.ZERO, built.getMinimumSuggestedDelay(), "Should have the given minimum suggested delay"),
+                                 () -> Assertions.assertEquals(POSITIVE_DURATION, built.getMaximumSuggestedDelay(), "Should have the given maximum suggested delay"));
+        }
+
+        @Test
+        @DisplayName("it throws an exception for a null or empty name")
+        void testBuilderThrowsForNullOrEmptyName() {
+            Assertions.assertAll(() -> Assertions.assertThrows(IllegalArgumentException.class,
+                                                               () -> PatientWait.builder().withName(null),
+                                                               "PatientWait builder should throw for a null name."),
+                                 () -> Assertions.assertThrows(IllegalArgumentException.class,
+                                                               () -> PatientWait.builder().withName(""),
+                                                               "PatientWait builder should throw for an empty name."));
+        }
+
+        @Test
+        @DisplayName("it throws an exception for a null listener")
+        void testBuilderThrowsForNullListener() {
+            Assertions.assertThrows(IllegalArgumentException.class,
+                                    () -> PatientWait.builder()
+                                                .withListener(null),
+                                    "PatientWait builder should throw for a null listener.");
+        }
+
+        @Test
+        @DisplayName("it returns a PatientWait with the default name and only the flight recorder listener")
+        void testBuilderReturnsDefaultNameAndListener() {
+            PatientWait built = PatientWait.builder().build();
+            Assertions.assertAll(() -> Assertions.assertEquals("PatientWait", built.getName(), "Should have the default name"),
+                                 () -> Assertions.assertSame(PatientListeners.flightRecorder(), built.getListener(), "Should only have the flight recorder listener"));
+        }
+
+        @Test
+        @DisplayName("it has writable stack traces by default")
+        void testBuilderHasWritableStackTracesByDefault() {
+            Assertions.assertTrue(PatientWait.builder().build().hasWritableStackTraces(),
+                                  "Should have writable stack traces by default.");
+        }
+
+        @Test
+        @DisplayName("it throws exceptions without stack traces when they aren't writable")
+        void testBuilderWithoutWritableStackTraces() {
+            PatientWait built = PatientWait.builder()
+                                           .withWritableStackTraces(false)
+                                           .build();
+            PatientTimeoutException exception = Assertions.assertThrows(PatientTimeoutException.class,
+                                                                        () -> built.from(() -> false).get(Duration.ZERO),
+                                                                        "Should throw when no valid result is found.");
+            Assertions.assertAll(() -> Assertions.assertFalse(built.hasWritableStackTraces(), "Should not have writable stack traces."),
+                                 () -> Assertions.assertEquals(0, exception.getStackTrace().length, "Should throw an exception without a stack trace."));
+        }
+
+        @Test
+        @DisplayName("it doesn't add the flight recorder listener twice")
+        void testBuilderDoesNotAddFlightRecorderTwice() {
+            PatientWait built = PatientWait.builder()
+                                           .withListener(PatientListeners.flightRecorder())
+                                           .build();
+            Assertions.assertSame(PatientListeners.flightRecorder(),
+                                  built.getListener(),
+                                  "Should only have the flight recorder listener once.");
+        }
+
+        @Test
+        @DisplayName("it returns a PatientWait with the given name and listener")
+        void testBuilderReturnsGivenNameAndListener() {
+            PatientListener listener = new PatientListener() { };
+            PatientWait built = PatientWait.builder()
+                                              .withName("orders")
+                                              .withListener(listener)
+                                              .withFlightRecorderEvents(false)
+                                              .build();
+            Assertions.assertAll(() -> Assertions.assertEquals("orders", built.getName(), "Should have the given name"),
+                                 () -> Assertions.assertSame(listener, built.getListener(), "Should have the given listener"));
+        }
+
         @Test
         @DisplayName("should return a non-null PatientWait when the build() method is called")
         void testBuilderBuildReturnsNonNull() {
@@ -0,0 +1,163 @@
+/*
+ * Copyright: (c) 2016 Redfin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.redfin.patience.delays;
+
+import com.redfin.patience.PatientCauseAwareDelaySupplier;
+import com.redfin.patience.PatientDelaySupplierFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+@DisplayName("When a ThrowableTypePatientDelaySupplierFactory")
+final class ThrowableTypePatientDelaySupplierFactoryTest {
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Test constants, requirements, and helpers
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    private ThrowableTypePatientDelaySupplierFactory getInstance() {
+        Map<Class<? extends Throwable>, PatientDelaySupplierFactory> factories = new HashMap<>();
+        factories.put(IOException.class, new ExponentialPatientDelaySupplierFactory(2, Duration.ofSeconds(1)));
+        factories.put(IllegalStateException.class, new FixedPatientDelaySupplierFactory(Duration.ofMillis(10)));
+        return new ThrowableTypePatientDelaySupplierFactory(factories,
+                                                            new FixedPatientDelaySupplierFactory(Duration.ofMillis(1)));
+    }
+
+    private PatientCauseAwareDelaySupplier getSupplier() {
+        Supplier<Duration> supplier = getInstance().create();
+        Assertions.assertTrue(supplier instanceof PatientCauseAwareDelaySupplier,
+                              "Should create a cause aware delay supplier.");
+        return (PatientCauseAwareDelaySupplier) supplier;
+    }
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Test cases
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    @Nested
+    @DisplayName("is constructed")
+    final class ConstructorTests {
+
+        @Test
+        @DisplayName("it throws an exception for a null map")
+        void testThrowsForNullMap() {
+            Assertions.assertThrows(IllegalArgumentException.class,
+                                    () -> new ThrowableTypePatientDelaySupplierFactory(null, new FixedPatientDelaySupplierFactory(Duration.ZERO)),
+                                    "Should throw an exception for a null map.");
+        }
+
+        @Test
+        @DisplayName("it throws an exception for a null key")
+        void testThrowsForNullKey() {
+            Assertions.assertThrows(IllegalArgumentException.class,
+                                    () -> new ThrowableTypePatientDelaySupplierFactory(Collections.singletonMap(null, new FixedPatientDelaySupplierFactory(Duration.ZERO)),
+                                                                                       new FixedPatientDelaySupplierFactory(Duration.ZERO)),
+                                    "Should throw an exception for a null key.");
+        }
+
+        @Test
+        @DisplayName("it throws an exception for a null value")
+        void testThrowsForNullValue() {
+            Assertions.assertThrows(IllegalArgumentException.class,
+                                    () -> new ThrowableTypePatientDelaySupplierFactory(Collections.singletonMap(IOException.class, null),
+                                                                                       new FixedPatientDelaySupplierFactory(Duration.ZERO)),
+                                    "Should throw an exception for a null value.");
+        }
+
+        @Test
+        @DisplayName("it throws an exception for a null default factory")
+        void testThrowsForNullDefaultFactory() {
+            Assertions.assertThrows(IllegalArgumentException.class,
+                                    () -> new ThrowableTypePatientDelaySupplierFactory(Collections.emptyMap(), null),
+                                    "Should throw an exception for a null default factory.");
+        }
+    }
+
+    @Nested
+    @DisplayName("has the create() method called")
+    final class BehaviorTests {
+
+        @Test
+        @DisplayName("it returns separate Supplier instances for each invocation")
+        void testReturnsDifferentSupplierForEachCallToCreate() {
+            PatientDelaySupplierFactory factory = getInstance();
+            Assertions.assertTrue(factory.create() != factory.create(),
+                                  "Separate calls to create should return different Supplier instances.");
+        }
+
+        @Test
+        @DisplayName("it uses the default schedule without a cause")
+        void testUsesDefaultScheduleWithoutCause() {
+            Assertions.assertEquals(Duration.ofMillis(1),
+                                    getSupplier().get(),
+                                    "Should use the default schedule without a cause.");
+        }
+
+        @Test
+        @DisplayName("it uses the default schedule for an unmatched cause")
+        void testUsesDefaultScheduleForUnmatchedCause() {
+            Assertions.assertEquals(Duration.ofMillis(1),
+                                    getSupplier().get(new IllegalArgumentException("whoops")),
+                                    "Should use the default schedule for an unmatched cause.");
+        }
+
+        @Test
+        @DisplayName("it uses the schedule of the nearest super class")
+        void testUsesScheduleOfNearestSuperClass() {
+            Assertions.assertEquals(Duration.ofSeconds(1),
+                                    getSupplier().get(new FileNotFoundException("whoops")),
+                                    "Should use the schedule of the nearest super class of the cause.");
+        }
+
+        @Test
+        @DisplayName("it progresses each schedule independently")
+        void testProgressesEachScheduleIndependently() {
+            PatientCauseAwareDelaySupplier supplier = getSupplier();
+            Assertions.assertEquals(Arrays.asList(Duration.ofSeconds(1),
+                                                  Duration.ofMillis(10),
+                                                  Duration.ofSeconds(2),
+                                                  Duration.ofMillis(1),
+                                                  Duration.ofSeconds(4)),
+                                    Arrays.asList(supplier.get(new IOException("whoops")),
+                                                  supplier.get(new IllegalStateException("whoops")),
+                                                  supplier.get(new IOException("whoops")),
+                                                  supplier.get(),
+                                                  supplier.get(new IOException("whoops"))),
+                                    "Each schedule should progress independently.");
+        }
+
+        @Test
+        @DisplayName("it doesn't share progression between suppliers")
+        void testDoesNotShareProgressionBetweenSuppliers() {
+            PatientDelaySupplierFactory factory = getInstance();
+            ((PatientCauseAwareDelaySupplier) factory.create()).get(new IOException("whoops"));
+            Assertions.assertEquals(Duration.ofSeconds(1),
+                                    ((PatientCauseAwareDelaySupplier) factory.create()).get(new IOException("whoops")),
+                                    "A new supplier should start each schedule from the beginning.");
+        }
+    }
+}
@@ -26,6 +26,7 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.ArgumentsProvider;
 import org.junit.jupiter.params.provider.ArgumentsSource;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -40,6 +41,11 @@ abstract class AbstractRepeatedAttemptsExceptionTest<X extends AbstractRepeatedA
     protected abstract X getInstance(String message,
                                      List<String> failedAttemptsDescription);
 
+    protected abstract X getInstance(String message,
+                                     List<String> failedAttemptsDescription,
+                                     long[] attemptDurationsNanos,
+                                     long[] sleepDurationsNanos);
+
     private static final class ValidArgumentsProvider
                     implements ArgumentsProvider {
 
@@ -132,4 +138,49 @@ abstract class AbstractRepeatedAttemptsExceptionTest<X extends AbstractRepeatedA
                                     "Should return an unmodifiable list of failed attempts descriptions.");
         }
     }
+
+    @Nested
+    @DisplayName("is created with attempt timings")
+    final class TimingTests {
+
+        @Test
+        @DisplayName("it throws an exception for a null timings array")
+        void testThrowsForNullTimings() {
+            Assertions.assertThrows(IllegalArgumentException.class,
+                                    () -> getInstance("hello", Collections.singletonList("world"), null, new long[1]),
+                                    "Should throw for a null timings array.");
+        }
+
+        @Test
+        @DisplayName("it throws an exception for a timings array of the wrong length")
+        void testThrowsForWrongLengthTimings() {
+            Assertions.assertThrows(IllegalArgumentException.class,
+                                    () -> getInstance("hello", Collections.singletonList("world"), new long[1], new long[2]),
+                                    "Should throw for a timings array of the wrong length.");
+        }
+
+        @Test
+        @DisplayName("it returns empty timings when none were given")
+        void testReturnsEmptyTimingsByDefault() {
+            X exception = getInstance("hello", Collections.singletonList("world"));
+            Assertions.assertAll(() -> Assertions.assertEquals(0, exception.getAttemptDurationsNanos().length, "Should have no attempt durations."),
+                                 () -> Assertions.assertEquals(0, exception.getSleepDurationsNanos().length, "Should have no sleep durations."),
+                                 () -> Assertions.assertEquals(Duration.ZERO, exception.getTotalAttemptDuration(), "Should have a zero total attempt duration."),
+                                 () -> Assertions.assertEquals(Duration.ZERO, exception.getTotalSleepDuration(), "Should have a zero total sleep duration."));
+        }
+
+        @Test
+        @DisplayName("it returns copies of the given timings and their totals")
+        void testReturnsGivenTimings() {
+            long[] attempts = {1, 2};
+            long[] sleeps = {0, 10};
+            X exception = getInstance("hello", Arrays.asList("world", "unit"), attempts, sleeps);
+            attempts[0] = 100;
+            exception.getSleepDurationsNanos()[1] = 100;
+            Assertions.assertAll(() -> Assertions.assertArrayEquals(new long[]{1, 2}, exception.getAttemptDurationsNanos(), "Should have the attempt durations."),
+                                 () -> Assertions.assertArrayEquals(new long[]{0, 10}, exception.getSleepDurationsNanos(), "Should have the sleep durations."),
+                                 () -> Assertions.assertEquals(Duration.ofNanos(3), exception.getTotalAttemptDuration(), "Should have the total attempt duration."),
+                                 () -> Assertions.assertEquals(Duration.ofNanos(10), exception.getTotalSleepDuration(), "Should have the total sleep duration."));
+        }
+    }
 }
@@ -0,0 +1,60 @@
+/*
+ * Copyright: (c) 2016 Redfin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.redfin.patience.exceptions;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+@DisplayName("When a PatientAbortException")
+public final class PatientAbortExceptionTest
+           extends AbstractRepeatedAttemptsExceptionTest<PatientAbortException> {
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Test constants, requirements, and helpers
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    @Override
+    protected PatientAbortException getInstance(String message,
+                                                List<String> failedAttemptsDescription) {
+        return new PatientAbortException(message, failedAttemptsDescription);
+    }
+
+    @Override
+    protected PatientAbortException getInstance(String message,
+                                                List<String> failedAttemptsDescription,
+                                                long[] attemptDurationsNanos,
+                                                long[] sleepDurationsNanos) {
+        return new PatientAbortException(message, failedAttemptsDescription, attemptDurationsNanos, sleepDurationsNanos, null);
+    }
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Test cases
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    @Test
+    @DisplayName("it returns the given cause")
+    void testReturnsGivenCause() {
+        Throwable cause = new IllegalStateException("whoops");
+        Assertions.assertSame(cause,
+                              new PatientAbortException("hello", Collections.singletonList("world"), cause).getCause(),
+                              "Should return the given cause.");
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright: (c) 2016 Redfin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.redfin.patience.exceptions;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+@DisplayName("When a PatientParallelException")
+final class PatientParallelExceptionTest {
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Test cases
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    @Test
+    @DisplayName("it throws an exception for a negative item count")
+    void testThrowsForNegativeItemCount() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                                () -> new PatientParallelException("message", -1, Collections.singletonMap(0, new RuntimeException()), null));
+    }
+
+    @Test
+    @DisplayName("it throws an exception for null or empty failures")
+    void testThrowsForNullOrEmptyFailures() {
+        Assertions.assertAll(() -> Assertions.assertThrows(IllegalArgumentException.class,
+                                                           () -> new PatientParallelException("message", 1, null, null)),
+                             () -> Assertions.assertThrows(IllegalArgumentException.class,
+                                                           () -> new PatientParallelException("message", 1, Collections.emptyMap(), null)));
+    }
+
+    @Test
+    @DisplayName("it returns the given values with the failures in index order")
+    void testReturnsGivenValues() {
+        RuntimeException cause = new RuntimeException("first");
+        Map<Integer, Throwable> failures = new HashMap<>();
+        failures.put(7, new RuntimeException("second"));
+        failures.put(2, cause);
+        PatientParallelException exception = new PatientParallelException("message", 10, failures, cause);
+        Assertions.assertAll(() -> Assertions.assertEquals("message", exception.getMessage()),
+                             () -> Assertions.assertEquals(10, exception.getItemCount()),
+                             () -> Assertions.assertEquals(Arrays.asList(2, 7), Arrays.asList(exception.getFailures().keySet().toArray())),
+                             () -> Assertions.assertSame(cause, exception.getCause()),
+                             () -> Assertions.assertThrows(UnsupportedOperationException.class, () -> exception.getFailures().clear()));
+    }
+}
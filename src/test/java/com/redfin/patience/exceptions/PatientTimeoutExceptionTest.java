@@ -16,8 +16,11 @@
 
 package com.redfin.patience.exceptions;
 
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
 
+import java.util.Collections;
 import java.util.List;
 
 @DisplayName("When a PatientTimeoutException")
@@ -34,4 +37,33 @@ final class PatientTimeoutExceptionTest
         return new PatientTimeoutException(message,
                                            failedAttemptsDescription);
     }
+
+    @Override
+    protected PatientTimeoutException getInstance(String message,
+                                                  List<String> failedAttemptsDescription,
+                                                  long[] attemptDurationsNanos,
+                                                  long[] sleepDurationsNanos) {
+        return new PatientTimeoutException(message, failedAttemptsDescription, attemptDurationsNanos, sleepDurationsNanos);
+    }
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Test cases
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    @Test
+    @DisplayName("it has no stack trace or suppressed exceptions when they aren't writable")
+    void testNoStackTraceWhenNotWritable() {
+        PatientTimeoutException exception = new PatientTimeoutException("hello", Collections.singletonList("world"), new long[1], new long[1], false);
+        exception.addSuppressed(new IllegalStateException("whoops"));
+        Assertions.assertAll(() -> Assertions.assertEquals(0, exception.getStackTrace().length, "Should have no stack trace."),
+                             () -> Assertions.assertEquals(0, exception.getSuppressed().length, "Should have no suppressed exceptions."));
+    }
+
+    @Test
+    @DisplayName("it has a stack trace when it is writable")
+    void testStackTraceWhenWritable() {
+        Assertions.assertNotEquals(0,
+                                   new PatientTimeoutException("hello", Collections.singletonList("world"), new long[1], new long[1], true).getStackTrace().length,
+                                   "Should have a stack trace.");
+    }
 }
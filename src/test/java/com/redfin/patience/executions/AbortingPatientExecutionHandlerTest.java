@@ -0,0 +1,154 @@
+/*
+ * Copyright: (c) 2016 Redfin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.redfin.patience.executions;
+
+import com.redfin.patience.PatientExecutionResult;
+import com.redfin.patience.exceptions.PatientExecutionException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.Optional;
+
+@DisplayName("When an AbortingPatientExecutionHandler")
+final class AbortingPatientExecutionHandlerTest
+    extends AbstractExecutionHandlerTest<AbortingPatientExecutionHandler> {
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Test constants, requirements, and helpers
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    @Override
+    public AbortingPatientExecutionHandler getInstance() {
+        return AbortingPatientExecutionHandler.builder().build();
+    }
+
+    private AbortingPatientExecutionHandler getAbortingInstance() {
+        return AbortingPatientExecutionHandler.builder()
+                                              .withAbortingThrowableType(IllegalStateException.class)
+                                              .withAbortingResultPredicate(value -> "not found".equals(value))
+                                              .withDelegate(new IgnoringPatientExecutionHandler(Collections.singletonList(RuntimeException.class)))
+                                              .build();
+    }
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Test cases
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    @Nested
+    @DisplayName("is built")
+    final class BuilderTests {
+
+        @Test
+        @DisplayName("it throws an exception for a null delegate")
+        void testThrowsForNullDelegate() {
+            Assertions.assertThrows(IllegalArgumentException.class,
+                                    () -> AbortingPatientExecutionHandler.builder().withDelegate(null),
+                                    "Should throw for a null delegate.");
+        }
+
+        @Test
+        @DisplayName("it throws an exception for a null throwable type")
+        void testThrowsForNullThrowableType() {
+            Assertions.assertThrows(IllegalArgumentException.class,
+                                    () -> AbortingPatientExecutionHandler.builder().withAbortingThrowableType(null),
+                                    "Should throw for a null throwable type.");
+        }
+
+        @Test
+        @DisplayName("it throws an exception for a null result predicate")
+        void testThrowsForNullResultPredicate() {
+            Assertions.assertThrows(IllegalArgumentException.class,
+                                    () -> AbortingPatientExecutionHandler.builder().withAbortingResultPredicate(null),
+                                    "Should throw for a null result predicate.");
+        }
+    }
+
+    @Nested
+    @DisplayName("is executing with aborting types and predicates")
+    final class AbortingBehaviorTests {
+
+        @Test
+        @DisplayName("it aborts for an aborting type thrown from the executable")
+        void testAbortsForAbortingThrowable() {
+            IllegalStateException thrown = new IllegalStateException("whoops");
+            PatientExecutionResult<String> result = getAbortingInstance().execute(() -> {
+                                                                                      throw thrown;
+                                                                                  },
+                                                                                  getNonNullPredicate());
+            Assertions.assertTrue(result.isAborted(),
+                                  "Should abort for an aborting throwable type.");
+            Assertions.assertEquals(Optional.of(thrown),
+                                    result.getCause(),
+                                    "Should have the thrown throwable as the cause.");
+        }
+
+        @Test
+        @DisplayName("it aborts for a subclass of an aborting type thrown from the executable")
+        void testAbortsForAbortingThrowableSubclass() {
+            Assertions.assertTrue(AbortingPatientExecutionHandler.builder()
+                                                                 .withAbortingThrowableType(RuntimeException.class)
+                                                                 .build()
+                                                                 .execute(() -> {
+                                                                              throw new IllegalArgumentException("whoops");
+                                                                          },
+                                                                          getNonNullPredicate())
+                                                                 .isAborted(),
+                                  "Should abort for a subclass of an aborting throwable type.");
+        }
+
+        @Test
+        @DisplayName("it aborts for a value matching an aborting predicate")
+        void testAbortsForAbortingValue() {
+            Assertions.assertTrue(getAbortingInstance().execute(() -> "not found", getNonNullPredicate()).isAborted(),
+                                  "Should abort for a value matching an aborting predicate.");
+        }
+
+        @Test
+        @DisplayName("it hands other throwables to the delegate")
+        void testDelegatesOtherThrowables() {
+            PatientExecutionResult<String> result = getAbortingInstance().execute(() -> {
+                                                                                      throw new IllegalArgumentException("whoops");
+                                                                                  },
+                                                                                  getNonNullPredicate());
+            Assertions.assertFalse(result.isSuccess() || result.isAborted(),
+                                   "Should have the delegate ignore a non-aborting throwable.");
+        }
+
+        @Test
+        @DisplayName("it hands other values to the delegate")
+        void testDelegatesOtherValues() {
+            Assertions.assertTrue(getAbortingInstance().execute(() -> "found", getNonNullPredicate()).isSuccess(),
+                                  "Should have the delegate pass a non-aborting value.");
+        }
+
+        @Test
+        @DisplayName("it throws an exception for a throwable from an aborting predicate")
+        void testThrowsForThrowableFromPredicate() {
+            Assertions.assertThrows(PatientExecutionException.class,
+                                    () -> AbortingPatientExecutionHandler.builder()
+                                                                         .withAbortingResultPredicate(value -> {
+                                                                             throw new AssertionError("whoops");
+                                                                         })
+                                                                         .build()
+                                                                         .execute(() -> true, getNonNullPredicate()),
+                                    "Should throw an execution exception for a throwable from an aborting predicate.");
+        }
+    }
+}
@@ -29,6 +29,7 @@ import org.junit.jupiter.params.provider.ArgumentsSource;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Optional;
 import java.util.stream.Stream;
 
 @DisplayName("When an IgnoringPatientExecutionHandler")
@@ -153,6 +154,19 @@ final class IgnoringPatientExecutionHandlerTest
                                                                                  });
         }
 
+        @Test
+        @DisplayName("it returns the ignored throwable as the cause of the failure")
+        void testReturnsIgnoredThrowableAsCause() {
+            AssertionError thrown = new AssertionError("whoops");
+            Assertions.assertEquals(Optional.of(thrown),
+                                    getInstance(Collections.singletonList(AssertionError.class)).execute(() -> {
+                                                                                                             throw thrown;
+                                                                                                         },
+                                                                                                         getNonNullPredicate())
+                                                                                                .getCause(),
+                                    "Should return the ignored throwable as the cause of the failed result.");
+        }
+
         @Test
         @DisplayName("it does not throw an exception for ignored super type thrown from executable")
         void testDoesNotThrowForIgnoredSuperTypeFromExecutable() {
@@ -0,0 +1,442 @@
+/*
+ * Copyright: (c) 2016 Redfin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.redfin.patience.flow;
+
+import com.redfin.patience.PatientDelaySuppliers;
+import com.redfin.patience.PatientExecutable;
+import com.redfin.patience.PatientSleep;
+import com.redfin.patience.PatientWait;
+import com.redfin.patience.exceptions.PatientTimeoutException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+@DisplayName("A PatientPoller")
+final class PatientPollerTest {
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Test constants, requirements, and helpers
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    private static final class RecordingSignals<T>
+                    implements PatientPoller.Signals<T> {
+
+        private final List<T> values = Collections.synchronizedList(new ArrayList<>());
+        private final CountDownLatch terminated = new CountDownLatch(1);
+        private volatile Throwable error = null;
+        private volatile boolean completed = false;
+
+        @Override
+        public void onNext(T value) {
+            values.add(value);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            terminated.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+            terminated.countDown();
+        }
+    }
+
+    private static <T> PatientPoller<T> getPoller(Supplier<T> poll,
+                                                  RecordingSignals<T> signals,
+                                                  boolean completeOnTimeout) {
+        return new PatientPoller<>(poll, Runnable::run, signals, completeOnTimeout);
+    }
+
+    private static PatientWait getWait(PatientSleep sleep,
+                                       Duration delay) {
+        return PatientWait.builder()
+                          .withSleep(sleep)
+                          .withDefaultTimeout(Duration.ofSeconds(30))
+                          .withDelaySupplier(PatientDelaySuppliers.fixed(delay))
+                          .build();
+    }
+
+    private static PatientWait getWait() {
+        return PatientWait.builder()
+                          .withSleep((millis, nanos) -> { })
+                          .withDefaultTimeout(Duration.ofMillis(100))
+                          .withDelaySupplier(PatientDelaySuppliers.fixed(Duration.ofMillis(10)))
+                          .build();
+    }
+
+    private static <T> PatientExecutable<T> getExecutable(List<T> values) {
+        Iterator<T> iterator = values.iterator();
+        T last = values.get(values.size() - 1);
+        return () -> iterator.hasNext() ? iterator.next() : last;
+    }
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Test cases
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    @Nested
+    @DisplayName("when constructed")
+    final class ConstructorTests {
+
+        @Test
+        @DisplayName("it throws an exception for a null poll")
+        void testThrowsForNullPoll() {
+            Assertions.assertThrows(IllegalArgumentException.class,
+                                    () -> new PatientPoller<>(null, Runnable::run, new RecordingSignals<>(), false),
+                                    "Should throw for a null poll.");
+        }
+
+        @Test
+        @DisplayName("it throws an exception for a null executor")
+        void testThrowsForNullExecutor() {
+            Assertions.assertThrows(IllegalArgumentException.class,
+                                    () -> new PatientPoller<>(() -> 1, null, new RecordingSignals<>(), false),
+                                    "Should throw for a null executor.");
+        }
+
+        @Test
+        @DisplayName("it throws an exception for null signals")
+        void testThrowsForNullSignals() {
+            Assertions.assertThrows(IllegalArgumentException.class,
+                                    () -> new PatientPoller<>(() -> 1, Runnable::run, null, false),
+                                    "Should throw for null signals.");
+        }
+    }
+
+    @Nested
+    @DisplayName("when values are requested")
+    final class RequestTests {
+
+        @Test
+        @DisplayName("it doesn't poll without demand")
+        void testDoesNotPollWithoutDemand() {
+            AtomicInteger polls = new AtomicInteger(0);
+            getPoller(polls::incrementAndGet, new RecordingSignals<>(), false);
+            Assertions.assertEquals(0, polls.get(),
+                                    "Should not poll before anything is requested.");
+        }
+
+        @Test
+        @DisplayName("it polls exactly as many times as requested")
+        void testPollsAsManyTimesAsRequested() {
+            AtomicInteger polls = new AtomicInteger(0);
+            RecordingSignals<Integer> signals = new RecordingSignals<>();
+            PatientPoller<Integer> poller = getPoller(polls::incrementAndGet, signals, false);
+            poller.request(2);
+            Assertions.assertEquals(2, polls.get(),
+                                    "Should stop polling once the demand is met.");
+            poller.request(1);
+            Assertions.assertEquals(3, polls.get(),
+                                    "Should resume polling once more is requested.");
+            Assertions.assertEquals(Arrays.asList(1, 2, 3), signals.values,
+                                    "Should emit each polled value in order.");
+        }
+
+        @Test
+        @DisplayName("it picks up demand requested from within onNext")
+        void testPicksUpDemandFromOnNext() {
+            AtomicInteger polls = new AtomicInteger(0);
+            List<Integer> values = new ArrayList<>();
+            PatientPoller<?>[] holder = new PatientPoller<?>[1];
+            PatientPoller<Integer> poller = new PatientPoller<>(polls::incrementAndGet, Runnable::run, new PatientPoller.Signals<Integer>() {
+                @Override
+                public void onNext(Integer value) {
+                    values.add(value);
+                    if (value < 3) {
+                        holder[0].request(1);
+                    }
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                }
+
+                @Override
+                public void onComplete() {
+                }
+            }, false);
+            holder[0] = poller;
+            poller.request(1);
+            Assertions.assertEquals(Arrays.asList(1, 2, 3), values,
+                                    "Should poll once for each value requested from onNext.");
+        }
+
+        @Test
+        @DisplayName("it errors for a non-positive request")
+        void testErrorsForNonPositiveRequest() {
+            AtomicInteger polls = new AtomicInteger(0);
+            RecordingSignals<Integer> signals = new RecordingSignals<>();
+            getPoller(polls::incrementAndGet, signals, false).request(0);
+            Assertions.assertTrue(signals.error instanceof IllegalArgumentException,
+                                  "Should signal an IllegalArgumentException for a non-positive request.");
+            Assertions.assertEquals(0, polls.get(),
+                                    "Should not poll after an invalid request.");
+        }
+
+        @Test
+        @DisplayName("it errors when the executor rejects the polling")
+        void testErrorsWhenExecutorRejects() {
+            RecordingSignals<Integer> signals = new RecordingSignals<>();
+            new PatientPoller<>(() -> 1, command -> {
+                throw new RejectedExecutionException("whoops");
+            }, signals, false).request(1);
+            Assertions.assertTrue(signals.error instanceof RejectedExecutionException,
+                                  "Should signal the rejection as an error.");
+        }
+    }
+
+    @Nested
+    @DisplayName("when a poll fails")
+    final class FailureTests {
+
+        @Test
+        @DisplayName("it errors with a thrown exception")
+        void testErrorsWithThrownException() {
+            IllegalStateException exception = new IllegalStateException("whoops");
+            RecordingSignals<Integer> signals = new RecordingSignals<>();
+            getPoller(() -> {
+                throw exception;
+            }, signals, false).request(5);
+            Assertions.assertSame(exception, signals.error,
+                                  "Should signal the thrown exception.");
+        }
+
+        @Test
+        @DisplayName("it errors with a timeout by default")
+        void testErrorsWithTimeout() {
+            RecordingSignals<Integer> signals = new RecordingSignals<>();
+            getPoller(() -> {
+                throw new PatientTimeoutException("timeout", Collections.singletonList("false"));
+            }, signals, false).request(5);
+            Assertions.assertTrue(signals.error instanceof PatientTimeoutException,
+                                  "Should signal the timeout as an error.");
+        }
+
+        @Test
+        @DisplayName("it completes on a timeout if configured to")
+        void testCompletesOnTimeout() {
+            RecordingSignals<Integer> signals = new RecordingSignals<>();
+            getPoller(() -> {
+                throw new PatientTimeoutException("timeout", Collections.singletonList("false"));
+            }, signals, true).request(5);
+            Assertions.assertTrue(signals.completed,
+                                  "Should complete on a timeout.");
+            Assertions.assertNull(signals.error,
+                                  "Should not signal an error on a timeout.");
+        }
+    }
+
+    @Nested
+    @DisplayName("when cancelled")
+    final class CancelTests {
+
+        @Test
+        @DisplayName("it interrupts a poll in progress and sends no more signals")
+        void testInterruptsPollInProgress() throws InterruptedException {
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            try {
+                CountDownLatch started = new CountDownLatch(1);
+                CountDownLatch interrupted = new CountDownLatch(1);
+                RecordingSignals<Integer> signals = new RecordingSignals<>();
+                PatientPoller<Integer> poller = new PatientPoller<>(() -> {
+                    started.countDown();
+                    try {
+                        Thread.sleep(10_000);
+                    } catch (InterruptedException e) {
+                        interrupted.countDown();
+                        throw new IllegalStateException(e);
+                    }
+                    return 1;
+                }, executor, signals, false);
+                poller.request(Long.MAX_VALUE);
+                Assertions.assertTrue(started.await(5, TimeUnit.SECONDS),
+                                      "The poll should have started.");
+                poller.cancel();
+                Assertions.assertTrue(interrupted.await(5, TimeUnit.SECONDS),
+                                      "The poll in progress should have been interrupted.");
+                Assertions.assertFalse(signals.terminated.await(100, TimeUnit.MILLISECONDS),
+                                       "Should not signal after being cancelled.");
+                Assertions.assertTrue(signals.values.isEmpty(),
+                                      "Should not emit after being cancelled.");
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("when polling with a wait")
+    final class WaitingForTests {
+
+        @Test
+        @DisplayName("it throws an exception for a null wait")
+        void testThrowsForNullWait() {
+            Assertions.assertThrows(IllegalArgumentException.class,
+                                    () -> PatientPoller.waitingFor(null, () -> 1, value -> true, false),
+                                    "Should throw for a null wait.");
+        }
+
+        @Test
+        @DisplayName("it throws an exception for a null executable")
+        void testThrowsForNullExecutable() {
+            Assertions.assertThrows(IllegalArgumentException.class,
+                                    () -> PatientPoller.waitingFor(getWait(), null, value -> true, false),
+                                    "Should throw for a null executable.");
+        }
+
+        @Test
+        @DisplayName("it throws an exception for a null filter")
+        void testThrowsForNullFilter() {
+            Assertions.assertThrows(IllegalArgumentException.class,
+                                    () -> PatientPoller.waitingFor(getWait(), () -> 1, null, false),
+                                    "Should throw for a null filter.");
+        }
+
+        @Test
+        @DisplayName("it emits each value that passes the filter")
+        void testEmitsEachPassingValue() {
+            RecordingSignals<Integer> signals = new RecordingSignals<>();
+            getPoller(PatientPoller.waitingFor(getWait(), getExecutable(Arrays.asList(1, 2, 2, 3, 4)), value -> value % 2 == 0, false),
+                      signals,
+                      false).request(3);
+            Assertions.assertEquals(Arrays.asList(2, 2, 4), signals.values,
+                                    "Should emit each value that passes the filter, including repeats.");
+        }
+
+        @Test
+        @DisplayName("it only emits changed values if configured to")
+        void testEmitsOnlyChanges() {
+            RecordingSignals<String> signals = new RecordingSignals<>();
+            getPoller(PatientPoller.waitingFor(getWait(), getExecutable(Arrays.asList("a", "a", "b", "b", "b", "a")), value -> true, true),
+                      signals,
+                      false).request(3);
+            Assertions.assertEquals(Arrays.asList("a", "b", "a"), signals.values,
+                                    "Should only emit values that differ from the previous one.");
+        }
+
+        @Test
+        @DisplayName("it applies the filter as well as the change check")
+        void testAppliesFilterWithChanges() {
+            RecordingSignals<Integer> signals = new RecordingSignals<>();
+            getPoller(PatientPoller.waitingFor(getWait(), getExecutable(Arrays.asList(2, 3, 2, 4)), value -> value % 2 == 0, true),
+                      signals,
+                      false).request(2);
+            Assertions.assertEquals(Arrays.asList(2, 4), signals.values,
+                                    "Should only emit changed values that also pass the filter.");
+        }
+
+        @Test
+        @DisplayName("it keeps the previous value per poll")
+        void testKeepsPreviousValuePerPoll() {
+            PatientWait wait = getWait();
+            RecordingSignals<String> first = new RecordingSignals<>();
+            RecordingSignals<String> second = new RecordingSignals<>();
+            getPoller(PatientPoller.waitingFor(wait, getExecutable(Arrays.asList("a", "b")), value -> true, true),
+                      first,
+                      false).request(2);
+            getPoller(PatientPoller.waitingFor(wait, getExecutable(Arrays.asList("b", "a")), value -> true, true),
+                      second,
+                      false).request(2);
+            Assertions.assertEquals(Arrays.asList("a", "b"), first.values,
+                                    "The first poll should emit its own changes.");
+            Assertions.assertEquals(Arrays.asList("b", "a"), second.values,
+                                    "The second poll should not see the previous value of the first.");
+        }
+
+        @Test
+        @DisplayName("it completes when an unchanged value times out if configured to")
+        void testCompletesWhenUnchangedValueTimesOut() {
+            RecordingSignals<String> signals = new RecordingSignals<>();
+            getPoller(PatientPoller.waitingFor(getWait(), () -> "a", value -> true, true),
+                      signals,
+                      true).request(5);
+            Assertions.assertEquals(Collections.singletonList("a"), signals.values,
+                                    "Should emit the first value before timing out.");
+            Assertions.assertTrue(signals.completed,
+                                  "Should complete once a wait for a change times out.");
+            Assertions.assertNull(signals.error,
+                                  "Should not signal an error on a timeout.");
+        }
+
+        @Test
+        @DisplayName("it errors when an unchanged value times out by default")
+        void testErrorsWhenUnchangedValueTimesOut() {
+            RecordingSignals<String> signals = new RecordingSignals<>();
+            getPoller(PatientPoller.waitingFor(getWait(), () -> "a", value -> true, true),
+                      signals,
+                      false).request(5);
+            Assertions.assertTrue(signals.error instanceof PatientTimeoutException,
+                                  "Should signal the timeout of a wait for a change as an error.");
+        }
+
+        @Test
+        @DisplayName("it interrupts the sleep of a wait when cancelled")
+        void testInterruptsSleepOfWait() throws Exception {
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            try {
+                CountDownLatch sleeping = new CountDownLatch(1);
+                CountDownLatch interrupted = new CountDownLatch(1);
+                PatientWait wait = getWait((millis, nanos) -> {
+                    sleeping.countDown();
+                    try {
+                        Thread.sleep(millis, nanos);
+                    } catch (InterruptedException e) {
+                        interrupted.countDown();
+                        throw e;
+                    }
+                }, Duration.ofSeconds(10));
+                RecordingSignals<String> signals = new RecordingSignals<>();
+                PatientPoller<String> poller = new PatientPoller<>(PatientPoller.waitingFor(wait, () -> "a", value -> true, true),
+                                                                   executor,
+                                                                   signals,
+                                                                   false);
+                poller.request(Long.MAX_VALUE);
+                Assertions.assertTrue(sleeping.await(5, TimeUnit.SECONDS),
+                                      "The wait for a change should have started sleeping.");
+                poller.cancel();
+                Assertions.assertTrue(interrupted.await(5, TimeUnit.SECONDS),
+                                      "The sleep of the wait should have been interrupted.");
+                Assertions.assertFalse(executor.submit(() -> Thread.currentThread().isInterrupted()).get(5, TimeUnit.SECONDS),
+                                       "The executor thread should be free and not left interrupted.");
+                Assertions.assertFalse(signals.terminated.await(100, TimeUnit.MILLISECONDS),
+                                       "Should not signal after being cancelled.");
+                Assertions.assertEquals(Collections.singletonList("a"), signals.values,
+                                        "Should only emit the value from before the cancel.");
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+}
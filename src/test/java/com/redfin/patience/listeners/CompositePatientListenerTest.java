@@ -0,0 +1,246 @@
+/*
+ * Copyright: (c) 2016 Redfin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.redfin.patience.listeners;
+
+import com.redfin.patience.PatientExecutionResult;
+import com.redfin.patience.PatientListener;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+@DisplayName("When a CompositePatientListener")
+final class CompositePatientListenerTest {
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Test constants, requirements, and helpers
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    private static final class RecordingListener
+                    implements PatientListener {
+
+        private final String id;
+        private final List<String> events;
+
+        private RecordingListener(String id,
+                                  List<String> events) {
+            this.id = id;
+            this.events = events;
+        }
+
+        @Override
+        public void onAttemptStarted(int attemptIndex) {
+            events.add(id + " attempt " + attemptIndex);
+        }
+
+        @Override
+        public void onAttemptEnded(int attemptIndex,
+                                   PatientExecutionResult<?> result,
+                                   long durationNanos) {
+            events.add(id + " ended " + attemptIndex);
+        }
+
+        @Override
+        public void onSleep(long sleepNanos) {
+            events.add(id + " sleep " + sleepNanos);
+        }
+
+        @Override
+        public void onSuccess(int attempts,
+                              long elapsedNanos) {
+            events.add(id + " success " + attempts);
+        }
+
+        @Override
+        public void onTimeout(int attempts,
+                              long elapsedNanos) {
+            events.add(id + " timeout " + attempts);
+        }
+
+        @Override
+        public void onAbort(int attempts,
+                            long elapsedNanos) {
+            events.add(id + " abort " + attempts);
+        }
+
+        @Override
+        public void onError(RuntimeException error,
+                            int attempts,
+                            long elapsedNanos) {
+            events.add(id + " error " + attempts);
+        }
+    }
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Test cases
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    @Nested
+    @DisplayName("is constructed")
+    final class ConstructorTests {
+
+        @Test
+        @DisplayName("it throws an exception for a null collection")
+        void testThrowsForNullCollection() {
+            Assertions.assertThrows(IllegalArgumentException.class,
+                                    () -> new CompositePatientListener(null),
+                                    "Should throw for a null collection.");
+        }
+
+        @Test
+        @DisplayName("it throws an exception for a null element")
+        void testThrowsForNullElement() {
+            Assertions.assertThrows(IllegalArgumentException.class,
+                                    () -> new CompositePatientListener(Collections.singletonList(null)),
+                                    "Should throw for a null element.");
+        }
+
+        @Test
+        @DisplayName("it returns an unmodifiable list of the listeners")
+        void testReturnsUnmodifiableListeners() {
+            Assertions.assertThrows(UnsupportedOperationException.class,
+                                    () -> new CompositePatientListener(Collections.emptyList()).getListeners().add(null),
+                                    "Should return an unmodifiable list of listeners.");
+        }
+    }
+
+    @Nested
+    @DisplayName("is notified")
+    final class BehaviorTests {
+
+        @Test
+        @DisplayName("it notifies each listener in order")
+        void testNotifiesEachListenerInOrder() {
+            List<String> events = new ArrayList<>();
+            PatientListener composite = new CompositePatientListener(Arrays.asList(new RecordingListener("a", events),
+                                                                                   new RecordingListener("b", events)));
+            composite.onAttemptStarted(0);
+            composite.onAttemptEnded(0, PatientExecutionResult.fail("whoops"), 1);
+            composite.onSleep(2);
+            composite.onSuccess(1, 3);
+            composite.onTimeout(1, 3);
+            composite.onAbort(1, 3);
+            composite.onError(new IllegalStateException("whoops"), 1, 3);
+            Assertions.assertEquals(Arrays.asList("a attempt 0", "b attempt 0",
+                                                  "a ended 0", "b ended 0",
+                                                  "a sleep 2", "b sleep 2",
+                                                  "a success 1", "b success 1",
+                                                  "a timeout 1", "b timeout 1",
+                                                  "a abort 1", "b abort 1",
+                                                  "a error 1", "b error 1"),
+                                    events,
+                                    "Should notify each listener in order.");
+        }
+
+        @Test
+        @DisplayName("it returns itself when no listener keeps state per execution")
+        void testReturnsItselfForStatelessListeners() {
+            PatientListener composite = new CompositePatientListener(Arrays.asList(new PatientListener() { },
+                                                                                   new PatientListener() { }));
+            Assertions.assertSame(composite,
+                                  composite.onWaitStarted("wait"),
+                                  "Should return itself for listeners without state per execution.");
+        }
+
+        @Test
+        @DisplayName("it returns the listeners for the execution when a wait starts")
+        void testReturnsExecutionListeners() {
+            List<String> events = new ArrayList<>();
+            PatientListener execution = new RecordingListener("execution", events);
+            PatientListener composite = new CompositePatientListener(Arrays.asList(new PatientListener() {
+                                                                                       @Override
+                                                                                       public PatientListener onWaitStarted(String policyName) {
+                                                                                           return execution;
+                                                                                       }
+                                                                                   },
+                                                                                   new PatientListener() { }));
+            composite.onWaitStarted("wait").onAttemptStarted(3);
+            Assertions.assertEquals(Collections.singletonList("execution attempt 3"),
+                                    events,
+                                    "Should notify the listener returned for the execution.");
+        }
+
+        @Test
+        @DisplayName("it ends the wait for the started listeners when a later listener fails to start")
+        void testEndsStartedListenersWhenLaterListenerThrows() {
+            List<String> events = new ArrayList<>();
+            PatientListener execution = new RecordingListener("execution", events);
+            IllegalStateException failure = new IllegalStateException("whoops");
+            PatientListener composite = new CompositePatientListener(Arrays.asList(new RecordingListener("first", events),
+                                                                                   new PatientListener() {
+                                                                                       @Override
+                                                                                       public PatientListener onWaitStarted(String policyName) {
+                                                                                           return execution;
+                                                                                       }
+                                                                                   },
+                                                                                   new PatientListener() {
+                                                                                       @Override
+                                                                                       public PatientListener onWaitStarted(String policyName) {
+                                                                                           throw failure;
+                                                                                       }
+                                                                                   },
+                                                                                   new RecordingListener("last", events)));
+            IllegalStateException thrown = Assertions.assertThrows(IllegalStateException.class,
+                                                                   () -> composite.onWaitStarted("wait"),
+                                                                   "Should rethrow the failure of the later listener.");
+            Assertions.assertAll(() -> Assertions.assertSame(failure, thrown, "Should rethrow the same failure."),
+                                 () -> Assertions.assertEquals(Arrays.asList("first error 0", "execution error 0"), events, "Should end the wait for the started listeners only."));
+        }
+
+        @Test
+        @DisplayName("it ends the wait for the started listeners when a later listener returns null")
+        void testEndsStartedListenersWhenLaterListenerReturnsNull() {
+            List<String> events = new ArrayList<>();
+            PatientListener composite = new CompositePatientListener(Arrays.asList(new RecordingListener("first", events),
+                                                                                   new PatientListener() {
+                                                                                       @Override
+                                                                                       public PatientListener onWaitStarted(String policyName) {
+                                                                                           return null;
+                                                                                       }
+                                                                                   }));
+            Assertions.assertThrows(IllegalArgumentException.class,
+                                    () -> composite.onWaitStarted("wait"),
+                                    "Should throw for a null listener for the execution.");
+            Assertions.assertEquals(Collections.singletonList("first error 0"),
+                                    events,
+                                    "Should end the wait for the started listener.");
+        }
+
+        @Test
+        @DisplayName("it keeps the earlier listeners when only a later listener keeps state per execution")
+        void testKeepsEarlierListeners() {
+            List<String> events = new ArrayList<>();
+            PatientListener execution = new RecordingListener("execution", events);
+            PatientListener composite = new CompositePatientListener(Arrays.asList(new RecordingListener("first", events),
+                                                                                   new PatientListener() {
+                                                                                       @Override
+                                                                                       public PatientListener onWaitStarted(String policyName) {
+                                                                                           return execution;
+                                                                                       }
+                                                                                   }));
+            composite.onWaitStarted("wait").onAttemptStarted(3);
+            Assertions.assertEquals(Arrays.asList("first attempt 3", "execution attempt 3"),
+                                    events,
+                                    "Should notify every listener for the execution in order.");
+        }
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright: (c) 2016 Redfin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.redfin.patience.listeners;
+
+import com.redfin.patience.PatientDelaySuppliers;
+import com.redfin.patience.PatientExecutionHandlers;
+import com.redfin.patience.PatientRetry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+@DisplayName("When a PatientInFlightRegistry")
+final class PatientInFlightRegistryTest {
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Test constants, requirements, and helpers
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    private static PatientRetry getRetry(PatientInFlightRegistry registry) {
+        return PatientRetry.builder()
+                           .withName("registered")
+                           .withSleep((millis, nanos) -> { })
+                           .withDefaultNumberOfRetries(2)
+                           .withDelaySupplier(PatientDelaySuppliers.fixed(Duration.ofMillis(10)))
+                           .withExecutionHandler(PatientExecutionHandlers.ignoringAll())
+                           .withListener(registry)
+                           .build();
+    }
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Test cases
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    @Nested
+    @DisplayName("is added to a PatientRetry")
+    final class RegistryTests {
+
+        @Test
+        @DisplayName("it has no waits before any have started")
+        void testEmptyRegistry() {
+            Assertions.assertTrue(new PatientInFlightRegistry().getInFlightWaits().isEmpty(),
+                                  "Should have no in-flight waits.");
+        }
+
+        @Test
+        @DisplayName("it has the wait while it is in progress")
+        void testHasWaitInProgress() {
+            PatientInFlightRegistry registry = new PatientInFlightRegistry();
+            AtomicInteger counter = new AtomicInteger(0);
+            List<PatientInFlightWait> seen = new ArrayList<>();
+            getRetry(registry).from(() -> {
+                if (counter.incrementAndGet() < 3) {
+                    throw new IllegalStateException("whoops");
+                }
+                seen.addAll(registry.getInFlightWaits());
+                return true;
+            }).get();
+            Assertions.assertEquals(1, seen.size(), "Should have had one in-flight wait.");
+            PatientInFlightWait wait = seen.get(0);
+            Assertions.assertAll(() -> Assertions.assertEquals("registered", wait.getPolicyName(), "Should have the policy name."),
+                                 () -> Assertions.assertSame(Thread.currentThread(), wait.getThread(), "Should have the waiting thread."),
+                                 () -> Assertions.assertEquals(2, wait.getAttempts(), "Should have the finished attempts."),
+                                 () -> Assertions.assertTrue(wait.getLastFailure().orElse("").contains("whoops"), "Should have the last failure."),
+                                 () -> Assertions.assertNotNull(wait.toString(), "Should have a string representation."));
+        }
+
+        @Test
+        @DisplayName("it removes the wait when it ends")
+        void testRemovesFinishedWaits() {
+            PatientInFlightRegistry registry = new PatientInFlightRegistry();
+            PatientRetry retry = getRetry(registry);
+            retry.from(() -> true).get();
+            retry.from(() -> false).check();
+            Assertions.assertTrue(registry.getInFlightWaits().isEmpty(),
+                                  "Should have removed the finished waits.");
+        }
+
+        @Test
+        @DisplayName("it removes a wait that fails with an unexpected exception")
+        void testRemovesWaitsWithUnexpectedExceptions() {
+            PatientInFlightRegistry registry = new PatientInFlightRegistry();
+            PatientRetry retry = PatientRetry.builder()
+                                             .withSleep((millis, nanos) -> { })
+                                             .withDelaySupplier(() -> () -> {
+                                                 throw new IllegalStateException("whoops");
+                                             })
+                                             .withListener(registry)
+                                             .build();
+            Assertions.assertThrows(IllegalStateException.class,
+                                    () -> retry.from(() -> false).get(1),
+                                    "Should throw the exception from the delay supplier.");
+            Assertions.assertTrue(registry.getInFlightWaits().isEmpty(),
+                                  "Should have removed the failed wait.");
+        }
+    }
+
+    @Nested
+    @DisplayName("has a watchdog")
+    final class WatchdogTests {
+
+        @Test
+        @DisplayName("it throws an exception for a zero threshold")
+        void testThrowsForZeroThreshold() {
+            Assertions.assertThrows(IllegalArgumentException.class,
+                                    () -> new PatientInFlightRegistry().watchdog(Duration.ZERO, wait -> { }),
+                                    "Should throw for a zero threshold.");
+        }
+
+        @Test
+        @DisplayName("it throws an exception for a null reporter")
+        void testThrowsForNullReporter() {
+            Assertions.assertThrows(IllegalArgumentException.class,
+                                    () -> new PatientInFlightRegistry().watchdog(Duration.ofSeconds(1), null),
+                                    "Should throw for a null reporter.");
+        }
+
+        @Test
+        @DisplayName("it reports a stuck wait once")
+        void testReportsStuckWaitOnce() {
+            PatientInFlightRegistry registry = new PatientInFlightRegistry();
+            List<PatientInFlightWait> reported = new ArrayList<>();
+            PatientStuckWaitWatchdog watchdog = registry.watchdog(Duration.ofNanos(1), reported::add);
+            List<List<PatientInFlightWait>> checks = new ArrayList<>();
+            getRetry(registry).from(() -> {
+                checks.add(watchdog.check());
+                checks.add(watchdog.check());
+                return true;
+            }).get();
+            Assertions.assertAll(() -> Assertions.assertEquals(1, reported.size(), "Should report the stuck wait once."),
+                                 () -> Assertions.assertEquals(1, checks.get(0).size(), "The first check should find the stuck wait."),
+                                 () -> Assertions.assertTrue(checks.get(1).isEmpty(), "The second check should not report it again."),
+                                 () -> Assertions.assertTrue(watchdog.check().isEmpty(), "Should have nothing to report after the wait."));
+        }
+
+        @Test
+        @DisplayName("it doesn't report waits under the threshold")
+        void testDoesNotReportWaitsUnderThreshold() {
+            PatientInFlightRegistry registry = new PatientInFlightRegistry();
+            PatientStuckWaitWatchdog watchdog = registry.watchdog(Duration.ofHours(1), wait -> { });
+            AtomicReference<List<PatientInFlightWait>> checked = new AtomicReference<>();
+            getRetry(registry).from(() -> checked.compareAndSet(null, watchdog.check())).get();
+            Assertions.assertTrue(checked.get().isEmpty(),
+                                  "Should not report a wait under the threshold.");
+        }
+
+        @Test
+        @DisplayName("it checks periodically once started")
+        void testChecksPeriodically() throws InterruptedException {
+            PatientInFlightRegistry registry = new PatientInFlightRegistry();
+            CountDownLatch latch = new CountDownLatch(1);
+            try (PatientStuckWaitWatchdog watchdog = registry.watchdog(Duration.ofMillis(1), wait -> latch.countDown())) {
+                watchdog.start(Duration.ofMillis(5));
+                Assertions.assertThrows(IllegalStateException.class,
+                                        () -> watchdog.start(Duration.ofMillis(5)),
+                                        "Should not be able to start twice.");
+                boolean reported = getRetry(registry).from(() -> latch.await(5, TimeUnit.SECONDS)).get();
+                Assertions.assertTrue(reported, "Should have reported the stuck wait.");
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright: (c) 2016 Redfin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.redfin.patience.stats;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("When a LogLinearHistogram")
+final class LogLinearHistogramTest {
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Test cases
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    @Nested
+    @DisplayName("maps values to buckets")
+    final class BucketTests {
+
+        @Test
+        @DisplayName("it puts every value into a bucket whose range contains it")
+        void testBucketRangesContainValues() {
+            long[] values = {0, 1, 7, 8, 9, 15, 16, 17, 1_000, 1_000_000, 123_456_789, Long.MAX_VALUE / 3, Long.MAX_VALUE};
+            for (long value : values) {
+                int index = LogLinearHistogram.indexOf(value);
+                Assertions.assertTrue(index >= 0 && index < LogLinearHistogram.BUCKET_COUNT,
+                                      "The bucket index should be in range for " + value);
+                Assertions.assertTrue(value <= LogLinearHistogram.highestValueOf(index),
+                                      "The bucket should not end before " + value);
+                Assertions.assertTrue(0 == index || value > LogLinearHistogram.highestValueOf(index - 1),
+                                      "The previous bucket should end before " + value);
+            }
+        }
+
+        @Test
+        @DisplayName("it uses the last bucket for the largest value")
+        void testLargestValueUsesLastBucket() {
+            Assertions.assertEquals(LogLinearHistogram.BUCKET_COUNT - 1,
+                                    LogLinearHistogram.indexOf(Long.MAX_VALUE),
+                                    "The largest value should be in the last bucket.");
+        }
+    }
+
+    @Nested
+    @DisplayName("has values recorded")
+    final class SnapshotTests {
+
+        @Test
+        @DisplayName("it returns zeros for an empty histogram")
+        void testEmptySnapshot() {
+            PatientHistogramSnapshot snapshot = new LogLinearHistogram().snapshot();
+            Assertions.assertAll(() -> Assertions.assertEquals(0, snapshot.getCount(), "Should have no values."),
+                                 () -> Assertions.assertEquals(0, snapshot.getPercentileNanos(99), "Should have a zero percentile."),
+                                 () -> Assertions.assertEquals(0, snapshot.getMeanNanos(), "Should have a zero mean."));
+        }
+
+        @Test
+        @DisplayName("it returns percentiles within the bucket accuracy")
+        void testPercentilesAreAccurate() {
+            LogLinearHistogram histogram = new LogLinearHistogram();
+            for (long value = 1; value <= 1_000; value++) {
+                histogram.record(value * 1_000_000);
+            }
+            PatientHistogramSnapshot snapshot = histogram.snapshot();
+            Assertions.assertAll(() -> Assertions.assertEquals(1_000, snapshot.getCount(), "Should have all of the values."),
+                                 () -> Assertions.assertEquals(1_000_000_000L, snapshot.getMaxNanos(), "Should have the largest value."),
+                                 () -> Assertions.assertEquals(500_500_000.0, snapshot.getMeanNanos(), "Should have the exact mean."),
+                                 () -> Assertions.assertEquals(500_000_000, snapshot.getPercentileNanos(50), 500_000_000 * 0.125, "Should have an accurate median."),
+                                 () -> Assertions.assertEquals(990_000_000, snapshot.getPercentileNanos(99), 990_000_000 * 0.125, "Should have an accurate 99th percentile."),
+                                 () -> Assertions.assertEquals(1_000_000_000L, snapshot.getPercentileNanos(100), "The 100th percentile should be the largest value."));
+        }
+
+        @Test
+        @DisplayName("it records negative values as zero")
+        void testRecordsNegativeValuesAsZero() {
+            LogLinearHistogram histogram = new LogLinearHistogram();
+            histogram.record(-5);
+            Assertions.assertEquals(0,
+                                    histogram.snapshot().getPercentileNanos(100),
+                                    "A negative value should be recorded as zero.");
+        }
+
+        @Test
+        @DisplayName("it throws an exception for an invalid percentile")
+        void testThrowsForInvalidPercentile() {
+            PatientHistogramSnapshot snapshot = new LogLinearHistogram().snapshot();
+            Assertions.assertAll(() -> Assertions.assertThrows(IllegalArgumentException.class, () -> snapshot.getPercentileNanos(-1), "Should throw for a negative percentile."),
+                                 () -> Assertions.assertThrows(IllegalArgumentException.class, () -> snapshot.getPercentileNanos(101), "Should throw for a percentile over 100."));
+        }
+    }
+}
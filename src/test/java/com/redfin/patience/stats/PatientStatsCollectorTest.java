@@ -0,0 +1,109 @@
+/*
+ * Copyright: (c) 2016 Redfin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.redfin.patience.stats;
+
+import com.redfin.patience.PatientDelaySuppliers;
+import com.redfin.patience.PatientExecutionHandlers;
+import com.redfin.patience.PatientRetry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@DisplayName("When a PatientStatsCollector")
+final class PatientStatsCollectorTest {
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Test constants, requirements, and helpers
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    private static PatientRetry getRetry(PatientStatsCollector collector) {
+        return PatientRetry.builder()
+                           .withSleep((millis, nanos) -> { })
+                           .withDefaultNumberOfRetries(2)
+                           .withDelaySupplier(PatientDelaySuppliers.fixed(Duration.ofMillis(10)))
+                           .withExecutionHandler(PatientExecutionHandlers.aborting()
+                                                                         .withAbortingThrowableType(IllegalStateException.class)
+                                                                         .build())
+                           .withListener(collector)
+                           .build();
+    }
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Test cases
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    @Nested
+    @DisplayName("is added to a PatientRetry")
+    final class BehaviorTests {
+
+        @Test
+        @DisplayName("it returns empty statistics before any waits")
+        void testEmptySnapshot() {
+            PatientStatsSnapshot snapshot = new PatientStatsCollector().snapshot();
+            Assertions.assertAll(() -> Assertions.assertEquals(0, snapshot.getWaits(), "Should have no waits."),
+                                 () -> Assertions.assertEquals(0, snapshot.getAttempts(), "Should have no attempts."),
+                                 () -> Assertions.assertEquals(0, snapshot.getTimeToSuccess().getCount(), "Should have no times to success."));
+        }
+
+        @Test
+        @DisplayName("it counts the outcome of each wait")
+        void testCountsOutcomes() {
+            PatientStatsCollector collector = new PatientStatsCollector();
+            PatientRetry retry = getRetry(collector);
+            AtomicInteger counter = new AtomicInteger(0);
+            retry.from(() -> counter.incrementAndGet() > 1).get();
+            retry.from(() -> false).check();
+            retry.from(() -> {
+                throw new IllegalStateException("whoops");
+            }).check();
+            PatientStatsSnapshot snapshot = collector.snapshot();
+            Assertions.assertAll(() -> Assertions.assertEquals(3, snapshot.getWaits(), "Should count each wait."),
+                                 () -> Assertions.assertEquals(6, snapshot.getAttempts(), "Should count each attempt."),
+                                 () -> Assertions.assertEquals(3, snapshot.getRetries(), "Should count the retries of each wait."),
+                                 () -> Assertions.assertEquals(1, snapshot.getSuccesses(), "Should count the successful wait."),
+                                 () -> Assertions.assertEquals(1, snapshot.getTimeouts(), "Should count the unsuccessful wait."),
+                                 () -> Assertions.assertEquals(1, snapshot.getAborts(), "Should count the aborted wait."),
+                                 () -> Assertions.assertEquals(0, snapshot.getInFlight(), "Should have no waits in flight."),
+                                 () -> Assertions.assertEquals(Duration.ofMillis(30).toNanos(), snapshot.getSleepNanos(), "Should total the sleeps."),
+                                 () -> Assertions.assertEquals(6, snapshot.getAttemptDurations().getCount(), "Should record each attempt duration."),
+                                 () -> Assertions.assertEquals(1, snapshot.getTimeToSuccess().getCount(), "Should record the time to success."),
+                                 () -> Assertions.assertEquals(2, snapshot.getTimeToFailure().getCount(), "Should record the times to failure."));
+        }
+
+        @Test
+        @DisplayName("it aggregates waits from many threads")
+        void testAggregatesAcrossThreads() {
+            PatientStatsCollector collector = new PatientStatsCollector();
+            PatientRetry retry = getRetry(collector);
+            List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                futures.add(CompletableFuture.supplyAsync(() -> retry.from(() -> true).get()));
+            }
+            futures.forEach(CompletableFuture::join);
+            Assertions.assertEquals(100,
+                                    collector.snapshot().getSuccesses(),
+                                    "Should count the successes from every thread.");
+        }
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright: (c) 2016 Redfin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.redfin.patience.stats;
+
+import com.redfin.patience.PatientDelaySuppliers;
+import com.redfin.patience.PatientRetry;
+import com.redfin.patience.exceptions.PatientException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@DisplayName("When PatientStatsMBeans")
+final class PatientStatsMBeansTest {
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Test constants, requirements, and helpers
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    private static final String TYPE = "PatientRetry";
+    private static final MBeanServer SERVER = ManagementFactory.getPlatformMBeanServer();
+
+    private static PatientRetry getRetry(PatientStatsCollector collector) {
+        return PatientRetry.builder()
+                           .withSleep((millis, nanos) -> { })
+                           .withDefaultNumberOfRetries(2)
+                           .withDelaySupplier(PatientDelaySuppliers.fixed(Duration.ofMillis(10)))
+                           .withListener(collector)
+                           .build();
+    }
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Test cases
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    @Test
+    @DisplayName("it cannot be instantiated")
+    void testCannotBeInstantiated() throws ReflectiveOperationException {
+        Constructor<PatientStatsMBeans> constructor = PatientStatsMBeans.class.getDeclaredConstructor();
+        constructor.setAccessible(true);
+        InvocationTargetException thrown = Assertions.assertThrows(InvocationTargetException.class,
+                                                                   constructor::newInstance,
+                                                                   "Should not be able to instantiate.");
+        Assertions.assertTrue(thrown.getCause() instanceof AssertionError,
+                              "Should throw an AssertionError from the constructor.");
+    }
+
+    @Nested
+    @DisplayName("when objectName(String, String) is called")
+    final class ObjectNameTests {
+
+        @Test
+        @DisplayName("it throws an exception for an empty type")
+        void testThrowsForEmptyType() {
+            Assertions.assertThrows(IllegalArgumentException.class,
+                                    () -> PatientStatsMBeans.objectName("", "name"),
+                                    "Should throw for an empty type.");
+        }
+
+        @Test
+        @DisplayName("it throws an exception for a null name")
+        void testThrowsForNullName() {
+            Assertions.assertThrows(IllegalArgumentException.class,
+                                    () -> PatientStatsMBeans.objectName(TYPE, null),
+                                    "Should throw for a null name.");
+        }
+
+        @Test
+        @DisplayName("it quotes names that have special characters")
+        void testQuotesName() {
+            ObjectName objectName = PatientStatsMBeans.objectName(TYPE, "a,b=c");
+            Assertions.assertAll(() -> Assertions.assertEquals(PatientStatsMBeans.DOMAIN, objectName.getDomain(), "Should use the patience domain."),
+                                 () -> Assertions.assertEquals(TYPE, objectName.getKeyProperty("type"), "Should use the given type."),
+                                 () -> Assertions.assertEquals("a,b=c", ObjectName.unquote(objectName.getKeyProperty("name")), "Should quote the given name."));
+        }
+    }
+
+    @Nested
+    @DisplayName("when register(String, String, PatientStatsCollector) is called")
+    final class RegisterTests {
+
+        @Test
+        @DisplayName("it throws an exception for a null collector")
+        void testThrowsForNullCollector() {
+            Assertions.assertThrows(IllegalArgumentException.class,
+                                    () -> PatientStatsMBeans.register(TYPE, "name", null),
+                                    "Should throw for a null collector.");
+        }
+
+        @Test
+        @DisplayName("it exposes the statistics of the collector")
+        void testExposesStatistics() throws Exception {
+            PatientStatsCollector collector = new PatientStatsCollector();
+            try (PatientStatsRegistration registration = PatientStatsMBeans.register(TYPE, "exposed", collector)) {
+                ObjectName objectName = registration.getObjectName();
+                PatientRetry retry = getRetry(collector);
+                AtomicInteger counter = new AtomicInteger(0);
+                retry.from(() -> counter.incrementAndGet() > 1).get();
+                retry.from(() -> false).check();
+                Assertions.assertAll(() -> Assertions.assertEquals("exposed", SERVER.getAttribute(objectName, "PolicyName"), "Should have the policy name."),
+                                     () -> Assertions.assertEquals(2L, SERVER.getAttribute(objectName, "Waits"), "Should count the waits."),
+                                     () -> Assertions.assertEquals(5L, SERVER.getAttribute(objectName, "Attempts"), "Should count the attempts."),
+                                     () -> Assertions.assertEquals(0L, SERVER.getAttribute(objectName, "InFlight"), "Should have no waits in flight."),
+                                     () -> Assertions.assertEquals(0.5, SERVER.getAttribute(objectName, "LifetimeSuccessRatio"), "Should have the success ratio."),
+                                     () -> Assertions.assertTrue((Double) SERVER.getAttribute(objectName, "LifetimeTimeToSuccessP99Millis") >= 0, "Should have a time to success."),
+                                     () -> Assertions.assertTrue(SERVER.isRegistered(objectName), "Should stay registered until closed."));
+            }
+        }
+
+        @Test
+        @DisplayName("it throws an exception for a bean already registered under the same name")
+        void testThrowsForExistingBean() throws Exception {
+            PatientStatsCollector first = new PatientStatsCollector();
+            try (PatientStatsRegistration registration = PatientStatsMBeans.register(TYPE, "existing", first)) {
+                Assertions.assertThrows(PatientException.class,
+                                        () -> PatientStatsMBeans.register(TYPE, "existing", new PatientStatsCollector()),
+                                        "Should not replace a registered bean.");
+                getRetry(first).from(() -> true).get();
+                Assertions.assertEquals(1L,
+                                        SERVER.getAttribute(registration.getObjectName(), "Waits"),
+                                        "Should still expose the first collector.");
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("when a registration is closed")
+    final class CloseTests {
+
+        @Test
+        @DisplayName("it unregisters the bean")
+        void testUnregistersBean() {
+            PatientStatsRegistration registration = PatientStatsMBeans.register(TYPE, "closed", new PatientStatsCollector());
+            registration.close();
+            Assertions.assertFalse(SERVER.isRegistered(registration.getObjectName()),
+                                   "Should no longer be registered.");
+        }
+
+        @Test
+        @DisplayName("it can be closed more than once")
+        void testClosesMoreThanOnce() {
+            PatientStatsRegistration registration = PatientStatsMBeans.register(TYPE, "closed-twice", new PatientStatsCollector());
+            registration.close();
+            Assertions.assertDoesNotThrow(registration::close,
+                                          "Should be able to close a registration again.");
+        }
+
+        @Test
+        @DisplayName("it allows the name to be registered again")
+        void testAllowsRegisteringAgain() {
+            PatientStatsMBeans.register(TYPE, "reregistered", new PatientStatsCollector()).close();
+            PatientStatsRegistration registration = PatientStatsMBeans.register(TYPE, "reregistered", new PatientStatsCollector());
+            try {
+                Assertions.assertTrue(SERVER.isRegistered(registration.getObjectName()),
+                                      "Should register the name again after the first registration was closed.");
+            } finally {
+                registration.close();
+            }
+        }
+    }
+}
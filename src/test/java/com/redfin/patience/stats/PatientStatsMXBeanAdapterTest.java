@@ -0,0 +1,98 @@
+/*
+ * Copyright: (c) 2016 Redfin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.redfin.patience.stats;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+@DisplayName("When a PatientStatsMXBeanAdapter")
+final class PatientStatsMXBeanAdapterTest {
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Test constants, requirements, and helpers
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    private static void succeed(PatientStatsCollector collector,
+                                long millis) {
+        collector.onWaitStarted("policy");
+        collector.onSuccess(1, TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    private static void timeOut(PatientStatsCollector collector) {
+        collector.onWaitStarted("policy");
+        collector.onTimeout(3, TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private static void waitForClock() {
+        long start = System.nanoTime();
+        while (System.nanoTime() == start) {
+            Thread.yield();
+        }
+    }
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Test cases
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    @Nested
+    @DisplayName("is queried for recent attributes")
+    final class RecentTests {
+
+        @Test
+        @DisplayName("it only covers the waits since the previous window")
+        void testCoversPreviousWindow() {
+            PatientStatsCollector collector = new PatientStatsCollector();
+            PatientStatsMXBeanAdapter adapter = new PatientStatsMXBeanAdapter("policy", collector, 0);
+            succeed(collector, 1000);
+            succeed(collector, 1000);
+            waitForClock();
+            adapter.getRecentSuccessRatio();
+            succeed(collector, 1);
+            timeOut(collector);
+            waitForClock();
+            Assertions.assertAll(() -> Assertions.assertEquals(0.5, adapter.getRecentSuccessRatio(), "Should have the success ratio of the last window."),
+                                 () -> Assertions.assertTrue(adapter.getRecentTimeToSuccessP99Millis() < 2, "Should have the time to success of the last window."),
+                                 () -> Assertions.assertEquals(0.75, adapter.getLifetimeSuccessRatio(), "Should have the lifetime success ratio."),
+                                 () -> Assertions.assertTrue(adapter.getLifetimeTimeToSuccessP99Millis() > 800, "Should have the lifetime time to success."));
+        }
+
+        @Test
+        @DisplayName("it shares one window between queries less than a window apart")
+        void testSharesWindow() {
+            PatientStatsCollector collector = new PatientStatsCollector();
+            PatientStatsMXBeanAdapter adapter = new PatientStatsMXBeanAdapter("policy", collector, TimeUnit.HOURS.toNanos(1));
+            succeed(collector, 10);
+            Assertions.assertAll(() -> Assertions.assertEquals(0, adapter.getRecentSuccessRatio(), "Should not have ended the first window."),
+                                 () -> Assertions.assertEquals(0, adapter.getRecentTimeToSuccessP50Millis(), "Should not have ended the first window."),
+                                 () -> Assertions.assertEquals(0, adapter.getAttemptsPerSecond(), "Should not have ended the first window."),
+                                 () -> Assertions.assertEquals(1, adapter.getLifetimeSuccessRatio(), "Should have the lifetime success ratio."));
+        }
+
+        @Test
+        @DisplayName("it throws an exception for a negative window")
+        void testThrowsForNegativeWindow() {
+            Assertions.assertThrows(IllegalArgumentException.class,
+                                    () -> new PatientStatsMXBeanAdapter("policy", new PatientStatsCollector(), -1),
+                                    "Should throw for a negative window.");
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright: (c) 2016 Redfin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.redfin.patience.trace;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@DisplayName("When PatientTraceExporter")
+final class PatientTraceExporterTest {
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Test cases
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    @Test
+    @DisplayName("it cannot be instantiated")
+    void testCannotBeInstantiated() throws ReflectiveOperationException {
+        Constructor<PatientTraceExporter> constructor = PatientTraceExporter.class.getDeclaredConstructor();
+        constructor.setAccessible(true);
+        InvocationTargetException thrown = Assertions.assertThrows(InvocationTargetException.class,
+                                                                   constructor::newInstance,
+                                                                   "Should not be able to instantiate.");
+        Assertions.assertTrue(thrown.getCause() instanceof AssertionError,
+                              "Should throw an AssertionError from the constructor.");
+    }
+
+    @Test
+    @DisplayName("it throws an exception for null traces")
+    void testThrowsForNullTraces() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                                () -> PatientTraceExporter.toChromeTraceJson(null),
+                                "Should throw for null traces.");
+    }
+
+    @Test
+    @DisplayName("it throws an exception for a null trace")
+    void testThrowsForNullTrace() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                                () -> PatientTraceExporter.toChromeTraceJson(Arrays.asList((PatientTrace) null)),
+                                "Should throw for a null trace.");
+    }
+
+    @Test
+    @DisplayName("it returns an empty event list for no traces")
+    void testEmptyTraces() {
+        Assertions.assertEquals("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[]}",
+                                PatientTraceExporter.toChromeTraceJson(Collections.emptyList()),
+                                "Should have no events for no traces.");
+    }
+
+    @Test
+    @DisplayName("it exports the wait, attempts and sleeps as complete events")
+    void testExportsEvents() {
+        PatientTraceRecorder recorder = new PatientTraceRecorder(1, Duration.ZERO);
+        AtomicInteger counter = new AtomicInteger(0);
+        PatientTraceRecorderTest.getRetry(recorder).from(() -> counter.incrementAndGet() > 1).get();
+        String json = PatientTraceExporter.toChromeTraceJson(recorder.getTraces());
+        Assertions.assertAll(() -> Assertions.assertTrue(json.contains("\"ph\":\"M\""), "Should name the thread."),
+                             () -> Assertions.assertTrue(json.contains("{\"name\":\"traced\",\"cat\":\"patience.wait\",\"ph\":\"X\""), "Should have the wait event."),
+                             () -> Assertions.assertTrue(json.contains("{\"name\":\"attempt 1\",\"cat\":\"patience.attempt\""), "Should have the attempt events."),
+                             () -> Assertions.assertTrue(json.contains("\"dur\":10000}"), "Should have the sleep event."),
+                             () -> Assertions.assertTrue(json.contains("\"args\":{\"outcome\":\"FAILURE\"}"), "Should have the attempt outcome."));
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright: (c) 2016 Redfin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.redfin.patience.trace;
+
+import com.redfin.patience.PatientDelaySuppliers;
+import com.redfin.patience.PatientExecutionHandlers;
+import com.redfin.patience.PatientRetry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@DisplayName("When a PatientTraceRecorder")
+final class PatientTraceRecorderTest {
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Test constants, requirements, and helpers
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    static PatientRetry getRetry(PatientTraceRecorder recorder) {
+        return PatientRetry.builder()
+                           .withName("traced")
+                           .withSleep((millis, nanos) -> { })
+                           .withDefaultNumberOfRetries(20)
+                           .withDelaySupplier(PatientDelaySuppliers.fixed(Duration.ofMillis(10)))
+                           .withExecutionHandler(PatientExecutionHandlers.ignoringAll())
+                           .withListener(recorder)
+                           .build();
+    }
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Test cases
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    @Nested
+    @DisplayName("is added to a PatientRetry")
+    final class RecordingTests {
+
+        @Test
+        @DisplayName("it records each attempt and sleep of a wait")
+        void testRecordsTimeline() {
+            PatientTraceRecorder recorder = new PatientTraceRecorder(4, Duration.ZERO);
+            AtomicInteger counter = new AtomicInteger(0);
+            getRetry(recorder).from(() -> counter.incrementAndGet() > 12).get();
+            List<PatientTrace> traces = recorder.getTraces();
+            Assertions.assertEquals(1, traces.size(), "Should have kept one trace.");
+            PatientTrace trace = traces.get(0);
+            Assertions.assertAll(() -> Assertions.assertEquals("traced", trace.getPolicyName(), "Should have the policy name."),
+                                 () -> Assertions.assertEquals(Thread.currentThread().getId(), trace.getThreadId(), "Should have the thread."),
+                                 () -> Assertions.assertEquals(PatientTrace.Outcome.SUCCESS, trace.getOutcome(), "Should have the outcome."),
+                                 () -> Assertions.assertEquals(13, trace.getAttemptCount(), "Should have each attempt."),
+                                 () -> Assertions.assertEquals(12, trace.getSleepCount(), "Should have each sleep."),
+                                 () -> Assertions.assertEquals(PatientTrace.Outcome.FAILURE, trace.getAttemptOutcome(0), "Should have the first attempt outcome."),
+                                 () -> Assertions.assertEquals(PatientTrace.Outcome.SUCCESS, trace.getAttemptOutcome(12), "Should have the last attempt outcome."),
+                                 () -> Assertions.assertEquals(Duration.ofMillis(10).toNanos(), trace.getSleepDurationNanos(0), "Should have the sleep duration."),
+                                 () -> Assertions.assertTrue(trace.getSleepStartNanos(0) >= trace.getAttemptStartNanos(0), "The sleep should follow the first attempt."),
+                                 () -> Assertions.assertTrue(trace.getAttemptStartNanos(1) >= trace.getSleepStartNanos(0), "The second attempt should follow the sleep."));
+        }
+
+        @Test
+        @DisplayName("it records the outcome of a timed out wait")
+        void testRecordsTimeout() {
+            PatientTraceRecorder recorder = new PatientTraceRecorder(4, Duration.ZERO);
+            getRetry(recorder).from(() -> false).check();
+            Assertions.assertEquals(PatientTrace.Outcome.TIMEOUT,
+                                    recorder.getTraces().get(0).getOutcome(),
+                                    "Should have recorded the timeout.");
+        }
+
+        @Test
+        @DisplayName("it doesn't keep waits faster than the minimum duration")
+        void testSkipsFastWaits() {
+            PatientTraceRecorder recorder = new PatientTraceRecorder(4, Duration.ofHours(1));
+            getRetry(recorder).from(() -> true).get();
+            Assertions.assertTrue(recorder.getTraces().isEmpty(),
+                                  "Should not keep a fast wait.");
+        }
+
+        @Test
+        @DisplayName("it keeps only the most recent traces, oldest first")
+        void testKeepsMostRecentTraces() {
+            PatientTraceRecorder recorder = new PatientTraceRecorder(2, Duration.ZERO);
+            PatientRetry retry = getRetry(recorder);
+            for (int i = 1; i <= 3; i++) {
+                AtomicInteger counter = new AtomicInteger(0);
+                int attempts = i;
+                retry.from(() -> counter.incrementAndGet() >= attempts).get();
+            }
+            List<PatientTrace> traces = recorder.getTraces();
+            Assertions.assertAll(() -> Assertions.assertEquals(2, traces.size(), "Should keep up to the capacity."),
+                                 () -> Assertions.assertEquals(2, traces.get(0).getAttemptCount(), "Should have dropped the oldest trace."),
+                                 () -> Assertions.assertEquals(3, traces.get(1).getAttemptCount(), "Should have the newest trace last."));
+        }
+
+        @Test
+        @DisplayName("it discards the traces when cleared")
+        void testClear() {
+            PatientTraceRecorder recorder = new PatientTraceRecorder(2, Duration.ZERO);
+            getRetry(recorder).from(() -> true).get();
+            recorder.clear();
+            Assertions.assertTrue(recorder.getTraces().isEmpty(),
+                                  "Should have no traces after being cleared.");
+        }
+
+        @Test
+        @DisplayName("it throws an exception for an out of range attempt index")
+        void testThrowsForOutOfRangeIndex() {
+            PatientTraceRecorder recorder = new PatientTraceRecorder(2, Duration.ZERO);
+            getRetry(recorder).from(() -> true).get();
+            PatientTrace trace = recorder.getTraces().get(0);
+            Assertions.assertThrows(IllegalArgumentException.class,
+                                    () -> trace.getAttemptDurationNanos(1),
+                                    "Should throw for an out of range index.");
+        }
+    }
+}
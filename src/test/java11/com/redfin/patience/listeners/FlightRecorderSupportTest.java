@@ -0,0 +1,194 @@
+/*
+ * Copyright: (c) 2016 Redfin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.redfin.patience.listeners;
+
+import com.redfin.patience.PatientDelaySuppliers;
+import com.redfin.patience.PatientListeners;
+import com.redfin.patience.PatientWait;
+import com.redfin.patience.exceptions.PatientInterruptedException;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+@DisplayName("A Java 11 FlightRecorderSupport")
+final class FlightRecorderSupportTest {
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Test constants, requirements, and helpers
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    private static final String WAIT = "com.redfin.patience.Wait";
+    private static final String ATTEMPT = "com.redfin.patience.Attempt";
+    private static final String SLEEP = "com.redfin.patience.Sleep";
+    private static final Duration DELAY = Duration.ofMillis(50);
+
+    private static List<RecordedEvent> record(Runnable runnable) throws Exception {
+        Path file = Files.createTempFile("patience", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(WAIT).withThreshold(Duration.ZERO);
+            recording.enable(ATTEMPT).withThreshold(Duration.ZERO);
+            recording.enable(SLEEP).withThreshold(Duration.ZERO);
+            recording.start();
+            runnable.run();
+            recording.stop();
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static List<RecordedEvent> getEvents(List<RecordedEvent> events,
+                                                 String name) {
+        return events.stream()
+                     .filter(event -> name.equals(event.getEventType().getName()))
+                     .collect(Collectors.toList());
+    }
+
+    private static PatientWait getWait() {
+        return PatientWait.builder()
+                          .withName("jfr")
+                          .withDefaultTimeout(Duration.ofSeconds(5))
+                          .withDelaySupplier(PatientDelaySuppliers.fixed(DELAY))
+                          .withListener(FlightRecorderSupport.listener())
+                          .build();
+    }
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Test cases
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    @Test
+    @DisplayName("it is available")
+    void testIsAvailable() {
+        Assertions.assertTrue(FlightRecorderSupport.isAvailable(),
+                              "Should be available on Java 11 or later.");
+    }
+
+    @Test
+    @DisplayName("it returns the no-op listener for a wait when no events are enabled")
+    void testReturnsNoneWhenNotRecording() {
+        Assertions.assertSame(PatientListeners.none(),
+                              FlightRecorderSupport.listener().onWaitStarted("jfr"),
+                              "Should not track a wait that isn't being recorded.");
+    }
+
+    @Nested
+    @DisplayName("when a wait is recorded")
+    final class RecordingTests {
+
+        @Test
+        @DisplayName("it emits an event for the wait and for each attempt")
+        void testEmitsWaitAndAttemptEvents() throws Exception {
+            AtomicInteger attempts = new AtomicInteger(0);
+            List<RecordedEvent> events = record(() -> getWait().from(() -> attempts.incrementAndGet() == 3 ? "done" : null).get());
+            List<RecordedEvent> waits = getEvents(events, WAIT);
+            Assertions.assertEquals(1, waits.size(),
+                                    "Should emit one event for the wait.");
+            Assertions.assertEquals("jfr", waits.get(0).getString("policyName"),
+                                    "The wait event should have the policy name.");
+            Assertions.assertEquals("SUCCESS", waits.get(0).getString("outcome"),
+                                    "The wait event should have the outcome.");
+            Assertions.assertEquals(3, waits.get(0).getInt("attemptCount"),
+                                    "The wait event should have the attempt count.");
+            List<String> outcomes = getEvents(events, ATTEMPT).stream()
+                                                              .map(event -> event.getString("outcome"))
+                                                              .collect(Collectors.toList());
+            Assertions.assertEquals(List.of("FAILURE", "FAILURE", "SUCCESS"), outcomes,
+                                    "Should emit an event with the outcome of each attempt.");
+        }
+
+        @Test
+        @DisplayName("it emits events for a policy without the listener added")
+        void testEmitsEventsByDefault() throws Exception {
+            PatientWait wait = PatientWait.builder()
+                                          .withName("default")
+                                          .withDefaultTimeout(Duration.ofSeconds(5))
+                                          .build();
+            List<RecordedEvent> events = record(() -> wait.from(() -> "done").get());
+            List<RecordedEvent> waits = getEvents(events, WAIT);
+            Assertions.assertEquals(1, waits.size(),
+                                    "Should emit an event for the wait by default.");
+            Assertions.assertEquals("default", waits.get(0).getString("policyName"),
+                                    "The wait event should have the policy name.");
+        }
+
+        @Test
+        @DisplayName("it doesn't emit events for a policy with them turned off")
+        void testDoesNotEmitEventsWhenTurnedOff() throws Exception {
+            PatientWait wait = PatientWait.builder()
+                                          .withDefaultTimeout(Duration.ofSeconds(5))
+                                          .withFlightRecorderEvents(false)
+                                          .build();
+            List<RecordedEvent> events = record(() -> wait.from(() -> "done").get());
+            Assertions.assertTrue(getEvents(events, WAIT).isEmpty(),
+                                  "Should not emit events when they are turned off.");
+        }
+
+        @Test
+        @DisplayName("it emits sleep events that cover the sleeps")
+        void testEmitsSleepEventsCoveringSleeps() throws Exception {
+            AtomicInteger attempts = new AtomicInteger(0);
+            List<RecordedEvent> events = record(() -> getWait().from(() -> attempts.incrementAndGet() == 3 ? "done" : null).get());
+            List<RecordedEvent> sleeps = getEvents(events, SLEEP);
+            Assertions.assertEquals(2, sleeps.size(),
+                                    "Should emit an event for each sleep between attempts.");
+            for (RecordedEvent sleep : sleeps) {
+                Assertions.assertEquals(DELAY, sleep.getDuration("sleepDuration"),
+                                        "The sleep event should have the planned duration.");
+                Assertions.assertTrue(sleep.getDuration().compareTo(DELAY) >= 0,
+                                      "The sleep event should last for the whole sleep, but lasted " + sleep.getDuration());
+            }
+        }
+
+        @Test
+        @DisplayName("it commits a sleep event when the wait ends during the sleep")
+        void testCommitsSleepEventWhenWaitEndsDuringSleep() throws Exception {
+            PatientWait wait = PatientWait.builder()
+                                          .withSleep((millis, nanos) -> {
+                                              throw new InterruptedException("whoops");
+                                          })
+                                          .withDefaultTimeout(Duration.ofSeconds(5))
+                                          .withDelaySupplier(PatientDelaySuppliers.fixed(DELAY))
+                                          .withListener(FlightRecorderSupport.listener())
+                                          .build();
+            List<RecordedEvent> events = record(() -> {
+                Assertions.assertThrows(PatientInterruptedException.class,
+                                        () -> wait.from(() -> null).get(),
+                                        "The interrupted sleep should end the wait.");
+                // Clear the restored interrupt so that the recording can still be written
+                Thread.interrupted();
+            });
+            Assertions.assertEquals("ERROR", getEvents(events, WAIT).get(0).getString("outcome"),
+                                    "The wait event should have the error outcome.");
+            Assertions.assertEquals(1, getEvents(events, SLEEP).size(),
+                                    "Should commit the sleep event that the error ended.");
+        }
+    }
+}